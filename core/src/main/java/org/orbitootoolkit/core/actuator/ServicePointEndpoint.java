@@ -0,0 +1,149 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.actuator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.orbitootoolkit.core.api.TagMatch;
+import org.orbitootoolkit.core.inline.InlineCacheRepository;
+import org.orbitootoolkit.core.memo.MemoizedResultCache;
+import org.orbitootoolkit.core.memo.MemoizedResultCacheRepository;
+import org.orbitootoolkit.core.service.CacheStatistics;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.service.TaggedValueDesc;
+import org.orbitootoolkit.core.statistics.BindingStatistics;
+import org.orbitootoolkit.core.statistics.DispatchStatisticsRepository;
+import org.orbitootoolkit.core.statistics.ServicePointStatistics;
+import org.orbitootoolkit.core.statistics.SlowDispatchDetector;
+import org.orbitootoolkit.core.workflow.WorkflowDispatcher;
+import org.orbitootoolkit.core.workflow.WorkflowDispatcherRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+// the endpoint is registered only with spring-boot-actuator on the classpath (optional dependency),
+// it is exposed as /actuator/servicepoints (web) or by JMX according to management.endpoints.*.exposure.include
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+@ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+@Endpoint(id = "servicepoints")
+public class ServicePointEndpoint {
+    public static final int TOP_SUBJECT_CLASSES = 5;
+
+    @Autowired
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+
+    @Autowired
+    private DispatchStatisticsRepository dispatchStatisticsRepository = null;
+
+    @Autowired
+    private MemoizedResultCacheRepository memoizedResultCacheRepository = null;
+
+    @Autowired
+    private SlowDispatchDetector slowDispatchDetector = null;
+
+    @Autowired
+    private InlineCacheRepository inlineCacheRepository = null;
+
+    @Autowired
+    private WorkflowDispatcherRepository workflowDispatcherRepository = null;
+
+    private static String toString(TaggedValueDesc taggedValue) {
+        if (taggedValue.getMatch() == TagMatch.EXACT) {
+            return taggedValue.getTag() + "=" + taggedValue.getValue();
+        } else {
+            return taggedValue.getTag() + " " + taggedValue.getMatch() + " " + taggedValue.getValue();
+        }
+    }
+
+    private static BindingReport createBindingReport(String serviceName, DomainServiceDesc domainServiceDesc, BindingStatistics bindingStatistics) {
+        String subjectClass = (domainServiceDesc != null) ? domainServiceDesc.getSubjectClass().getName() : null;
+        List<String> subjectTaggedValues = (domainServiceDesc != null) //
+                ? domainServiceDesc.getSubjectTaggedValues().stream().map(ServicePointEndpoint::toString).toList()
+                : Collections.emptyList();
+        if (bindingStatistics != null) {
+            return new BindingReport(serviceName, subjectClass, subjectTaggedValues, bindingStatistics.getCount(), bindingStatistics.getFailureCount(), //
+                    bindingStatistics.getAverageNanos(), bindingStatistics.getMaxNanos());
+        } else {
+            return new BindingReport(serviceName, subjectClass, subjectTaggedValues, 0, 0, 0, 0);
+        }
+    }
+
+    private ServicePointReport createServicePointReport(String servicePointName) {
+        ServicePointStatistics servicePointStatistics = dispatchStatisticsRepository.getServicePointStatistics(servicePointName);
+        Map<String, BindingStatistics> bindingStatisticsMap = (servicePointStatistics != null) //
+                ? servicePointStatistics.getBindingStatistics() : Collections.emptyMap();
+        //
+        List<BindingReport> bindings = new ArrayList<BindingReport>();
+        for (DomainServiceDesc domainServiceDesc : domainServiceDescRepository.getDomainServiceDescs(servicePointName)) {
+            String serviceName = domainServiceDesc.getServiceName();
+            bindings.add(createBindingReport(serviceName, domainServiceDesc, bindingStatisticsMap.get(serviceName)));
+        }
+        // the invocations without the registered binding (e.g. by the callback route)
+        for (BindingStatistics bindingStatistics : bindingStatisticsMap.values()) {
+            if (bindings.stream().noneMatch((binding) -> binding.getServiceName().equals(bindingStatistics.getServiceName()))) {
+                bindings.add(createBindingReport(bindingStatistics.getServiceName(), null, bindingStatistics));
+            }
+        }
+        bindings.sort((first, second) -> Long.compare(second.getCount(), first.getCount()));
+        //
+        Map<String, Long> topSubjectClasses = (servicePointStatistics != null) //
+                ? servicePointStatistics.getTopSubjectClasses(TOP_SUBJECT_CLASSES) : Collections.emptyMap();
+        return new ServicePointReport(servicePointName, bindings, topSubjectClasses);
+    }
+
+    @ReadOperation
+    public ServicePointsReport servicePoints() {
+        List<ServicePointReport> servicePoints = new ArrayList<ServicePointReport>();
+        for (String servicePointName : domainServiceDescRepository.getServicePointNames()) {
+            servicePoints.add(createServicePointReport(servicePointName));
+        }
+        List<CacheStatistics> caches = new ArrayList<CacheStatistics>(domainServiceDescRepository.getCacheStatistics());
+        for (Map.Entry<String, MemoizedResultCache> entry : memoizedResultCacheRepository.getMemoizedResultCaches().entrySet()) {
+            MemoizedResultCache memoizedResultCache = entry.getValue();
+            caches.add(new CacheStatistics("memoized:" + entry.getKey(), memoizedResultCache.getSize(), //
+                    memoizedResultCache.getHitCount(), memoizedResultCache.getMissCount()));
+        }
+        caches.add(inlineCacheRepository.getMegamorphicCacheStatistics());
+        for (WorkflowDispatcher<?> workflowDispatcher : workflowDispatcherRepository.getWorkflowDispatchers()) {
+            caches.add(workflowDispatcher.getRowTableStatistics());
+        }
+        return new ServicePointsReport(dispatchStatisticsRepository.isEnabled(), servicePoints, caches, slowDispatchDetector.getSlowDispatches(), //
+                inlineCacheRepository.getStatistics());
+    }
+
+    @ReadOperation
+    public ServicePointReport servicePoint(@Selector String servicePointName) {
+        return domainServiceDescRepository.getServicePointNames().contains(servicePointName) ? createServicePointReport(servicePointName) : null;
+    }
+}
@@ -0,0 +1,184 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.admission;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.orbitootoolkit.core.property.PropertySupplier;
+import org.orbitootoolkit.core.property.PropertySupplierRepository;
+import org.orbitootoolkit.core.service.AdmissionDesc;
+import org.orbitootoolkit.core.servicepoint.AdmissionRejectedException;
+
+import lombok.Getter;
+
+public class AdmissionController {
+    @Getter
+    private String name = null;
+    @Getter
+    private AdmissionDesc admissionDesc = null;
+    private PropertySupplierRepository propertySupplierRepository = null;
+    private Map<Class<?>, Optional<PropertySupplier>> prioritySupplierMap = new ConcurrentHashMap<Class<?>, Optional<PropertySupplier>>();
+
+    // the priority level 0 is the highest, the lower levels get the smaller part of the permits and tokens
+    private int levelCount = 0;
+    private int[] concurrencyLimits = null;
+    private long[] rateTolerances = null;
+    private long rateIntervalNanos = 0;
+
+    private AtomicInteger concurrency = new AtomicInteger();
+    // the token bucket is represented by the theoretical arrival time of the next invocation (GCRA)
+    private AtomicLong theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+
+    private LongAdder admittedCount = new LongAdder();
+    private LongAdder rejectedCount = new LongAdder();
+
+    //
+
+    public AdmissionController(String name, AdmissionDesc admissionDesc, PropertySupplierRepository propertySupplierRepository) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(admissionDesc);
+        Objects.requireNonNull(propertySupplierRepository);
+        //
+        this.name = name;
+        this.admissionDesc = admissionDesc;
+        this.propertySupplierRepository = propertySupplierRepository;
+        //
+        this.levelCount = StringUtils.isNotEmpty(admissionDesc.getPriorityTag()) ? admissionDesc.getPriorityValues().size() + 1 : 1;
+        this.concurrencyLimits = new int[levelCount];
+        this.rateTolerances = new long[levelCount];
+        this.rateIntervalNanos = (admissionDesc.getRatePerSecond() > 0) ? (long) (TimeUnit.SECONDS.toNanos(1) / admissionDesc.getRatePerSecond()) : 0;
+        // the shares of the lower levels are rounded down and the top level keeps at least one permit (and one token
+        // of the burst), the lower levels cannot exhaust the limit of the top level
+        for (int level = 0; level < levelCount; level++) {
+            int share = levelCount - level;
+            concurrencyLimits[level] = admissionDesc.getMaxConcurrency() * share / levelCount;
+            rateTolerances[level] = Math.max(0, Math.max(1, admissionDesc.getBurst()) * rateIntervalNanos * share / levelCount - rateIntervalNanos);
+            if (level > 0) {
+                concurrencyLimits[level] = Math.min(concurrencyLimits[level], concurrencyLimits[0] - 1);
+                rateTolerances[level] = Math.min(rateTolerances[level], Math.max(0, rateTolerances[0] - rateIntervalNanos));
+            }
+        }
+    }
+
+    //
+
+    private Optional<PropertySupplier> findPrioritySupplier(Class<?> subjectClass) {
+        return propertySupplierRepository.getPropertySuppliers(subjectClass).stream() //
+                .filter((propertySupplier) -> admissionDesc.getPriorityTag().equals(propertySupplier.getPropertyName())) //
+                .findFirst();
+    }
+
+    private int getLevel(Object subject) {
+        if ((levelCount == 1) || (subject == null)) {
+            return levelCount - 1;
+        }
+        Optional<PropertySupplier> prioritySupplier = prioritySupplierMap.computeIfAbsent(subject.getClass(), this::findPrioritySupplier);
+        String priorityValue = prioritySupplier.map((propertySupplier) -> PropertySupplier.toPropertyValue(propertySupplierRepository.getTagValue(subject, propertySupplier)))
+                .orElse(null);
+        int level = (priorityValue != null) ? admissionDesc.getPriorityValues().indexOf(priorityValue) : -1;
+        return (level != -1) ? level : levelCount - 1;
+    }
+
+    private boolean tryAcquireConcurrency(int level) {
+        if (admissionDesc.getMaxConcurrency() <= 0) {
+            return true;
+        }
+        int limit = concurrencyLimits[level];
+        while (true) {
+            int current = concurrency.get();
+            if (current >= limit) {
+                return false;
+            } else if (concurrency.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseConcurrency() {
+        if (admissionDesc.getMaxConcurrency() > 0) {
+            concurrency.decrementAndGet();
+        }
+    }
+
+    private boolean tryAcquireRate(int level) {
+        if (rateIntervalNanos <= 0) {
+            return true;
+        }
+        long tolerance = rateTolerances[level];
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrivalNanos.get();
+            long arrival = (current - now > 0) ? current : now;
+            if (arrival - now > tolerance) {
+                return false;
+            } else if (theoreticalArrivalNanos.compareAndSet(current, arrival + rateIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    //
+
+    public AdmissionPermit acquire(Object subject) {
+        int level = getLevel(subject);
+        if (!tryAcquireConcurrency(level)) {
+            rejectedCount.increment();
+            throw new AdmissionRejectedException("Concurrency limit exceeded [" + name + ", " + level + "]");
+        }
+        if (!tryAcquireRate(level)) {
+            releaseConcurrency();
+            rejectedCount.increment();
+            throw new AdmissionRejectedException("Rate limit exceeded [" + name + ", " + level + "]");
+        }
+        admittedCount.increment();
+        return new AdmissionPermit(this);
+    }
+
+    void release() {
+        releaseConcurrency();
+    }
+
+    public void resetRate() {
+        // the clock of the restored JVM can differ, the token bucket is refilled
+        theoreticalArrivalNanos.set(System.nanoTime());
+    }
+
+    public int getConcurrency() {
+        return concurrency.get();
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+}
@@ -0,0 +1,79 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.admission;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.orbitootoolkit.core.property.PropertySupplierRepository;
+import org.orbitootoolkit.core.service.AdmissionDesc;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class AdmissionControllerRepository {
+    private Map<String, AdmissionController> servicePointControllerMap = new ConcurrentHashMap<String, AdmissionController>();
+    private Map<String, AdmissionController> domainServiceControllerMap = new ConcurrentHashMap<String, AdmissionController>();
+
+    @Autowired
+    private PropertySupplierRepository propertySupplierRepository = null;
+
+    private AdmissionController createAdmissionController(String name, AdmissionDesc admissionDesc) {
+        AdmissionController admissionController = new AdmissionController(name, admissionDesc, propertySupplierRepository);
+        log.info("added admissionController [" + name + ", " + admissionDesc + "]");
+        return admissionController;
+    }
+
+    public AdmissionController addAdmissionController(String servicePointName, AdmissionDesc admissionDesc) {
+        AdmissionController admissionController = createAdmissionController(servicePointName, admissionDesc);
+        servicePointControllerMap.put(servicePointName, admissionController);
+        return admissionController;
+    }
+
+    public AdmissionController findAdmissionController(String servicePointName, DomainServiceDesc domainServiceDesc) {
+        if ((domainServiceDesc != null) && (domainServiceDesc.getAdmission() != null)) {
+            // the admission controller of the binding is created, when the domain service is invoked for the first time
+            return domainServiceControllerMap.computeIfAbsent(domainServiceDesc.getBindingName(), //
+                    (name) -> createAdmissionController(name, domainServiceDesc.getAdmission()));
+        } else {
+            return servicePointControllerMap.get(servicePointName);
+        }
+    }
+
+    public Map<String, AdmissionController> getAdmissionControllers() {
+        Map<String, AdmissionController> admissionControllers = new TreeMap<String, AdmissionController>();
+        admissionControllers.putAll(servicePointControllerMap);
+        admissionControllers.putAll(domainServiceControllerMap);
+        return Collections.unmodifiableMap(admissionControllers);
+    }
+}
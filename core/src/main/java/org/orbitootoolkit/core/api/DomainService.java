@@ -40,4 +40,8 @@ public @interface DomainService {
     public TaggedValue[] subjectTaggedValues() default {};
 
     public TaggedValue[] additionalTaggedValues() default {};
+
+    public AdditionalSubject[] additionalSubjects() default {};
+
+    public String tenant() default "";
 }
@@ -31,4 +31,6 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface Subject {
+    // the field or getter identifying the subject (used by @SubjectMailbox), the instance is used by default
+    public String key() default "";
 }
@@ -0,0 +1,35 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.api;
+
+// the matching of the tag of subject by the tagged value of domain service, the precedence of matches is
+// EXACT, PREFIX (the longer first), RANGE (the narrower first) and ANY
+public enum TagMatch {
+    // the value of tag is equal to the value
+    EXACT,
+    // the value of tag starts with the value
+    PREFIX,
+    // the value of tag is the number within the interval, e.g. "[10000,)" or "(0,100]"
+    RANGE,
+    // the tag has any value
+    ANY
+}
@@ -0,0 +1,36 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.api;
+
+import java.util.Collections;
+import java.util.List;
+
+// the subject writes its tag values into the sink (instead of reading the @Tag fields and methods by reflection),
+// the tags (name, priority, declaring class) are still declared by @Tag and each tag is written at most once
+public interface TagSource {
+    // the names of tags, which are written by the slot index (the position in the list), called once per subject class
+    public default List<String> getTagSlots() {
+        return Collections.emptyList();
+    }
+
+    public void writeTags(TagSink tagSink);
+}
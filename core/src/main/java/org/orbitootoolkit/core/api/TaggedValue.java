@@ -30,5 +30,7 @@ import java.lang.annotation.RetentionPolicy;
 public @interface TaggedValue {
     public String tag();
 
-    public String value();
+    public String value() default "";
+
+    public TagMatch match() default TagMatch.EXACT;
 }
@@ -0,0 +1,115 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.crac;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+import org.orbitootoolkit.core.admission.AdmissionController;
+import org.orbitootoolkit.core.admission.AdmissionControllerRepository;
+import org.orbitootoolkit.core.executor.ServicePointExecutorRepository;
+import org.orbitootoolkit.core.journal.JournalDispatcherRepository;
+import org.orbitootoolkit.core.mailbox.MailboxDispatcherRepository;
+import org.orbitootoolkit.core.memo.MemoizedResultCache;
+import org.orbitootoolkit.core.memo.MemoizedResultCacheRepository;
+import org.orbitootoolkit.core.remote.RemoteDispatcherRepository;
+import org.orbitootoolkit.core.route.CallbackRouteTableRepository;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.trace.DispatchTracer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class CheckpointResource implements Resource {
+    @Autowired
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+
+    @Autowired
+    private JournalDispatcherRepository journalDispatcherRepository = null;
+
+    @Autowired
+    private CallbackRouteTableRepository callbackRouteTableRepository = null;
+
+    @Autowired
+    private ServicePointExecutorRepository servicePointExecutorRepository = null;
+
+    @Autowired
+    private AdmissionControllerRepository admissionControllerRepository = null;
+
+    @Autowired
+    private MemoizedResultCacheRepository memoizedResultCacheRepository = null;
+
+    @Autowired
+    private RemoteDispatcherRepository remoteDispatcherRepository = null;
+
+    @Autowired
+    private MailboxDispatcherRepository mailboxDispatcherRepository = null;
+
+    @Autowired
+    private DispatchTracer dispatchTracer = null;
+
+    @PostConstruct
+    public void register() {
+        // the global context keeps only the weak reference, the resource is referenced by the application context
+        Core.getGlobalContext().register(this);
+    }
+
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) throws Exception {
+        log.info("beforeCheckpoint started:");
+        // the caches are filled, therefore the restored application doesn't need to warm up
+        domainServiceDescRepository.warmUp();
+        // the threads owned by the toolkit are terminated, the files and the sockets are closed
+        remoteDispatcherRepository.suspend();
+        mailboxDispatcherRepository.suspend();
+        journalDispatcherRepository.suspend();
+        callbackRouteTableRepository.suspend();
+        servicePointExecutorRepository.suspend();
+        dispatchTracer.suspend();
+        log.info("beforeCheckpoint finished:");
+    }
+
+    @Override
+    public void afterRestore(Context<? extends Resource> context) throws Exception {
+        log.info("afterRestore started:");
+        // the state depending on System.nanoTime() is reset, the clock of the restored JVM can differ
+        admissionControllerRepository.getAdmissionControllers().values().forEach(AdmissionController::resetRate);
+        memoizedResultCacheRepository.getMemoizedResultCaches().values().forEach(MemoizedResultCache::clear);
+        //
+        dispatchTracer.resume();
+        servicePointExecutorRepository.resume();
+        mailboxDispatcherRepository.resume();
+        callbackRouteTableRepository.resume();
+        journalDispatcherRepository.resume();
+        remoteDispatcherRepository.resume();
+        log.info("afterRestore finished:");
+    }
+}
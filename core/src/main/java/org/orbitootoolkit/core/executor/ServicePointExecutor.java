@@ -0,0 +1,240 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.executor;
+
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.api.ExecutorType;
+import org.orbitootoolkit.core.service.ExecutorDesc;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ServicePointExecutor {
+    @Getter
+    private String name = null;
+    @Getter
+    private ExecutorDesc executorDesc = null;
+    private volatile ExecutorService executorService = null;
+    private volatile ThreadPoolExecutor threadPoolExecutor = null;
+
+    private AtomicInteger activeThreads = new AtomicInteger();
+    private LongAdder rejectedCount = new LongAdder();
+    private LongAdder failedCount = new LongAdder();
+
+    //
+
+    public ServicePointExecutor(String name, ExecutorDesc executorDesc) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(executorDesc);
+        //
+        this.name = name;
+        this.executorDesc = executorDesc;
+        createExecutorService();
+    }
+
+    //
+
+    private void createExecutorService() {
+        ExecutorService virtualExecutorService = null;
+        if (ExecutorType.VIRTUAL.equals(executorDesc.getType())) {
+            virtualExecutorService = createVirtualExecutorService();
+        }
+        if (virtualExecutorService != null) {
+            this.threadPoolExecutor = null;
+            this.executorService = virtualExecutorService;
+        } else {
+            RejectedExecutionHandler rejectedExecutionHandler = ExecutorType.CALLER_RUNS.equals(executorDesc.getType()) //
+                    ? new CountingCallerRunsPolicy() : new CountingAbortPolicy();
+            ThreadPoolExecutor newThreadPoolExecutor = new ThreadPoolExecutor(Math.max(1, executorDesc.getThreads()), Math.max(1, executorDesc.getThreads()), //
+                    60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(Math.max(1, executorDesc.getQueueCapacity())), //
+                    createThreadFactory(name), rejectedExecutionHandler);
+            newThreadPoolExecutor.allowCoreThreadTimeOut(true);
+            this.threadPoolExecutor = newThreadPoolExecutor;
+            this.executorService = newThreadPoolExecutor;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return (runnable) -> {
+            Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private ExecutorService createVirtualExecutorService() {
+        // virtual threads are available since java 21, the toolkit is compiled for java 17
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            log.warn("virtual threads are not available, using bounded executor: " + name);
+            return null;
+        }
+    }
+
+    private class CountingAbortPolicy implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            rejectedCount.increment();
+            throw new RejectedExecutionException("Executor is saturated: " + name);
+        }
+    }
+
+    private class CountingCallerRunsPolicy extends ThreadPoolExecutor.CallerRunsPolicy {
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            rejectedCount.increment();
+            super.rejectedExecution(runnable, executor);
+        }
+    }
+
+    private <Result> Callable<Result> track(Callable<Result> callable) {
+        return () -> {
+            activeThreads.incrementAndGet();
+            try {
+                return callable.call();
+            } finally {
+                activeThreads.decrementAndGet();
+            }
+        };
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return ((throwable instanceof ExecutionException) && (throwable.getCause() != null)) ? throwable.getCause() : throwable;
+    }
+
+    private Object invokeAsync(Callable<Object> callable) {
+        CompletableFuture<Object> result = new CompletableFuture<Object>();
+        Callable<Object> task = track(() -> {
+            Object value = callable.call();
+            if (value instanceof CompletionStage) {
+                return ((CompletionStage<?>) value).toCompletableFuture().get();
+            } else if (value instanceof Future) {
+                return ((Future<?>) value).get();
+            } else {
+                return value;
+            }
+        });
+        executorService.execute(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable throwable) {
+                result.completeExceptionally(unwrap(throwable));
+            }
+        });
+        return result;
+    }
+
+    // the caller of the void method does not wait, the failure cannot be propagated to it: the failure is logged
+    // and counted (the method returning the future should be used, when the caller handles the failure)
+    private Object invokeVoid(Callable<Object> callable) {
+        Callable<Object> task = track(callable);
+        executorService.execute(() -> {
+            try {
+                task.call();
+            } catch (Throwable throwable) {
+                failedCount.increment();
+                log.error("Unexpected exception in executor: " + name, throwable);
+            }
+        });
+        return null;
+    }
+
+    private Object invokeSync(Callable<Object> callable) throws Throwable {
+        Future<Object> future = executorService.submit(track(callable));
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        }
+    }
+
+    //
+
+    public Object invoke(Callable<Object> callable, Class<?> returnType) throws Throwable {
+        // the void method is invoked asynchronously, the method returning the future gets the future completed
+        // by the executor, otherwise the caller waits for the result (the executor still bounds the concurrency)
+        boolean isFuture = Future.class.isAssignableFrom(returnType) || CompletionStage.class.isAssignableFrom(returnType);
+        if (void.class.equals(returnType)) {
+            return invokeVoid(callable);
+        } else if (isFuture && returnType.isAssignableFrom(CompletableFuture.class)) {
+            return invokeAsync(callable);
+        } else {
+            return invokeSync(callable);
+        }
+    }
+
+    public int getQueueDepth() {
+        return (threadPoolExecutor != null) ? threadPoolExecutor.getQueue().size() : 0;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    // the failures of the void methods (not visible to their callers)
+    public long getFailedCount() {
+        return failedCount.sum();
+    }
+
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    public synchronized void suspend() throws InterruptedException {
+        // the running invocations are finished, the threads are terminated before the checkpoint
+        executorService.shutdown();
+        executorService.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    public synchronized void resume() {
+        if (executorService.isShutdown()) {
+            createExecutorService();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.executor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.ExecutorDesc;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class ServicePointExecutorRepository {
+    private Map<String, ServicePointExecutor> servicePointExecutorMap = new ConcurrentHashMap<String, ServicePointExecutor>();
+    private Map<String, ServicePointExecutor> domainServiceExecutorMap = new ConcurrentHashMap<String, ServicePointExecutor>();
+
+    private static ServicePointExecutor createExecutor(String name, ExecutorDesc executorDesc) {
+        ServicePointExecutor servicePointExecutor = new ServicePointExecutor(name, executorDesc);
+        log.info("added servicePointExecutor [" + name + ", " + executorDesc + "]");
+        return servicePointExecutor;
+    }
+
+    public ServicePointExecutor addServicePointExecutor(String servicePointName, ExecutorDesc executorDesc) {
+        ServicePointExecutor servicePointExecutor = createExecutor(servicePointName, executorDesc);
+        servicePointExecutorMap.put(servicePointName, servicePointExecutor);
+        return servicePointExecutor;
+    }
+
+    // the executor of the domain service is created, when the domain service is registered (for each binding)
+    public void addDomainServiceExecutor(DomainServiceDesc domainServiceDesc) {
+        if (domainServiceDesc.getExecutor() != null) {
+            domainServiceExecutorMap.computeIfAbsent(domainServiceDesc.getBindingName(), (name) -> createExecutor(name, domainServiceDesc.getExecutor()));
+        }
+    }
+
+    public void removeDomainServiceExecutor(DomainServiceDesc domainServiceDesc) {
+        ServicePointExecutor servicePointExecutor = domainServiceExecutorMap.remove(domainServiceDesc.getBindingName());
+        if (servicePointExecutor != null) {
+            servicePointExecutor.shutdown();
+            log.info("removed servicePointExecutor: " + servicePointExecutor.getName());
+        }
+    }
+
+    public ServicePointExecutor findExecutor(String servicePointName, DomainServiceDesc domainServiceDesc) {
+        if ((domainServiceDesc != null) && (domainServiceDesc.getExecutor() != null)) {
+            return domainServiceExecutorMap.get(domainServiceDesc.getBindingName());
+        } else {
+            return servicePointExecutorMap.get(servicePointName);
+        }
+    }
+
+    public Map<String, ServicePointExecutor> getExecutors() {
+        Map<String, ServicePointExecutor> executors = new TreeMap<String, ServicePointExecutor>();
+        executors.putAll(servicePointExecutorMap);
+        executors.putAll(domainServiceExecutorMap);
+        return Collections.unmodifiableMap(executors);
+    }
+
+    public void suspend() throws InterruptedException {
+        for (ServicePointExecutor servicePointExecutor : getExecutors().values()) {
+            servicePointExecutor.suspend();
+        }
+    }
+
+    public void resume() {
+        getExecutors().values().forEach(ServicePointExecutor::resume);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        servicePointExecutorMap.values().forEach(ServicePointExecutor::shutdown);
+        domainServiceExecutorMap.values().forEach(ServicePointExecutor::shutdown);
+    }
+}
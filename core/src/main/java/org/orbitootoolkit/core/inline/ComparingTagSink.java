@@ -0,0 +1,67 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.inline;
+
+import java.util.Objects;
+
+import org.orbitootoolkit.core.api.TagSink;
+
+// compares the tags written by the tag source with the recorded ones, in the same order
+class ComparingTagSink implements TagSink {
+    private InlineCacheGuard inlineCacheGuard = null;
+    private Object[] tagValues = null;
+    private int position = 0;
+    private boolean matching = true;
+
+    //
+
+    ComparingTagSink(InlineCacheGuard inlineCacheGuard, Object[] tagValues) {
+        this.inlineCacheGuard = inlineCacheGuard;
+        this.tagValues = tagValues;
+    }
+
+    //
+
+    private void compare(Object key, Object value) {
+        if (matching && (position + 1 < tagValues.length) && key.equals(tagValues[position]) && Objects.equals(value, tagValues[position + 1])) {
+            position += 2;
+        } else {
+            matching = false;
+        }
+    }
+
+    @Override
+    public void put(String tag, Object value) {
+        matching &= InlineCacheGuard.isImmutable(value);
+        compare(tag, inlineCacheGuard.toGuardValue(tag, value));
+    }
+
+    @Override
+    public void put(int slot, Object value) {
+        matching &= InlineCacheGuard.isImmutable(value);
+        compare(slot, inlineCacheGuard.toGuardValue(slot, value));
+    }
+
+    boolean matches() {
+        return matching && (position == tagValues.length);
+    }
+}
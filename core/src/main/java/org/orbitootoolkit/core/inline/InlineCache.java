@@ -0,0 +1,143 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.inline;
+
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// the inline cache of one method of the service point (the call site), the entries are valid until their switch point
+// is invalidated by the change of domain services; the entries are replaced at once, the reads are not locked
+public class InlineCache {
+    private static final InlineCacheEntry[] NO_ENTRIES = new InlineCacheEntry[0];
+
+    @AllArgsConstructor
+    private static class Snapshot {
+        private SwitchPoint switchPoint = null;
+        private InlineCacheEntry[] entries = null;
+        private boolean megamorphic = false;
+    }
+
+    @Getter
+    private String servicePointName = null;
+    @Getter
+    private Method method = null;
+    private int polymorphicLimit = 0;
+
+    private volatile Snapshot snapshot = null;
+
+    private LongAdder hitCount = new LongAdder();
+    private LongAdder missCount = new LongAdder();
+
+    //
+
+    public InlineCache(String servicePointName, Method method, int polymorphicLimit) {
+        this.servicePointName = servicePointName;
+        this.method = method;
+        this.polymorphicLimit = polymorphicLimit;
+        this.snapshot = new Snapshot(new SwitchPoint(), NO_ENTRIES, false);
+        SwitchPoint.invalidateAll(new SwitchPoint[] { snapshot.switchPoint });
+    }
+
+    //
+
+    private Snapshot getValidSnapshot() {
+        Snapshot currentSnapshot = snapshot;
+        return currentSnapshot.switchPoint.hasBeenInvalidated() ? null : currentSnapshot;
+    }
+
+    // the domain services of the matching entry, null if there is none (or the call site is megamorphic)
+    List<DomainServiceDesc> find(Object subject) {
+        Snapshot currentSnapshot = getValidSnapshot();
+        if (currentSnapshot != null) {
+            for (InlineCacheEntry entry : currentSnapshot.entries) {
+                if (entry.matches(subject)) {
+                    hitCount.increment();
+                    return entry.getDomainServiceDescs();
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean isMegamorphic() {
+        Snapshot currentSnapshot = getValidSnapshot();
+        return (currentSnapshot != null) && currentSnapshot.megamorphic;
+    }
+
+    // the entry resolved before the change of domain services is dropped, returns false if the entry belongs
+    // to the shared table (the call site is megamorphic)
+    synchronized boolean add(InlineCacheEntry entry, SwitchPoint switchPoint) {
+        if (switchPoint.hasBeenInvalidated()) {
+            return true;
+        }
+        Snapshot currentSnapshot = (snapshot.switchPoint == switchPoint) ? snapshot : new Snapshot(switchPoint, NO_ENTRIES, false);
+        if (currentSnapshot.megamorphic) {
+            return false;
+        } else if (currentSnapshot.entries.length >= polymorphicLimit) {
+            snapshot = new Snapshot(switchPoint, NO_ENTRIES, true);
+            return false;
+        }
+        InlineCacheEntry[] entries = Arrays.copyOf(currentSnapshot.entries, currentSnapshot.entries.length + 1);
+        entries[entries.length - 1] = entry;
+        snapshot = new Snapshot(switchPoint, entries, false);
+        return true;
+    }
+
+    void countHit() {
+        hitCount.increment();
+    }
+
+    void countMiss() {
+        missCount.increment();
+    }
+
+    //
+
+    public InlineCacheState getState() {
+        Snapshot currentSnapshot = getValidSnapshot();
+        if (currentSnapshot == null) {
+            return InlineCacheState.UNINITIALIZED;
+        } else if (currentSnapshot.megamorphic) {
+            return InlineCacheState.MEGAMORPHIC;
+        } else if (currentSnapshot.entries.length == 0) {
+            return InlineCacheState.UNINITIALIZED;
+        } else {
+            return (currentSnapshot.entries.length == 1) ? InlineCacheState.MONOMORPHIC : InlineCacheState.POLYMORPHIC;
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+}
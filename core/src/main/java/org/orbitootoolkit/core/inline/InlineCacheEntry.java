@@ -0,0 +1,49 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.inline;
+
+import java.util.List;
+
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// the guard of the subject class with the compared values of tags, the resolved domain services are the target;
+// the tag source is guarded by the sequence of its written tags
+@AllArgsConstructor
+@Getter
+class InlineCacheEntry {
+    private InlineCacheGuard inlineCacheGuard = null;
+    private Object[] tagValues = null;
+    private List<DomainServiceDesc> domainServiceDescs = null;
+
+    //
+
+    public Class<?> getSubjectClass() {
+        return inlineCacheGuard.getSubjectClass();
+    }
+
+    public boolean matches(Object subject) {
+        return inlineCacheGuard.matches(subject, tagValues);
+    }
+}
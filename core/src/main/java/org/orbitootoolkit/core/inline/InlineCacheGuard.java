@@ -0,0 +1,135 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.inline;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.orbitootoolkit.core.api.TagSource;
+import org.orbitootoolkit.core.property.PropertySupplier;
+
+import lombok.Getter;
+
+// the tags of the subject class compared by the inline caches of one service point: the values of tags bound
+// by any domain service of the service point, only the presence of other tags (e.g. the ids cannot change the resolution,
+// but the missing tag changes the probes); the guard is valid until the domain services are changed
+class InlineCacheGuard {
+    static final Object PRESENT = new Object() {
+        @Override
+        public String toString() {
+            return "<present>";
+        }
+    };
+
+    @Getter
+    private Class<?> subjectClass = null;
+    private PropertySupplier[] propertySuppliers = null;
+    private boolean[] boundSuppliers = null;
+    private boolean[] boundSlots = null;
+    @Getter
+    private Set<String> boundTags = null;
+
+    //
+
+    // the bound tags contain also the names of maps of the bound tags (e.g. the map of "attributes.color")
+    InlineCacheGuard(Class<?> subjectClass, List<PropertySupplier> propertySuppliers, List<String> tagSlots, Set<String> boundTags) {
+        this.subjectClass = subjectClass;
+        this.propertySuppliers = propertySuppliers.toArray(new PropertySupplier[0]);
+        this.boundSuppliers = new boolean[this.propertySuppliers.length];
+        for (int index = 0; index < this.propertySuppliers.length; index++) {
+            boundSuppliers[index] = boundTags.contains(this.propertySuppliers[index].getPropertyName());
+        }
+        this.boundSlots = new boolean[tagSlots.size()];
+        for (int slot = 0; slot < boundSlots.length; slot++) {
+            boundSlots[slot] = boundTags.contains(tagSlots.get(slot));
+        }
+        this.boundTags = boundTags;
+    }
+
+    //
+
+    // only the immutable values are compared by the guard, e.g. the map of tags can be changed by the subject
+    static boolean isImmutable(Object tagValue) {
+        return (tagValue == null) || (tagValue instanceof String) || (tagValue instanceof Enum) || (tagValue instanceof Boolean) //
+                || (tagValue instanceof Character) || (tagValue instanceof Integer) || (tagValue instanceof Long) || (tagValue instanceof Short) //
+                || (tagValue instanceof Byte) || (tagValue instanceof Double) || (tagValue instanceof Float) || (tagValue instanceof BigDecimal) //
+                || (tagValue instanceof BigInteger);
+    }
+
+    // the compared value of the tag (the value or its presence), the mutable value cannot be guarded
+    private static Object toGuardValue(boolean isBound, Object tagValue) {
+        return (isBound || (tagValue == null)) ? tagValue : PRESENT;
+    }
+
+    Object toGuardValue(String tag, Object tagValue) {
+        return toGuardValue(boundTags.contains(tag), tagValue);
+    }
+
+    Object toGuardValue(int slot, Object tagValue) {
+        return toGuardValue((slot >= 0) && (slot < boundSlots.length) && boundSlots[slot], tagValue);
+    }
+
+    // the compared values of tags, null if the subject cannot be guarded (e.g. by the map of tags)
+    Object[] getTagValues(Object subject) {
+        Object[] tagValues;
+        if (subject instanceof TagSource tagSource) {
+            RecordingTagSink recordingTagSink = new RecordingTagSink(this);
+            tagSource.writeTags(recordingTagSink);
+            tagValues = recordingTagSink.getTagValues();
+            if (tagValues == null) {
+                return null;
+            }
+        } else {
+            tagValues = new Object[propertySuppliers.length];
+            for (int index = 0; index < propertySuppliers.length; index++) {
+                Object tagValue = propertySuppliers[index].getValue(subject);
+                if (!isImmutable(tagValue)) {
+                    return null;
+                }
+                tagValues[index] = toGuardValue(boundSuppliers[index], tagValue);
+            }
+        }
+        return tagValues;
+    }
+
+    // the class is compared by identity and the immutable values by equality, no property is created
+    boolean matches(Object subject, Object[] tagValues) {
+        if (subject.getClass() != subjectClass) {
+            return false;
+        }
+        if (subject instanceof TagSource tagSource) {
+            ComparingTagSink comparingTagSink = new ComparingTagSink(this, tagValues);
+            tagSource.writeTags(comparingTagSink);
+            return comparingTagSink.matches();
+        }
+        for (int index = 0; index < tagValues.length; index++) {
+            Object tagValue = propertySuppliers[index].getValue(subject);
+            if (!isImmutable(tagValue) || !Objects.equals(toGuardValue(boundSuppliers[index], tagValue), tagValues[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
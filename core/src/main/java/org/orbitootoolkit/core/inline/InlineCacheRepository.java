@@ -0,0 +1,248 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.inline;
+
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.orbitootoolkit.core.api.TagSource;
+import org.orbitootoolkit.core.property.PropertySupplierRepository;
+import org.orbitootoolkit.core.service.CacheStatistics;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.service.TenantOverlay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class InlineCacheRepository {
+    public static final String INLINE_CACHE_ENABLED_PROPERTY = "orbitoo.inlineCache.enabled";
+    public static final String INLINE_CACHE_POLYMORPHIC_LIMIT_PROPERTY = "orbitoo.inlineCache.polymorphicLimit";
+    public static final String INLINE_CACHE_MEGAMORPHIC_MAX_SIZE_PROPERTY = "orbitoo.inlineCache.megamorphicMaxSize";
+
+    // the shared table of megamorphic call sites and the guards of subject classes are replaced, when their switch point
+    // is invalidated (the guards depend on the tags bound by the domain services)
+    @AllArgsConstructor
+    private static class MegamorphicTable {
+        private SwitchPoint switchPoint = null;
+        private Map<InlineCacheKey, List<DomainServiceDesc>> domainServiceDescsMap = null;
+        private Map<String, Map<Class<?>, InlineCacheGuard>> guardsMap = null;
+    }
+
+    private boolean enabled = false;
+    private int polymorphicLimit = 0;
+    private int megamorphicMaxSize = 0;
+    private List<InlineCache> inlineCaches = new CopyOnWriteArrayList<InlineCache>();
+    private volatile MegamorphicTable megamorphicTable = null;
+
+    private LongAdder megamorphicHitCount = new LongAdder();
+    private LongAdder megamorphicMissCount = new LongAdder();
+    private LongAdder megamorphicEvictionCount = new LongAdder();
+
+    @Autowired
+    private Environment environment = null;
+
+    @Autowired
+    private PropertySupplierRepository propertySupplierRepository = null;
+
+    @Autowired
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+
+    @PostConstruct
+    public void init() {
+        enabled = environment.getProperty(INLINE_CACHE_ENABLED_PROPERTY, Boolean.class, true);
+        polymorphicLimit = Math.max(1, environment.getProperty(INLINE_CACHE_POLYMORPHIC_LIMIT_PROPERTY, Integer.class, 4));
+        megamorphicMaxSize = environment.getProperty(INLINE_CACHE_MEGAMORPHIC_MAX_SIZE_PROPERTY, Integer.class, 1 << 16);
+        megamorphicTable = createMegamorphicTable(domainServiceDescRepository.getSwitchPoint());
+    }
+
+    private static MegamorphicTable createMegamorphicTable(SwitchPoint switchPoint) {
+        return new MegamorphicTable(switchPoint, new ConcurrentHashMap<InlineCacheKey, List<DomainServiceDesc>>(), //
+                new ConcurrentHashMap<String, Map<Class<?>, InlineCacheGuard>>());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // the inline cache of the method of service point, null if the method is not dispatched by one subject
+    public InlineCache createInlineCache(String servicePointName, Method method, int subjectCount) {
+        if (!enabled || (subjectCount != 1)) {
+            return null;
+        }
+        InlineCache inlineCache = new InlineCache(servicePointName, method, polymorphicLimit);
+        inlineCaches.add(inlineCache);
+        return inlineCache;
+    }
+
+    //
+
+    private MegamorphicTable getMegamorphicTable(SwitchPoint switchPoint) {
+        MegamorphicTable currentMegamorphicTable = megamorphicTable;
+        if (currentMegamorphicTable.switchPoint.hasBeenInvalidated()) {
+            synchronized (this) {
+                if (megamorphicTable.switchPoint.hasBeenInvalidated()) {
+                    megamorphicTable = createMegamorphicTable(switchPoint);
+                }
+                currentMegamorphicTable = megamorphicTable;
+            }
+        }
+        return currentMegamorphicTable;
+    }
+
+    // the tags bound by any domain service of the service point (shared or of any tenant)
+    private Set<String> getBoundTags(String servicePointName) {
+        List<DomainServiceDesc> domainServiceDescs = new ArrayList<DomainServiceDesc>(domainServiceDescRepository.getDomainServiceDescs(servicePointName));
+        for (TenantOverlay tenantOverlay : domainServiceDescRepository.getTenantOverlays()) {
+            domainServiceDescs.addAll(tenantOverlay.getDomainServiceDescs());
+        }
+        Set<String> boundTags = new HashSet<String>();
+        for (DomainServiceDesc domainServiceDesc : domainServiceDescs) {
+            if (servicePointName.equals(domainServiceDesc.getServicePointName())) {
+                domainServiceDesc.addBoundTagsTo(boundTags);
+            }
+        }
+        return Collections.unmodifiableSet(boundTags);
+    }
+
+    private InlineCacheGuard getInlineCacheGuard(MegamorphicTable currentMegamorphicTable, String servicePointName, Object subject) {
+        Map<Class<?>, InlineCacheGuard> servicePointGuardsMap = currentMegamorphicTable.guardsMap.computeIfAbsent(servicePointName, //
+                (key) -> new ConcurrentHashMap<Class<?>, InlineCacheGuard>());
+        InlineCacheGuard inlineCacheGuard = servicePointGuardsMap.get(subject.getClass());
+        if (inlineCacheGuard == null) {
+            Set<String> boundTags = servicePointGuardsMap.isEmpty() ? getBoundTags(servicePointName)
+                    : servicePointGuardsMap.values().iterator().next().getBoundTags();
+            List<String> tagSlots = (subject instanceof TagSource tagSource) ? tagSource.getTagSlots() : List.<String> of();
+            inlineCacheGuard = new InlineCacheGuard(subject.getClass(), propertySupplierRepository.getPropertySuppliers(subject.getClass()), //
+                    tagSlots, boundTags);
+            servicePointGuardsMap.put(subject.getClass(), inlineCacheGuard);
+        }
+        return inlineCacheGuard;
+    }
+
+    private void putMegamorphic(MegamorphicTable currentMegamorphicTable, InlineCacheKey key, List<DomainServiceDesc> domainServiceDescs) {
+        Map<InlineCacheKey, List<DomainServiceDesc>> domainServiceDescsMap = currentMegamorphicTable.domainServiceDescsMap;
+        // when the shared table is full, the arbitrary entries are evicted (they are cached again by the next miss)
+        if ((domainServiceDescsMap.put(key, domainServiceDescs) == null) && (domainServiceDescsMap.size() > megamorphicMaxSize)) {
+            Iterator<InlineCacheKey> keyIterator = domainServiceDescsMap.keySet().iterator();
+            while ((domainServiceDescsMap.size() > megamorphicMaxSize) && keyIterator.hasNext()) {
+                if (!keyIterator.next().equals(key)) {
+                    keyIterator.remove();
+                    megamorphicEvictionCount.increment();
+                }
+            }
+        }
+    }
+
+    //
+
+    // the domain services cached for the subject by the call site, null on the miss (also of the megamorphic call site)
+    public List<DomainServiceDesc> findDomainServiceDescs(InlineCache inlineCache, Object subject) {
+        // the tenant overriding the service point is resolved by the generic algorithm
+        if (domainServiceDescRepository.findTenantOverlay(inlineCache.getServicePointName()) != null) {
+            return null;
+        }
+        return inlineCache.find(subject);
+    }
+
+    // the domain services after the miss of the call site: found in the shared table (the megamorphic call site)
+    // or resolved and cached; the tags are extracted once for the lookup and for the new entry
+    public List<DomainServiceDesc> resolveDomainServiceDescs(InlineCache inlineCache, Object subject, Supplier<List<DomainServiceDesc>> resolution) {
+        String servicePointName = inlineCache.getServicePointName();
+        if (domainServiceDescRepository.findTenantOverlay(servicePointName) != null) {
+            return resolution.get();
+        }
+        // the switch point is obtained before the resolution, the entry resolved before any change is dropped
+        SwitchPoint switchPoint = domainServiceDescRepository.getSwitchPoint();
+        MegamorphicTable currentMegamorphicTable = getMegamorphicTable(switchPoint);
+        boolean isCurrent = (currentMegamorphicTable.switchPoint == switchPoint);
+        InlineCacheGuard inlineCacheGuard = isCurrent ? getInlineCacheGuard(currentMegamorphicTable, servicePointName, subject) : null;
+        Object[] tagValues = (inlineCacheGuard != null) ? inlineCacheGuard.getTagValues(subject) : null;
+        InlineCacheKey key = null;
+        if ((tagValues != null) && inlineCache.isMegamorphic()) {
+            key = new InlineCacheKey(servicePointName, subject.getClass(), Arrays.asList(tagValues));
+            List<DomainServiceDesc> domainServiceDescs = currentMegamorphicTable.domainServiceDescsMap.get(key);
+            if (domainServiceDescs != null) {
+                megamorphicHitCount.increment();
+                inlineCache.countHit();
+                return domainServiceDescs;
+            }
+            megamorphicMissCount.increment();
+        }
+        inlineCache.countMiss();
+        List<DomainServiceDesc> domainServiceDescs = resolution.get();
+        if ((tagValues != null) && !inlineCache.add(new InlineCacheEntry(inlineCacheGuard, tagValues, domainServiceDescs), switchPoint)) {
+            key = (key != null) ? key : new InlineCacheKey(servicePointName, subject.getClass(), Arrays.asList(tagValues));
+            putMegamorphic(currentMegamorphicTable, key, domainServiceDescs);
+        }
+        return domainServiceDescs;
+    }
+
+    //
+
+    public List<InlineCache> getInlineCaches() {
+        List<InlineCache> sortedInlineCaches = new ArrayList<InlineCache>(inlineCaches);
+        sortedInlineCaches.sort(Comparator.comparing(InlineCache::getServicePointName).thenComparing((inlineCache) -> inlineCache.getMethod().getName()));
+        return sortedInlineCaches;
+    }
+
+    public InlineCacheStatistics getStatistics() {
+        long[] stateCounts = new long[InlineCacheState.values().length];
+        long hitCount = 0;
+        long missCount = 0;
+        for (InlineCache inlineCache : inlineCaches) {
+            stateCounts[inlineCache.getState().ordinal()]++;
+            hitCount += inlineCache.getHitCount();
+            missCount += inlineCache.getMissCount();
+        }
+        return new InlineCacheStatistics(stateCounts[InlineCacheState.UNINITIALIZED.ordinal()], stateCounts[InlineCacheState.MONOMORPHIC.ordinal()], //
+                stateCounts[InlineCacheState.POLYMORPHIC.ordinal()], stateCounts[InlineCacheState.MEGAMORPHIC.ordinal()], hitCount, missCount);
+    }
+
+    public CacheStatistics getMegamorphicCacheStatistics() {
+        MegamorphicTable currentMegamorphicTable = megamorphicTable;
+        long size = currentMegamorphicTable.switchPoint.hasBeenInvalidated() ? 0 : currentMegamorphicTable.domainServiceDescsMap.size();
+        return new CacheStatistics("inlineCache:megamorphic", size, megamorphicHitCount.sum(), megamorphicMissCount.sum(), megamorphicEvictionCount.sum());
+    }
+}
@@ -0,0 +1,61 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.inline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.orbitootoolkit.core.api.TagSink;
+
+// records the tags written by the tag source, the slot (or the name) is followed by the compared value
+class RecordingTagSink implements TagSink {
+    private InlineCacheGuard inlineCacheGuard = null;
+    private List<Object> tagValues = new ArrayList<Object>();
+    private boolean immutable = true;
+
+    //
+
+    RecordingTagSink(InlineCacheGuard inlineCacheGuard) {
+        this.inlineCacheGuard = inlineCacheGuard;
+    }
+
+    //
+
+    @Override
+    public void put(String tag, Object value) {
+        immutable &= InlineCacheGuard.isImmutable(value);
+        tagValues.add(tag);
+        tagValues.add(inlineCacheGuard.toGuardValue(tag, value));
+    }
+
+    @Override
+    public void put(int slot, Object value) {
+        immutable &= InlineCacheGuard.isImmutable(value);
+        tagValues.add(slot);
+        tagValues.add(inlineCacheGuard.toGuardValue(slot, value));
+    }
+
+    // null if any value cannot be guarded
+    Object[] getTagValues() {
+        return immutable ? tagValues.toArray() : null;
+    }
+}
@@ -0,0 +1,239 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class Journal implements Closeable {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+
+    @Getter
+    private Path directory = null;
+    @Getter
+    private int segmentSize = 0;
+
+    private NavigableMap<Long, JournalSegment> segmentMap = new ConcurrentSkipListMap<Long, JournalSegment>();
+    private JournalSegment activeSegment = null;
+    private long writePosition = 0;
+    private volatile long durablePosition = 0;
+    private final Object commitLock = new Object();
+
+    @Getter
+    private volatile long acknowledgedPosition = 0;
+    private FileChannel checkpointChannel = null;
+
+    //
+
+    public Journal(Path directory, int segmentSize) throws IOException {
+        Objects.requireNonNull(directory);
+        if (segmentSize <= JournalSegment.RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Unexpected segmentSize: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        //
+        Files.createDirectories(directory);
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.acknowledgedPosition = readCheckpoint();
+        //
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                String fileName = path.getFileName().toString();
+                if (fileName.startsWith(SEGMENT_PREFIX) && fileName.endsWith(SEGMENT_SUFFIX)) {
+                    long basePosition = Long.parseLong(StringUtils.substringBetween(fileName, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+                    segmentMap.put(basePosition, new JournalSegment(path, basePosition, segmentSize));
+                }
+            }
+        }
+        if (segmentMap.isEmpty()) {
+            long basePosition = acknowledgedPosition;
+            segmentMap.put(basePosition, new JournalSegment(getSegmentPath(basePosition), basePosition, segmentSize));
+        }
+        this.acknowledgedPosition = Math.max(acknowledgedPosition, segmentMap.firstKey());
+        //
+        this.activeSegment = segmentMap.lastEntry().getValue();
+        this.writePosition = findEndPosition(activeSegment);
+        this.activeSegment.clear((int) (writePosition - activeSegment.getBasePosition()));
+        this.durablePosition = writePosition;
+        log.info("opened journal [" + directory + ", " + acknowledgedPosition + ", " + writePosition + "]");
+    }
+
+    //
+
+    private Path getSegmentPath(long basePosition) {
+        return directory.resolve(SEGMENT_PREFIX + StringUtils.leftPad(Long.toString(basePosition), 19, '0') + SEGMENT_SUFFIX);
+    }
+
+    private static long findEndPosition(JournalSegment segment) {
+        int offset = 0;
+        JournalRecord record = segment.read(offset);
+        while (record != null) {
+            offset = (int) (record.getNextPosition() - segment.getBasePosition());
+            record = segment.read(offset);
+        }
+        return segment.getBasePosition() + offset;
+    }
+
+    private long readCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        if (checkpointChannel.read(buffer, 0) == Long.BYTES) {
+            return buffer.flip().getLong();
+        } else {
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(position).flip();
+        checkpointChannel.write(buffer, 0);
+        checkpointChannel.force(false);
+    }
+
+    private void rollSegment() throws IOException {
+        JournalSegment previousSegment = activeSegment;
+        previousSegment.force(0, previousSegment.getSize());
+        long basePosition = previousSegment.getBasePosition() + segmentSize;
+        activeSegment = new JournalSegment(getSegmentPath(basePosition), basePosition, segmentSize);
+        segmentMap.put(basePosition, activeSegment);
+        writePosition = basePosition;
+        log.debug("rollSegment finished: " + activeSegment);
+    }
+
+    private void commit(long position) {
+        if (durablePosition >= position) {
+            return;
+        }
+        synchronized (commitLock) {
+            if (durablePosition >= position) {
+                return;
+            }
+            JournalSegment segment;
+            long targetPosition;
+            synchronized (this) {
+                segment = activeSegment;
+                targetPosition = writePosition;
+            }
+            long fromPosition = Math.max(durablePosition, segment.getBasePosition());
+            segment.force((int) (fromPosition - segment.getBasePosition()), (int) (targetPosition - segment.getBasePosition()));
+            durablePosition = targetPosition;
+        }
+    }
+
+    //
+
+    public long append(byte[] payload) throws IOException {
+        Objects.requireNonNull(payload);
+        long endPosition;
+        synchronized (this) {
+            if (segmentMap.isEmpty()) {
+                throw new IOException("Journal is closed: " + directory);
+            }
+            int offset = (int) (writePosition - activeSegment.getBasePosition());
+            if (!activeSegment.canWrite(offset, payload)) {
+                if (!activeSegment.canWrite(0, payload)) {
+                    throw new IOException("Record is larger than segment: " + payload.length);
+                }
+                rollSegment();
+                offset = 0;
+            }
+            endPosition = activeSegment.getBasePosition() + activeSegment.write(offset, payload);
+            writePosition = endPosition;
+        }
+        commit(endPosition);
+        return endPosition;
+    }
+
+    public List<JournalRecord> read(long fromPosition, int maxRecords) {
+        List<JournalRecord> records = new LinkedList<JournalRecord>();
+        long position = fromPosition;
+        long readablePosition = durablePosition;
+        while ((records.size() < maxRecords) && (position < readablePosition)) {
+            Map.Entry<Long, JournalSegment> segmentEntry = segmentMap.floorEntry(position);
+            if (segmentEntry == null) {
+                break;
+            }
+            JournalSegment segment = segmentEntry.getValue();
+            JournalRecord record = segment.read((int) (position - segment.getBasePosition()));
+            if (record != null) {
+                records.add(record);
+                position = record.getNextPosition();
+            } else {
+                Long nextBasePosition = segmentMap.higherKey(segment.getBasePosition());
+                if (nextBasePosition == null) {
+                    break;
+                }
+                position = nextBasePosition;
+            }
+        }
+        return records;
+    }
+
+    public void acknowledge(long position) throws IOException {
+        writeCheckpoint(position);
+        acknowledgedPosition = position;
+        //
+        Map.Entry<Long, JournalSegment> segmentEntry = segmentMap.firstEntry();
+        while ((segmentEntry != null) && (segmentEntry.getValue() != activeSegment) && (segmentEntry.getKey() + segmentSize <= position)) {
+            JournalSegment segment = segmentEntry.getValue();
+            segmentMap.remove(segmentEntry.getKey());
+            segment.close();
+            Files.deleteIfExists(segment.getPath());
+            log.debug("compacted journal segment: " + segment);
+            segmentEntry = segmentMap.firstEntry();
+        }
+    }
+
+    public long getDurablePosition() {
+        return durablePosition;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (JournalSegment segment : segmentMap.values()) {
+            segment.close();
+        }
+        segmentMap.clear();
+        checkpointChannel.close();
+        log.info("closed journal: " + directory);
+    }
+}
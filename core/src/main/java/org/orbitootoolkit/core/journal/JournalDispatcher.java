@@ -0,0 +1,401 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.orbitootoolkit.core.method.MethodDelegate;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.servicepoint.NotFoundException;
+import org.orbitootoolkit.core.servicepoint.ServicePointDispatcher;
+import org.orbitootoolkit.core.util.ReflectionUtility;
+import org.springframework.util.ClassUtils;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class JournalDispatcher<DomainContract> {
+    private static final long DELIVERY_TIMEOUT_MILLIS = 1000;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 60000;
+    private static final String DEAD_LETTER_DIRECTORY = "dead-letter";
+    // the JDK classes of serializable values (and of their serial forms), other JDK classes are not decoded;
+    // the arguments are written as the array of objects
+    private static final Set<String> JDK_VALUE_CLASS_NAMES = Set.of("java.lang.Object", "java.lang.String", "java.lang.Boolean", "java.lang.Character", "java.lang.Number", //
+            "java.lang.Byte", "java.lang.Short", "java.lang.Integer", "java.lang.Long", "java.lang.Float", "java.lang.Double", "java.lang.Enum", //
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.UUID", "java.util.Date", "java.util.CollSer", "java.util.ArrayList", //
+            "java.util.LinkedList", "java.util.Arrays$ArrayList", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap", //
+            "java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet", "java.util.Collections$UnmodifiableCollection", //
+            "java.util.Collections$UnmodifiableList", "java.util.Collections$UnmodifiableRandomAccessList", "java.util.Collections$UnmodifiableSet", //
+            "java.util.Collections$UnmodifiableMap");
+
+    @Getter
+    private String servicePointName = null;
+    @Getter
+    private Class<DomainContract> domainContractClass = null;
+    @Getter
+    private volatile Journal journal = null;
+    private int batchSize = 0;
+    private int maxAttempts = 0;
+    private long retryBackoffMillis = 0;
+    private ServicePointDispatcher servicePointDispatcher = null;
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+    private Journal deadLetterJournal = null;
+
+    private Map<Method, String> methodKeyMap = new HashMap<Method, String>();
+    private Map<Method, int[]> subjectIndexesMap = new HashMap<Method, int[]>();
+    private Map<String, Method> methodMap = new HashMap<String, Method>();
+    private Set<Class<?>> allowedClasses = new HashSet<Class<?>>();
+
+    private final Object deliverySignal = new Object();
+    private final Object deadLetterLock = new Object();
+    private volatile boolean running = false;
+    private Thread deliveryThread = null;
+
+    @Getter
+    private LongAdder deliveredCount = new LongAdder();
+    @Getter
+    private LongAdder failedCount = new LongAdder();
+    @Getter
+    private LongAdder deadLetterCount = new LongAdder();
+
+    //
+
+    public JournalDispatcher(String servicePointName, Class<DomainContract> domainContractClass, Journal journal, int batchSize, int maxAttempts,
+            long retryBackoffMillis, ServicePointDispatcher servicePointDispatcher, DomainServiceDescRepository domainServiceDescRepository) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(domainContractClass);
+        Objects.requireNonNull(journal);
+        //
+        this.servicePointName = servicePointName;
+        this.domainContractClass = domainContractClass;
+        this.journal = journal;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.servicePointDispatcher = servicePointDispatcher;
+        this.domainServiceDescRepository = domainServiceDescRepository;
+        //
+        for (Method method : ArrayUtils.nullToEmpty(domainContractClass.getMethods(), Method[].class)) {
+            boolean isInstanceMethod = ((method.getModifiers() & Modifier.STATIC) == 0);
+            boolean containsSubject = (MethodDelegate.getMethodSubjectIndex(method) != -1);
+            if (isInstanceMethod && containsSubject) {
+                if (!void.class.equals(method.getReturnType())) {
+                    throw new IllegalStateException("Durable service point can contain only void methods: " + ReflectionUtility.getSimpleName(method));
+                }
+                String methodKey = getMethodKey(method);
+                methodKeyMap.put(method, methodKey);
+                methodMap.put(methodKey, method);
+                subjectIndexesMap.put(method, MethodDelegate.getMethodSubjectIndexes(method));
+                for (Type parameterType : method.getGenericParameterTypes()) {
+                    allowType(parameterType);
+                }
+            }
+        }
+    }
+
+    //
+
+    private static boolean isJdkClass(Class<?> valueClass) {
+        return valueClass.isPrimitive() || valueClass.getName().startsWith("java.") || valueClass.getName().startsWith("javax.");
+    }
+
+    private void allowType(Type type) {
+        if (type instanceof Class<?> valueClass) {
+            allowClass(valueClass);
+        } else if (type instanceof ParameterizedType parameterizedType) {
+            allowType(parameterizedType.getRawType());
+            for (Type argumentType : parameterizedType.getActualTypeArguments()) {
+                allowType(argumentType);
+            }
+        } else if (type instanceof GenericArrayType genericArrayType) {
+            allowType(genericArrayType.getGenericComponentType());
+        } else if (type instanceof WildcardType wildcardType) {
+            for (Type upperBound : wildcardType.getUpperBounds()) {
+                allowType(upperBound);
+            }
+        }
+    }
+
+    // allows the class (with its subclasses) and the classes of its serialized fields
+    private void allowClass(Class<?> valueClass) {
+        if (valueClass.isArray()) {
+            allowClass(valueClass.getComponentType());
+        } else if (!isJdkClass(valueClass) && allowedClasses.add(valueClass)) {
+            for (Class<?> currentClass = valueClass; (currentClass != null) && !isJdkClass(currentClass); currentClass = currentClass.getSuperclass()) {
+                for (Field field : currentClass.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        allowType(field.getGenericType());
+                    }
+                }
+            }
+        }
+    }
+
+    // the subject can be the instance of the subclass of the parameter type (e.g. of the bound subject class)
+    private boolean isAllowed(Class<?> valueClass) {
+        if (valueClass.isArray()) {
+            return isAllowed(valueClass.getComponentType());
+        } else if (valueClass.isPrimitive() || JDK_VALUE_CLASS_NAMES.contains(valueClass.getName()) || valueClass.getName().startsWith("java.time.")) {
+            return true;
+        }
+        return allowedClasses.stream().anyMatch((allowedClass) -> allowedClass.isAssignableFrom(valueClass));
+    }
+
+    private static String getMethodKey(Method method) {
+        return method.getName() + ReflectionUtility.getMethodParameterTypes(method).stream().map(Class::getName).collect(Collectors.joining(",", "(", ")"));
+    }
+
+    // the tenant of the caller is written after the arguments (the records written without the tenant can be read)
+    private static byte[] encode(String methodKey, Object[] args, String tenant) throws IOException {
+        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectStream = new ObjectOutputStream(byteStream)) {
+            objectStream.writeUTF(methodKey);
+            objectStream.writeObject(ArrayUtils.nullToEmpty(args));
+            objectStream.writeObject(tenant);
+        }
+        return byteStream.toByteArray();
+    }
+
+    private static String readTenant(ObjectInputStream objectStream) throws IOException, ClassNotFoundException {
+        try {
+            return (String) objectStream.readObject();
+        } catch (EOFException ex) {
+            return null;
+        }
+    }
+
+    private class InvocationInputStream extends ObjectInputStream {
+        public InvocationInputStream(InputStream inputStream) throws IOException {
+            super(inputStream);
+        }
+
+        // the class is loaded without initialization, only the allowed classes are instantiated by the stream
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass objectStreamClass) throws IOException, ClassNotFoundException {
+            Class<?> valueClass = ClassUtils.forName(objectStreamClass.getName(), domainContractClass.getClassLoader());
+            if (!isAllowed(valueClass)) {
+                throw new InvalidClassException(objectStreamClass.getName(), "Class is not allowed by durable service point: " + servicePointName);
+            }
+            return valueClass;
+        }
+    }
+
+    // returns false, when the delivery should stop (the delivery is stopped or interrupted)
+    private boolean await(long timeoutMillis) {
+        synchronized (deliverySignal) {
+            if (running) {
+                try {
+                    deliverySignal.wait(timeoutMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return running;
+        }
+    }
+
+    private void moveToDeadLetters(JournalRecord record, Throwable throwable) throws IOException {
+        log.error("Cannot deliver journal record, it is moved to dead letters [" + servicePointName + ", " + record.getPosition() + "]", throwable);
+        synchronized (deadLetterLock) {
+            if (deadLetterJournal == null) {
+                deadLetterJournal = new Journal(journal.getDirectory().resolve(DEAD_LETTER_DIRECTORY), journal.getSegmentSize());
+            }
+            deadLetterJournal.append(record.getPayload());
+        }
+        deadLetterCount.increment();
+    }
+
+    // returns true, when the record is delivered or moved to the dead letters (the record can be acknowledged)
+    private boolean deliver(JournalRecord record) {
+        Method method = null;
+        Object[] args = null;
+        String tenant = null;
+        try (ObjectInputStream objectStream = new InvocationInputStream(new ByteArrayInputStream(record.getPayload()))) {
+            method = methodMap.get(objectStream.readUTF());
+            args = (Object[]) objectStream.readObject();
+            tenant = readTenant(objectStream);
+            if (method == null) {
+                throw new IllegalStateException("Unknown method of service point: " + servicePointName);
+            }
+        } catch (Exception ex) {
+            // the record, which cannot be decoded, is not delivered again
+            failedCount.increment();
+            return deadLetter(record, ex);
+        }
+        Method deliveredMethod = method;
+        Object[] deliveredArgs = args;
+        for (int attempt = 1; running; attempt++) {
+            try {
+                // the record is delivered for the tenant of its caller
+                domainServiceDescRepository.invokeWithTenant(tenant, () -> servicePointDispatcher.invoke(servicePointName, deliveredMethod, deliveredArgs));
+                deliveredCount.increment();
+                return true;
+            } catch (Throwable throwable) {
+                failedCount.increment();
+                if (attempt >= maxAttempts) {
+                    return deadLetter(record, throwable);
+                }
+                long backoffMillis = Math.min(retryBackoffMillis << Math.min(attempt - 1, 20), MAX_RETRY_BACKOFF_MILLIS);
+                log.warn("Cannot deliver journal record [" + servicePointName + ", " + record.getPosition() + ", " + attempt + "]: " + throwable);
+                if ((backoffMillis > 0) && !await(backoffMillis)) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean deadLetter(JournalRecord record, Throwable throwable) {
+        try {
+            moveToDeadLetters(record, throwable);
+            return true;
+        } catch (IOException ex) {
+            log.error("Cannot move journal record to dead letters [" + servicePointName + ", " + record.getPosition() + "]", ex);
+            return false;
+        }
+    }
+
+    private void deliverAll() {
+        log.info("delivery started: " + servicePointName);
+        long position = journal.getAcknowledgedPosition();
+        while (running) {
+            List<JournalRecord> records = journal.read(position, batchSize);
+            if (records.isEmpty()) {
+                if ((journal.getDurablePosition() <= position) && !await(DELIVERY_TIMEOUT_MILLIS)) {
+                    break;
+                }
+                continue;
+            }
+            // the delivery stops at the first record, which is neither delivered nor moved to the dead letters,
+            // only the records before it are acknowledged (the record is delivered again after the restart)
+            long acknowledgedPosition = position;
+            for (JournalRecord record : records) {
+                if (!deliver(record)) {
+                    break;
+                }
+                position = record.getNextPosition();
+            }
+            if (position != acknowledgedPosition) {
+                try {
+                    journal.acknowledge(position);
+                } catch (IOException ex) {
+                    log.error("Cannot acknowledge journal: " + servicePointName, ex);
+                }
+            } else if (!await(DELIVERY_TIMEOUT_MILLIS)) {
+                break;
+            }
+        }
+        log.info("delivery finished: " + servicePointName);
+    }
+
+    private void signalDelivery() {
+        synchronized (deliverySignal) {
+            deliverySignal.notifyAll();
+        }
+    }
+
+    //
+
+    public boolean isJournaled(Method method) {
+        return methodKeyMap.containsKey(method);
+    }
+
+    public void append(Method method, Object[] args) throws IOException {
+        // the record without the subject could not be delivered, it is rejected by the caller
+        for (int subjectIndex : subjectIndexesMap.get(method)) {
+            if ((args == null) || (args[subjectIndex] == null)) {
+                throw new NotFoundException("Cannot find subject for: " + servicePointName);
+            }
+        }
+        journal.append(encode(methodKeyMap.get(method), args, domainServiceDescRepository.getCurrentTenant()));
+        signalDelivery();
+    }
+
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            deliveryThread = new Thread(this::deliverAll, "journal-" + servicePointName);
+            deliveryThread.setDaemon(true);
+            deliveryThread.start();
+        }
+    }
+
+    public synchronized void suspend() throws IOException {
+        // the journal is closed, because the checkpoint cannot contain the open files
+        stop();
+        close();
+    }
+
+    public synchronized void close() throws IOException {
+        journal.close();
+        synchronized (deadLetterLock) {
+            if (deadLetterJournal != null) {
+                deadLetterJournal.close();
+                deadLetterJournal = null;
+            }
+        }
+    }
+
+    public synchronized void reopen() throws IOException {
+        journal = new Journal(journal.getDirectory(), journal.getSegmentSize());
+    }
+
+    public synchronized void stop() {
+        if (running) {
+            running = false;
+            signalDelivery();
+            try {
+                deliveryThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            deliveryThread = null;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.orbitootoolkit.core.api.DurableServicePoint;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.servicepoint.ServicePointDispatcher;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class JournalDispatcherRepository implements ApplicationListener<ApplicationContextEvent> {
+    public static final String JOURNAL_DIRECTORY_PROPERTY = "orbitoo.journal.directory";
+
+    private Map<String, JournalDispatcher<?>> journalDispatcherMap = new ConcurrentHashMap<String, JournalDispatcher<?>>();
+    private volatile boolean started = false;
+
+    @Autowired
+    private BeanFactory beanFactory = null;
+
+    @Autowired
+    private Environment environment = null;
+
+    private Path getJournalDirectory(String servicePointName) {
+        String defaultDirectory = Path.of(System.getProperty("java.io.tmpdir"), "orbitoo-journal").toString();
+        return Path.of(environment.getProperty(JOURNAL_DIRECTORY_PROPERTY, defaultDirectory), servicePointName);
+    }
+
+    public <DomainContract> JournalDispatcher<DomainContract> addJournalDispatcher(String servicePointName, Class<DomainContract> domainContractClass,
+            DurableServicePoint durableServicePoint) {
+        Journal journal = null;
+        try {
+            journal = new Journal(getJournalDirectory(servicePointName), durableServicePoint.segmentSize());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open journal: " + servicePointName, ex);
+        }
+        ServicePointDispatcher servicePointDispatcher = beanFactory.getBean(ServicePointDispatcher.class);
+        JournalDispatcher<DomainContract> journalDispatcher = new JournalDispatcher<DomainContract>( //
+                servicePointName, domainContractClass, journal, durableServicePoint.batchSize(), durableServicePoint.maxAttempts(), //
+                durableServicePoint.retryBackoffMillis(), servicePointDispatcher, beanFactory.getBean(DomainServiceDescRepository.class));
+        journalDispatcherMap.put(servicePointName, journalDispatcher);
+        log.info("added journalDispatcher [" + servicePointName + ", " + journal.getDirectory() + "]");
+        if (started) {
+            journalDispatcher.start();
+        }
+        return journalDispatcher;
+    }
+
+    public JournalDispatcher<?> getJournalDispatcher(String servicePointName) {
+        return journalDispatcherMap.get(servicePointName);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        if (event instanceof ContextRefreshedEvent) {
+            // delivery (including the replay of pending records) starts, when all domain services are registered
+            started = true;
+            journalDispatcherMap.values().forEach(JournalDispatcher::start);
+        } else if (event instanceof ContextClosedEvent) {
+            // delivery stops, before the domain services are removed (pending records are replayed on restart)
+            started = false;
+            journalDispatcherMap.values().forEach(JournalDispatcher::stop);
+        }
+    }
+
+    public void suspend() throws IOException {
+        for (JournalDispatcher<?> journalDispatcher : journalDispatcherMap.values()) {
+            journalDispatcher.suspend();
+        }
+    }
+
+    public void resume() throws IOException {
+        for (JournalDispatcher<?> journalDispatcher : journalDispatcherMap.values()) {
+            journalDispatcher.reopen();
+            if (started) {
+                journalDispatcher.start();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        started = false;
+        for (JournalDispatcher<?> journalDispatcher : journalDispatcherMap.values()) {
+            journalDispatcher.stop();
+            try {
+                journalDispatcher.close();
+            } catch (IOException ex) {
+                log.error("Cannot close journal: " + journalDispatcher.getServicePointName(), ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@ToString(onlyExplicitlyIncluded = true)
+public class JournalSegment implements Closeable {
+    public static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    @Getter
+    @ToString.Include
+    private Path path = null;
+    @Getter
+    @ToString.Include
+    private long basePosition = 0;
+    @Getter
+    private int size = 0;
+
+    private FileChannel fileChannel = null;
+    private MappedByteBuffer buffer = null;
+
+    //
+
+    public JournalSegment(Path path, long basePosition, int size) throws IOException {
+        this.path = path;
+        this.basePosition = basePosition;
+        this.size = size;
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    //
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    public boolean canWrite(int offset, byte[] payload) {
+        return (offset + RECORD_HEADER_SIZE + payload.length) <= size;
+    }
+
+    public int write(int offset, byte[] payload) {
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset + RECORD_HEADER_SIZE);
+        target.put(payload);
+        target.putInt(offset + Integer.BYTES, checksum(payload));
+        target.putInt(offset, payload.length);
+        return offset + RECORD_HEADER_SIZE + payload.length;
+    }
+
+    public JournalRecord read(int offset) {
+        if ((offset + RECORD_HEADER_SIZE) > size) {
+            return null;
+        }
+        ByteBuffer source = buffer.duplicate();
+        int length = source.getInt(offset);
+        if ((length <= 0) || ((offset + RECORD_HEADER_SIZE + length) > size)) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        source.position(offset + RECORD_HEADER_SIZE);
+        source.get(payload);
+        if (source.getInt(offset + Integer.BYTES) != checksum(payload)) {
+            return null;
+        }
+        long position = basePosition + offset;
+        return new JournalRecord(position, position + RECORD_HEADER_SIZE + length, payload);
+    }
+
+    public void clear(int fromOffset) {
+        ByteBuffer target = buffer.duplicate();
+        target.position(fromOffset);
+        while (target.hasRemaining()) {
+            target.put((byte) 0);
+        }
+        buffer.force(fromOffset, size - fromOffset);
+    }
+
+    public void force(int fromOffset, int toOffset) {
+        if (toOffset > fromOffset) {
+            buffer.force(fromOffset, toOffset - fromOffset);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        fileChannel.close();
+    }
+}
@@ -0,0 +1,98 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.mailbox;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiPredicate;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the events of one subject are processed sequentially, the mailbox is removed, when it becomes empty
+@Slf4j
+public class Mailbox {
+    private Object key = null;
+    private Executor executor = null;
+    private int batchSize = 0;
+    private BiPredicate<Object, Mailbox> removeListener = null;
+    private Queue<Runnable> queue = new ArrayDeque<Runnable>();
+    private boolean scheduled = false;
+    private boolean closed = false;
+
+    //
+
+    public Mailbox(Object key, Executor executor, int batchSize, BiPredicate<Object, Mailbox> removeListener) {
+        this.key = key;
+        this.executor = executor;
+        this.batchSize = Math.max(1, batchSize);
+        this.removeListener = removeListener;
+    }
+
+    // returns false, when the mailbox has been already closed (the event should be posted to the new mailbox)
+    public synchronized boolean offer(Runnable event) {
+        if (closed) {
+            return false;
+        }
+        queue.add(event);
+        if (!scheduled) {
+            try {
+                executor.execute(this::drain);
+                scheduled = true;
+            } catch (RejectedExecutionException ex) {
+                queue.remove(event);
+                throw ex;
+            }
+        }
+        return true;
+    }
+
+    private synchronized Runnable poll() {
+        Runnable event = queue.poll();
+        if (event == null) {
+            scheduled = false;
+            closed = true;
+            removeListener.test(key, this);
+        }
+        return event;
+    }
+
+    private void drain() {
+        while (true) {
+            for (int count = 0; count < batchSize; count++) {
+                Runnable event = poll();
+                if (event == null) {
+                    return;
+                }
+                event.run();
+            }
+            // the thread is released after the batch, therefore the busy subject doesn't starve other subjects
+            try {
+                executor.execute(this::drain);
+                return;
+            } catch (RejectedExecutionException ex) {
+                log.debug("drain continues in the current thread: " + key);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.mailbox;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
+import org.orbitootoolkit.core.api.Subject;
+import org.orbitootoolkit.core.api.SubjectMailbox;
+import org.orbitootoolkit.core.method.MethodDelegate;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Getter
+public class MailboxDispatcher<DomainContract> {
+    private static final ThreadLocal<CurrentMailbox> currentMailbox = new ThreadLocal<CurrentMailbox>();
+
+    private String servicePointName = null;
+    private Class<DomainContract> domainContractClass = null;
+    private int threads = 0;
+    private int batchSize = 0;
+
+    @Getter(AccessLevel.NONE)
+    private volatile ExecutorService executorService = null;
+
+    @Getter(AccessLevel.NONE)
+    private Map<Object, Mailbox> mailboxMap = new ConcurrentHashMap<Object, Mailbox>();
+
+    @Getter(AccessLevel.NONE)
+    private Map<List<Object>, AccessibleObject> accessorMap = new ConcurrentHashMap<List<Object>, AccessibleObject>();
+
+    @FunctionalInterface
+    public static interface Invocation {
+        public Object invoke() throws Throwable;
+    }
+
+    // the mailbox processed by the worker thread (the key is not unique across the dispatchers)
+    @AllArgsConstructor
+    private static class CurrentMailbox {
+        private MailboxDispatcher<?> mailboxDispatcher = null;
+        private Object key = null;
+    }
+
+    // the subjects without the key are identified by the instance
+    @AllArgsConstructor
+    private static class IdentityKey {
+        private Object subject = null;
+
+        @Override
+        public boolean equals(Object that) {
+            return (that instanceof IdentityKey identityKey) && (identityKey.subject == subject);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(subject);
+        }
+    }
+
+    //
+
+    public MailboxDispatcher(String servicePointName, Class<DomainContract> domainContractClass, SubjectMailbox subjectMailbox) {
+        this.servicePointName = servicePointName;
+        this.domainContractClass = domainContractClass;
+        this.threads = Math.max(1, subjectMailbox.threads());
+        this.batchSize = subjectMailbox.batchSize();
+        this.executorService = createExecutorService();
+    }
+
+    private ExecutorService createExecutorService() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, (runnable) -> {
+            Thread thread = new Thread(runnable, "mailbox-" + servicePointName + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private AccessibleObject findAccessor(Class<?> subjectClass, String keyName) {
+        Method getter = MethodUtils.getMatchingMethod(subjectClass, "get" + StringUtils.capitalize(keyName));
+        if (getter != null) {
+            getter.trySetAccessible();
+            return getter;
+        }
+        Field field = FieldUtils.getField(subjectClass, keyName, true);
+        if (field == null) {
+            throw new IllegalStateException("Cannot find subject key [" + subjectClass.getSimpleName() + ", " + keyName + "]");
+        }
+        return field;
+    }
+
+    private Object getKey(Method method, Object[] args) throws ReflectiveOperationException {
+        int subjectIndex = MethodDelegate.getMethodSubjectIndex(method);
+        Object subject = ArrayUtils.get(args, subjectIndex, null);
+        if (subject == null) {
+            return null;
+        }
+        Parameter parameter = method.getParameters()[subjectIndex];
+        String keyName = parameter.getAnnotation(Subject.class).key();
+        if (keyName.isEmpty()) {
+            return new IdentityKey(subject);
+        }
+        AccessibleObject accessor = accessorMap.computeIfAbsent(List.of(subject.getClass(), keyName), (key) -> findAccessor(subject.getClass(), keyName));
+        return (accessor instanceof Method getter) ? getter.invoke(subject) : ((Field) accessor).get(subject);
+    }
+
+    private void post(Object key, Runnable event) {
+        while (true) {
+            Mailbox mailbox = mailboxMap.computeIfAbsent(key, (newKey) -> new Mailbox(newKey, executorService, batchSize, mailboxMap::remove));
+            if (mailbox.offer(event)) {
+                return;
+            }
+        }
+    }
+
+    private static boolean isFuture(Class<?> returnType) {
+        boolean isFuture = Future.class.isAssignableFrom(returnType) || CompletionStage.class.isAssignableFrom(returnType);
+        return isFuture && returnType.isAssignableFrom(CompletableFuture.class);
+    }
+
+    public Object invoke(Method method, Object[] args, Invocation invocation) throws Throwable {
+        Object key = getKey(method, args);
+        if (key == null) {
+            return invocation.invoke();
+        }
+        // the nested invocation of the same mailbox is invoked directly by its worker, the invocation of the other
+        // mailbox is posted; the worker cannot wait for the other mailbox (it could deadlock), only the future is returned
+        CurrentMailbox current = currentMailbox.get();
+        boolean isFuture = isFuture(method.getReturnType());
+        if (current != null) {
+            if ((current.mailboxDispatcher == this) && current.key.equals(key)) {
+                return invocation.invoke();
+            } else if (!isFuture) {
+                throw new IllegalStateException("Cannot wait for mailbox [" + servicePointName + ", " + method.getName() //
+                        + "] from mailbox worker [" + current.mailboxDispatcher.servicePointName + "]");
+            }
+        }
+        CompletableFuture<Object> result = new CompletableFuture<Object>();
+        post(key, () -> {
+            currentMailbox.set(new CurrentMailbox(this, key));
+            try {
+                Object value = invocation.invoke();
+                if (value instanceof CompletionStage<?> completionStage) {
+                    completionStage.whenComplete((completedValue, throwable) -> {
+                        if (throwable != null) {
+                            result.completeExceptionally(throwable);
+                        } else {
+                            result.complete(completedValue);
+                        }
+                    });
+                } else {
+                    result.complete(value);
+                }
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+            } finally {
+                currentMailbox.remove();
+            }
+        });
+        // the caller waits for the event to be processed, unless the method returns the future
+        if (isFuture) {
+            return result;
+        }
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    public int getMailboxCount() {
+        return mailboxMap.size();
+    }
+
+    public void suspend() throws InterruptedException {
+        ExecutorService oldExecutorService = executorService;
+        oldExecutorService.shutdown();
+        if (!oldExecutorService.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Cannot drain mailboxes: " + servicePointName);
+        }
+    }
+
+    public void resume() {
+        if (executorService.isShutdown()) {
+            executorService = createExecutorService();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.mailbox;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.orbitootoolkit.core.api.SubjectMailbox;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class MailboxDispatcherRepository {
+    private Map<String, MailboxDispatcher<?>> mailboxDispatcherMap = new ConcurrentHashMap<String, MailboxDispatcher<?>>();
+
+    public <DomainContract> MailboxDispatcher<DomainContract> addMailboxDispatcher(String servicePointName, Class<DomainContract> domainContractClass,
+            SubjectMailbox subjectMailbox) {
+        MailboxDispatcher<DomainContract> mailboxDispatcher = new MailboxDispatcher<DomainContract>(servicePointName, domainContractClass, subjectMailbox);
+        mailboxDispatcherMap.put(servicePointName, mailboxDispatcher);
+        log.info("added mailboxDispatcher [" + servicePointName + ", " + mailboxDispatcher.getThreads() + "]");
+        return mailboxDispatcher;
+    }
+
+    public MailboxDispatcher<?> getMailboxDispatcher(String servicePointName) {
+        return mailboxDispatcherMap.get(servicePointName);
+    }
+
+    public Map<String, MailboxDispatcher<?>> getMailboxDispatchers() {
+        return Collections.unmodifiableMap(mailboxDispatcherMap);
+    }
+
+    public void suspend() throws InterruptedException {
+        for (MailboxDispatcher<?> mailboxDispatcher : mailboxDispatcherMap.values()) {
+            mailboxDispatcher.suspend();
+        }
+    }
+
+    public void resume() {
+        mailboxDispatcherMap.values().forEach(MailboxDispatcher::resume);
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        suspend();
+    }
+}
@@ -0,0 +1,135 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.memo;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.api.Memoized;
+
+import lombok.Getter;
+
+public class MemoizedResultCache {
+    @Getter
+    private Method method = null;
+    private int maxSize = 0;
+    private long ttlNanos = 0;
+
+    private long version = -1;
+    private Map<MemoizedKey, MemoizedResult> resultMap = null;
+
+    private LongAdder hitCount = new LongAdder();
+    private LongAdder missCount = new LongAdder();
+    private LongAdder evictionCount = new LongAdder();
+    private LongAdder invalidationCount = new LongAdder();
+
+    //
+
+    public MemoizedResultCache(Method method, Memoized memoized) {
+        Objects.requireNonNull(method);
+        Objects.requireNonNull(memoized);
+        //
+        this.method = method;
+        this.maxSize = Math.max(1, memoized.maxSize());
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(memoized.ttlMillis());
+        // the least recently used result is evicted, when the cache is full
+        this.resultMap = new LinkedHashMap<MemoizedKey, MemoizedResult>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MemoizedKey, MemoizedResult> eldest) {
+                boolean isFull = size() > maxSize;
+                if (isFull) {
+                    evictionCount.increment();
+                }
+                return isFull;
+            }
+        };
+    }
+
+    //
+
+    private void checkVersion(long currentVersion) {
+        // the registry of domain services was changed, the results can be produced by other domain services
+        if (version != currentVersion) {
+            if (!resultMap.isEmpty()) {
+                invalidationCount.increment();
+            }
+            resultMap.clear();
+            version = currentVersion;
+        }
+    }
+
+    public synchronized MemoizedResult get(MemoizedKey key, long currentVersion) {
+        checkVersion(currentVersion);
+        MemoizedResult result = resultMap.get(key);
+        if ((result != null) && (result.getExpirationNanos() - System.nanoTime() <= 0)) {
+            resultMap.remove(key);
+            evictionCount.increment();
+            result = null;
+        }
+        if (result != null) {
+            hitCount.increment();
+        } else {
+            missCount.increment();
+        }
+        return result;
+    }
+
+    public synchronized void put(MemoizedKey key, Object value, long resolvedVersion) {
+        // the result resolved by the previous version of registry is not stored
+        if (version == resolvedVersion) {
+            resultMap.put(key, new MemoizedResult(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public synchronized void clear() {
+        if (!resultMap.isEmpty()) {
+            invalidationCount.increment();
+        }
+        resultMap.clear();
+    }
+
+    public synchronized int getSize() {
+        return resultMap.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+}
@@ -0,0 +1,68 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.memo;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+import org.orbitootoolkit.core.api.Memoized;
+import org.orbitootoolkit.core.util.ReflectionUtility;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class MemoizedResultCacheRepository {
+    private Map<Method, MemoizedResultCache> memoizedResultCacheMap = new ConcurrentHashMap<Method, MemoizedResultCache>();
+
+    public MemoizedResultCache getMemoizedResultCache(Method method) {
+        return memoizedResultCacheMap.computeIfAbsent(method, (key) -> {
+            Memoized memoized = method.getAnnotation(Memoized.class);
+            Class<?> returnType = method.getReturnType();
+            if (void.class.equals(returnType) || Future.class.isAssignableFrom(returnType) || CompletionStage.class.isAssignableFrom(returnType)) {
+                throw new IllegalStateException("Memoized method should return the value: " + ReflectionUtility.getSimpleName(method));
+            }
+            MemoizedResultCache memoizedResultCache = new MemoizedResultCache(method, memoized);
+            log.info("added memoizedResultCache [" + ReflectionUtility.getSimpleName(method) + ", " + memoized.maxSize() + ", " + memoized.ttlMillis() + "]");
+            return memoizedResultCache;
+        });
+    }
+
+    public Map<String, MemoizedResultCache> getMemoizedResultCaches() {
+        Map<String, MemoizedResultCache> memoizedResultCaches = new TreeMap<String, MemoizedResultCache>();
+        for (MemoizedResultCache memoizedResultCache : memoizedResultCacheMap.values()) {
+            memoizedResultCaches.put(ReflectionUtility.getSimpleName(memoizedResultCache.getMethod()), memoizedResultCache);
+        }
+        return Collections.unmodifiableMap(memoizedResultCaches);
+    }
+}
@@ -25,8 +25,11 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.orbitootoolkit.core.api.Memoized;
 import org.orbitootoolkit.core.api.Subject;
 import org.orbitootoolkit.core.util.ReflectionUtility;
 
@@ -34,17 +37,25 @@ public class MethodDelegate {
     private Method method = null;
     private MethodHandle methodHandle = null;
     private int subjectIndex = -1;
+    private int[] subjectIndexes = null;
+    private boolean memoized = false;
 
     //
 
-    public static int getMethodSubjectIndex(Method method) {
+    public static int[] getMethodSubjectIndexes(Method method) {
+        int[] subjectIndexes = ArrayUtils.EMPTY_INT_ARRAY;
         Parameter[] parameters = ArrayUtils.nullToEmpty(method.getParameters(), Parameter[].class);
         for (int index = 0; index < parameters.length; index++) {
             if (parameters[index].getAnnotation(Subject.class) != null) {
-                return index;
+                subjectIndexes = ArrayUtils.add(subjectIndexes, index);
             }
         }
-        return -1;
+        return subjectIndexes;
+    }
+
+    public static int getMethodSubjectIndex(Method method) {
+        int[] subjectIndexes = getMethodSubjectIndexes(method);
+        return ArrayUtils.isNotEmpty(subjectIndexes) ? subjectIndexes[0] : -1;
     }
 
     //
@@ -55,7 +66,9 @@ public class MethodDelegate {
         }
         //
         this.method = method;
-        this.subjectIndex = getMethodSubjectIndex(method);
+        this.subjectIndexes = getMethodSubjectIndexes(method);
+        this.subjectIndex = ArrayUtils.isNotEmpty(subjectIndexes) ? subjectIndexes[0] : -1;
+        this.memoized = method.isAnnotationPresent(Memoized.class);
         //
         try {
             this.methodHandle = MethodHandles.lookup().unreflect(method);
@@ -70,10 +83,37 @@ public class MethodDelegate {
         return method;
     }
 
+    public int getSubjectCount() {
+        return subjectIndexes.length;
+    }
+
     public Object getSubject(Object[] args) {
         return ArrayUtils.get(args, subjectIndex, null);
     }
 
+    public Object[] getSubjects(Object[] args) {
+        Object[] subjects = new Object[subjectIndexes.length];
+        for (int index = 0; index < subjectIndexes.length; index++) {
+            subjects[index] = ArrayUtils.get(args, subjectIndexes[index], null);
+        }
+        return subjects;
+    }
+
+    public List<Object> getArguments(Object[] args) {
+        List<Object> arguments = new ArrayList<Object>();
+        Object[] finalArgs = ArrayUtils.nullToEmpty(args);
+        for (int index = 0; index < finalArgs.length; index++) {
+            if (!ArrayUtils.contains(subjectIndexes, index)) {
+                arguments.add(finalArgs[index]);
+            }
+        }
+        return arguments;
+    }
+
+    public boolean isMemoized() {
+        return memoized;
+    }
+
     public Object invoke(Object service, Object[] args) throws Throwable {
         Object[] finalArgs = ArrayUtils.nullToEmpty(args);
         finalArgs = ArrayUtils.insert(0, finalArgs, service);
@@ -0,0 +1,134 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.multicast;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.orbitootoolkit.core.method.MethodDelegate;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.servicepoint.MulticastException;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Getter
+public class MulticastDispatcher<DomainContract> {
+    private String servicePointName = null;
+    private Class<DomainContract> domainContractClass = null;
+    private boolean parallel = false;
+    private Executor executor = null;
+
+    @FunctionalInterface
+    public static interface Invocation {
+        public Object invoke(DomainServiceDesc domainServiceDesc) throws Throwable;
+    }
+
+    //
+
+    public MulticastDispatcher(String servicePointName, Class<DomainContract> domainContractClass, boolean parallel, Executor executor) {
+        for (Method method : ArrayUtils.nullToEmpty(domainContractClass.getMethods(), Method[].class)) {
+            if (MethodDelegate.getMethodSubjectIndexes(method).length > 1) {
+                throw new IllegalStateException("Multicast doesn't support multiple subjects: " + domainContractClass.getSimpleName());
+            }
+        }
+        this.servicePointName = servicePointName;
+        this.domainContractClass = domainContractClass;
+        this.parallel = parallel;
+        this.executor = executor;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return ((throwable instanceof CompletionException) && (throwable.getCause() != null)) ? throwable.getCause() : throwable;
+    }
+
+    private static CompletableFuture<Object> invokeSync(Invocation invocation, DomainServiceDesc domainServiceDesc) {
+        try {
+            return CompletableFuture.completedFuture(invocation.invoke(domainServiceDesc));
+        } catch (Throwable throwable) {
+            return CompletableFuture.failedFuture(throwable);
+        }
+    }
+
+    private CompletableFuture<Object> invokeAsync(Invocation invocation, DomainServiceDesc domainServiceDesc) {
+        CompletableFuture<Object> result = new CompletableFuture<Object>();
+        executor.execute(() -> {
+            try {
+                result.complete(invocation.invoke(domainServiceDesc));
+            } catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        });
+        return result;
+    }
+
+    // the list returned by the method contains the elements of all results, otherwise the most specific result is returned
+    private static Object aggregate(Method method, List<Object> results) {
+        Class<?> returnType = method.getReturnType();
+        if (!Object.class.equals(returnType) && returnType.isAssignableFrom(ArrayList.class)) {
+            List<Object> values = new ArrayList<Object>();
+            for (Object result : results) {
+                if (result instanceof Collection<?> collection) {
+                    values.addAll(collection);
+                }
+            }
+            return values;
+        } else {
+            return results.isEmpty() ? null : results.get(0);
+        }
+    }
+
+    public Object invoke(List<DomainServiceDesc> domainServiceDescs, Method method, Invocation invocation) throws Throwable {
+        log.debug("invoke started [" + servicePointName + ", " + domainServiceDescs.size() + "]");
+        // all handlers are invoked (also after the failure), the results are in the order of specificity
+        List<CompletableFuture<Object>> futures = new ArrayList<CompletableFuture<Object>>(domainServiceDescs.size());
+        for (int index = 0; index < domainServiceDescs.size(); index++) {
+            DomainServiceDesc domainServiceDesc = domainServiceDescs.get(index);
+            boolean isLast = (index == domainServiceDescs.size() - 1);
+            futures.add((parallel && !isLast) ? invokeAsync(invocation, domainServiceDesc) : invokeSync(invocation, domainServiceDesc));
+        }
+        //
+        List<Object> results = new ArrayList<Object>(futures.size());
+        List<Throwable> failures = new ArrayList<Throwable>();
+        for (CompletableFuture<Object> future : futures) {
+            try {
+                results.add(future.join());
+            } catch (CompletionException ex) {
+                failures.add(unwrap(ex));
+            }
+        }
+        log.debug("invoke finished [" + results.size() + ", " + failures.size() + "]");
+        if (failures.size() == 1) {
+            throw failures.get(0);
+        } else if (!failures.isEmpty()) {
+            throw new MulticastException("Multicast failed [" + servicePointName + ", " + failures.size() + "]", failures);
+        }
+        return aggregate(method, results);
+    }
+}
@@ -0,0 +1,85 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.multicast;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import org.orbitootoolkit.core.api.Multicast;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class MulticastDispatcherRepository {
+    private Map<String, MulticastDispatcher<?>> multicastDispatcherMap = new ConcurrentHashMap<String, MulticastDispatcher<?>>();
+    private ExecutorService virtualExecutorService = null;
+
+    private synchronized Executor getParallelExecutor() {
+        // the handlers are forked to virtual threads (java 21), otherwise to the common fork-join pool
+        if (virtualExecutorService == null) {
+            try {
+                virtualExecutorService = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                log.debug("virtual threads are not available, using common pool");
+                return ForkJoinPool.commonPool();
+            }
+        }
+        return virtualExecutorService;
+    }
+
+    public <DomainContract> MulticastDispatcher<DomainContract> addMulticastDispatcher(String servicePointName, Class<DomainContract> domainContractClass,
+            Multicast multicast) {
+        MulticastDispatcher<DomainContract> multicastDispatcher = new MulticastDispatcher<DomainContract>(servicePointName, domainContractClass, //
+                multicast.parallel(), multicast.parallel() ? getParallelExecutor() : null);
+        multicastDispatcherMap.put(servicePointName, multicastDispatcher);
+        log.info("added multicastDispatcher [" + servicePointName + ", " + (multicast.parallel() ? "parallel" : "sequential") + "]");
+        return multicastDispatcher;
+    }
+
+    public MulticastDispatcher<?> getMulticastDispatcher(String servicePointName) {
+        return multicastDispatcherMap.get(servicePointName);
+    }
+
+    public Map<String, MulticastDispatcher<?>> getMulticastDispatchers() {
+        return Collections.unmodifiableMap(multicastDispatcherMap);
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (virtualExecutorService != null) {
+            virtualExecutorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.property;
+
+import java.util.Collection;
+
+import org.orbitootoolkit.core.api.TagSink;
+
+// collects the tags written by TagSource directly into the properties of probes (each tag is written once by
+// the supplier chosen by the schema, the properties are not deduplicated)
+class PropertySink implements TagSink {
+    private TagSourceSchema tagSourceSchema = null;
+    private Collection<Property> properties = null;
+
+    //
+
+    PropertySink(TagSourceSchema tagSourceSchema, Collection<Property> properties) {
+        this.tagSourceSchema = tagSourceSchema;
+        this.properties = properties;
+    }
+
+    //
+
+    private void put(PropertySupplier propertySupplier, Object value) {
+        try {
+            propertySupplier.addPropertyTo(properties, value);
+        } catch (PropertySupplierException ex) {
+            throw new IllegalStateException("Cannot obtain properties from: " + tagSourceSchema.getSubjectClass().getSimpleName(), ex);
+        }
+    }
+
+    @Override
+    public void put(String tag, Object value) {
+        put(tagSourceSchema.getPropertySupplier(tag), value);
+    }
+
+    @Override
+    public void put(int slot, Object value) {
+        put(tagSourceSchema.getPropertySupplier(slot), value);
+    }
+}
@@ -35,11 +35,16 @@ import org.apache.commons.lang3.StringUtils;
 import org.orbitootoolkit.core.api.Tag;
 import org.orbitootoolkit.core.util.ReflectionUtility;
 
+import lombok.Getter;
+
 public class PropertySupplier {
     private static final String MESSAGE_UNEXPECTED_EXCEPTION = "Unexpected exception: ";
+    @Getter
     private Class<?> declaringClass = null;
+    @Getter
     private String propertyName = null;
     private MethodHandle methodHandle = null;
+    @Getter
     private int priority = 0;
 
     //
@@ -107,19 +112,24 @@ public class PropertySupplier {
 
     //
 
+    public static String toPropertyValue(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if ((value instanceof Character) || (value instanceof Number) || (value instanceof Boolean)) {
+            return value.toString();
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else {
+            return null;
+        }
+    }
+
     private static void addPropertyTo(Collection<Property> properties, Class<?> clazz, String name, Object value, int priority) throws PropertySupplierException {
+        String propertyValue = toPropertyValue(value);
         if (value == null) {
             // DO NOTHING
-        } else if (value instanceof String) {
-            properties.add(new Property(clazz, name, (String) value, priority));
-        } else if (value instanceof Character) {
-            properties.add(new Property(clazz, name, ((Character) value).toString(), priority));
-        } else if (value instanceof Number) {
-            properties.add(new Property(clazz, name, ((Number) value).toString(), priority));
-        } else if (value instanceof Boolean) {
-            properties.add(new Property(clazz, name, ((Boolean) value).toString(), priority));
-        } else if (value instanceof Enum) {
-            properties.add(new Property(clazz, name, ((Enum<?>) value).name(), priority));
+        } else if (propertyValue != null) {
+            properties.add(new Property(clazz, name, propertyValue, priority));
         } else if (value instanceof Map) {
             Map<?, ?> map = (Map<?, ?>) value;
             for (Map.Entry<?, ?> entry : map.entrySet()) {
@@ -135,14 +145,19 @@ public class PropertySupplier {
         }
     }
 
-    public void extractPropertiesTo(Collection<Property> properties, Object subject) throws PropertySupplierException {
-        Object value;
+    public Object getValue(Object subject) {
         try {
-            value = methodHandle.invoke(subject);
+            return methodHandle.invoke(subject);
         } catch (Throwable ex) {
             throw new IllegalStateException(MESSAGE_UNEXPECTED_EXCEPTION, ex);
         }
-        //
+    }
+
+    void addPropertyTo(Collection<Property> properties, Object value) throws PropertySupplierException {
         addPropertyTo(properties, declaringClass, propertyName, value, priority);
     }
+
+    public void extractPropertiesTo(Collection<Property> properties, Object subject) throws PropertySupplierException {
+        addPropertyTo(properties, declaringClass, propertyName, getValue(subject), priority);
+    }
 }
@@ -32,16 +32,21 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.commons.lang3.reflect.MethodUtils;
 import org.orbitootoolkit.core.api.Tag;
+import org.orbitootoolkit.core.api.TagSource;
 import org.orbitootoolkit.core.util.ReflectionUtility;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -49,7 +54,19 @@ import lombok.extern.slf4j.Slf4j;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 @Lazy(false)
 public class PropertySupplierRepository {
+    public static final String TAG_SOURCE_VERIFY_PROPERTY = "orbitoo.tagSource.verify";
+
     private Map<Class<?>, List<PropertySupplier>> propertySupplierMap = new ConcurrentHashMap<Class<?>, List<PropertySupplier>>();
+    private Map<Class<?>, TagSourceSchema> tagSourceSchemaMap = new ConcurrentHashMap<Class<?>, TagSourceSchema>();
+    private boolean verifyTagSources = false;
+
+    @Autowired
+    private Environment environment = null;
+
+    @PostConstruct
+    public void init() {
+        verifyTagSources = environment.getProperty(TAG_SOURCE_VERIFY_PROPERTY, Boolean.class, false);
+    }
 
     private List<PropertySupplier> createPropertySuppliers(Class<?> subjectClass) {
         Objects.requireNonNull(subjectClass);
@@ -82,7 +99,11 @@ public class PropertySupplierRepository {
         return Collections.unmodifiableList(propertySuppliers);
     }
 
-    private List<PropertySupplier> getPropertySuppliers(Class<?> subjectClass) {
+    public Set<Class<?>> getSubjectClasses() {
+        return Set.copyOf(propertySupplierMap.keySet());
+    }
+
+    public List<PropertySupplier> getPropertySuppliers(Class<?> subjectClass) {
         Objects.requireNonNull(subjectClass);
         if (Object.class.equals(subjectClass)) {
             return Collections.emptyList();
@@ -97,11 +118,18 @@ public class PropertySupplierRepository {
 
     //
 
-    public Set<Property> getProperties(Object subject) {
-        Objects.requireNonNull(subject);
-        log.debug("getProperties started: " + subject.getClass().getSimpleName());
+    private TagSourceSchema getTagSourceSchema(TagSource tagSource) {
+        Class<?> subjectClass = tagSource.getClass();
+        TagSourceSchema tagSourceSchema = tagSourceSchemaMap.get(subjectClass);
+        if (tagSourceSchema == null) {
+            tagSourceSchema = new TagSourceSchema(subjectClass, getPropertySuppliers(subjectClass), tagSource.getTagSlots());
+            tagSourceSchemaMap.put(subjectClass, tagSourceSchema);
+        }
+        return tagSourceSchema;
+    }
+
+    private List<Property> getAnnotatedProperties(Object subject) {
         List<Property> propertiesAsList = new LinkedList<Property>();
-        //
         List<PropertySupplier> propertySuppliers = getPropertySuppliers(subject.getClass());
         for (PropertySupplier propertySupplier : propertySuppliers) {
             try {
@@ -110,7 +138,18 @@ public class PropertySupplierRepository {
                 throw new IllegalStateException("Cannot obtain properties from: " + subject.getClass().getSimpleName(), ex);
             }
         }
-        //
+        return propertiesAsList;
+    }
+
+    private Set<Property> getTagSourceProperties(TagSource tagSource) {
+        // the subject writes the values of tags, the tags are not read by reflection
+        TagSourceSchema tagSourceSchema = getTagSourceSchema(tagSource);
+        Set<Property> propertiesAsSet = new HashSet<Property>(tagSourceSchema.getTagCount() * 2);
+        tagSource.writeTags(new PropertySink(tagSourceSchema, propertiesAsSet));
+        return propertiesAsSet;
+    }
+
+    private static Set<Property> toPropertySet(List<Property> propertiesAsList) {
         Map<Property, Property> propertiesAsMap = new HashMap<Property, Property>();
         for (Property newProperty : propertiesAsList) {
             if (propertiesAsMap.containsKey(newProperty)) {
@@ -123,7 +162,56 @@ public class PropertySupplierRepository {
             }
         }
         //
-        Set<Property> propertiesAsSet = new HashSet<>(propertiesAsMap.values());
+        return new HashSet<>(propertiesAsMap.values());
+    }
+
+    private static Set<String> describe(Set<Property> properties) {
+        return properties.stream().map((property) -> property.getDeclaringClass().getName() + "#" + property.getPriority() + "#" //
+                + property.getName() + "=" + property.getValue()).collect(Collectors.toSet());
+    }
+
+    private void verifyTagSource(Object subject, Set<Property> tagSourceProperties) {
+        // the tag source should give the same properties (and the same resolution) as @Tag annotations
+        Set<Property> annotatedProperties = toPropertySet(getAnnotatedProperties(subject));
+        if (!describe(annotatedProperties).equals(describe(tagSourceProperties))) {
+            throw new IllegalStateException("Tag source differs from @Tag [" + subject.getClass().getSimpleName() + ", " //
+                    + tagSourceProperties + ", " + annotatedProperties + "]");
+        }
+    }
+
+    // the values of the tags (e.g. the state of workflow), written by the tag source in one pass or read by the suppliers
+    public Object[] getTagValues(Object subject, List<PropertySupplier> propertySuppliers) {
+        Objects.requireNonNull(subject);
+        Objects.requireNonNull(propertySuppliers);
+        if (subject instanceof TagSource tagSource) {
+            TagValueSink tagValueSink = new TagValueSink(getTagSourceSchema(tagSource), propertySuppliers);
+            tagSource.writeTags(tagValueSink);
+            return tagValueSink.getTagValues();
+        }
+        Object[] tagValues = new Object[propertySuppliers.size()];
+        for (int index = 0; index < tagValues.length; index++) {
+            tagValues[index] = propertySuppliers.get(index).getValue(subject);
+        }
+        return tagValues;
+    }
+
+    public Object getTagValue(Object subject, PropertySupplier propertySupplier) {
+        Objects.requireNonNull(propertySupplier);
+        return (subject instanceof TagSource) ? getTagValues(subject, List.of(propertySupplier))[0] : propertySupplier.getValue(subject);
+    }
+
+    public Set<Property> getProperties(Object subject) {
+        Objects.requireNonNull(subject);
+        log.debug("getProperties started: " + subject.getClass().getSimpleName());
+        Set<Property> propertiesAsSet;
+        if (subject instanceof TagSource tagSource) {
+            propertiesAsSet = getTagSourceProperties(tagSource);
+            if (verifyTagSources) {
+                verifyTagSource(subject, propertiesAsSet);
+            }
+        } else {
+            propertiesAsSet = toPropertySet(getAnnotatedProperties(subject));
+        }
         log.debug("getProperties finished: " + propertiesAsSet.size());
         return propertiesAsSet;
     }
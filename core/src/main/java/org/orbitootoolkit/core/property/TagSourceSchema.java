@@ -0,0 +1,94 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.property;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// the tags of the subject class, which implements TagSource: by name and by slot index
+@ToString(onlyExplicitlyIncluded = true)
+public class TagSourceSchema {
+    @Getter
+    @ToString.Include
+    private Class<?> subjectClass = null;
+
+    private Map<String, PropertySupplier> propertySupplierMap = null;
+    private PropertySupplier[] slots = null;
+
+    //
+
+    public TagSourceSchema(Class<?> subjectClass, List<PropertySupplier> propertySuppliers, List<String> tagSlots) {
+        Objects.requireNonNull(subjectClass);
+        Objects.requireNonNull(propertySuppliers);
+        Objects.requireNonNull(tagSlots);
+        //
+        this.subjectClass = subjectClass;
+        // the tag declared by more classes is written once, it is declared by the most general class
+        // (the same property is also chosen from the annotated tags by Property.canReplace)
+        Map<String, PropertySupplier> suppliers = new HashMap<String, PropertySupplier>();
+        for (PropertySupplier propertySupplier : propertySuppliers) {
+            PropertySupplier otherSupplier = suppliers.get(propertySupplier.getPropertyName());
+            if ((otherSupplier == null) || canReplace(propertySupplier, otherSupplier)) {
+                suppliers.put(propertySupplier.getPropertyName(), propertySupplier);
+            }
+        }
+        this.propertySupplierMap = Collections.unmodifiableMap(suppliers);
+        //
+        this.slots = new PropertySupplier[tagSlots.size()];
+        for (int slot = 0; slot < slots.length; slot++) {
+            slots[slot] = getPropertySupplier(tagSlots.get(slot));
+        }
+    }
+
+    //
+
+    private static boolean canReplace(PropertySupplier propertySupplier, PropertySupplier otherSupplier) {
+        boolean isSameClass = propertySupplier.getDeclaringClass().equals(otherSupplier.getDeclaringClass());
+        boolean isParentClass = propertySupplier.getDeclaringClass().isAssignableFrom(otherSupplier.getDeclaringClass()) && !isSameClass;
+        return isParentClass || (isSameClass && (propertySupplier.getPriority() > otherSupplier.getPriority()));
+    }
+
+    public int getTagCount() {
+        return propertySupplierMap.size();
+    }
+
+    public PropertySupplier getPropertySupplier(String tag) {
+        PropertySupplier propertySupplier = propertySupplierMap.get(tag);
+        if (propertySupplier == null) {
+            throw new IllegalArgumentException("Cannot find tag [" + subjectClass.getSimpleName() + ", " + tag + "]");
+        }
+        return propertySupplier;
+    }
+
+    public PropertySupplier getPropertySupplier(int slot) {
+        if ((slot < 0) || (slot >= slots.length)) {
+            throw new IllegalArgumentException("Cannot find tag slot [" + subjectClass.getSimpleName() + ", " + slot + "]");
+        }
+        return slots[slot];
+    }
+}
@@ -0,0 +1,61 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.property;
+
+import java.util.List;
+
+import org.orbitootoolkit.core.api.TagSink;
+
+// collects the values of the requested tags written by TagSource (e.g. the state of workflow), the other tags are ignored
+class TagValueSink implements TagSink {
+    private TagSourceSchema tagSourceSchema = null;
+    private List<PropertySupplier> propertySuppliers = null;
+    private Object[] tagValues = null;
+
+    //
+
+    TagValueSink(TagSourceSchema tagSourceSchema, List<PropertySupplier> propertySuppliers) {
+        this.tagSourceSchema = tagSourceSchema;
+        this.propertySuppliers = propertySuppliers;
+        this.tagValues = new Object[propertySuppliers.size()];
+    }
+
+    //
+
+    Object[] getTagValues() {
+        return tagValues;
+    }
+
+    @Override
+    public void put(String tag, Object value) {
+        for (int index = 0; index < tagValues.length; index++) {
+            if (tag.equals(propertySuppliers.get(index).getPropertyName())) {
+                tagValues[index] = value;
+            }
+        }
+    }
+
+    @Override
+    public void put(int slot, Object value) {
+        put(tagSourceSchema.getPropertySupplier(slot).getPropertyName(), value);
+    }
+}
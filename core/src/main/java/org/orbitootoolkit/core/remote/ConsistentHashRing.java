@@ -0,0 +1,84 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import lombok.ToString;
+
+// every node owns several points (virtual nodes) on the ring, the key belongs to the next point clockwise
+// (when the node is added or removed, only the keys of its points are moved)
+@ToString(onlyExplicitlyIncluded = true)
+public class ConsistentHashRing {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private NavigableMap<Long, RemoteNode> ring = new TreeMap<Long, RemoteNode>();
+
+    @ToString.Include
+    private List<RemoteNode> remoteNodes = null;
+
+    //
+
+    public ConsistentHashRing(Collection<RemoteNode> remoteNodes, int virtualNodes) {
+        this.remoteNodes = List.copyOf(remoteNodes);
+        for (RemoteNode remoteNode : remoteNodes) {
+            for (int index = 0; index < virtualNodes; index++) {
+                ring.put(hash(remoteNode.getName() + "#" + index), remoteNode);
+            }
+        }
+    }
+
+    // FNV-1a with the final mix of murmur3, the hash should be the same in all JVMs (unlike String.hashCode)
+    public static long hash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte value : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (value & 0xFF);
+            hash *= FNV_PRIME;
+        }
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    public List<RemoteNode> getRemoteNodes() {
+        return remoteNodes;
+    }
+
+    public RemoteNode getRemoteNode(String shardKey) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, RemoteNode> entry = ring.ceilingEntry(hash(String.valueOf(shardKey)));
+        return (entry != null) ? entry.getValue() : ring.firstEntry().getValue();
+    }
+}
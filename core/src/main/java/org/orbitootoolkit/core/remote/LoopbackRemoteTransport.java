@@ -0,0 +1,99 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+
+// all nodes are served by the handler of this JVM, the requests and responses are still encoded and decoded
+public class LoopbackRemoteTransport implements RemoteTransport {
+    private volatile RemoteRequestHandler remoteRequestHandler = null;
+
+    @Override
+    public void listen(RemoteNode localNode, RemoteRequestHandler remoteRequestHandler) {
+        this.remoteRequestHandler = remoteRequestHandler;
+    }
+
+    private static byte[] encodeRequest(RemoteRequest remoteRequest) {
+        try {
+            return RemoteCodec.encodeRequest(remoteRequest);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static RemoteRequest decodeRequest(byte[] message) {
+        try {
+            return RemoteCodec.decodeRequest(message);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static RemoteResponse copyResponse(RemoteResponse remoteResponse) {
+        try {
+            return RemoteCodec.decodeResponse(RemoteCodec.encodeResponse(remoteResponse));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public RemoteConnection connect(RemoteNode remoteNode) throws IOException {
+        if (remoteRequestHandler == null) {
+            throw new IOException("Loopback transport is not listening: " + remoteNode);
+        }
+        return new RemoteConnection() {
+            private volatile boolean open = true;
+
+            @Override
+            public CompletableFuture<RemoteResponse> send(RemoteRequest remoteRequest) {
+                RemoteRequestHandler handler = remoteRequestHandler;
+                if (!open || (handler == null)) {
+                    return CompletableFuture.failedFuture(new IOException("Connection is closed: " + remoteNode));
+                }
+                try {
+                    RemoteRequest copiedRequest = decodeRequest(encodeRequest(remoteRequest));
+                    return handler.handle(copiedRequest).thenApply(LoopbackRemoteTransport::copyResponse);
+                } catch (UncheckedIOException ex) {
+                    return CompletableFuture.failedFuture(ex.getCause());
+                }
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open && (remoteRequestHandler != null);
+            }
+
+            @Override
+            public void close() {
+                open = false;
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        remoteRequestHandler = null;
+    }
+}
@@ -0,0 +1,509 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// the compact binary encoding of requests and responses:
+// - the integers are encoded as zigzag varints, the strings as UTF-8 prefixed by the length
+// - the class names are written once per message, the repeated class names are referenced by the index
+// - the objects (subjects) are encoded field by field, their classes should declare the constructor without parameters
+// - only the allowed classes (of the remote service points) are decoded, other classes are rejected before they are loaded
+public class RemoteCodec {
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte BYTE = 3;
+    private static final byte SHORT = 4;
+    private static final byte CHAR = 5;
+    private static final byte INT = 6;
+    private static final byte LONG = 7;
+    private static final byte FLOAT = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte STRING = 10;
+    private static final byte BIG_INTEGER = 11;
+    private static final byte BIG_DECIMAL = 12;
+    private static final byte BYTES = 13;
+    private static final byte ENUM = 14;
+    private static final byte LIST = 15;
+    private static final byte SET = 16;
+    private static final byte MAP = 17;
+    private static final byte OBJECT = 18;
+
+    private static final Map<Class<?>, List<Field>> fieldMap = new ConcurrentHashMap<Class<?>, List<Field>>();
+    private static final Set<String> allowedClassNames = ConcurrentHashMap.newKeySet();
+
+    private RemoteCodec() {
+    }
+
+    private static List<Field> getFields(Class<?> objectClass) {
+        return fieldMap.computeIfAbsent(objectClass, (key) -> {
+            LinkedList<Field> fields = new LinkedList<Field>();
+            for (Class<?> currentClass = key; !Object.class.equals(currentClass); currentClass = currentClass.getSuperclass()) {
+                List<Field> declaredFields = new ArrayList<Field>();
+                for (Field field : currentClass.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        declaredFields.add(field);
+                    }
+                }
+                fields.addAll(0, declaredFields);
+            }
+            return List.copyOf(fields);
+        });
+    }
+
+    //
+
+    // the values of JDK types are encoded by their type (not by the class name), only the enums of JDK are allowed
+    private static boolean isJdkClass(Class<?> valueClass) {
+        return valueClass.isPrimitive() || valueClass.getName().startsWith("java.") || valueClass.getName().startsWith("javax.");
+    }
+
+    private static void allowType(Type type) {
+        if (type instanceof Class<?> valueClass) {
+            allowClass(valueClass);
+        } else if (type instanceof ParameterizedType parameterizedType) {
+            allowType(parameterizedType.getRawType());
+            for (Type argumentType : parameterizedType.getActualTypeArguments()) {
+                allowType(argumentType);
+            }
+        } else if (type instanceof GenericArrayType genericArrayType) {
+            allowType(genericArrayType.getGenericComponentType());
+        } else if (type instanceof WildcardType wildcardType) {
+            for (Type upperBound : wildcardType.getUpperBounds()) {
+                allowType(upperBound);
+            }
+        }
+    }
+
+    // allows the class and the classes of its fields (the enums and the objects, which can be decoded)
+    public static void allowClass(Class<?> valueClass) {
+        if (valueClass.isArray()) {
+            allowClass(valueClass.getComponentType());
+        } else if (valueClass.isEnum()) {
+            allowedClassNames.add(valueClass.getName());
+        } else if (!isJdkClass(valueClass) && !valueClass.isSynthetic() && allowedClassNames.add(valueClass.getName())) {
+            for (Class<?> currentClass = valueClass; (currentClass != null) && !isJdkClass(currentClass); currentClass = currentClass.getSuperclass()) {
+                for (Field field : currentClass.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers())) {
+                        allowType(field.getGenericType());
+                    }
+                }
+            }
+        }
+    }
+
+    // allows the classes of parameters and of the result of the method
+    public static void allowMethod(Method method) {
+        for (Type parameterType : method.getGenericParameterTypes()) {
+            allowType(parameterType);
+        }
+        allowType(method.getGenericReturnType());
+    }
+
+    public static boolean isAllowed(String className) {
+        return allowedClassNames.contains(className);
+    }
+
+    //
+
+    private static class Encoder {
+        private ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+        private Map<String, Integer> classNames = new HashMap<String, Integer>();
+
+        private void writeVarLong(long value) {
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                output.write((int) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            output.write((int) zigzag);
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeVarLong(bytes.length);
+            output.write(bytes, 0, bytes.length);
+        }
+
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(-1);
+            } else {
+                writeBytes(value.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        private void writeClassName(Class<?> valueClass) {
+            Integer index = classNames.get(valueClass.getName());
+            if (index != null) {
+                writeVarLong(index);
+            } else {
+                classNames.put(valueClass.getName(), classNames.size());
+                writeVarLong(-1);
+                writeString(valueClass.getName());
+            }
+        }
+
+        private void writeCollection(byte type, Collection<?> values) throws IOException {
+            output.write(type);
+            writeVarLong(values.size());
+            for (Object value : values) {
+                writeValue(value);
+            }
+        }
+
+        private void writeObject(Object value) throws IOException {
+            output.write(OBJECT);
+            writeClassName(value.getClass());
+            List<Field> fields;
+            try {
+                fields = getFields(value.getClass());
+            } catch (RuntimeException ex) {
+                throw new IOException("Cannot encode object: " + value.getClass().getName(), ex);
+            }
+            for (Field field : fields) {
+                try {
+                    writeValue(field.get(value));
+                } catch (IllegalAccessException ex) {
+                    throw new IOException("Cannot read field: " + field, ex);
+                }
+            }
+        }
+
+        @SuppressWarnings("java:S3776")
+        public void writeValue(Object value) throws IOException {
+            if (value == null) {
+                output.write(NULL);
+            } else if (value instanceof Boolean booleanValue) {
+                output.write(booleanValue ? TRUE : FALSE);
+            } else if (value instanceof Byte byteValue) {
+                output.write(BYTE);
+                writeVarLong(byteValue);
+            } else if (value instanceof Short shortValue) {
+                output.write(SHORT);
+                writeVarLong(shortValue);
+            } else if (value instanceof Character charValue) {
+                output.write(CHAR);
+                writeVarLong(charValue);
+            } else if (value instanceof Integer intValue) {
+                output.write(INT);
+                writeVarLong(intValue);
+            } else if (value instanceof Long longValue) {
+                output.write(LONG);
+                writeVarLong(longValue);
+            } else if (value instanceof Float floatValue) {
+                output.write(FLOAT);
+                writeVarLong(Float.floatToIntBits(floatValue));
+            } else if (value instanceof Double doubleValue) {
+                output.write(DOUBLE);
+                writeVarLong(Double.doubleToLongBits(doubleValue));
+            } else if (value instanceof String stringValue) {
+                output.write(STRING);
+                writeString(stringValue);
+            } else if (value instanceof BigInteger bigInteger) {
+                output.write(BIG_INTEGER);
+                writeBytes(bigInteger.toByteArray());
+            } else if (value instanceof BigDecimal bigDecimal) {
+                output.write(BIG_DECIMAL);
+                writeVarLong(bigDecimal.scale());
+                writeBytes(bigDecimal.unscaledValue().toByteArray());
+            } else if (value instanceof byte[] bytes) {
+                output.write(BYTES);
+                writeBytes(bytes);
+            } else if (value instanceof Enum<?> enumValue) {
+                output.write(ENUM);
+                writeClassName(enumValue.getDeclaringClass());
+                writeString(enumValue.name());
+            } else if (value instanceof List<?> list) {
+                writeCollection(LIST, list);
+            } else if (value instanceof Set<?> set) {
+                writeCollection(SET, set);
+            } else if (value instanceof Map<?, ?> map) {
+                output.write(MAP);
+                writeVarLong(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (value.getClass().isArray() || value.getClass().isSynthetic()) {
+                throw new IOException("Cannot encode value: " + value.getClass().getName());
+            } else {
+                writeObject(value);
+            }
+        }
+    }
+
+    //
+
+    private static class Decoder {
+        private byte[] input = null;
+        private int position = 0;
+        private List<String> classNames = new ArrayList<String>();
+
+        public Decoder(byte[] input) {
+            this.input = input;
+        }
+
+        private int readByte() throws IOException {
+            if (position >= input.length) {
+                throw new IOException("Unexpected end of message");
+            }
+            return input[position++] & 0xFF;
+        }
+
+        private long readVarLong() throws IOException {
+            long zigzag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int next = readByte();
+                zigzag |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private int readLength() throws IOException {
+            long length = readVarLong();
+            if ((length < -1) || (length > input.length - position)) {
+                throw new IOException("Malformed length: " + length);
+            }
+            return (int) length;
+        }
+
+        private int readCount() throws IOException {
+            int count = readLength();
+            if (count < 0) {
+                throw new IOException("Malformed count: " + count);
+            }
+            return count;
+        }
+
+        private byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[readCount()];
+            System.arraycopy(input, position, bytes, 0, bytes.length);
+            position += bytes.length;
+            return bytes;
+        }
+
+        private String readString() throws IOException {
+            int length = readLength();
+            if (length == -1) {
+                return null;
+            }
+            String value = new String(input, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private Class<?> readClass() throws IOException {
+            long index = readVarLong();
+            String className;
+            if (index == -1) {
+                className = readString();
+                classNames.add(className);
+            } else if ((index >= 0) && (index < classNames.size())) {
+                className = classNames.get((int) index);
+            } else {
+                throw new IOException("Malformed class reference: " + index);
+            }
+            if ((className == null) || !allowedClassNames.contains(className)) {
+                throw new IOException("Class is not allowed: " + className);
+            }
+            try {
+                return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+            } catch (ClassNotFoundException ex) {
+                throw new IOException("Cannot find class: " + className, ex);
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private Object readEnum() throws IOException {
+            Class<?> enumClass = readClass();
+            if (!enumClass.isEnum()) {
+                throw new IOException("Cannot decode enum: " + enumClass.getName());
+            }
+            return Enum.valueOf((Class<? extends Enum>) enumClass, readString());
+        }
+
+        private Object readObject() throws IOException {
+            Class<?> objectClass = readClass();
+            if (objectClass.isInterface() || Modifier.isAbstract(objectClass.getModifiers()) || objectClass.isArray()) {
+                throw new IOException("Cannot decode object: " + objectClass.getName());
+            }
+            try {
+                Constructor<?> constructor = objectClass.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                Object value = constructor.newInstance();
+                for (Field field : getFields(objectClass)) {
+                    field.set(value, readValue());
+                }
+                return value;
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                throw new IOException("Cannot decode object: " + objectClass.getName(), ex);
+            }
+        }
+
+        private <C extends Collection<Object>> C readCollection(C values) throws IOException {
+            int size = readCount();
+            for (int index = 0; index < size; index++) {
+                values.add(readValue());
+            }
+            return values;
+        }
+
+        @SuppressWarnings("java:S1142")
+        public Object readValue() throws IOException {
+            byte type = (byte) readByte();
+            switch (type) {
+            case NULL:
+                return null;
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case BYTE:
+                return (byte) readVarLong();
+            case SHORT:
+                return (short) readVarLong();
+            case CHAR:
+                return (char) readVarLong();
+            case INT:
+                return (int) readVarLong();
+            case LONG:
+                return readVarLong();
+            case FLOAT:
+                return Float.intBitsToFloat((int) readVarLong());
+            case DOUBLE:
+                return Double.longBitsToDouble(readVarLong());
+            case STRING:
+                return readString();
+            case BIG_INTEGER:
+                return new BigInteger(readBytes());
+            case BIG_DECIMAL:
+                int scale = (int) readVarLong();
+                return new BigDecimal(new BigInteger(readBytes()), scale);
+            case BYTES:
+                return readBytes();
+            case ENUM:
+                return readEnum();
+            case LIST:
+                return readCollection(new ArrayList<Object>());
+            case SET:
+                return readCollection(new LinkedHashSet<Object>());
+            case MAP:
+                int size = readCount();
+                Map<Object, Object> map = new LinkedHashMap<Object, Object>();
+                for (int index = 0; index < size; index++) {
+                    map.put(readValue(), readValue());
+                }
+                return map;
+            case OBJECT:
+                return readObject();
+            default:
+                throw new IOException("Unknown type: " + type);
+            }
+        }
+    }
+
+    //
+
+    public static byte[] encodeRequest(RemoteRequest remoteRequest) throws IOException {
+        Encoder encoder = new Encoder();
+        encoder.writeVarLong(remoteRequest.getRequestId());
+        encoder.writeString(remoteRequest.getServicePointName());
+        encoder.writeString(remoteRequest.getServiceName());
+        encoder.writeString(remoteRequest.getMethodKey());
+        Object[] args = remoteRequest.getArgs();
+        encoder.writeVarLong(args.length);
+        for (Object arg : args) {
+            encoder.writeValue(arg);
+        }
+        return encoder.output.toByteArray();
+    }
+
+    public static RemoteRequest decodeRequest(byte[] message) throws IOException {
+        Decoder decoder = new Decoder(message);
+        long requestId = decoder.readVarLong();
+        String servicePointName = decoder.readString();
+        String serviceName = decoder.readString();
+        String methodKey = decoder.readString();
+        Object[] args = new Object[decoder.readCount()];
+        for (int index = 0; index < args.length; index++) {
+            args[index] = decoder.readValue();
+        }
+        return new RemoteRequest(requestId, servicePointName, serviceName, methodKey, args);
+    }
+
+    public static byte[] encodeResponse(RemoteResponse remoteResponse) throws IOException {
+        Encoder encoder = new Encoder();
+        encoder.writeVarLong(remoteResponse.getRequestId());
+        if (remoteResponse.isFailure()) {
+            encoder.output.write(FALSE);
+            encoder.writeString(remoteResponse.getExceptionClassName());
+            encoder.writeString(remoteResponse.getExceptionMessage());
+        } else {
+            encoder.output.write(TRUE);
+            encoder.writeValue(remoteResponse.getValue());
+        }
+        return encoder.output.toByteArray();
+    }
+
+    public static RemoteResponse decodeResponse(byte[] message) throws IOException {
+        Decoder decoder = new Decoder(message);
+        long requestId = decoder.readVarLong();
+        if (decoder.readByte() == FALSE) {
+            return new RemoteResponse(requestId, null, decoder.readString(), decoder.readString());
+        } else {
+            return RemoteResponse.success(requestId, decoder.readValue());
+        }
+    }
+
+    // the request id is unknown, when the message cannot be decoded
+    public static long peekRequestId(byte[] message) throws IOException {
+        return new Decoder(message).readVarLong();
+    }
+}
@@ -0,0 +1,151 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.orbitootoolkit.core.method.MethodDelegate;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Getter
+public class RemoteDispatcher<DomainContract> {
+    private static final AtomicLong requestIdSequence = new AtomicLong();
+
+    private String servicePointName = null;
+    private Class<DomainContract> domainContractClass = null;
+    private String shardTag = null;
+    private long timeoutMillis = 0;
+    private ConsistentHashRing consistentHashRing = null;
+    private RemoteNode localNode = null;
+
+    @Getter(AccessLevel.NONE)
+    private Map<String, Method> methodMap = new HashMap<String, Method>();
+
+    @Getter(AccessLevel.NONE)
+    private Function<RemoteNode, RemoteConnection> connectionProvider = null;
+
+    @Getter(AccessLevel.NONE)
+    private LongAdder localInvocationCount = new LongAdder();
+
+    @Getter(AccessLevel.NONE)
+    private LongAdder remoteInvocationCount = new LongAdder();
+
+    //
+
+    public RemoteDispatcher(String servicePointName, Class<DomainContract> domainContractClass, String shardTag, long timeoutMillis, //
+            ConsistentHashRing consistentHashRing, RemoteNode localNode, Function<RemoteNode, RemoteConnection> connectionProvider) {
+        this.servicePointName = servicePointName;
+        this.domainContractClass = domainContractClass;
+        this.shardTag = shardTag;
+        this.timeoutMillis = timeoutMillis;
+        this.consistentHashRing = consistentHashRing;
+        this.localNode = localNode;
+        this.connectionProvider = connectionProvider;
+        for (Method method : ArrayUtils.nullToEmpty(domainContractClass.getMethods(), Method[].class)) {
+            if (MethodDelegate.getMethodSubjectIndex(method) != -1) {
+                methodMap.put(getMethodKey(method), method);
+                RemoteCodec.allowMethod(method);
+            }
+        }
+    }
+
+    // the method is identified by the name and by the parameter types (the order of methods differs in each JVM)
+    public static String getMethodKey(Method method) {
+        return method.getName() + Arrays.stream(method.getParameterTypes()).map(Class::getName).collect(Collectors.joining(",", "(", ")"));
+    }
+
+    public Method findMethod(String methodKey) {
+        return methodMap.get(methodKey);
+    }
+
+    // returns null, when the shard belongs to the local node
+    public RemoteNode findRemoteNode(String shardKey) {
+        RemoteNode remoteNode = consistentHashRing.getRemoteNode(shardKey);
+        if ((remoteNode == null) || remoteNode.equals(localNode)) {
+            localInvocationCount.increment();
+            return null;
+        } else {
+            remoteInvocationCount.increment();
+            return remoteNode;
+        }
+    }
+
+    private Object getValue(RemoteResponse remoteResponse) {
+        if (remoteResponse.isFailure()) {
+            throw new RemoteInvocationException(remoteResponse.getExceptionClassName() + ": " + remoteResponse.getExceptionMessage());
+        }
+        return remoteResponse.getValue();
+    }
+
+    public Object invoke(RemoteNode remoteNode, String serviceName, Method method, Object[] args) throws Throwable {
+        log.debug("invoke started [" + servicePointName + ", " + remoteNode.getName() + "]");
+        RemoteRequest remoteRequest = new RemoteRequest(requestIdSequence.incrementAndGet(), servicePointName, serviceName, //
+                getMethodKey(method), ArrayUtils.nullToEmpty(args));
+        CompletableFuture<RemoteResponse> future = connectionProvider.apply(remoteNode).send(remoteRequest);
+        // the method returning the future doesn't wait for the response
+        Class<?> returnType = method.getReturnType();
+        boolean isFuture = Future.class.isAssignableFrom(returnType) || CompletionStage.class.isAssignableFrom(returnType);
+        if (isFuture && returnType.isAssignableFrom(CompletableFuture.class)) {
+            return future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).thenApply(this::getValue);
+        }
+        try {
+            return getValue(future.get(timeoutMillis, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException ex) {
+            future.completeExceptionally(ex);
+            throw new RemoteInvocationException("Timeout of remote invocation [" + servicePointName + ", " + remoteNode.getName() + "]", ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw ex;
+        } catch (ExecutionException ex) {
+            throw new RemoteInvocationException("Cannot invoke remote service [" + servicePointName + ", " + remoteNode.getName() + "]", ex.getCause());
+        } finally {
+            log.debug("invoke finished:");
+        }
+    }
+
+    public long getLocalInvocationCount() {
+        return localInvocationCount.sum();
+    }
+
+    public long getRemoteInvocationCount() {
+        return remoteInvocationCount.sum();
+    }
+}
@@ -0,0 +1,265 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.orbitootoolkit.core.api.RemoteServicePoint;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.service.TenantOverlay;
+import org.orbitootoolkit.core.servicepoint.NotFoundException;
+import org.orbitootoolkit.core.servicepoint.ServicePointDispatcher;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.context.event.ApplicationContextEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class RemoteDispatcherRepository implements ApplicationListener<ApplicationContextEvent> {
+    public static final String REMOTE_NODES_PROPERTY = "orbitoo.remote.nodes";
+    public static final String REMOTE_NODE_PROPERTY = "orbitoo.remote.node";
+    public static final String REMOTE_TRANSPORT_PROPERTY = "orbitoo.remote.transport";
+    public static final String REMOTE_PIPELINE_DEPTH_PROPERTY = "orbitoo.remote.pipelineDepth";
+    public static final String REMOTE_THREADS_PROPERTY = "orbitoo.remote.threads";
+
+    private Map<String, RemoteDispatcher<?>> remoteDispatcherMap = new ConcurrentHashMap<String, RemoteDispatcher<?>>();
+    private Map<RemoteNode, RemoteConnection> connectionMap = new ConcurrentHashMap<RemoteNode, RemoteConnection>();
+    private List<RemoteNode> remoteNodes = Collections.emptyList();
+    private RemoteNode localNode = null;
+    private ExecutorService remoteWorkers = null;
+    private volatile boolean started = false;
+    private boolean listening = false;
+
+    @Autowired
+    private BeanFactory beanFactory = null;
+
+    @Autowired
+    private Environment environment = null;
+
+    @Autowired
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+
+    @Autowired(required = false)
+    private RemoteTransport remoteTransport = null;
+
+    @PostConstruct
+    public void init() {
+        remoteNodes = RemoteNode.parse(environment.getProperty(REMOTE_NODES_PROPERTY, ""));
+        String localNodeName = environment.getProperty(REMOTE_NODE_PROPERTY, "");
+        localNode = remoteNodes.stream().filter((remoteNode) -> remoteNode.getName().equals(localNodeName)).findFirst().orElse(null);
+        // the application can provide its own transport as the bean, otherwise the transport is chosen by the property
+        if (remoteTransport == null) {
+            String transport = environment.getProperty(REMOTE_TRANSPORT_PROPERTY, "socket");
+            if ("loopback".equals(transport)) {
+                remoteTransport = new LoopbackRemoteTransport();
+            } else if ("socket".equals(transport)) {
+                remoteTransport = new SocketRemoteTransport(environment.getProperty(REMOTE_PIPELINE_DEPTH_PROPERTY, Integer.class, 64));
+            } else {
+                throw new IllegalStateException("Unknown remote transport: " + transport);
+            }
+        }
+    }
+
+    private synchronized ExecutorService getRemoteWorkers() {
+        if (remoteWorkers == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            remoteWorkers = Executors.newFixedThreadPool(environment.getProperty(REMOTE_THREADS_PROPERTY, Integer.class, 16), (runnable) -> {
+                Thread thread = new Thread(runnable, "remote-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return remoteWorkers;
+    }
+
+    public <DomainContract> RemoteDispatcher<DomainContract> addRemoteDispatcher(String servicePointName, Class<DomainContract> domainContractClass,
+            RemoteServicePoint remoteServicePoint) {
+        ConsistentHashRing consistentHashRing = new ConsistentHashRing(remoteNodes, remoteServicePoint.virtualNodes());
+        RemoteDispatcher<DomainContract> remoteDispatcher = new RemoteDispatcher<DomainContract>(servicePointName, domainContractClass, //
+                remoteServicePoint.shardTag(), remoteServicePoint.timeoutMillis(), consistentHashRing, localNode, this::getConnection);
+        remoteDispatcherMap.put(servicePointName, remoteDispatcher);
+        log.info("added remoteDispatcher [" + servicePointName + ", " + consistentHashRing + "]");
+        if (started) {
+            listen();
+        }
+        return remoteDispatcher;
+    }
+
+    public RemoteDispatcher<?> getRemoteDispatcher(String servicePointName) {
+        return remoteDispatcherMap.get(servicePointName);
+    }
+
+    public Map<String, RemoteDispatcher<?>> getRemoteDispatchers() {
+        return Collections.unmodifiableMap(remoteDispatcherMap);
+    }
+
+    private RemoteConnection getConnection(RemoteNode remoteNode) {
+        RemoteConnection connection = connectionMap.get(remoteNode);
+        if ((connection != null) && connection.isOpen()) {
+            return connection;
+        }
+        synchronized (connectionMap) {
+            connection = connectionMap.get(remoteNode);
+            if ((connection == null) || !connection.isOpen()) {
+                try {
+                    connection = remoteTransport.connect(remoteNode);
+                } catch (IOException ex) {
+                    throw new RemoteInvocationException("Cannot connect to remote node: " + remoteNode, ex);
+                }
+                connectionMap.put(remoteNode, connection);
+            }
+            return connection;
+        }
+    }
+
+    //
+
+    private static Throwable unwrap(Throwable throwable) {
+        return ((throwable instanceof CompletionException) && (throwable.getCause() != null)) ? throwable.getCause() : throwable;
+    }
+
+    private void invoke(RemoteRequest remoteRequest, CompletableFuture<RemoteResponse> remoteResponse) throws Throwable {
+        long requestId = remoteRequest.getRequestId();
+        RemoteDispatcher<?> remoteDispatcher = remoteDispatcherMap.get(remoteRequest.getServicePointName());
+        Method method = (remoteDispatcher != null) ? remoteDispatcher.findMethod(remoteRequest.getMethodKey()) : null;
+        if (method == null) {
+            throw new NotFoundException("Cannot find method [" + remoteRequest.getServicePointName() + ", " + remoteRequest.getMethodKey() + "]");
+        }
+        // the domain service has been resolved by the caller, its binding is not resolved again
+        ServicePointDispatcher servicePointDispatcher = beanFactory.getBean(ServicePointDispatcher.class);
+        Object value = servicePointDispatcher.invokeDomainService(remoteRequest.getServicePointName(), remoteRequest.getServiceName(), //
+                method, remoteRequest.getArgs());
+        if (value instanceof CompletionStage<?> completionStage) {
+            completionStage.whenComplete((result, throwable) -> remoteResponse.complete((throwable != null) //
+                    ? RemoteResponse.failure(requestId, unwrap(throwable)) : RemoteResponse.success(requestId, result)));
+        } else {
+            remoteResponse.complete(RemoteResponse.success(requestId, value));
+        }
+    }
+
+    private CompletableFuture<RemoteResponse> handle(RemoteRequest remoteRequest) {
+        CompletableFuture<RemoteResponse> remoteResponse = new CompletableFuture<RemoteResponse>();
+        getRemoteWorkers().execute(() -> {
+            try {
+                invoke(remoteRequest, remoteResponse);
+            } catch (Throwable throwable) {
+                remoteResponse.complete(RemoteResponse.failure(remoteRequest.getRequestId(), throwable));
+            }
+        });
+        return remoteResponse;
+    }
+
+    // the subjects can be instances of the bound subject classes (not only of the parameter types), they are allowed
+    // with the domain services registered before the start (or before the resume)
+    private void allowSubjectClasses() {
+        List<DomainServiceDesc> domainServiceDescs = new ArrayList<DomainServiceDesc>();
+        for (String servicePointName : remoteDispatcherMap.keySet()) {
+            domainServiceDescs.addAll(domainServiceDescRepository.getDomainServiceDescs(servicePointName));
+        }
+        for (TenantOverlay tenantOverlay : domainServiceDescRepository.getTenantOverlays()) {
+            domainServiceDescs.addAll(tenantOverlay.getDomainServiceDescs());
+        }
+        for (DomainServiceDesc domainServiceDesc : domainServiceDescs) {
+            if (remoteDispatcherMap.containsKey(domainServiceDesc.getServicePointName())) {
+                RemoteCodec.allowClass(domainServiceDesc.getSubjectClass());
+            }
+        }
+    }
+
+    private synchronized void listen() {
+        if (!listening && (localNode != null) && !remoteDispatcherMap.isEmpty()) {
+            allowSubjectClasses();
+            try {
+                remoteTransport.listen(localNode, this::handle);
+                listening = true;
+            } catch (IOException ex) {
+                throw new IllegalStateException("Cannot listen: " + localNode, ex);
+            }
+        }
+    }
+
+    private synchronized void close() {
+        remoteTransport.close();
+        connectionMap.clear();
+        listening = false;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationContextEvent event) {
+        if (event instanceof ContextRefreshedEvent) {
+            // the requests are accepted, when all domain services are registered
+            started = true;
+            listen();
+        } else if (event instanceof ContextClosedEvent) {
+            started = false;
+            close();
+        }
+    }
+
+    public void suspend() {
+        close();
+    }
+
+    public void resume() {
+        if (started) {
+            listen();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        started = false;
+        close();
+        synchronized (this) {
+            if (remoteWorkers != null) {
+                remoteWorkers.shutdownNow();
+            }
+        }
+    }
+}
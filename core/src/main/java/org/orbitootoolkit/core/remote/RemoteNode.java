@@ -0,0 +1,58 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+public class RemoteNode {
+    private String name = null;
+    private String host = null;
+    private int port = 0;
+
+    // the format of nodes: name@host:port,name@host:port,...
+    public static List<RemoteNode> parse(String nodes) {
+        List<RemoteNode> remoteNodes = new ArrayList<RemoteNode>();
+        for (String node : StringUtils.split(StringUtils.defaultString(nodes), ',')) {
+            String name = StringUtils.substringBefore(node, "@").trim();
+            String address = StringUtils.substringAfter(node, "@").trim();
+            if (name.isEmpty() || !address.contains(":")) {
+                throw new IllegalArgumentException("Cannot parse remote node: " + node);
+            }
+            String host = StringUtils.substringBeforeLast(address, ":");
+            int port = Integer.parseInt(StringUtils.substringAfterLast(address, ":"));
+            remoteNodes.add(new RemoteNode(name, host, port));
+        }
+        return remoteNodes;
+    }
+}
@@ -0,0 +1,50 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class RemoteResponse {
+    private long requestId = 0;
+    private Object value = null;
+    private String exceptionClassName = null;
+    private String exceptionMessage = null;
+
+    //
+
+    public static RemoteResponse success(long requestId, Object value) {
+        return new RemoteResponse(requestId, value, null, null);
+    }
+
+    public static RemoteResponse failure(long requestId, Throwable throwable) {
+        return new RemoteResponse(requestId, null, throwable.getClass().getName(), throwable.getMessage());
+    }
+
+    public boolean isFailure() {
+        return (exceptionClassName != null);
+    }
+}
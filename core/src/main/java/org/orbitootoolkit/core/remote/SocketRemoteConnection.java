@@ -0,0 +1,137 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the requests are written without waiting for the responses, the responses are matched by the request id
+@Slf4j
+public class SocketRemoteConnection implements RemoteConnection {
+    private RemoteNode remoteNode = null;
+    private Socket socket = null;
+    private DataOutputStream output = null;
+    private Semaphore pipeline = null;
+    private Map<Long, CompletableFuture<RemoteResponse>> pendingMap = new ConcurrentHashMap<Long, CompletableFuture<RemoteResponse>>();
+    private Consumer<RemoteConnection> closeListener = null;
+    private volatile boolean open = true;
+
+    //
+
+    public SocketRemoteConnection(RemoteNode remoteNode, Socket socket, int pipelineDepth, Consumer<RemoteConnection> closeListener) throws IOException {
+        this.remoteNode = remoteNode;
+        this.socket = socket;
+        this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), SocketRemoteTransport.BUFFER_SIZE));
+        this.pipeline = new Semaphore(pipelineDepth);
+        this.closeListener = closeListener;
+        //
+        DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream(), SocketRemoteTransport.BUFFER_SIZE));
+        Thread readerThread = new Thread(() -> read(input), "remote-client-" + remoteNode.getName());
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    private void read(DataInputStream input) {
+        try {
+            while (open) {
+                RemoteResponse remoteResponse = RemoteCodec.decodeResponse(SocketRemoteTransport.readFrame(input));
+                CompletableFuture<RemoteResponse> future = pendingMap.remove(remoteResponse.getRequestId());
+                if (future != null) {
+                    future.complete(remoteResponse);
+                }
+            }
+        } catch (IOException ex) {
+            if (open) {
+                log.warn("Connection failed [" + remoteNode.getName() + "]: " + ex.getMessage());
+            }
+        } finally {
+            close();
+        }
+    }
+
+    @Override
+    public CompletableFuture<RemoteResponse> send(RemoteRequest remoteRequest) {
+        if (!open) {
+            return CompletableFuture.failedFuture(new IOException("Connection is closed: " + remoteNode.getName()));
+        }
+        byte[] message;
+        try {
+            message = RemoteCodec.encodeRequest(remoteRequest);
+        } catch (IOException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+        // the number of requests in flight is limited by the pipeline depth
+        try {
+            pipeline.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(ex);
+        }
+        long requestId = remoteRequest.getRequestId();
+        CompletableFuture<RemoteResponse> future = new CompletableFuture<RemoteResponse>();
+        future.whenComplete((remoteResponse, throwable) -> {
+            pendingMap.remove(requestId);
+            pipeline.release();
+        });
+        pendingMap.put(requestId, future);
+        if (!open) {
+            future.completeExceptionally(new IOException("Connection is closed: " + remoteNode.getName()));
+            return future;
+        }
+        try {
+            synchronized (output) {
+                SocketRemoteTransport.writeFrame(output, message);
+            }
+        } catch (IOException ex) {
+            future.completeExceptionally(ex);
+            close();
+        }
+        return future;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        if (open) {
+            open = false;
+            SocketRemoteTransport.closeQuietly(socket);
+            closeListener.accept(this);
+        }
+        IOException closedException = new IOException("Connection is closed: " + remoteNode.getName());
+        pendingMap.values().forEach((future) -> future.completeExceptionally(closedException));
+    }
+}
@@ -0,0 +1,180 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.remote;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the requests and responses are sent as frames (length + message), the responses can be sent in any order
+@Slf4j
+public class SocketRemoteTransport implements RemoteTransport {
+    public static final int MAX_FRAME_SIZE = 64 * 1024 * 1024;
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private int pipelineDepth = 0;
+    private volatile ServerSocket serverSocket = null;
+    private Set<Socket> acceptedSockets = ConcurrentHashMap.newKeySet();
+    private Set<RemoteConnection> connections = ConcurrentHashMap.newKeySet();
+
+    //
+
+    public SocketRemoteTransport(int pipelineDepth) {
+        this.pipelineDepth = pipelineDepth;
+    }
+
+    static void writeFrame(DataOutputStream output, byte[] message) throws IOException {
+        output.writeInt(message.length);
+        output.write(message);
+        output.flush();
+    }
+
+    static byte[] readFrame(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if ((length < 0) || (length > MAX_FRAME_SIZE)) {
+            throw new IOException("Malformed frame: " + length);
+        }
+        byte[] message = new byte[length];
+        input.readFully(message);
+        return message;
+    }
+
+    //
+
+    @Override
+    public synchronized void listen(RemoteNode localNode, RemoteRequestHandler remoteRequestHandler) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Transport is already listening: " + localNode);
+        }
+        ServerSocket newServerSocket = new ServerSocket();
+        newServerSocket.setReuseAddress(true);
+        newServerSocket.bind(new InetSocketAddress(localNode.getHost(), localNode.getPort()));
+        serverSocket = newServerSocket;
+        Thread acceptThread = new Thread(() -> accept(newServerSocket, remoteRequestHandler), "remote-server-" + localNode.getPort());
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        log.info("listening: " + localNode);
+    }
+
+    private void accept(ServerSocket listeningSocket, RemoteRequestHandler remoteRequestHandler) {
+        while (!listeningSocket.isClosed()) {
+            try {
+                Socket socket = listeningSocket.accept();
+                socket.setTcpNoDelay(true);
+                acceptedSockets.add(socket);
+                Thread serveThread = new Thread(() -> serve(socket, remoteRequestHandler), "remote-server-" + socket.getPort());
+                serveThread.setDaemon(true);
+                serveThread.start();
+            } catch (IOException ex) {
+                if (!listeningSocket.isClosed()) {
+                    log.warn("Cannot accept connection: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void writeResponse(Socket socket, DataOutputStream output, RemoteResponse remoteResponse) {
+        try {
+            byte[] message = RemoteCodec.encodeResponse(remoteResponse);
+            synchronized (output) {
+                writeFrame(output, message);
+            }
+        } catch (IOException ex) {
+            log.warn("Cannot send response: " + ex.getMessage());
+            closeQuietly(socket);
+        }
+    }
+
+    private void serve(Socket socket, RemoteRequestHandler remoteRequestHandler) {
+        try (socket) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+            while (!socket.isClosed()) {
+                byte[] message = readFrame(input);
+                RemoteRequest remoteRequest;
+                try {
+                    remoteRequest = RemoteCodec.decodeRequest(message);
+                } catch (IOException ex) {
+                    writeResponse(socket, output, RemoteResponse.failure(RemoteCodec.peekRequestId(message), ex));
+                    continue;
+                }
+                // the next request is read, while the previous requests are still processed
+                CompletableFuture<RemoteResponse> future = remoteRequestHandler.handle(remoteRequest);
+                future.whenComplete((remoteResponse, throwable) -> writeResponse(socket, output, //
+                        (throwable != null) ? RemoteResponse.failure(remoteRequest.getRequestId(), throwable) : remoteResponse));
+            }
+        } catch (IOException ex) {
+            log.debug("connection closed: " + ex.getMessage());
+        } finally {
+            acceptedSockets.remove(socket);
+        }
+    }
+
+    static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ex) {
+            log.debug("Cannot close socket: " + ex.getMessage());
+        }
+    }
+
+    //
+
+    @Override
+    public RemoteConnection connect(RemoteNode remoteNode) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.connect(new InetSocketAddress(remoteNode.getHost(), remoteNode.getPort()));
+        } catch (IOException ex) {
+            closeQuietly(socket);
+            throw ex;
+        }
+        SocketRemoteConnection connection = new SocketRemoteConnection(remoteNode, socket, pipelineDepth, connections::remove);
+        connections.add(connection);
+        return connection;
+    }
+
+    @Override
+    public synchronized void close() {
+        connections.forEach(RemoteConnection::close);
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException ex) {
+                log.debug("Cannot close server socket: " + ex.getMessage());
+            }
+            serverSocket = null;
+        }
+        acceptedSockets.forEach(SocketRemoteTransport::closeQuietly);
+    }
+}
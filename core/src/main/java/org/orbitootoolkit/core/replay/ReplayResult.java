@@ -0,0 +1,55 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.replay;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class ReplayResult {
+    private int sampleCount = 0;
+    private int iterations = 0;
+    // the first iteration resolves the tags not yet cached, the other iterations hit the cache of specificity chains
+    private long firstIterationNanos = 0;
+    private long otherIterationsNanos = 0;
+    // the specificity chain (names of domain services) resolved for each sample
+    @ToString.Exclude
+    private List<List<String>> bindings = null;
+    // the indexes of samples resolved to another domain service than during the recording
+    @ToString.Exclude
+    private List<Integer> recordedDifferences = null;
+
+    //
+
+    public double getFirstIterationThroughput() {
+        return (firstIterationNanos > 0) ? sampleCount * 1e9 / firstIterationNanos : 0;
+    }
+
+    public double getOtherIterationsThroughput() {
+        return (otherIterationsNanos > 0) ? (double) sampleCount * (iterations - 1) * 1e9 / otherIterationsNanos : 0;
+    }
+}
@@ -0,0 +1,195 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.orbitootoolkit.core.property.Property;
+
+import lombok.Getter;
+
+// the stream of recorded resolutions, each string is written once and then referenced by its id:
+//   header: magic (int), version (int)
+//   record: service point, subject class, binding (string refs), tag count (varint),
+//           tags: declaring class, name, value (string refs), priority (zigzag varint)
+//   string ref: varint, 0 is null, the next unused id is followed by the string (modified UTF-8)
+public class ResolutionRecordFile implements Closeable {
+    public static final int MAGIC = 0x4F524553;
+    public static final int VERSION = 1;
+
+    @Getter
+    private Path path = null;
+
+    private DataOutputStream output = null;
+    private Map<String, Integer> stringIdMap = new HashMap<String, Integer>();
+
+    //
+
+    public ResolutionRecordFile(Path path) throws IOException {
+        Objects.requireNonNull(path);
+        this.path = path;
+        //
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+    }
+
+    //
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarInt(output, 0);
+            return;
+        }
+        Integer stringId = stringIdMap.get(value);
+        if (stringId != null) {
+            writeVarInt(output, stringId);
+        } else {
+            int newStringId = stringIdMap.size() + 1;
+            stringIdMap.put(value, newStringId);
+            writeVarInt(output, newStringId);
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream input, List<String> strings) throws IOException {
+        int stringId = readVarInt(input);
+        if (stringId == 0) {
+            return null;
+        } else if (stringId <= strings.size()) {
+            return strings.get(stringId - 1);
+        } else if (stringId == strings.size() + 1) {
+            String value = input.readUTF();
+            strings.add(value);
+            return value;
+        } else {
+            throw new IOException("Unexpected string id: " + stringId);
+        }
+    }
+
+    public void writeSample(String servicePointName, Class<?> subjectClass, Collection<Property> properties, String serviceName) throws IOException {
+        writeString(servicePointName);
+        writeString(subjectClass.getName());
+        writeString(serviceName);
+        writeVarInt(output, properties.size());
+        for (Property property : properties) {
+            writeString(property.getDeclaringClass().getName());
+            writeString(property.getName());
+            writeString(property.getValue());
+            writeVarInt(output, (property.getPriority() << 1) ^ (property.getPriority() >> 31));
+        }
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+
+    //
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader, Map<String, Class<?>> classMap) throws ClassNotFoundException {
+        Class<?> clazz = classMap.get(className);
+        if (clazz == null) {
+            clazz = Class.forName(className, false, classLoader);
+            classMap.put(className, clazz);
+        }
+        return clazz;
+    }
+
+    private static ResolutionSample readSample(DataInputStream input, List<String> strings, ClassLoader classLoader, Map<String, Class<?>> classMap)
+            throws IOException, ClassNotFoundException {
+        String servicePointName = readString(input, strings);
+        Class<?> subjectClass = loadClass(readString(input, strings), classLoader, classMap);
+        String serviceName = readString(input, strings);
+        int propertyCount = readVarInt(input);
+        List<Property> properties = new ArrayList<Property>(propertyCount);
+        for (int index = 0; index < propertyCount; index++) {
+            Class<?> declaringClass = loadClass(readString(input, strings), classLoader, classMap);
+            String name = readString(input, strings);
+            String value = readString(input, strings);
+            int zigzag = readVarInt(input);
+            properties.add(new Property(declaringClass, name, value, (zigzag >>> 1) ^ -(zigzag & 1)));
+        }
+        return new ResolutionSample(servicePointName, subjectClass, List.copyOf(properties), serviceName);
+    }
+
+    // the subject classes and the declaring classes of tags are loaded by the class loader of the replaying application
+    public static List<ResolutionSample> read(Path path, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        List<ResolutionSample> samples = new ArrayList<ResolutionSample>();
+        List<String> strings = new ArrayList<String>();
+        Map<String, Class<?>> classMap = new HashMap<String, Class<?>>();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if ((input.readInt() != MAGIC) || (input.readInt() != VERSION)) {
+                throw new IOException("Unexpected format of recording: " + path);
+            }
+            // the recording of the killed process can end by the incomplete record, which is ignored
+            try {
+                while (true) {
+                    samples.add(readSample(input, strings, classLoader, classMap));
+                }
+            } catch (EOFException ex) {
+                return samples;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.replay;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.property.Property;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+// each n-th resolution of the single subject is recorded (the service point, the subject class, the tags
+// and the resolved domain service), the recording is replayed offline by ResolutionReplayer; the dispatch only
+// offers the sample to the bounded queue (the sample is dropped, when the queue is full), the samples are written
+// by the background thread
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class ResolutionRecorder {
+    public static final String RECORD_ENABLED_PROPERTY = "orbitoo.replay.record.enabled";
+    public static final String RECORD_FILE_PROPERTY = "orbitoo.replay.record.file";
+    public static final String RECORD_SAMPLING_PROPERTY = "orbitoo.replay.record.sampling";
+    public static final String RECORD_MAX_SAMPLES_PROPERTY = "orbitoo.replay.record.maxSamples";
+    public static final String RECORD_QUEUE_CAPACITY_PROPERTY = "orbitoo.replay.record.queueCapacity";
+
+    private static final int WRITE_BATCH_SIZE = 1024;
+    private static final long WRITE_POLL_MILLIS = 100;
+
+    private ResolutionRecordFile recordFile = null;
+    private BlockingQueue<ResolutionSample> sampleQueue = null;
+    private Thread writerThread = null;
+    private AtomicLong dispatchCount = new AtomicLong();
+    private LongAdder droppedSampleCount = new LongAdder();
+    private long sampleCount = 0;
+    private int sampling = 1;
+    private long maxSamples = 0;
+
+    @Getter
+    private volatile boolean enabled = false;
+
+    @Autowired
+    private Environment environment = null;
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (environment.getProperty(RECORD_ENABLED_PROPERTY, Boolean.class, false)) {
+            Path path = Path.of(environment.getProperty(RECORD_FILE_PROPERTY, Path.of(System.getProperty("java.io.tmpdir"), "orbitoo-resolutions.bin").toString()));
+            sampling = Math.max(1, environment.getProperty(RECORD_SAMPLING_PROPERTY, Integer.class, 1));
+            maxSamples = environment.getProperty(RECORD_MAX_SAMPLES_PROPERTY, Long.class, 1L << 20);
+            sampleQueue = new ArrayBlockingQueue<ResolutionSample>(Math.max(1, environment.getProperty(RECORD_QUEUE_CAPACITY_PROPERTY, Integer.class, 1 << 16)));
+            recordFile = new ResolutionRecordFile(path);
+            enabled = true;
+            writerThread = new Thread(this::writeAll, "resolution-recorder");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            log.info("opened recording [" + path + ", 1/" + sampling + "]");
+        }
+    }
+
+    // decides whether the current dispatch is recorded, the tags should be copied before the resolution
+    public boolean sample() {
+        return enabled && ((dispatchCount.getAndIncrement() % sampling) == 0);
+    }
+
+    public void record(String servicePointName, Class<?> subjectClass, Collection<Property> properties, String serviceName) {
+        if (enabled && !sampleQueue.offer(new ResolutionSample(servicePointName, subjectClass, List.copyOf(properties), serviceName))) {
+            droppedSampleCount.increment();
+        }
+    }
+
+    public long getDroppedSampleCount() {
+        return droppedSampleCount.sum();
+    }
+
+    // the queued samples are written also after the recording is disabled (by the destroy)
+    private void writeAll() {
+        List<ResolutionSample> samples = new ArrayList<ResolutionSample>(WRITE_BATCH_SIZE);
+        while (enabled || !sampleQueue.isEmpty()) {
+            try {
+                ResolutionSample sample = sampleQueue.poll(WRITE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (sample != null) {
+                    samples.add(sample);
+                    sampleQueue.drainTo(samples, WRITE_BATCH_SIZE - 1);
+                    write(samples);
+                    samples.clear();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized void write(List<ResolutionSample> samples) {
+        if (recordFile == null) {
+            return;
+        }
+        try {
+            for (ResolutionSample sample : samples) {
+                recordFile.writeSample(sample.getServicePointName(), sample.getSubjectClass(), sample.getProperties(), sample.getServiceName());
+                if (++sampleCount >= maxSamples) {
+                    close();
+                    return;
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("recording failed: " + recordFile.getPath(), ex);
+            close();
+        }
+    }
+
+    public void flush() throws IOException {
+        List<ResolutionSample> samples = new ArrayList<ResolutionSample>();
+        if (sampleQueue != null) {
+            sampleQueue.drainTo(samples);
+        }
+        synchronized (this) {
+            write(samples);
+            if (recordFile != null) {
+                recordFile.flush();
+            }
+        }
+    }
+
+    private void close() {
+        enabled = false;
+        try {
+            recordFile.close();
+        } catch (IOException ex) {
+            log.warn("closing of recording failed: " + recordFile.getPath(), ex);
+        }
+        log.info("recording finished [" + sampleCount + " samples, " + droppedSampleCount.sum() + " dropped]: " + recordFile.getPath());
+        recordFile = null;
+    }
+
+    @PreDestroy
+    public void destroy() {
+        enabled = false;
+        if (writerThread != null) {
+            try {
+                writerThread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        synchronized (this) {
+            if (recordFile != null) {
+                close();
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.replay;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import org.orbitootoolkit.core.property.Property;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the recorded resolutions are replayed against the domain services registered in this application,
+// the subjects are not needed (the resolution uses only the subject class and the tags); the cache of specificity
+// chains is bypassed, each iteration measures the resolution by the probes (not the hits of the cache)
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class ResolutionReplayer {
+    @Autowired
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+
+    private List<DomainServiceDesc> resolve(ResolutionSample sample) {
+        // the properties are filtered by the resolution, each resolution gets its own set (as from the subject)
+        return domainServiceDescRepository.resolveDomainServiceDescs(sample.getServicePointName(), sample.getSubjectClass(), //
+                new HashSet<Property>(sample.getProperties()));
+    }
+
+    public ReplayResult replay(List<ResolutionSample> samples, int iterations) {
+        Objects.requireNonNull(samples);
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Unexpected iterations: " + iterations);
+        }
+        log.debug("replay started: " + samples.size());
+        List<List<String>> bindings = new ArrayList<List<String>>(samples.size());
+        List<Integer> recordedDifferences = new ArrayList<Integer>();
+        //
+        long startNanos = System.nanoTime();
+        List<List<DomainServiceDesc>> specificityChains = new ArrayList<List<DomainServiceDesc>>(samples.size());
+        for (ResolutionSample sample : samples) {
+            specificityChains.add(resolve(sample));
+        }
+        long firstIterationNanos = System.nanoTime() - startNanos;
+        //
+        startNanos = System.nanoTime();
+        for (int iteration = 1; iteration < iterations; iteration++) {
+            for (ResolutionSample sample : samples) {
+                resolve(sample);
+            }
+        }
+        long otherIterationsNanos = System.nanoTime() - startNanos;
+        //
+        for (int index = 0; index < samples.size(); index++) {
+            List<String> serviceNames = specificityChains.get(index).stream().map(DomainServiceDesc::getServiceName).toList();
+            bindings.add(serviceNames);
+            if (!Objects.equals(samples.get(index).getServiceName(), serviceNames.isEmpty() ? null : serviceNames.get(0))) {
+                recordedDifferences.add(index);
+            }
+        }
+        ReplayResult replayResult = new ReplayResult(samples.size(), iterations, firstIterationNanos, otherIterationsNanos, bindings, recordedDifferences);
+        log.debug("replay finished: " + replayResult);
+        return replayResult;
+    }
+}
@@ -0,0 +1,50 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.route;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class CallbackRoute<DomainContract> {
+    private String tagValue = null;
+    @ToString.Exclude
+    private DomainContract service = null;
+    private long deadlineTick = 0;
+    // the removed or replaced route stays in its bucket, it is dropped by the sweep of the bucket
+    private volatile boolean cancelled = false;
+
+    //
+
+    CallbackRoute(String tagValue, DomainContract service, long deadlineTick) {
+        this.tagValue = tagValue;
+        this.service = service;
+        this.deadlineTick = deadlineTick;
+    }
+
+    //
+
+    void cancel() {
+        cancelled = true;
+    }
+}
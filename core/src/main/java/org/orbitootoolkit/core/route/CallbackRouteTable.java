@@ -0,0 +1,191 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.route;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.property.PropertySupplier;
+import org.orbitootoolkit.core.property.PropertySupplierRepository;
+
+import lombok.Getter;
+
+public class CallbackRouteTable<DomainContract> {
+    @Getter
+    private String servicePointName = null;
+    @Getter
+    private Class<DomainContract> domainContractClass = null;
+    @Getter
+    private String tag = null;
+    private PropertySupplierRepository propertySupplierRepository = null;
+
+    private Map<Class<?>, Optional<PropertySupplier>> tagSupplierMap = new ConcurrentHashMap<Class<?>, Optional<PropertySupplier>>();
+    private Map<String, CallbackRoute<DomainContract>> routeMap = new ConcurrentHashMap<String, CallbackRoute<DomainContract>>();
+
+    // hashed timing wheel: the route is stored in the bucket of its deadline tick (modulo the wheel size),
+    // the removed route is only cancelled (the bucket is not searched), it is dropped by the next sweep of its bucket
+    @Getter
+    private long tickNanos = 0;
+    private volatile long startNanos = 0;
+    private volatile long currentTick = 0;
+    private List<Queue<CallbackRoute<DomainContract>>> buckets = null;
+    private int bucketMask = 0;
+
+    @Getter
+    private LongAdder hitCount = new LongAdder();
+    @Getter
+    private LongAdder expiredCount = new LongAdder();
+
+    //
+
+    public CallbackRouteTable(String servicePointName, Class<DomainContract> domainContractClass, String tag, Duration tickDuration, int wheelSize,
+            PropertySupplierRepository propertySupplierRepository) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(domainContractClass);
+        Objects.requireNonNull(tag);
+        Objects.requireNonNull(propertySupplierRepository);
+        if (tickDuration.isNegative() || tickDuration.isZero()) {
+            throw new IllegalArgumentException("Unexpected tickDuration: " + tickDuration);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("Unexpected wheelSize: " + wheelSize);
+        }
+        //
+        this.servicePointName = servicePointName;
+        this.domainContractClass = domainContractClass;
+        this.tag = tag;
+        this.propertySupplierRepository = propertySupplierRepository;
+        //
+        this.tickNanos = tickDuration.toNanos();
+        this.startNanos = System.nanoTime();
+        int bucketCount = Integer.highestOneBit(Math.min(wheelSize, 1 << 30) * 2 - 1);
+        this.buckets = new ArrayList<Queue<CallbackRoute<DomainContract>>>(bucketCount);
+        for (int index = 0; index < bucketCount; index++) {
+            buckets.add(new ConcurrentLinkedQueue<CallbackRoute<DomainContract>>());
+        }
+        this.bucketMask = bucketCount - 1;
+    }
+
+    //
+
+    private long getTick(long nanos) {
+        return (nanos - startNanos) / tickNanos;
+    }
+
+    private boolean isExpired(CallbackRoute<DomainContract> route) {
+        return route.getDeadlineTick() <= currentTick;
+    }
+
+    private Queue<CallbackRoute<DomainContract>> getBucket(long tick) {
+        return buckets.get((int) (tick & bucketMask));
+    }
+
+    private Optional<PropertySupplier> findTagSupplier(Class<?> subjectClass) {
+        return propertySupplierRepository.getPropertySuppliers(subjectClass).stream() //
+                .filter((propertySupplier) -> tag.equals(propertySupplier.getPropertyName())) //
+                .findFirst();
+    }
+
+    //
+
+    public CallbackRoute<DomainContract> addRoute(String tagValue, DomainContract service, Duration ttl) {
+        Objects.requireNonNull(tagValue);
+        Objects.requireNonNull(service);
+        Objects.requireNonNull(ttl);
+        //
+        long deadlineTick = Math.max(getTick(System.nanoTime() + ttl.toNanos()) + 1, currentTick + 1);
+        CallbackRoute<DomainContract> route = new CallbackRoute<DomainContract>(tagValue, service, deadlineTick);
+        CallbackRoute<DomainContract> replacedRoute = routeMap.put(tagValue, route);
+        if (replacedRoute != null) {
+            replacedRoute.cancel();
+        }
+        getBucket(deadlineTick).add(route);
+        // the sweep could pass the deadline tick meanwhile (the current tick is advanced before the bucket is swept),
+        // the route is expired at once instead of waiting for the next revolution of the wheel
+        if (isExpired(route) && routeMap.remove(tagValue, route)) {
+            route.cancel();
+            expiredCount.increment();
+        }
+        return route;
+    }
+
+    public boolean removeRoute(String tagValue) {
+        CallbackRoute<DomainContract> route = routeMap.remove(tagValue);
+        if (route == null) {
+            return false;
+        }
+        route.cancel();
+        return true;
+    }
+
+    public int getRouteCount() {
+        return routeMap.size();
+    }
+
+    public DomainContract findService(Object subject) {
+        Optional<PropertySupplier> tagSupplier = tagSupplierMap.computeIfAbsent(subject.getClass(), this::findTagSupplier);
+        if (tagSupplier.isEmpty()) {
+            return null;
+        }
+        String tagValue = PropertySupplier.toPropertyValue(propertySupplierRepository.getTagValue(subject, tagSupplier.get()));
+        CallbackRoute<DomainContract> route = (tagValue != null) ? routeMap.get(tagValue) : null;
+        if ((route == null) || isExpired(route)) {
+            return null;
+        }
+        hitCount.increment();
+        return route.getService();
+    }
+
+    public void rebase() {
+        // the clock of the restored JVM can differ, the current tick is preserved
+        startNanos = System.nanoTime() - currentTick * tickNanos;
+    }
+
+    public void expireRoutes() {
+        long targetTick = getTick(System.nanoTime());
+        while (currentTick < targetTick) {
+            long tick = currentTick + 1;
+            currentTick = tick;
+            Iterator<CallbackRoute<DomainContract>> iterator = getBucket(tick).iterator();
+            while (iterator.hasNext()) {
+                CallbackRoute<DomainContract> route = iterator.next();
+                if (route.isCancelled()) {
+                    iterator.remove();
+                } else if (route.getDeadlineTick() <= tick) {
+                    iterator.remove();
+                    if (routeMap.remove(route.getTagValue(), route)) {
+                        expiredCount.increment();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.route;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.orbitootoolkit.core.api.CallbackRoutes;
+import org.orbitootoolkit.core.property.PropertySupplierRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class CallbackRouteTableRepository {
+    private Map<String, CallbackRouteTable<?>> callbackRouteTableMap = new ConcurrentHashMap<String, CallbackRouteTable<?>>();
+    private ScheduledExecutorService expiryExecutor = null;
+
+    @Autowired
+    private PropertySupplierRepository propertySupplierRepository = null;
+
+    private synchronized ScheduledExecutorService getExpiryExecutor() {
+        if (expiryExecutor == null) {
+            expiryExecutor = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                Thread thread = new Thread(runnable, "callback-routes");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return expiryExecutor;
+    }
+
+    private void scheduleExpiry(CallbackRouteTable<?> callbackRouteTable) {
+        getExpiryExecutor().scheduleAtFixedRate(callbackRouteTable::expireRoutes, //
+                callbackRouteTable.getTickNanos(), callbackRouteTable.getTickNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public <DomainContract> CallbackRouteTable<DomainContract> addCallbackRouteTable(String servicePointName, Class<DomainContract> domainContractClass,
+            CallbackRoutes callbackRoutes) {
+        CallbackRouteTable<DomainContract> callbackRouteTable = new CallbackRouteTable<DomainContract>(servicePointName, domainContractClass, //
+                callbackRoutes.tag(), Duration.ofMillis(callbackRoutes.tickMillis()), callbackRoutes.wheelSize(), propertySupplierRepository);
+        callbackRouteTableMap.put(servicePointName, callbackRouteTable);
+        scheduleExpiry(callbackRouteTable);
+        log.info("added callbackRouteTable [" + servicePointName + ", " + callbackRoutes.tag() + "]");
+        return callbackRouteTable;
+    }
+
+    public CallbackRouteTable<?> findCallbackRouteTable(String servicePointName) {
+        return callbackRouteTableMap.get(servicePointName);
+    }
+
+    public <DomainContract> CallbackRouteTable<DomainContract> getCallbackRouteTable(String servicePointName, Class<DomainContract> domainContractClass) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(domainContractClass);
+        CallbackRouteTable<?> callbackRouteTable = callbackRouteTableMap.get(servicePointName);
+        if (callbackRouteTable == null) {
+            throw new IllegalStateException("Cannot find callback routes: " + servicePointName);
+        } else if (!domainContractClass.equals(callbackRouteTable.getDomainContractClass())) {
+            throw new IllegalStateException("Unexpected domain contract of callback routes: " + servicePointName);
+        }
+        @SuppressWarnings("unchecked")
+        CallbackRouteTable<DomainContract> typedCallbackRouteTable = (CallbackRouteTable<DomainContract>) callbackRouteTable;
+        return typedCallbackRouteTable;
+    }
+
+    public synchronized void suspend() throws InterruptedException {
+        if (expiryExecutor != null) {
+            expiryExecutor.shutdownNow();
+            expiryExecutor.awaitTermination(10, TimeUnit.SECONDS);
+            expiryExecutor = null;
+        }
+    }
+
+    public synchronized void resume() {
+        for (CallbackRouteTable<?> callbackRouteTable : callbackRouteTableMap.values()) {
+            callbackRouteTable.rebase();
+            scheduleExpiry(callbackRouteTable);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void destroy() {
+        if (expiryExecutor != null) {
+            expiryExecutor.shutdownNow();
+            expiryExecutor = null;
+        }
+    }
+}
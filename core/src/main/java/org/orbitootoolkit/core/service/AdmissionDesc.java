@@ -0,0 +1,52 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.List;
+
+import org.orbitootoolkit.core.api.AdmissionControl;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+public class AdmissionDesc {
+    private int maxConcurrency = 0;
+    private double ratePerSecond = 0;
+    private int burst = 0;
+    private String priorityTag = null;
+    private List<String> priorityValues = null;
+
+    public static AdmissionDesc from(AdmissionControl admissionControl) {
+        if (admissionControl != null) {
+            return new AdmissionDesc(admissionControl.maxConcurrency(), admissionControl.ratePerSecond(), admissionControl.burst(), //
+                    admissionControl.priorityTag(), List.of(admissionControl.priorityValues()));
+        } else {
+            return null;
+        }
+    }
+}
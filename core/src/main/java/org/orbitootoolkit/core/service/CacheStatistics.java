@@ -0,0 +1,51 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// the hit and miss counts are -1, when the cache is filled in advance (e.g. by warm up), then the hit rate is null
+// (not available); the eviction count is 0 for the caches without the limit of size
+@AllArgsConstructor
+@Getter
+@ToString
+public class CacheStatistics {
+    private String name = null;
+    private long size = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    public CacheStatistics(String name, long size, long hitCount, long missCount) {
+        this(name, size, hitCount, missCount, 0);
+    }
+
+    public Double getHitRate() {
+        if ((hitCount < 0) || (missCount < 0)) {
+            return null;
+        }
+        long count = hitCount + missCount;
+        return (count > 0) ? (double) hitCount / count : 0;
+    }
+}
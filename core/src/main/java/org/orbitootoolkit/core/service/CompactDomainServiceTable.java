@@ -0,0 +1,406 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.orbitootoolkit.core.property.Property;
+
+// the domain services in parallel arrays: the service point, the subject class and the tags of each binding are
+// replaced by the ids of interned symbols, the tags are the pairs (name id, value id) in the shared pool and
+// the bindings are indexed by the open-addressing hash table; no key, set or property is kept per binding
+// (the bindings with additional subjects are rare, they are kept by their keys); the tables are written under the lock
+// and read without it
+public class CompactDomainServiceTable implements DomainServiceTable {
+    private static final VarHandle INDEX_ENTRY = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle SYMBOL_ENTRY = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object NULL_SYMBOL = new Object();
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int EMPTY_ENTRY = 0;
+    private static final int REMOVED_ENTRY = -1;
+
+    private Map<DomainServiceKey, DomainServiceDesc> multipleDispatchMap = new ConcurrentHashMap<DomainServiceKey, DomainServiceDesc>();
+    // the arrays are replaced as a whole when they grow, the reader uses the arrays read once
+    private volatile Symbols symbols = new Symbols(INITIAL_CAPACITY * 2);
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY, INITIAL_CAPACITY * 2);
+    private volatile int size = 0;
+    private int bindingCount = 0;
+    private int removedCount = 0;
+    private int tagPoolSize = 0;
+
+    // the strings and classes interned by the open-addressing table, the id is written before its symbol is released
+    private static class Symbols {
+        private Object[] symbols = null;
+        private int[] symbolIds = null;
+        private int count = 0;
+
+        private Symbols(int capacity) {
+            symbols = new Object[capacity];
+            symbolIds = new int[capacity];
+        }
+    }
+
+    // the entry of index is the number of binding + 1, the binding is written before its entry is released
+    private static class Columns {
+        private int[] hashes = null;
+        private int[] servicePointIds = null;
+        private int[] subjectClassIds = null;
+        private int[] tagOffsets = null;
+        private int[] tagCounts = null;
+        private int[] tagPool = null;
+        private DomainServiceDesc[] domainServiceDescs = null;
+        private int[] index = null;
+
+        private Columns(int bindingCapacity, int tagPoolCapacity) {
+            hashes = new int[bindingCapacity];
+            servicePointIds = new int[bindingCapacity];
+            subjectClassIds = new int[bindingCapacity];
+            tagOffsets = new int[bindingCapacity];
+            tagCounts = new int[bindingCapacity];
+            tagPool = new int[tagPoolCapacity];
+            domainServiceDescs = new DomainServiceDesc[bindingCapacity];
+            index = new int[Integer.highestOneBit(bindingCapacity * 4 - 1)];
+        }
+    }
+
+    //
+
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return hash ^ (hash >>> 16);
+    }
+
+    // the tags are the set, their hash does not depend on the order
+    private static int getTagHash(int nameId, int valueId) {
+        return mix(nameId * 0x9E3779B9 + valueId);
+    }
+
+    private static int getHash(int servicePointId, int subjectClassId, int tagHash) {
+        return mix(servicePointId * 31 + subjectClassId) ^ tagHash;
+    }
+
+    private static Object toSymbol(Object value) {
+        return (value != null) ? value : NULL_SYMBOL;
+    }
+
+    // the id of the symbol, or 0 for the unknown symbol
+    private int findSymbolId(Object value) {
+        Object symbol = toSymbol(value);
+        Symbols currentSymbols = symbols;
+        int mask = currentSymbols.symbols.length - 1;
+        for (int slot = mix(symbol.hashCode()) & mask;; slot = (slot + 1) & mask) {
+            Object entry = SYMBOL_ENTRY.getAcquire(currentSymbols.symbols, slot);
+            if (entry == null) {
+                return 0;
+            } else if (entry.equals(symbol)) {
+                return currentSymbols.symbolIds[slot];
+            }
+        }
+    }
+
+    private static void insertSymbol(Symbols currentSymbols, Object symbol, int symbolId) {
+        int mask = currentSymbols.symbols.length - 1;
+        int slot = mix(symbol.hashCode()) & mask;
+        while (currentSymbols.symbols[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        currentSymbols.symbolIds[slot] = symbolId;
+        SYMBOL_ENTRY.setRelease(currentSymbols.symbols, slot, symbol);
+        currentSymbols.count++;
+    }
+
+    // the symbols are never removed, the id of new symbol is the count of symbols
+    private int getSymbolId(Object value) {
+        int symbolId = findSymbolId(value);
+        if (symbolId != 0) {
+            return symbolId;
+        }
+        Symbols currentSymbols = symbols;
+        if ((currentSymbols.count + 1) * 2 > currentSymbols.symbols.length) {
+            Symbols newSymbols = new Symbols(currentSymbols.symbols.length * 2);
+            for (int slot = 0; slot < currentSymbols.symbols.length; slot++) {
+                if (currentSymbols.symbols[slot] != null) {
+                    insertSymbol(newSymbols, currentSymbols.symbols[slot], currentSymbols.symbolIds[slot]);
+                }
+            }
+            symbols = newSymbols;
+            currentSymbols = newSymbols;
+        }
+        symbolId = currentSymbols.count + 1;
+        insertSymbol(currentSymbols, toSymbol(value), symbolId);
+        return symbolId;
+    }
+
+    private static boolean containsTag(Columns currentColumns, int binding, int nameId, int valueId) {
+        int end = currentColumns.tagOffsets[binding] + currentColumns.tagCounts[binding] * 2;
+        for (int offset = currentColumns.tagOffsets[binding]; offset < end; offset += 2) {
+            if ((currentColumns.tagPool[offset] == nameId) && (currentColumns.tagPool[offset + 1] == valueId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matches(Columns currentColumns, int binding, int hash, int servicePointId, int subjectClassId, Set<Property> properties) {
+        if ((currentColumns.hashes[binding] != hash) || (currentColumns.servicePointIds[binding] != servicePointId)
+                || (currentColumns.subjectClassIds[binding] != subjectClassId) || (currentColumns.tagCounts[binding] != properties.size())) {
+            return false;
+        }
+        for (Property property : properties) {
+            if (!containsTag(currentColumns, binding, findSymbolId(property.getName()), findSymbolId(property.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Columns currentColumns, int binding, int hash, int servicePointId, int subjectClassId, int[] tags) {
+        if ((currentColumns.hashes[binding] != hash) || (currentColumns.servicePointIds[binding] != servicePointId)
+                || (currentColumns.subjectClassIds[binding] != subjectClassId) || (currentColumns.tagCounts[binding] * 2 != tags.length)) {
+            return false;
+        }
+        for (int offset = 0; offset < tags.length; offset += 2) {
+            if (!containsTag(currentColumns, binding, tags[offset], tags[offset + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the slot of index containing the binding, or -1
+    private static int findSlot(Columns currentColumns, int hash, int servicePointId, int subjectClassId, int[] tags) {
+        int mask = currentColumns.index.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int entry = currentColumns.index[slot];
+            if (entry == EMPTY_ENTRY) {
+                return -1;
+            } else if ((entry != REMOVED_ENTRY) && matches(currentColumns, entry - 1, hash, servicePointId, subjectClassId, tags)) {
+                return slot;
+            }
+        }
+    }
+
+    private static void insert(Columns currentColumns, int binding) {
+        int mask = currentColumns.index.length - 1;
+        int slot = currentColumns.hashes[binding] & mask;
+        while ((currentColumns.index[slot] != EMPTY_ENTRY) && (currentColumns.index[slot] != REMOVED_ENTRY)) {
+            slot = (slot + 1) & mask;
+        }
+        INDEX_ENTRY.setRelease(currentColumns.index, slot, binding + 1);
+    }
+
+    // the live bindings are copied into the new arrays (the removed bindings are dropped), the index is rebuilt
+    private void rebuild(int bindingCapacity, int tagPoolCapacity) {
+        Columns currentColumns = columns;
+        Columns newColumns = new Columns(bindingCapacity, tagPoolCapacity);
+        int newBindingCount = 0;
+        int newTagPoolSize = 0;
+        for (int binding = 0; binding < bindingCount; binding++) {
+            if (currentColumns.domainServiceDescs[binding] != null) {
+                int tagCount = currentColumns.tagCounts[binding];
+                System.arraycopy(currentColumns.tagPool, currentColumns.tagOffsets[binding], newColumns.tagPool, newTagPoolSize, tagCount * 2);
+                newColumns.hashes[newBindingCount] = currentColumns.hashes[binding];
+                newColumns.servicePointIds[newBindingCount] = currentColumns.servicePointIds[binding];
+                newColumns.subjectClassIds[newBindingCount] = currentColumns.subjectClassIds[binding];
+                newColumns.tagOffsets[newBindingCount] = newTagPoolSize;
+                newColumns.tagCounts[newBindingCount] = tagCount;
+                newColumns.domainServiceDescs[newBindingCount] = currentColumns.domainServiceDescs[binding];
+                insert(newColumns, newBindingCount);
+                newBindingCount++;
+                newTagPoolSize += tagCount * 2;
+            }
+        }
+        bindingCount = newBindingCount;
+        tagPoolSize = newTagPoolSize;
+        removedCount = 0;
+        columns = newColumns;
+    }
+
+    private void ensureCapacity(int tagLength) {
+        Columns currentColumns = columns;
+        boolean isBindingFull = (bindingCount == currentColumns.hashes.length);
+        boolean isTagPoolFull = (tagPoolSize + tagLength > currentColumns.tagPool.length);
+        if (isBindingFull || isTagPoolFull) {
+            // the removed bindings are reclaimed first, the arrays grow only by the live bindings
+            int liveCount = bindingCount - removedCount;
+            int bindingCapacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, liveCount)) * 2);
+            int tagPoolCapacity = Math.max(currentColumns.tagPool.length, Integer.highestOneBit(Math.max(1, tagPoolSize + tagLength)) * 2);
+            rebuild(bindingCapacity, tagPoolCapacity);
+        }
+    }
+
+    //
+
+    @Override
+    public DomainServiceDesc get(DomainServiceKey key) {
+        if (!key.getAdditionalSubjectKeys().isEmpty()) {
+            return multipleDispatchMap.get(key);
+        }
+        // the unknown symbol cannot be the part of any binding
+        int servicePointId = findSymbolId(key.getServicePointName());
+        int subjectClassId = findSymbolId(key.getSubjectClass());
+        if ((servicePointId == 0) || (subjectClassId == 0)) {
+            return null;
+        }
+        int tagHash = 0;
+        for (Property property : key.getSubjectProperties()) {
+            int nameId = findSymbolId(property.getName());
+            int valueId = findSymbolId(property.getValue());
+            if ((nameId == 0) || (valueId == 0)) {
+                return null;
+            }
+            tagHash += getTagHash(nameId, valueId);
+        }
+        int hash = getHash(servicePointId, subjectClassId, tagHash);
+        //
+        Columns currentColumns = columns;
+        int mask = currentColumns.index.length - 1;
+        for (int slot = hash & mask;; slot = (slot + 1) & mask) {
+            int entry = (int) INDEX_ENTRY.getAcquire(currentColumns.index, slot);
+            if (entry == EMPTY_ENTRY) {
+                return null;
+            } else if ((entry != REMOVED_ENTRY) && matches(currentColumns, entry - 1, hash, servicePointId, subjectClassId, key.getSubjectProperties())) {
+                return currentColumns.domainServiceDescs[entry - 1];
+            }
+        }
+    }
+
+    private int[] getTags(DomainServiceKey key) {
+        int[] tags = new int[key.getSubjectProperties().size() * 2];
+        int offset = 0;
+        for (Property property : key.getSubjectProperties()) {
+            tags[offset++] = getSymbolId(property.getName());
+            tags[offset++] = getSymbolId(property.getValue());
+        }
+        return tags;
+    }
+
+    private int[] findTags(DomainServiceKey key) {
+        int[] tags = new int[key.getSubjectProperties().size() * 2];
+        int offset = 0;
+        for (Property property : key.getSubjectProperties()) {
+            tags[offset++] = findSymbolId(property.getName());
+            tags[offset++] = findSymbolId(property.getValue());
+            if ((tags[offset - 2] == 0) || (tags[offset - 1] == 0)) {
+                return null;
+            }
+        }
+        return tags;
+    }
+
+    private static int getTagHash(int[] tags) {
+        int tagHash = 0;
+        for (int offset = 0; offset < tags.length; offset += 2) {
+            tagHash += getTagHash(tags[offset], tags[offset + 1]);
+        }
+        return tagHash;
+    }
+
+    @Override
+    public synchronized DomainServiceDesc put(DomainServiceKey key, DomainServiceDesc domainServiceDesc) {
+        if (!key.getAdditionalSubjectKeys().isEmpty()) {
+            return multipleDispatchMap.put(key, domainServiceDesc);
+        }
+        int servicePointId = getSymbolId(key.getServicePointName());
+        int subjectClassId = getSymbolId(key.getSubjectClass());
+        int[] tags = getTags(key);
+        int hash = getHash(servicePointId, subjectClassId, getTagHash(tags));
+        //
+        int slot = findSlot(columns, hash, servicePointId, subjectClassId, tags);
+        if (slot != -1) {
+            int binding = columns.index[slot] - 1;
+            DomainServiceDesc previousDomainServiceDesc = columns.domainServiceDescs[binding];
+            columns.domainServiceDescs[binding] = domainServiceDesc;
+            return previousDomainServiceDesc;
+        }
+        ensureCapacity(tags.length);
+        Columns currentColumns = columns;
+        int binding = bindingCount++;
+        System.arraycopy(tags, 0, currentColumns.tagPool, tagPoolSize, tags.length);
+        currentColumns.hashes[binding] = hash;
+        currentColumns.servicePointIds[binding] = servicePointId;
+        currentColumns.subjectClassIds[binding] = subjectClassId;
+        currentColumns.tagOffsets[binding] = tagPoolSize;
+        currentColumns.tagCounts[binding] = tags.length / 2;
+        currentColumns.domainServiceDescs[binding] = domainServiceDesc;
+        tagPoolSize += tags.length;
+        insert(currentColumns, binding);
+        size++;
+        return null;
+    }
+
+    @Override
+    public synchronized DomainServiceDesc remove(DomainServiceKey key) {
+        if (!key.getAdditionalSubjectKeys().isEmpty()) {
+            return multipleDispatchMap.remove(key);
+        }
+        int servicePointId = findSymbolId(key.getServicePointName());
+        int subjectClassId = findSymbolId(key.getSubjectClass());
+        int[] tags = findTags(key);
+        if ((servicePointId == 0) || (subjectClassId == 0) || (tags == null)) {
+            return null;
+        }
+        int hash = getHash(servicePointId, subjectClassId, getTagHash(tags));
+        //
+        Columns currentColumns = columns;
+        int slot = findSlot(currentColumns, hash, servicePointId, subjectClassId, tags);
+        if (slot == -1) {
+            return null;
+        }
+        int binding = currentColumns.index[slot] - 1;
+        DomainServiceDesc previousDomainServiceDesc = currentColumns.domainServiceDescs[binding];
+        INDEX_ENTRY.setRelease(currentColumns.index, slot, REMOVED_ENTRY);
+        currentColumns.domainServiceDescs[binding] = null;
+        removedCount++;
+        size--;
+        return previousDomainServiceDesc;
+    }
+
+    @Override
+    public Collection<DomainServiceDesc> values() {
+        Columns currentColumns = columns;
+        List<DomainServiceDesc> domainServiceDescs = new ArrayList<DomainServiceDesc>(size + multipleDispatchMap.size());
+        for (DomainServiceDesc domainServiceDesc : currentColumns.domainServiceDescs) {
+            if (domainServiceDesc != null) {
+                domainServiceDescs.add(domainServiceDesc);
+            }
+        }
+        domainServiceDescs.addAll(multipleDispatchMap.values());
+        return Collections.unmodifiableList(domainServiceDescs);
+    }
+
+    @Override
+    public int size() {
+        return size + multipleDispatchMap.size();
+    }
+}
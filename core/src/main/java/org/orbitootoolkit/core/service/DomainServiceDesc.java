@@ -22,7 +22,10 @@
 package org.orbitootoolkit.core.service;
 
 import java.util.List;
+import java.util.Set;
 
+import org.orbitootoolkit.core.api.TagMatch;
+import org.orbitootoolkit.core.executor.ServicePointExecutorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import jakarta.annotation.PostConstruct;
@@ -41,18 +44,60 @@ public class DomainServiceDesc {
     private String servicePointName = null;
     private Class<?> subjectClass = null;
     private List<TaggedValueDesc> subjectTaggedValues = null;
+    private List<SubjectDesc> additionalSubjects = null;
+    private ExecutorDesc executor = null;
+    private AdmissionDesc admission = null;
+    private String tenant = null;
 
     @Autowired
     @ToString.Exclude
     private DomainServiceDescRepository repository = null;
 
+    @Autowired
+    @ToString.Exclude
+    private ServicePointExecutorRepository executorRepository = null;
+
+    // the same domain service can be bound to more service points (and by the tenants), each binding has its own
+    // admission control and executor
+    public String getBindingName() {
+        return servicePointName + "/" + serviceName + ((tenant != null) ? "@" + tenant : "");
+    }
+
+    // the domain service bound by a range, prefix or wildcard is resolved by the tag pattern index
+    public boolean hasTagPatterns() {
+        return (subjectTaggedValues != null) && subjectTaggedValues.stream() //
+                .anyMatch((taggedValueDesc) -> (taggedValueDesc.getMatch() != null) && (taggedValueDesc.getMatch() != TagMatch.EXACT));
+    }
+
+    private static void addBoundTagsTo(Set<String> boundTags, List<TaggedValueDesc> taggedValueDescs) {
+        for (TaggedValueDesc taggedValueDesc : (taggedValueDescs != null) ? taggedValueDescs : List.<TaggedValueDesc> of()) {
+            // the tag of map is bound with its name (e.g. "attributes" of "attributes.color")
+            String tag = taggedValueDesc.getTag();
+            for (int index = tag.indexOf('.'); index != -1; index = tag.indexOf('.', index + 1)) {
+                boundTags.add(tag.substring(0, index));
+            }
+            boundTags.add(tag);
+        }
+    }
+
+    // the tags bound by the subject and the additional subjects
+    public void addBoundTagsTo(Set<String> boundTags) {
+        addBoundTagsTo(boundTags, subjectTaggedValues);
+        for (SubjectDesc subjectDesc : (additionalSubjects != null) ? additionalSubjects : List.<SubjectDesc> of()) {
+            addBoundTagsTo(boundTags, subjectDesc.getSubjectTaggedValues());
+        }
+    }
+
     @PostConstruct
     public void register() {
+        // the executor is ready, before the domain service can be resolved
+        executorRepository.addDomainServiceExecutor(this);
         repository.addDomainServiceDesc(this);
     }
 
     @PreDestroy
     public void unregister() {
         repository.removeDomainServiceDesc(this);
+        executorRepository.removeDomainServiceExecutor(this);
     }
 }
@@ -21,6 +21,7 @@
  */
 package org.orbitootoolkit.core.service;
 
+import java.lang.annotation.Annotation;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -28,7 +29,12 @@ import java.util.stream.Collectors;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.orbitootoolkit.core.api.AdditionalSubject;
+import org.orbitootoolkit.core.api.AdmissionControl;
 import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.ServiceExecutor;
+import org.orbitootoolkit.core.api.TagMatch;
 import org.orbitootoolkit.core.api.TaggedValue;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.MutablePropertyValues;
@@ -52,28 +58,55 @@ import lombok.extern.slf4j.Slf4j;
 public class DomainServiceDescRegistrar implements BeanDefinitionRegistryPostProcessor {
     private BeanNameGenerator nameGenerator = DefaultBeanNameGenerator.INSTANCE;
 
+    private static void addTaggedValueDescsTo(List<TaggedValueDesc> taggedValueDescs, TaggedValue[] taggedValues) {
+        for (TaggedValue taggedValue : ArrayUtils.nullToEmpty(taggedValues, TaggedValue[].class)) {
+            TaggedValueDesc taggedValueDesc = new TaggedValueDesc(taggedValue.tag(), taggedValue.value(), taggedValue.match());
+            // the pattern is validated at the start of application, e.g. the malformed range
+            TagPattern.from(taggedValueDesc);
+            taggedValueDescs.add(taggedValueDesc);
+        }
+    }
+
     private static List<TaggedValueDesc> extractTaggedValueDescs(DomainService domainService) {
         List<TaggedValueDesc> taggedValueDescs = new LinkedList<TaggedValueDesc>();
+        addTaggedValueDescsTo(taggedValueDescs, domainService.subjectTaggedValues());
+        addTaggedValueDescsTo(taggedValueDescs, domainService.additionalTaggedValues());
+        return Collections.unmodifiableList(taggedValueDescs);
+    }
+
+    private static List<SubjectDesc> extractAdditionalSubjectDescs(DomainService domainService) {
+        List<SubjectDesc> subjectDescs = new LinkedList<SubjectDesc>();
         //
-        TaggedValue[] subjectTaggedValues = ArrayUtils.nullToEmpty(domainService.subjectTaggedValues(), TaggedValue[].class);
-        for (TaggedValue subjectTaggedValue : subjectTaggedValues) {
-            taggedValueDescs.add(new TaggedValueDesc(subjectTaggedValue.tag(), subjectTaggedValue.value()));
-        }
-        //
-        TaggedValue[] additionalTaggedValues = ArrayUtils.nullToEmpty(domainService.additionalTaggedValues(), TaggedValue[].class);
-        for (TaggedValue additionalTaggedValue : additionalTaggedValues) {
-            taggedValueDescs.add(new TaggedValueDesc(additionalTaggedValue.tag(), additionalTaggedValue.value()));
+        AdditionalSubject[] additionalSubjects = ArrayUtils.nullToEmpty(domainService.additionalSubjects(), AdditionalSubject[].class);
+        for (AdditionalSubject additionalSubject : additionalSubjects) {
+            List<TaggedValueDesc> taggedValueDescs = new LinkedList<TaggedValueDesc>();
+            addTaggedValueDescsTo(taggedValueDescs, additionalSubject.subjectTaggedValues());
+            if (taggedValueDescs.stream().anyMatch((taggedValueDesc) -> taggedValueDesc.getMatch() != TagMatch.EXACT)) {
+                throw new IllegalArgumentException("Tag patterns are not supported by additional subjects: " + domainService);
+            }
+            subjectDescs.add(new SubjectDesc(additionalSubject.subjectClass(), Collections.unmodifiableList(taggedValueDescs)));
         }
         //
-        return Collections.unmodifiableList(taggedValueDescs);
+        return Collections.unmodifiableList(subjectDescs);
     }
 
-    private void registerDomainServiceDesc(BeanDefinitionRegistry registry, String serviceName, DomainService domainService) {
+    private void registerDomainServiceDesc(BeanDefinitionRegistry registry, String serviceName, DomainService domainService, BeanDefinition serviceBeanDefinition) {
+        List<TaggedValueDesc> subjectTaggedValues = extractTaggedValueDescs(domainService);
+        List<SubjectDesc> additionalSubjects = extractAdditionalSubjectDescs(domainService);
+        boolean hasTagPatterns = subjectTaggedValues.stream().anyMatch((taggedValueDesc) -> taggedValueDesc.getMatch() != TagMatch.EXACT);
+        if (hasTagPatterns && !additionalSubjects.isEmpty()) {
+            throw new IllegalArgumentException("Tag patterns are not supported by multiple dispatch: " + domainService);
+        }
+        //
         MutablePropertyValues propertyValues = new MutablePropertyValues();
         propertyValues.addPropertyValue("serviceName", serviceName);
         propertyValues.addPropertyValue("servicePointName", domainService.servicePointName());
         propertyValues.addPropertyValue("subjectClass", domainService.subjectClass());
-        propertyValues.addPropertyValue("subjectTaggedValues", extractTaggedValueDescs(domainService));
+        propertyValues.addPropertyValue("subjectTaggedValues", subjectTaggedValues);
+        propertyValues.addPropertyValue("additionalSubjects", additionalSubjects);
+        propertyValues.addPropertyValue("executor", ExecutorDesc.from(getAnnotation(serviceBeanDefinition, ServiceExecutor.class)));
+        propertyValues.addPropertyValue("admission", AdmissionDesc.from(getAnnotation(serviceBeanDefinition, AdmissionControl.class)));
+        propertyValues.addPropertyValue("tenant", StringUtils.trimToNull(domainService.tenant()));
         //
         GenericBeanDefinition beanDefinition = new GenericBeanDefinition();
         beanDefinition.setBeanClass(DomainServiceDesc.class);
@@ -115,6 +148,26 @@ public class DomainServiceDescRegistrar implements BeanDefinitionRegistryPostPro
         }
     }
 
+    private static <A extends Annotation> A getAnnotation(AnnotatedTypeMetadata metadata, Class<A> annotationClass) {
+        MergedAnnotation<A> mergedAnnotation = (metadata != null) ? metadata.getAnnotations().get(annotationClass) : null;
+        return ((mergedAnnotation != null) && mergedAnnotation.isPresent()) ? mergedAnnotation.synthesize() : null;
+    }
+
+    private static <A extends Annotation> A getAnnotation(BeanDefinition beanDefinition, Class<A> annotationClass) {
+        if (beanDefinition instanceof AnnotatedBeanDefinition) {
+            AnnotatedBeanDefinition annotatedBeanDefinition = (AnnotatedBeanDefinition) beanDefinition;
+            //
+            A factoryMethodAnnotation = getAnnotation(annotatedBeanDefinition.getFactoryMethodMetadata(), annotationClass);
+            if (factoryMethodAnnotation != null) {
+                return factoryMethodAnnotation;
+            }
+            //
+            return getAnnotation(annotatedBeanDefinition.getMetadata(), annotationClass);
+        } else {
+            return null;
+        }
+    }
+
     @Override
     public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
         log.info("postProcessBeanDefinitionRegistry started:");
@@ -122,7 +175,7 @@ public class DomainServiceDescRegistrar implements BeanDefinitionRegistryPostPro
             BeanDefinition beanDefinition = registry.getBeanDefinition(beanDefinitionName);
             List<DomainService> domainServices = getDomainServices(beanDefinition);
             for (DomainService domainService : domainServices) {
-                registerDomainServiceDesc(registry, beanDefinitionName, domainService);
+                registerDomainServiceDesc(registry, beanDefinitionName, domainService, beanDefinition);
             }
         }
         log.info("postProcessBeanDefinitionRegistry finished:");
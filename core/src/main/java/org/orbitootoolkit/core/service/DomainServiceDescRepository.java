@@ -21,21 +21,37 @@
  */
 package org.orbitootoolkit.core.service;
 
+import java.lang.invoke.SwitchPoint;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
-import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
+import org.orbitootoolkit.core.api.TenantResolver;
 import org.orbitootoolkit.core.property.Property;
+import org.orbitootoolkit.core.property.PropertySupplier;
 import org.orbitootoolkit.core.property.PropertySupplierRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -43,54 +59,512 @@ import lombok.extern.slf4j.Slf4j;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 @Lazy(false)
 public class DomainServiceDescRepository {
-    private Map<DomainServiceKey, DomainServiceDesc> domainServiceMap = new ConcurrentHashMap<DomainServiceKey, DomainServiceDesc>();
+    public static final String REGISTRY_COMPACT_PROPERTY = "orbitoo.registry.compact";
+    public static final String CHAIN_CACHE_MAX_SIZE_PROPERTY = "orbitoo.registry.chainCacheMaxSize";
+
+    private DomainServiceTable domainServiceTable = new HashDomainServiceTable();
+    private TagPatternIndex tagPatternIndex = new TagPatternIndex();
+    private Map<String, Map<Class<?>, List<DomainServiceKeyBuilder>>> keyBuildersMap = new ConcurrentHashMap<String, Map<Class<?>, List<DomainServiceKeyBuilder>>>();
+    private int chainCacheMaxSize = 65536;
+    private SpecificityChainCache specificityChainCache = new SpecificityChainCache(chainCacheMaxSize);
+    // the domain services found by multiple dispatch (the chain of one domain service, the empty chain by the miss)
+    private SpecificityChainCache multipleDispatchCache = new SpecificityChainCache(chainCacheMaxSize);
+    private Map<String, TenantOverlay> tenantOverlayMap = new ConcurrentHashMap<String, TenantOverlay>();
+    private Map<String, Map<String, DomainServiceDesc>> serviceNameMap = new ConcurrentHashMap<String, Map<String, DomainServiceDesc>>();
+    private AtomicLong version = new AtomicLong();
+    private volatile SwitchPoint switchPoint = new SwitchPoint();
+
+    private ThreadLocal<Optional<String>> capturedTenant = new ThreadLocal<Optional<String>>();
+
+    private LongAdder specificityChainHitCount = new LongAdder();
+    private LongAdder specificityChainMissCount = new LongAdder();
+    private LongAdder multipleDispatchHitCount = new LongAdder();
+    private LongAdder multipleDispatchMissCount = new LongAdder();
+    private LongAdder negativeResolutionHitCount = new LongAdder();
+    private LongAdder negativeResolutionMissCount = new LongAdder();
+
+    @FunctionalInterface
+    public static interface TenantInvocation<InvocationException extends Throwable> {
+        public Object invoke() throws InvocationException;
+    }
+
+    @Autowired
+    private Environment environment = null;
 
     @Autowired
     private PropertySupplierRepository propertySupplierRepository = null;
 
+    @Autowired
+    private SubjectClassHierarchyRepository subjectClassHierarchyRepository = null;
+
+    @Autowired(required = false)
+    private TenantResolver tenantResolver = null;
+
+    @PostConstruct
+    public void init() {
+        // the table is chosen before any domain service is registered
+        if (environment.getProperty(REGISTRY_COMPACT_PROPERTY, Boolean.class, false)) {
+            domainServiceTable = new CompactDomainServiceTable();
+        }
+        chainCacheMaxSize = environment.getProperty(CHAIN_CACHE_MAX_SIZE_PROPERTY, Integer.class, chainCacheMaxSize);
+        specificityChainCache = new SpecificityChainCache(chainCacheMaxSize);
+        multipleDispatchCache = new SpecificityChainCache(chainCacheMaxSize);
+    }
+
     public void addDomainServiceDesc(DomainServiceDesc domainServiceDesc) {
-        domainServiceMap.put(DomainServiceKey.from(domainServiceDesc), domainServiceDesc);
+        serviceNameMap.compute(domainServiceDesc.getServicePointName(), (key, servicePointServiceNameMap) -> {
+            Map<String, DomainServiceDesc> serviceNames = (servicePointServiceNameMap != null) ? servicePointServiceNameMap
+                    : new ConcurrentHashMap<String, DomainServiceDesc>();
+            serviceNames.put(domainServiceDesc.getServiceName(), domainServiceDesc);
+            return serviceNames;
+        });
+        // the domain service of the tenant is added only to its overlay, the shared domain services are not affected
+        if (domainServiceDesc.getTenant() != null) {
+            tenantOverlayMap.computeIfAbsent(domainServiceDesc.getTenant(), (tenant) -> new TenantOverlay(tenant, chainCacheMaxSize)).addDomainServiceDesc(domainServiceDesc);
+            invalidateSwitchPoint();
+            log.info("added domainServiceDesc: " + domainServiceDesc);
+            return;
+        }
+        if (domainServiceDesc.hasTagPatterns()) {
+            tagPatternIndex.put(domainServiceDesc);
+        } else {
+            domainServiceTable.put(DomainServiceKey.from(domainServiceDesc), domainServiceDesc);
+        }
+        version.incrementAndGet();
+        multipleDispatchCache.clear();
+        specificityChainCache.clear();
+        tenantOverlayMap.values().forEach(TenantOverlay::clearCaches);
+        invalidateSwitchPoint();
         log.info("added domainServiceDesc: " + domainServiceDesc);
     }
 
+    private Stream<DomainServiceDesc> getSharedDomainServiceDescs() {
+        return Stream.concat(domainServiceTable.values().stream(), tagPatternIndex.values().stream());
+    }
+
+    public List<DomainServiceDesc> getDomainServiceDescs(String servicePointName) {
+        return getSharedDomainServiceDescs() //
+                .filter((domainServiceDesc) -> servicePointName.equals(domainServiceDesc.getServicePointName())) //
+                .toList();
+    }
+
+    // the domain service (shared or of any tenant) by its name, e.g. resolved by the remote node
+    public DomainServiceDesc getDomainServiceDesc(String servicePointName, String serviceName) {
+        Map<String, DomainServiceDesc> servicePointServiceNameMap = serviceNameMap.get(servicePointName);
+        return (servicePointServiceNameMap != null) ? servicePointServiceNameMap.get(serviceName) : null;
+    }
+
     public void removeDomainServiceDesc(DomainServiceDesc domainServiceDesc) {
-        domainServiceMap.remove(DomainServiceKey.from(domainServiceDesc));
+        serviceNameMap.computeIfPresent(domainServiceDesc.getServicePointName(), (key, servicePointServiceNameMap) -> {
+            servicePointServiceNameMap.remove(domainServiceDesc.getServiceName(), domainServiceDesc);
+            return servicePointServiceNameMap.isEmpty() ? null : servicePointServiceNameMap;
+        });
+        if (domainServiceDesc.getTenant() != null) {
+            TenantOverlay tenantOverlay = tenantOverlayMap.get(domainServiceDesc.getTenant());
+            if (tenantOverlay != null) {
+                tenantOverlay.removeDomainServiceDesc(domainServiceDesc);
+            }
+            invalidateSwitchPoint();
+            log.info("removed domainServiceDesc: " + domainServiceDesc);
+            return;
+        }
+        if (domainServiceDesc.hasTagPatterns()) {
+            tagPatternIndex.remove(domainServiceDesc);
+        } else {
+            domainServiceTable.remove(DomainServiceKey.from(domainServiceDesc));
+        }
+        version.incrementAndGet();
+        multipleDispatchCache.clear();
+        specificityChainCache.clear();
+        tenantOverlayMap.values().forEach(TenantOverlay::clearCaches);
+        invalidateSwitchPoint();
         log.info("removed domainServiceDesc: " + domainServiceDesc);
     }
 
-    private static SortedSet<DomainServiceKeyBuilder> createKeyBuilders(String servicePointName, Object subject, Set<Property> subjectProperties) {
+    private List<DomainServiceKeyBuilder> createKeyBuilders(String servicePointName, Class<?> subjectClass) {
+        log.debug("createKeyBuilders started [" + servicePointName + ", " + subjectClass.getSimpleName() + "]");
         TreeSet<DomainServiceKeyBuilder> keyBuilders = new TreeSet<DomainServiceKeyBuilder>(DomainServiceKeyBuilder.COMPARATOR.reversed());
         //
-        Class<?> subjectClass = subject.getClass();
-        while (subjectClass != null) {
-            keyBuilders.add(new DomainServiceKeyBuilder(servicePointName, subjectClass));
-            subjectClass = subjectClass.getSuperclass();
+        SubjectClassHierarchy subjectClassHierarchy = subjectClassHierarchyRepository.getSubjectClassHierarchy(subjectClass);
+        List<Class<?>> linearization = subjectClassHierarchy.getLinearization();
+        for (int rank = 0; rank < linearization.size(); rank++) {
+            SubjectClassHierarchy supertypeHierarchy = subjectClassHierarchyRepository.getSubjectClassHierarchy(linearization.get(rank));
+            keyBuilders.add(new DomainServiceKeyBuilder(servicePointName, supertypeHierarchy, rank));
         }
-        for (Property subjectProperty : subjectProperties) {
-            keyBuilders.add(new DomainServiceKeyBuilder(servicePointName, subjectProperty.getDeclaringClass(), subjectProperty.getPriority()));
+        for (PropertySupplier propertySupplier : propertySupplierRepository.getPropertySuppliers(subjectClass)) {
+            Class<?> declaringClass = propertySupplier.getDeclaringClass();
+            SubjectClassHierarchy declaringClassHierarchy = subjectClassHierarchyRepository.getSubjectClassHierarchy(declaringClass);
+            keyBuilders.add(new DomainServiceKeyBuilder(servicePointName, declaringClassHierarchy, //
+                    subjectClassHierarchy.getRank(declaringClass), propertySupplier.getPriority()));
         }
         //
-        return keyBuilders;
+        log.debug("createKeyBuilders finished: " + keyBuilders.size());
+        return Collections.unmodifiableList(new ArrayList<DomainServiceKeyBuilder>(keyBuilders));
+    }
+
+    private List<DomainServiceKeyBuilder> getKeyBuilders(String servicePointName, Class<?> subjectClass) {
+        Map<Class<?>, List<DomainServiceKeyBuilder>> servicePointKeyBuildersMap = //
+                keyBuildersMap.computeIfAbsent(servicePointName, (key) -> new ConcurrentHashMap<Class<?>, List<DomainServiceKeyBuilder>>());
+        if (servicePointKeyBuildersMap.containsKey(subjectClass)) {
+            return servicePointKeyBuildersMap.get(subjectClass);
+        } else {
+            List<DomainServiceKeyBuilder> keyBuilders = createKeyBuilders(servicePointName, subjectClass);
+            servicePointKeyBuildersMap.put(subjectClass, keyBuilders);
+            return keyBuilders;
+        }
+    }
+
+    // the probes are created in advance for the concrete subject classes (the subjects are their instances, the bound
+    // classes are often interfaces or superclasses): the bound classes and the classes seen before the checkpoint
+    // (by the class hierarchies and by the tag suppliers), the tag suppliers of these classes are created too
+    public void warmUp() {
+        Set<Class<?>> subjectClasses = new HashSet<Class<?>>(subjectClassHierarchyRepository.getSubjectClasses());
+        subjectClasses.addAll(propertySupplierRepository.getSubjectClasses());
+        Map<String, Set<Class<?>>> boundClassesMap = new HashMap<String, Set<Class<?>>>();
+        List<DomainServiceDesc> domainServiceDescs = new ArrayList<DomainServiceDesc>(getSharedDomainServiceDescs().toList());
+        for (TenantOverlay tenantOverlay : tenantOverlayMap.values()) {
+            domainServiceDescs.addAll(tenantOverlay.getDomainServiceDescs());
+        }
+        for (DomainServiceDesc domainServiceDesc : domainServiceDescs) {
+            boundClassesMap.computeIfAbsent(domainServiceDesc.getServicePointName(), (key) -> new HashSet<Class<?>>()) //
+                    .add(domainServiceDesc.getSubjectClass());
+            subjectClasses.add(domainServiceDesc.getSubjectClass());
+        }
+        subjectClasses.removeIf((subjectClass) -> subjectClass.isInterface() || Modifier.isAbstract(subjectClass.getModifiers()) //
+                || Object.class.equals(subjectClass));
+        for (Map.Entry<String, Set<Class<?>>> entry : boundClassesMap.entrySet()) {
+            for (Class<?> subjectClass : subjectClasses) {
+                if (entry.getValue().stream().anyMatch((boundClass) -> boundClass.isAssignableFrom(subjectClass))) {
+                    propertySupplierRepository.getPropertySuppliers(subjectClass);
+                    getKeyBuilders(entry.getKey(), subjectClass);
+                }
+            }
+        }
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    // the switch point of the current domain services, it is invalidated by any change (also of the tenant overlays)
+    public SwitchPoint getSwitchPoint() {
+        return switchPoint;
+    }
+
+    private synchronized void invalidateSwitchPoint() {
+        SwitchPoint invalidSwitchPoint = switchPoint;
+        switchPoint = new SwitchPoint();
+        SwitchPoint.invalidateAll(new SwitchPoint[] { invalidSwitchPoint });
+    }
+
+    public List<TenantOverlay> getTenantOverlays() {
+        return tenantOverlayMap.values().stream().sorted(Comparator.comparing(TenantOverlay::getTenant)).toList();
+    }
+
+    // the tenant of the caller, captured before the invocation is moved to another thread (the mailbox, the journal
+    // or the executor), the resolver of the application is not consulted by that thread
+    public String getCurrentTenant() {
+        Optional<String> tenant = capturedTenant.get();
+        if (tenant != null) {
+            return tenant.orElse(null);
+        }
+        return (tenantResolver != null) ? tenantResolver.getCurrentTenant() : null;
+    }
+
+    public <InvocationException extends Throwable> Object invokeWithTenant(String tenant, TenantInvocation<InvocationException> invocation)
+            throws InvocationException {
+        if (tenantResolver == null) {
+            return invocation.invoke();
+        }
+        Optional<String> previousTenant = capturedTenant.get();
+        capturedTenant.set(Optional.ofNullable(tenant));
+        try {
+            return invocation.invoke();
+        } finally {
+            if (previousTenant != null) {
+                capturedTenant.set(previousTenant);
+            } else {
+                capturedTenant.remove();
+            }
+        }
+    }
+
+    // the overlay of the current tenant, if it overrides any domain service of the service point
+    public TenantOverlay findTenantOverlay(String servicePointName) {
+        if ((tenantResolver == null) || tenantOverlayMap.isEmpty()) {
+            return null;
+        }
+        String tenant = getCurrentTenant();
+        TenantOverlay tenantOverlay = (tenant != null) ? tenantOverlayMap.get(tenant) : null;
+        return ((tenantOverlay != null) && tenantOverlay.overrides(servicePointName)) ? tenantOverlay : null;
+    }
+
+    // the overlay is consulted before the shared domain services by each probe, the specificity is kept;
+    // the exact tagged values of the probe take precedence over the tag patterns
+    private DomainServiceDesc getDomainServiceDesc(TenantOverlay tenantOverlay, DomainServiceKey key) {
+        DomainServiceDesc domainServiceDesc = null;
+        if (tenantOverlay != null) {
+            domainServiceDesc = tenantOverlay.getDomainServiceMap().get(key);
+            domainServiceDesc = (domainServiceDesc != null) ? domainServiceDesc : tenantOverlay.getTagPatternIndex().find(key);
+        }
+        domainServiceDesc = (domainServiceDesc != null) ? domainServiceDesc : domainServiceTable.get(key);
+        return (domainServiceDesc != null) ? domainServiceDesc : tagPatternIndex.find(key);
+    }
+
+    // all domain services matching the probe, in the same order
+    private void addDomainServiceDescsTo(List<DomainServiceDesc> domainServiceDescs, TenantOverlay tenantOverlay, DomainServiceKey key) {
+        List<DomainServiceDesc> probeDomainServiceDescs = new ArrayList<DomainServiceDesc>();
+        DomainServiceDesc tenantDomainServiceDesc = (tenantOverlay != null) ? tenantOverlay.getDomainServiceMap().get(key) : null;
+        if (tenantDomainServiceDesc != null) {
+            probeDomainServiceDescs.add(tenantDomainServiceDesc);
+        }
+        if (tenantOverlay != null) {
+            tenantOverlay.getTagPatternIndex().findAll(key, probeDomainServiceDescs);
+        }
+        DomainServiceDesc sharedDomainServiceDesc = (tenantDomainServiceDesc == null) ? domainServiceTable.get(key) : null;
+        if (sharedDomainServiceDesc != null) {
+            probeDomainServiceDescs.add(sharedDomainServiceDesc);
+        }
+        tagPatternIndex.findAll(key, probeDomainServiceDescs);
+        for (DomainServiceDesc domainServiceDesc : probeDomainServiceDescs) {
+            if (!domainServiceDescs.contains(domainServiceDesc)) {
+                domainServiceDescs.add(domainServiceDesc);
+            }
+        }
+    }
+
+    private long getCacheVersion(TenantOverlay tenantOverlay) {
+        return version.get() + ((tenantOverlay != null) ? tenantOverlay.getVersion() : 0);
+    }
+
+    public List<String> getServicePointNames() {
+        return getSharedDomainServiceDescs().map(DomainServiceDesc::getServicePointName).distinct().sorted().toList();
+    }
+
+    public List<CacheStatistics> getCacheStatistics() {
+        long keyBuildersSize = keyBuildersMap.values().stream().mapToLong(Map::size).sum();
+        // the chains of tenants share the counts of hits and misses, their sizes and evictions are added
+        long specificityChainSize = specificityChainCache.size();
+        long negativeResolutionSize = specificityChainCache.getNegativeSize();
+        long evictionCount = specificityChainCache.getEvictionCount();
+        long multipleDispatchSize = multipleDispatchCache.size();
+        long multipleDispatchEvictionCount = multipleDispatchCache.getEvictionCount();
+        for (TenantOverlay tenantOverlay : tenantOverlayMap.values()) {
+            specificityChainSize += tenantOverlay.getSpecificityChainCache().size();
+            negativeResolutionSize += tenantOverlay.getSpecificityChainCache().getNegativeSize();
+            evictionCount += tenantOverlay.getSpecificityChainCache().getEvictionCount();
+            multipleDispatchSize += tenantOverlay.getMultipleDispatchCache().size();
+            multipleDispatchEvictionCount += tenantOverlay.getMultipleDispatchCache().getEvictionCount();
+        }
+        return List.of( //
+                new CacheStatistics("keyBuilders", keyBuildersSize, -1, -1), //
+                new CacheStatistics("specificityChain", specificityChainSize, specificityChainHitCount.sum(), specificityChainMissCount.sum(), //
+                        evictionCount), //
+                new CacheStatistics("negativeResolution", negativeResolutionSize, negativeResolutionHitCount.sum(), negativeResolutionMissCount.sum()), //
+                new CacheStatistics("multipleDispatch", multipleDispatchSize, multipleDispatchHitCount.sum(), multipleDispatchMissCount.sum(), //
+                        multipleDispatchEvictionCount));
     }
 
     public DomainServiceDesc findDomainServiceDesc(String servicePointName, Object subject) {
         Objects.requireNonNull(servicePointName);
         Objects.requireNonNull(subject);
-        log.debug("findDomainServiceDesc started: " + servicePointName);
         //
         Set<Property> subjectProperties = propertySupplierRepository.getProperties(subject);
-        Set<DomainServiceKeyBuilder> keyBuilders = createKeyBuilders(servicePointName, subject, subjectProperties);
+        return findDomainServiceDesc(servicePointName, subject.getClass(), subjectProperties);
+    }
+
+    // the most specific domain service is the first of the specificity chain, the hit and the miss are cached as the chain
+    public DomainServiceDesc findDomainServiceDesc(String servicePointName, Class<?> subjectClass, Set<Property> subjectProperties) {
+        List<DomainServiceDesc> specificityChain = findDomainServiceDescs(servicePointName, subjectClass, subjectProperties);
+        return specificityChain.isEmpty() ? null : specificityChain.get(0);
+    }
+
+    private void countNegativeResolution(List<DomainServiceDesc> specificityChain, boolean isHit) {
+        if (specificityChain.isEmpty()) {
+            (isHit ? negativeResolutionHitCount : negativeResolutionMissCount).increment();
+        }
+    }
+
+    private void putSpecificityChain(SpecificityChainCache chainCache, DomainServiceKey chainKey, List<DomainServiceDesc> specificityChain,
+            TenantOverlay tenantOverlay, long chainVersion) {
+        chainCache.put(chainKey, specificityChain);
+        // the chain resolved before the change of domain services is discarded
+        if (getCacheVersion(tenantOverlay) != chainVersion) {
+            chainCache.remove(chainKey);
+        }
+    }
+
+    public List<DomainServiceDesc> findDomainServiceDescs(String servicePointName, Object subject) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(subject);
+        //
+        Set<Property> subjectProperties = propertySupplierRepository.getProperties(subject);
+        return findDomainServiceDescs(servicePointName, subject.getClass(), subjectProperties);
+    }
+
+    // all matching domain services ordered from the most specific (the specificity chain), cached by the class and tags
+    public List<DomainServiceDesc> findDomainServiceDescs(String servicePointName, Class<?> subjectClass, Set<Property> subjectProperties) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(subjectClass);
+        Objects.requireNonNull(subjectProperties);
+        log.debug("findDomainServiceDescs started: " + servicePointName);
+        //
+        TenantOverlay tenantOverlay = findTenantOverlay(servicePointName);
+        SpecificityChainCache chainCache = (tenantOverlay != null) ? tenantOverlay.getSpecificityChainCache() : specificityChainCache;
+        List<DomainServiceDesc> specificityChain = chainCache.get(new DomainServiceKey(servicePointName, subjectClass, subjectProperties));
+        if (specificityChain != null) {
+            specificityChainHitCount.increment();
+            countNegativeResolution(specificityChain, true);
+            log.debug("findDomainServiceDescs finished: " + specificityChain.size());
+            return specificityChain;
+        }
+        specificityChainMissCount.increment();
+        // the properties are filtered by the probes, the key is created from their copy
+        long chainVersion = getCacheVersion(tenantOverlay);
+        DomainServiceKey chainKey = new DomainServiceKey(servicePointName, subjectClass, Set.copyOf(subjectProperties));
+        specificityChain = resolveDomainServiceDescs(tenantOverlay, servicePointName, subjectClass, subjectProperties);
+        putSpecificityChain(chainCache, chainKey, specificityChain, tenantOverlay, chainVersion);
+        countNegativeResolution(specificityChain, false);
+        //
+        log.debug("findDomainServiceDescs finished: " + specificityChain.size());
+        return specificityChain;
+    }
+
+    private List<DomainServiceDesc> resolveDomainServiceDescs(TenantOverlay tenantOverlay, String servicePointName, Class<?> subjectClass,
+            Set<Property> subjectProperties) {
+        List<DomainServiceDesc> domainServiceDescs = new ArrayList<DomainServiceDesc>();
+        for (DomainServiceKeyBuilder keyBuilder : getKeyBuilders(servicePointName, subjectClass)) {
+            addDomainServiceDescsTo(domainServiceDescs, tenantOverlay, keyBuilder.filterAndBuild(subjectProperties));
+        }
+        return Collections.unmodifiableList(domainServiceDescs);
+    }
+
+    // the specificity chain resolved by the probes, bypassing the cache of chains (e.g. by the replay of recorded resolutions)
+    public List<DomainServiceDesc> resolveDomainServiceDescs(String servicePointName, Class<?> subjectClass, Set<Property> subjectProperties) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(subjectClass);
+        Objects.requireNonNull(subjectProperties);
+        return resolveDomainServiceDescs(findTenantOverlay(servicePointName), servicePointName, subjectClass, subjectProperties);
+    }
+
+    public ResolutionExplanation explainDomainServiceDesc(String servicePointName, Object subject) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(subject);
         //
+        long startNanos = System.nanoTime();
+        Set<Property> subjectProperties = propertySupplierRepository.getProperties(subject);
+        Set<Property> extractedProperties = Set.copyOf(subjectProperties);
+        long propertiesNanos = System.nanoTime() - startNanos;
+        //
+        startNanos = System.nanoTime();
+        List<DomainServiceKeyBuilder> keyBuilders = getKeyBuilders(servicePointName, subject.getClass());
+        TenantOverlay tenantOverlay = findTenantOverlay(servicePointName);
+        long keyBuildersNanos = System.nanoTime() - startNanos;
+        // all probes are evaluated, the probes after the chosen one show the shadowed domain services
+        List<ResolutionProbe> probes = new ArrayList<ResolutionProbe>();
+        int chosenProbeIndex = -1;
+        long probesNanos = 0;
         for (DomainServiceKeyBuilder keyBuilder : keyBuilders) {
+            startNanos = System.nanoTime();
             DomainServiceKey key = keyBuilder.filterAndBuild(subjectProperties);
-            DomainServiceDesc domainServiceDesc = domainServiceMap.get(key);
+            DomainServiceDesc domainServiceDesc = getDomainServiceDesc(tenantOverlay, key);
+            long probeNanos = System.nanoTime() - startNanos;
+            if (chosenProbeIndex == -1) {
+                probesNanos += probeNanos;
+                chosenProbeIndex = (domainServiceDesc != null) ? probes.size() : -1;
+            }
+            DomainServiceKey probeKey = new DomainServiceKey(servicePointName, key.getSubjectClass(), Set.copyOf(key.getSubjectProperties()));
+            probes.add(new ResolutionProbe(probeKey, domainServiceDesc, probeNanos));
+        }
+        //
+        DomainServiceDesc domainServiceDesc = (chosenProbeIndex != -1) ? probes.get(chosenProbeIndex).getDomainServiceDesc() : null;
+        return new ResolutionExplanation(servicePointName, subject.getClass(), extractedProperties, Collections.unmodifiableList(probes), //
+                domainServiceDesc, chosenProbeIndex, propertiesNanos, keyBuildersNanos, probesNanos);
+    }
+
+    public ResolutionSummary explainDomainServiceDescs(String servicePointName, Collection<?> subjects) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(subjects);
+        //
+        List<ResolutionExplanation> explanations = new ArrayList<ResolutionExplanation>();
+        for (Object subject : subjects) {
+            explanations.add(explainDomainServiceDesc(servicePointName, subject));
+        }
+        return new ResolutionSummary(servicePointName, explanations);
+    }
+
+    //
+
+    private List<SubjectKey> createSubjectKeys(String servicePointName, Object subject, Set<Property> subjectProperties) {
+        List<SubjectKey> subjectKeys = new ArrayList<SubjectKey>();
+        for (DomainServiceKeyBuilder keyBuilder : getKeyBuilders(servicePointName, subject.getClass())) {
+            SubjectKey subjectKey = SubjectKey.from(keyBuilder.filterAndBuild(subjectProperties));
+            if (subjectKeys.isEmpty() || !subjectKeys.get(subjectKeys.size() - 1).equals(subjectKey)) {
+                subjectKeys.add(subjectKey);
+            }
+        }
+        return subjectKeys;
+    }
+
+    private DomainServiceDesc findDomainServiceDesc(String servicePointName, TenantOverlay tenantOverlay, List<List<SubjectKey>> subjectKeys,
+            List<SubjectKey> combination) {
+        int position = combination.size();
+        if (position == subjectKeys.size()) {
+            return getDomainServiceDesc(tenantOverlay, DomainServiceKey.from(servicePointName, combination));
+        }
+        for (SubjectKey subjectKey : subjectKeys.get(position)) {
+            combination.add(subjectKey);
+            DomainServiceDesc domainServiceDesc = findDomainServiceDesc(servicePointName, tenantOverlay, subjectKeys, combination);
+            combination.remove(position);
             if (domainServiceDesc != null) {
-                log.debug("findDomainServiceDesc finished: " + domainServiceDesc);
                 return domainServiceDesc;
             }
         }
-        //
-        log.debug("findDomainServiceDesc finished: null");
         return null;
     }
+
+    public DomainServiceDesc findDomainServiceDesc(String servicePointName, List<Object> subjects) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(subjects);
+        log.debug("findDomainServiceDesc started: " + servicePointName + ", " + subjects.size());
+        //
+        List<Set<Property>> subjectPropertiesList = new ArrayList<Set<Property>>();
+        List<SubjectKey> dispatchSubjectKeys = new ArrayList<SubjectKey>();
+        for (Object subject : subjects) {
+            Objects.requireNonNull(subject);
+            Set<Property> subjectProperties = propertySupplierRepository.getProperties(subject);
+            subjectPropertiesList.add(subjectProperties);
+            dispatchSubjectKeys.add(new SubjectKey(subject.getClass(), subjectProperties));
+        }
+        //
+        TenantOverlay tenantOverlay = findTenantOverlay(servicePointName);
+        SpecificityChainCache dispatchCache = (tenantOverlay != null) ? tenantOverlay.getMultipleDispatchCache() : multipleDispatchCache;
+        List<DomainServiceDesc> dispatchResult = dispatchCache.get(DomainServiceKey.from(servicePointName, dispatchSubjectKeys));
+        if (dispatchResult != null) {
+            multipleDispatchHitCount.increment();
+            DomainServiceDesc cachedDomainServiceDesc = dispatchResult.isEmpty() ? null : dispatchResult.get(0);
+            log.debug("findDomainServiceDesc finished: " + cachedDomainServiceDesc);
+            return cachedDomainServiceDesc;
+        }
+        multipleDispatchMissCount.increment();
+        //
+        long dispatchVersion = getCacheVersion(tenantOverlay);
+        List<SubjectKey> immutableSubjectKeys = dispatchSubjectKeys.stream() //
+                .map((subjectKey) -> new SubjectKey(subjectKey.getSubjectClass(), Set.copyOf(subjectKey.getSubjectProperties()))).toList();
+        DomainServiceKey dispatchKey = DomainServiceKey.from(servicePointName, immutableSubjectKeys);
+        //
+        List<List<SubjectKey>> subjectKeys = new ArrayList<List<SubjectKey>>();
+        for (int position = 0; position < subjects.size(); position++) {
+            subjectKeys.add(createSubjectKeys(servicePointName, subjects.get(position), subjectPropertiesList.get(position)));
+        }
+        DomainServiceDesc domainServiceDesc = findDomainServiceDesc(servicePointName, tenantOverlay, subjectKeys, new ArrayList<SubjectKey>());
+        //
+        dispatchCache.put(dispatchKey, (domainServiceDesc != null) ? List.of(domainServiceDesc) : List.of());
+        if (getCacheVersion(tenantOverlay) != dispatchVersion) {
+            dispatchCache.remove(dispatchKey);
+        }
+        //
+        log.debug("findDomainServiceDesc finished: " + domainServiceDesc);
+        return domainServiceDesc;
+    }
 }
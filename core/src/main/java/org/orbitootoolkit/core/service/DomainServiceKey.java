@@ -21,7 +21,9 @@
  */
 package org.orbitootoolkit.core.service;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -40,28 +42,57 @@ public class DomainServiceKey {
     private String servicePointName = null;
     private Class<?> subjectClass = null;
     private Set<Property> subjectProperties = null;
+    private List<SubjectKey> additionalSubjectKeys = null;
 
     //
 
     protected DomainServiceKey(String servicePointName, Class<?> subjectClass, Set<Property> subjectProperties) {
+        this(servicePointName, subjectClass, subjectProperties, Collections.emptyList());
+    }
+
+    protected DomainServiceKey(String servicePointName, Class<?> subjectClass, Set<Property> subjectProperties, List<SubjectKey> additionalSubjectKeys) {
         this.servicePointName = servicePointName;
         this.subjectClass = subjectClass;
         this.subjectProperties = subjectProperties;
+        this.additionalSubjectKeys = withoutTrailingWildcards(additionalSubjectKeys);
     }
 
     //
 
-    public static DomainServiceKey from(DomainServiceDesc domainServiceDesc) {
-        String servicePointName = domainServiceDesc.getServicePointName();
-        Class<?> subjectClass = domainServiceDesc.getSubjectClass();
-        Set<Property> subjectProperties;
-        if (!CollectionUtils.isEmpty(domainServiceDesc.getSubjectTaggedValues())) {
-            subjectProperties = domainServiceDesc.getSubjectTaggedValues().stream().filter(Objects::nonNull) //
+    private static List<SubjectKey> withoutTrailingWildcards(List<SubjectKey> subjectKeys) {
+        int size = subjectKeys.size();
+        while ((size > 0) && subjectKeys.get(size - 1).isWildcard()) {
+            size--;
+        }
+        return List.copyOf(subjectKeys.subList(0, size));
+    }
+
+    private static Set<Property> toProperties(List<TaggedValueDesc> taggedValues) {
+        if (!CollectionUtils.isEmpty(taggedValues)) {
+            return taggedValues.stream().filter(Objects::nonNull) //
                     .map((taggedValue) -> new Property(taggedValue.getTag(), taggedValue.getValue())) //
                     .collect(Collectors.toUnmodifiableSet());
         } else {
-            subjectProperties = Collections.emptySet();
+            return Collections.emptySet();
         }
-        return new DomainServiceKey(servicePointName, subjectClass, subjectProperties);
+    }
+
+    public static DomainServiceKey from(DomainServiceDesc domainServiceDesc) {
+        String servicePointName = domainServiceDesc.getServicePointName();
+        Class<?> subjectClass = domainServiceDesc.getSubjectClass();
+        Set<Property> subjectProperties = toProperties(domainServiceDesc.getSubjectTaggedValues());
+        List<SubjectKey> additionalSubjectKeys = new ArrayList<SubjectKey>();
+        if (!CollectionUtils.isEmpty(domainServiceDesc.getAdditionalSubjects())) {
+            for (SubjectDesc additionalSubject : domainServiceDesc.getAdditionalSubjects()) {
+                additionalSubjectKeys.add(new SubjectKey(additionalSubject.getSubjectClass(), toProperties(additionalSubject.getSubjectTaggedValues())));
+            }
+        }
+        return new DomainServiceKey(servicePointName, subjectClass, subjectProperties, additionalSubjectKeys);
+    }
+
+    public static DomainServiceKey from(String servicePointName, List<SubjectKey> subjectKeys) {
+        SubjectKey primarySubjectKey = subjectKeys.get(0);
+        return new DomainServiceKey(servicePointName, primarySubjectKey.getSubjectClass(), primarySubjectKey.getSubjectProperties(), //
+                subjectKeys.subList(1, subjectKeys.size()));
     }
 }
@@ -39,17 +39,7 @@ public class DomainServiceKeyBuilder {
     private static final Comparator<DomainServiceKeyBuilder> SERVICE_POINT_NAME_COMPARATOR = //
             Comparator.comparing(DomainServiceKeyBuilder::getServicePointName, Comparator.naturalOrder());
     private static final Comparator<DomainServiceKeyBuilder> SUBJECT_CLASS_COMPARATOR = //
-            Comparator.comparing(DomainServiceKeyBuilder::getSubjectClass, (class1, class2) -> {
-                if (class1.equals(class2)) {
-                    return 0;
-                } else if (class1.isAssignableFrom(class2)) {
-                    return -1;
-                } else if (class2.isAssignableFrom(class1)) {
-                    return 1;
-                } else {
-                    throw new IllegalStateException("Unrelated classes: [" + class1.getSimpleName() + ", " + class2.getSimpleName() + "]");
-                }
-            });
+            Comparator.comparing(DomainServiceKeyBuilder::getSubjectClassRank, Comparator.reverseOrder());
     private static final Comparator<DomainServiceKeyBuilder> PRIORITY_COMPARATOR = //
             Comparator.comparing(DomainServiceKeyBuilder::getTagPriority, Comparator.nullsFirst(Comparator.reverseOrder()));
     public static final Comparator<DomainServiceKeyBuilder> COMPARATOR = //
@@ -59,19 +49,26 @@ public class DomainServiceKeyBuilder {
 
     private String servicePointName = null;
     private Class<?> subjectClass = null;
+    private int subjectClassRank = 0;
     private Integer tagPriority = null;
 
-    public DomainServiceKeyBuilder(String servicePointName, Class<?> subjectClass, Integer tagPriority) {
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private SubjectClassHierarchy subjectClassHierarchy = null;
+
+    public DomainServiceKeyBuilder(String servicePointName, SubjectClassHierarchy subjectClassHierarchy, int subjectClassRank, Integer tagPriority) {
         Objects.requireNonNull(servicePointName);
-        Objects.requireNonNull(subjectClass);
+        Objects.requireNonNull(subjectClassHierarchy);
         //
         this.servicePointName = servicePointName;
-        this.subjectClass = subjectClass;
+        this.subjectClass = subjectClassHierarchy.getSubjectClass();
+        this.subjectClassRank = subjectClassRank;
         this.tagPriority = tagPriority;
+        this.subjectClassHierarchy = subjectClassHierarchy;
     }
 
-    public DomainServiceKeyBuilder(String servicePointName, Class<?> subjectClass) {
-        this(servicePointName, subjectClass, null);
+    public DomainServiceKeyBuilder(String servicePointName, SubjectClassHierarchy subjectClassHierarchy, int subjectClassRank) {
+        this(servicePointName, subjectClassHierarchy, subjectClassRank, null);
     }
 
     //
@@ -81,7 +78,7 @@ public class DomainServiceKeyBuilder {
         while (iterator.hasNext()) {
             Property property = iterator.next();
             boolean propertyHasSameClass = property.getDeclaringClass().equals(subjectClass);
-            boolean propertyHasUnrelatedClass = !property.getDeclaringClass().isAssignableFrom(subjectClass);
+            boolean propertyHasUnrelatedClass = !subjectClassHierarchy.isSubtypeOf(property.getDeclaringClass());
             boolean propertyHasLowerPriority = (tagPriority == null) || (property.getPriority() < tagPriority);
             if (propertyHasUnrelatedClass || (propertyHasSameClass && propertyHasLowerPriority)) {
                 iterator.remove();
@@ -0,0 +1,37 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Collection;
+
+// the storage of domain services by their keys (the subject class and the tags), the resolution probes it by the key
+public interface DomainServiceTable {
+    public DomainServiceDesc get(DomainServiceKey key);
+
+    public DomainServiceDesc put(DomainServiceKey key, DomainServiceDesc domainServiceDesc);
+
+    public DomainServiceDesc remove(DomainServiceKey key);
+
+    public Collection<DomainServiceDesc> values();
+
+    public int size();
+}
@@ -0,0 +1,48 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import org.orbitootoolkit.core.api.ExecutorType;
+import org.orbitootoolkit.core.api.ServiceExecutor;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+public class ExecutorDesc {
+    private ExecutorType type = null;
+    private int threads = 0;
+    private int queueCapacity = 0;
+
+    public static ExecutorDesc from(ServiceExecutor serviceExecutor) {
+        if (serviceExecutor != null) {
+            return new ExecutorDesc(serviceExecutor.type(), serviceExecutor.threads(), serviceExecutor.queueCapacity());
+        } else {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// the domain services in the hash map, each binding holds its key (with the set of properties)
+public class HashDomainServiceTable implements DomainServiceTable {
+    private Map<DomainServiceKey, DomainServiceDesc> domainServiceMap = new ConcurrentHashMap<DomainServiceKey, DomainServiceDesc>();
+
+    @Override
+    public DomainServiceDesc get(DomainServiceKey key) {
+        return domainServiceMap.get(key);
+    }
+
+    @Override
+    public DomainServiceDesc put(DomainServiceKey key, DomainServiceDesc domainServiceDesc) {
+        return domainServiceMap.put(key, domainServiceDesc);
+    }
+
+    @Override
+    public DomainServiceDesc remove(DomainServiceKey key) {
+        return domainServiceMap.remove(key);
+    }
+
+    @Override
+    public Collection<DomainServiceDesc> values() {
+        return domainServiceMap.values();
+    }
+
+    @Override
+    public int size() {
+        return domainServiceMap.size();
+    }
+}
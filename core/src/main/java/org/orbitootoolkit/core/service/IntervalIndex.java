@@ -0,0 +1,129 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.TreeSet;
+
+// the numeric ranges of tag values: the bounds split the numbers into the elementary regions (the bounds
+// themselves and the open gaps between them); each region keeps only the ordinals of ranges starting and ending
+// there (the deltas of the previous region), every SNAPSHOT_INTERVAL-th region keeps all covering ordinals, therefore
+// the nested ranges don't multiply the memory by the number of regions; the ranges containing the number are found
+// by the binary search of its region and by applying the deltas to the preceding snapshot
+class IntervalIndex {
+    private static final int SNAPSHOT_INTERVAL = 16;
+
+    private double[] bounds = null;
+    private int[][] addedOrdinals = null;
+    private int[][] removedOrdinals = null;
+    private int[][] snapshotOrdinals = null;
+
+    //
+
+    IntervalIndex(List<TagPattern> ranges, List<Integer> ordinals) {
+        TreeSet<Double> boundSet = new TreeSet<Double>();
+        for (TagPattern range : ranges) {
+            if (Double.isFinite(range.getLowerBound())) {
+                boundSet.add(range.getLowerBound());
+            }
+            if (Double.isFinite(range.getUpperBound())) {
+                boundSet.add(range.getUpperBound());
+            }
+        }
+        bounds = boundSet.stream().mapToDouble(Double::doubleValue).toArray();
+        // the region 2i + 1 is the bound i, the region 2i is the gap before the bound i
+        int regionCount = bounds.length * 2 + 1;
+        addedOrdinals = new int[regionCount][];
+        removedOrdinals = new int[regionCount][];
+        snapshotOrdinals = new int[(regionCount + SNAPSHOT_INTERVAL - 1) / SNAPSHOT_INTERVAL][];
+        BitSet previousOrdinals = new BitSet();
+        for (int region = 0; region < regionCount; region++) {
+            double number = getRepresentative(region);
+            BitSet coveringOrdinals = new BitSet();
+            for (int index = 0; index < ranges.size(); index++) {
+                if (ranges.get(index).contains(number)) {
+                    coveringOrdinals.set(ordinals.get(index));
+                }
+            }
+            BitSet added = (BitSet) coveringOrdinals.clone();
+            added.andNot(previousOrdinals);
+            BitSet removed = (BitSet) previousOrdinals.clone();
+            removed.andNot(coveringOrdinals);
+            addedOrdinals[region] = added.stream().toArray();
+            removedOrdinals[region] = removed.stream().toArray();
+            if ((region % SNAPSHOT_INTERVAL) == 0) {
+                snapshotOrdinals[region / SNAPSHOT_INTERVAL] = coveringOrdinals.stream().toArray();
+            }
+            previousOrdinals = coveringOrdinals;
+        }
+    }
+
+    //
+
+    // no bound lies inside the gap, any number of the gap is covered by the same ranges
+    private double getRepresentative(int region) {
+        if ((region % 2) == 1) {
+            return bounds[region / 2];
+        }
+        int index = region / 2;
+        if (bounds.length == 0) {
+            return 0;
+        } else if (index == 0) {
+            return bounds[0] - 1;
+        } else if (index == bounds.length) {
+            return bounds[bounds.length - 1] + 1;
+        } else {
+            return bounds[index - 1] + (bounds[index] - bounds[index - 1]) / 2;
+        }
+    }
+
+    private int[] getRegionOrdinals(int region) {
+        int snapshot = region / SNAPSHOT_INTERVAL;
+        if ((region % SNAPSHOT_INTERVAL) == 0) {
+            return snapshotOrdinals[snapshot];
+        }
+        BitSet coveringOrdinals = new BitSet();
+        for (int ordinal : snapshotOrdinals[snapshot]) {
+            coveringOrdinals.set(ordinal);
+        }
+        for (int deltaRegion = snapshot * SNAPSHOT_INTERVAL + 1; deltaRegion <= region; deltaRegion++) {
+            for (int ordinal : removedOrdinals[deltaRegion]) {
+                coveringOrdinals.clear(ordinal);
+            }
+            for (int ordinal : addedOrdinals[deltaRegion]) {
+                coveringOrdinals.set(ordinal);
+            }
+        }
+        return coveringOrdinals.isEmpty() ? PrefixTrie.NO_ORDINALS : coveringOrdinals.stream().toArray();
+    }
+
+    // the ordinals of ranges containing the number (ordered), the number NaN is not contained by any range
+    int[] getOrdinals(double number) {
+        if (Double.isNaN(number)) {
+            return PrefixTrie.NO_ORDINALS;
+        }
+        int index = Arrays.binarySearch(bounds, number);
+        return getRegionOrdinals((index >= 0) ? (index * 2 + 1) : ((-index - 1) * 2));
+    }
+}
@@ -0,0 +1,63 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// the prefixes of tag values, the ordinals of bindings are kept by the node of their prefix,
+// the prefixes of the value are the nodes on its path (the matching is linear in the length of value)
+class PrefixTrie {
+    static final int[] NO_ORDINALS = new int[0];
+
+    static class Node {
+        private Map<Character, Node> children = new HashMap<Character, Node>();
+        private int[] ordinals = NO_ORDINALS;
+
+        int[] getOrdinals() {
+            return ordinals;
+        }
+    }
+
+    private Node root = new Node();
+
+    //
+
+    void add(String prefix, int ordinal) {
+        Node node = root;
+        for (int index = 0; index < prefix.length(); index++) {
+            node = node.children.computeIfAbsent(prefix.charAt(index), (key) -> new Node());
+        }
+        node.ordinals = Arrays.copyOf(node.ordinals, node.ordinals.length + 1);
+        node.ordinals[node.ordinals.length - 1] = ordinal;
+    }
+
+    Node getRoot() {
+        return root;
+    }
+
+    // the next node on the path of value, or null
+    static Node getChild(Node node, String value, int depth) {
+        return (depth < value.length()) ? node.children.get(value.charAt(depth)) : null;
+    }
+}
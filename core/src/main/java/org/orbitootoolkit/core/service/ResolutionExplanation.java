@@ -0,0 +1,52 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.List;
+import java.util.Set;
+
+import org.orbitootoolkit.core.property.Property;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class ResolutionExplanation {
+    private String servicePointName = null;
+    private Class<?> subjectClass = null;
+    private Set<Property> subjectProperties = null;
+    // all probes in the order of DomainServiceKeyBuilder.COMPARATOR (the most specific first), the first hit is chosen
+    private List<ResolutionProbe> probes = null;
+    private DomainServiceDesc domainServiceDesc = null;
+    private int chosenProbeIndex = -1;
+    // the time spent in each phase of the resolution
+    private long propertiesNanos = 0;
+    private long keyBuildersNanos = 0;
+    private long probesNanos = 0;
+
+    public long getTotalNanos() {
+        return propertiesNanos + keyBuildersNanos + probesNanos;
+    }
+}
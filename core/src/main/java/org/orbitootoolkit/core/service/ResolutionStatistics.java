@@ -0,0 +1,51 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class ResolutionStatistics {
+    private long count = 0;
+    private long notFoundCount = 0;
+    private long totalProbes = 0;
+    private long totalNanos = 0;
+    private long maxNanos = 0;
+
+    void add(ResolutionExplanation explanation) {
+        count++;
+        notFoundCount += (explanation.getDomainServiceDesc() == null) ? 1 : 0;
+        totalProbes += (explanation.getChosenProbeIndex() != -1) ? explanation.getChosenProbeIndex() + 1 : explanation.getProbes().size();
+        totalNanos += explanation.getTotalNanos();
+        maxNanos = Math.max(maxNanos, explanation.getTotalNanos());
+    }
+
+    public double getAverageProbes() {
+        return (count > 0) ? (double) totalProbes / count : 0;
+    }
+
+    public double getAverageNanos() {
+        return (count > 0) ? (double) totalNanos / count : 0;
+    }
+}
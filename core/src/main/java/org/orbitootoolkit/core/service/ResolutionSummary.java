@@ -0,0 +1,64 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class ResolutionSummary {
+    private String servicePointName = null;
+    private ResolutionStatistics statistics = new ResolutionStatistics();
+    private Map<Class<?>, ResolutionStatistics> subjectClassStatistics = new LinkedHashMap<Class<?>, ResolutionStatistics>();
+    private Map<String, Long> serviceNameCounts = new LinkedHashMap<String, Long>();
+    @ToString.Exclude
+    private List<ResolutionExplanation> explanations = null;
+
+    //
+
+    public ResolutionSummary(String servicePointName, List<ResolutionExplanation> explanations) {
+        this.servicePointName = servicePointName;
+        this.explanations = Collections.unmodifiableList(explanations);
+        for (ResolutionExplanation explanation : explanations) {
+            statistics.add(explanation);
+            subjectClassStatistics.computeIfAbsent(explanation.getSubjectClass(), (key) -> new ResolutionStatistics()).add(explanation);
+            String serviceName = (explanation.getDomainServiceDesc() != null) ? explanation.getDomainServiceDesc().getServiceName() : null;
+            serviceNameCounts.merge(String.valueOf(serviceName), 1L, Long::sum);
+        }
+    }
+
+    //
+
+    public List<Class<?>> getHotspots() {
+        // the subject classes, which need the most probes (and the most time) to be resolved
+        Comparator<Map.Entry<Class<?>, ResolutionStatistics>> comparator = Comparator.comparingDouble((entry) -> entry.getValue().getAverageProbes());
+        comparator = comparator.thenComparingDouble((entry) -> entry.getValue().getAverageNanos());
+        return subjectClassStatistics.entrySet().stream().sorted(comparator.reversed()).<Class<?>>map(Map.Entry::getKey).toList();
+    }
+}
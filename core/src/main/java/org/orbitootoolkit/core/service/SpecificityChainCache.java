@@ -0,0 +1,82 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// the specificity chains (and the misses as the empty chains) by the subject class and tags, the size is bounded,
+// because the tags can contain unique values (e.g. ids); when the cache is full, the arbitrary chains are evicted
+// (the evicted chain is resolved and cached again by the next invocation); the results of multiple dispatch are cached
+// as the chains of one domain service
+class SpecificityChainCache {
+    private int maxSize = 0;
+    private Map<DomainServiceKey, List<DomainServiceDesc>> chainMap = new ConcurrentHashMap<DomainServiceKey, List<DomainServiceDesc>>();
+    private LongAdder evictionCount = new LongAdder();
+
+    //
+
+    public SpecificityChainCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    //
+
+    public List<DomainServiceDesc> get(DomainServiceKey key) {
+        return chainMap.get(key);
+    }
+
+    public void put(DomainServiceKey key, List<DomainServiceDesc> specificityChain) {
+        if ((chainMap.put(key, specificityChain) == null) && (chainMap.size() > maxSize)) {
+            Iterator<DomainServiceKey> keyIterator = chainMap.keySet().iterator();
+            while ((chainMap.size() > maxSize) && keyIterator.hasNext()) {
+                if (!keyIterator.next().equals(key)) {
+                    keyIterator.remove();
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    public void remove(DomainServiceKey key) {
+        chainMap.remove(key);
+    }
+
+    public void clear() {
+        chainMap.clear();
+    }
+
+    public int size() {
+        return chainMap.size();
+    }
+
+    public long getNegativeSize() {
+        return chainMap.values().stream().filter(List::isEmpty).count();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+}
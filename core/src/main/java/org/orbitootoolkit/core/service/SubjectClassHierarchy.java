@@ -0,0 +1,68 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+public class SubjectClassHierarchy {
+    private Class<?> subjectClass = null;
+    private List<Class<?>> linearization = null;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private Map<Class<?>, Integer> rankMap = null;
+
+    //
+
+    public SubjectClassHierarchy(Class<?> subjectClass, List<Class<?>> linearization) {
+        Objects.requireNonNull(subjectClass);
+        Objects.requireNonNull(linearization);
+        //
+        this.subjectClass = subjectClass;
+        this.linearization = Collections.unmodifiableList(linearization);
+        this.rankMap = new HashMap<Class<?>, Integer>();
+        for (int rank = 0; rank < linearization.size(); rank++) {
+            rankMap.put(linearization.get(rank), rank);
+        }
+    }
+
+    //
+
+    public int getRank(Class<?> supertype) {
+        Integer rank = rankMap.get(supertype);
+        return (rank != null) ? rank : -1;
+    }
+
+    public boolean isSubtypeOf(Class<?> supertype) {
+        return rankMap.containsKey(supertype);
+    }
+}
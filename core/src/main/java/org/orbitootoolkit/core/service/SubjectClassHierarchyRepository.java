@@ -0,0 +1,134 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.orbitootoolkit.core.api.TagSource;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class SubjectClassHierarchyRepository {
+    private Map<Class<?>, SubjectClassHierarchy> subjectClassHierarchyMap = new ConcurrentHashMap<Class<?>, SubjectClassHierarchy>();
+
+    private static List<Class<?>> getDirectSupertypes(Class<?> subjectClass) {
+        List<Class<?>> supertypes = new LinkedList<Class<?>>();
+        if (subjectClass.getSuperclass() != null) {
+            supertypes.add(subjectClass.getSuperclass());
+        }
+        for (Class<?> subjectInterface : subjectClass.getInterfaces()) {
+            // the interface of the toolkit is not the type of subject, it is not probed by the resolution
+            if (!TagSource.class.equals(subjectInterface)) {
+                supertypes.add(subjectInterface);
+            }
+        }
+        if (supertypes.isEmpty() && !Object.class.equals(subjectClass)) {
+            supertypes.add(Object.class);
+        }
+        // java allows to repeat the supertype, which is already inherited through another supertype
+        List<Class<?>> directSupertypes = new LinkedList<Class<?>>();
+        for (Class<?> supertype : supertypes) {
+            boolean isInherited = supertypes.stream().anyMatch((other) -> !other.equals(supertype) && supertype.isAssignableFrom(other));
+            if (!isInherited) {
+                directSupertypes.add(supertype);
+            }
+        }
+        return directSupertypes;
+    }
+
+    private static Class<?> findMergeCandidate(List<LinkedList<Class<?>>> sequences) {
+        for (LinkedList<Class<?>> sequence : sequences) {
+            Class<?> head = sequence.getFirst();
+            boolean isInTail = sequences.stream().anyMatch((other) -> other.indexOf(head) > 0);
+            if (!isInTail) {
+                return head;
+            }
+        }
+        // inconsistent order of interfaces (accepted by java), use the order of declaration
+        return sequences.stream().map(LinkedList::getFirst).filter((head) -> !Object.class.equals(head)) //
+                .findFirst().orElse(Object.class);
+    }
+
+    private static List<Class<?>> merge(List<LinkedList<Class<?>>> sequences) {
+        List<Class<?>> result = new LinkedList<Class<?>>();
+        sequences.removeIf(List::isEmpty);
+        while (!sequences.isEmpty()) {
+            Class<?> candidate = findMergeCandidate(sequences);
+            result.add(candidate);
+            for (LinkedList<Class<?>> sequence : sequences) {
+                sequence.remove(candidate);
+            }
+            sequences.removeIf(List::isEmpty);
+        }
+        return result;
+    }
+
+    private SubjectClassHierarchy createSubjectClassHierarchy(Class<?> subjectClass) {
+        log.debug("createSubjectClassHierarchy started: " + subjectClass.getSimpleName());
+        List<Class<?>> directSupertypes = getDirectSupertypes(subjectClass);
+        //
+        List<LinkedList<Class<?>>> sequences = new LinkedList<LinkedList<Class<?>>>();
+        for (Class<?> directSupertype : directSupertypes) {
+            sequences.add(new LinkedList<Class<?>>(getSubjectClassHierarchy(directSupertype).getLinearization()));
+        }
+        sequences.add(new LinkedList<Class<?>>(directSupertypes));
+        //
+        List<Class<?>> linearization = new ArrayList<Class<?>>();
+        linearization.add(subjectClass);
+        linearization.addAll(merge(sequences));
+        //
+        SubjectClassHierarchy subjectClassHierarchy = new SubjectClassHierarchy(subjectClass, linearization);
+        log.debug("createSubjectClassHierarchy finished: " + subjectClassHierarchy);
+        return subjectClassHierarchy;
+    }
+
+    //
+
+    public Set<Class<?>> getSubjectClasses() {
+        return Set.copyOf(subjectClassHierarchyMap.keySet());
+    }
+
+    public SubjectClassHierarchy getSubjectClassHierarchy(Class<?> subjectClass) {
+        Objects.requireNonNull(subjectClass);
+        if (subjectClassHierarchyMap.containsKey(subjectClass)) {
+            return subjectClassHierarchyMap.get(subjectClass);
+        } else {
+            SubjectClassHierarchy subjectClassHierarchy = createSubjectClassHierarchy(subjectClass);
+            subjectClassHierarchyMap.put(subjectClass, subjectClassHierarchy);
+            return subjectClassHierarchy;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.orbitootoolkit.core.api.TagMatch;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+// the tagged value of domain service compiled for the matching of the tag of subject
+@Getter
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TagPattern {
+    private static final Pattern RANGE_PATTERN = Pattern.compile("^\\s*([\\[(])\\s*([^,]*?)\\s*,\\s*([^\\])]*?)\\s*([\\])])\\s*$");
+
+    // the more specific pattern of the same tag is the lower one
+    public static final Comparator<TagPattern> PRECEDENCE = Comparator.comparing(TagPattern::getMatch) //
+            .thenComparingDouble(TagPattern::getSpecificity) //
+            .thenComparing(TagPattern::getValue);
+
+    @EqualsAndHashCode.Include
+    private String tag = null;
+    @EqualsAndHashCode.Include
+    private TagMatch match = null;
+    @EqualsAndHashCode.Include
+    private String value = null;
+
+    @Getter(AccessLevel.PACKAGE)
+    @ToString.Exclude
+    private double lowerBound = Double.NEGATIVE_INFINITY;
+    @Getter(AccessLevel.PACKAGE)
+    @ToString.Exclude
+    private double upperBound = Double.POSITIVE_INFINITY;
+    @ToString.Exclude
+    private boolean lowerInclusive = false;
+    @ToString.Exclude
+    private boolean upperInclusive = false;
+
+    //
+
+    private TagPattern(String tag, TagMatch match, String value) {
+        this.tag = tag;
+        this.match = match;
+        this.value = value;
+    }
+
+    public static TagPattern from(TaggedValueDesc taggedValueDesc) {
+        Objects.requireNonNull(taggedValueDesc);
+        TagMatch match = (taggedValueDesc.getMatch() != null) ? taggedValueDesc.getMatch() : TagMatch.EXACT;
+        String value = (taggedValueDesc.getValue() != null) ? taggedValueDesc.getValue() : "";
+        TagPattern tagPattern = new TagPattern(taggedValueDesc.getTag(), match, (match == TagMatch.RANGE) ? value.trim() : value);
+        if (match == TagMatch.RANGE) {
+            Matcher matcher = RANGE_PATTERN.matcher(value);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unexpected range of tag [" + taggedValueDesc.getTag() + "]: " + value);
+            }
+            try {
+                tagPattern.lowerInclusive = "[".equals(matcher.group(1));
+                tagPattern.lowerBound = matcher.group(2).isEmpty() ? Double.NEGATIVE_INFINITY : Double.parseDouble(matcher.group(2));
+                tagPattern.upperBound = matcher.group(3).isEmpty() ? Double.POSITIVE_INFINITY : Double.parseDouble(matcher.group(3));
+                tagPattern.upperInclusive = "]".equals(matcher.group(4));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Unexpected range of tag [" + taggedValueDesc.getTag() + "]: " + value, ex);
+            }
+            if (!(tagPattern.lowerBound <= tagPattern.upperBound)) {
+                throw new IllegalArgumentException("Unexpected range of tag [" + taggedValueDesc.getTag() + "]: " + value);
+            }
+        }
+        return tagPattern;
+    }
+
+    //
+
+    static double toNumber(String propertyValue) {
+        if (propertyValue == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(propertyValue);
+        } catch (NumberFormatException ex) {
+            return Double.NaN;
+        }
+    }
+
+    boolean contains(double number) {
+        boolean isAboveLower = (number > lowerBound) || (lowerInclusive && (number == lowerBound));
+        boolean isBelowUpper = (number < upperBound) || (upperInclusive && (number == upperBound));
+        return isAboveLower && isBelowUpper;
+    }
+
+    // the longer prefix and the narrower range are more specific
+    double getSpecificity() {
+        if (match == TagMatch.PREFIX) {
+            return -value.length();
+        } else if (match == TagMatch.RANGE) {
+            return upperBound - lowerBound;
+        } else {
+            return 0;
+        }
+    }
+
+    public boolean matches(String propertyValue) {
+        switch (match) {
+            case EXACT:
+                return value.equals(propertyValue);
+            case PREFIX:
+                return (propertyValue != null) && propertyValue.startsWith(value);
+            case RANGE:
+                return contains(toNumber(propertyValue));
+            default:
+                return true;
+        }
+    }
+}
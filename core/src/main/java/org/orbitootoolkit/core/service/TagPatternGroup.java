@@ -0,0 +1,226 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.orbitootoolkit.core.api.TagMatch;
+import org.orbitootoolkit.core.property.Property;
+
+// the domain services of one subject class bound by the patterns of the same tags, ordered by precedence (the ordinal);
+// the candidates are found by the index of the most selective tag (the exact values, the prefix trie, the interval index
+// and the wildcards) and verified by the patterns of other tags
+class TagPatternGroup {
+    // the patterns are compared tag by tag, the precedence of the first tag is decisive
+    private static final Comparator<TagPattern[]> PRECEDENCE = (patterns1, patterns2) -> {
+        for (int index = 0; index < patterns1.length; index++) {
+            int result = TagPattern.PRECEDENCE.compare(patterns1[index], patterns2[index]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    };
+
+    private String[] tags = null;
+    private DomainServiceDesc[] domainServiceDescs = null;
+    private TagPattern[][] patterns = null;
+    private int indexedTag = 0;
+
+    private Map<String, int[]> exactOrdinalsMap = new HashMap<String, int[]>();
+    private PrefixTrie prefixTrie = new PrefixTrie();
+    private IntervalIndex intervalIndex = null;
+    private int[] anyOrdinals = PrefixTrie.NO_ORDINALS;
+
+    //
+
+    TagPatternGroup(List<DomainServiceDesc> domainServiceDescs) {
+        this.tags = getTags(domainServiceDescs.get(0));
+        List<DomainServiceDesc> sortedDescs = new ArrayList<DomainServiceDesc>(domainServiceDescs);
+        sortedDescs.sort(Comparator.comparing(TagPatternGroup::getPatterns, PRECEDENCE).thenComparing(DomainServiceDesc::getServiceName));
+        this.domainServiceDescs = sortedDescs.toArray(new DomainServiceDesc[0]);
+        this.patterns = sortedDescs.stream().map(TagPatternGroup::getPatterns).toArray(TagPattern[][]::new);
+        this.indexedTag = getMostSelectiveTag(patterns, tags.length);
+        //
+        List<TagPattern> ranges = new ArrayList<TagPattern>();
+        List<Integer> rangeOrdinals = new ArrayList<Integer>();
+        for (int ordinal = 0; ordinal < patterns.length; ordinal++) {
+            TagPattern pattern = patterns[ordinal][indexedTag];
+            if (pattern.getMatch() == TagMatch.EXACT) {
+                exactOrdinalsMap.merge(pattern.getValue(), new int[] { ordinal }, TagPatternGroup::concat);
+            } else if (pattern.getMatch() == TagMatch.PREFIX) {
+                prefixTrie.add(pattern.getValue(), ordinal);
+            } else if (pattern.getMatch() == TagMatch.RANGE) {
+                ranges.add(pattern);
+                rangeOrdinals.add(ordinal);
+            } else {
+                anyOrdinals = concat(anyOrdinals, new int[] { ordinal });
+            }
+        }
+        this.intervalIndex = new IntervalIndex(ranges, rangeOrdinals);
+    }
+
+    //
+
+    private static int[] concat(int[] ordinals1, int[] ordinals2) {
+        int[] ordinals = Arrays.copyOf(ordinals1, ordinals1.length + ordinals2.length);
+        System.arraycopy(ordinals2, 0, ordinals, ordinals1.length, ordinals2.length);
+        return ordinals;
+    }
+
+    // the candidates of the tag in the worst case: the wildcards, the prefixes and the ranges can match any value,
+    // only one value of the exact values matches (the largest of them is counted); the first tag wins the tie
+    private static int getMostSelectiveTag(TagPattern[][] patterns, int tagCount) {
+        int mostSelectiveTag = 0;
+        int leastCandidateCount = Integer.MAX_VALUE;
+        for (int tag = 0; tag < tagCount; tag++) {
+            Map<String, Integer> exactCountMap = new HashMap<String, Integer>();
+            int patternCount = 0;
+            for (TagPattern[] tagPatterns : patterns) {
+                if (tagPatterns[tag].getMatch() == TagMatch.EXACT) {
+                    exactCountMap.merge(tagPatterns[tag].getValue(), 1, Integer::sum);
+                } else {
+                    patternCount++;
+                }
+            }
+            int candidateCount = patternCount + exactCountMap.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+            if (candidateCount < leastCandidateCount) {
+                mostSelectiveTag = tag;
+                leastCandidateCount = candidateCount;
+            }
+        }
+        return mostSelectiveTag;
+    }
+
+    static String[] getTags(DomainServiceDesc domainServiceDesc) {
+        return domainServiceDesc.getSubjectTaggedValues().stream().map(TaggedValueDesc::getTag).sorted().toArray(String[]::new);
+    }
+
+    static TagPattern[] getPatterns(DomainServiceDesc domainServiceDesc) {
+        return domainServiceDesc.getSubjectTaggedValues().stream().map(TagPattern::from) //
+                .sorted(Comparator.comparing(TagPattern::getTag)).toArray(TagPattern[]::new);
+    }
+
+    String[] getTags() {
+        return tags;
+    }
+
+    // the values of tags in the order of tags, null if the properties are not the tags of group
+    private String[] getValues(Set<Property> properties) {
+        if (properties.size() != tags.length) {
+            return null;
+        }
+        String[] values = new String[tags.length];
+        for (Property property : properties) {
+            int index = Arrays.binarySearch(tags, property.getName());
+            if (index < 0) {
+                return null;
+            }
+            values[index] = property.getValue();
+        }
+        return values;
+    }
+
+    private boolean matches(int ordinal, String[] values) {
+        for (int index = 0; index < values.length; index++) {
+            if ((index != indexedTag) && !patterns[ordinal][index].matches(values[index])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // the lowest matching ordinal of the candidates (ordered), if it is lower than the best one
+    private int findFirst(int[] ordinals, String[] values, int bestOrdinal) {
+        for (int ordinal : ordinals) {
+            if (ordinal >= bestOrdinal) {
+                break;
+            }
+            if (matches(ordinal, values)) {
+                return ordinal;
+            }
+        }
+        return bestOrdinal;
+    }
+
+    private void findAll(int[] ordinals, String[] values, BitSet matchingOrdinals) {
+        for (int ordinal : ordinals) {
+            if (matches(ordinal, values)) {
+                matchingOrdinals.set(ordinal);
+            }
+        }
+    }
+
+    //
+
+    DomainServiceDesc findFirst(Set<Property> properties) {
+        String[] values = getValues(properties);
+        if (values == null) {
+            return null;
+        }
+        String value = values[indexedTag];
+        int bestOrdinal = patterns.length;
+        int[] exactOrdinals = (value != null) ? exactOrdinalsMap.get(value) : null;
+        if (exactOrdinals != null) {
+            bestOrdinal = findFirst(exactOrdinals, values, bestOrdinal);
+        }
+        if (value != null) {
+            PrefixTrie.Node node = prefixTrie.getRoot();
+            for (int depth = 0; node != null; node = PrefixTrie.getChild(node, value, depth++)) {
+                bestOrdinal = findFirst(node.getOrdinals(), values, bestOrdinal);
+            }
+        }
+        bestOrdinal = findFirst(intervalIndex.getOrdinals(TagPattern.toNumber(value)), values, bestOrdinal);
+        bestOrdinal = findFirst(anyOrdinals, values, bestOrdinal);
+        return (bestOrdinal < patterns.length) ? domainServiceDescs[bestOrdinal] : null;
+    }
+
+    // all matching domain services in the order of precedence
+    void findAll(Set<Property> properties, List<DomainServiceDesc> domainServiceDescList) {
+        String[] values = getValues(properties);
+        if (values == null) {
+            return;
+        }
+        String value = values[indexedTag];
+        BitSet matchingOrdinals = new BitSet(patterns.length);
+        int[] exactOrdinals = (value != null) ? exactOrdinalsMap.get(value) : null;
+        if (exactOrdinals != null) {
+            findAll(exactOrdinals, values, matchingOrdinals);
+        }
+        if (value != null) {
+            PrefixTrie.Node node = prefixTrie.getRoot();
+            for (int depth = 0; node != null; node = PrefixTrie.getChild(node, value, depth++)) {
+                findAll(node.getOrdinals(), values, matchingOrdinals);
+            }
+        }
+        findAll(intervalIndex.getOrdinals(TagPattern.toNumber(value)), values, matchingOrdinals);
+        findAll(anyOrdinals, values, matchingOrdinals);
+        matchingOrdinals.stream().forEach((ordinal) -> domainServiceDescList.add(domainServiceDescs[ordinal]));
+    }
+}
@@ -0,0 +1,118 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+
+// the domain services bound by tag patterns, compiled lazily per service point into the groups of the subject class
+// and tags (the compiled service point is discarded by any change of its domain services)
+class TagPatternIndex {
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class TagPatternKey {
+        private String servicePointName = null;
+        private Class<?> subjectClass = null;
+        private Set<TagPattern> tagPatterns = null;
+    }
+
+    private Map<TagPatternKey, DomainServiceDesc> domainServiceMap = new ConcurrentHashMap<TagPatternKey, DomainServiceDesc>();
+    private Map<String, Map<Class<?>, List<TagPatternGroup>>> groupsMap = new ConcurrentHashMap<String, Map<Class<?>, List<TagPatternGroup>>>();
+
+    //
+
+    private static TagPatternKey createKey(DomainServiceDesc domainServiceDesc) {
+        Set<TagPattern> tagPatterns = domainServiceDesc.getSubjectTaggedValues().stream().map(TagPattern::from).collect(Collectors.toUnmodifiableSet());
+        return new TagPatternKey(domainServiceDesc.getServicePointName(), domainServiceDesc.getSubjectClass(), tagPatterns);
+    }
+
+    private Map<Class<?>, List<TagPatternGroup>> compile(String servicePointName) {
+        Map<Class<?>, Map<List<String>, List<DomainServiceDesc>>> domainServiceDescsMap = new HashMap<Class<?>, Map<List<String>, List<DomainServiceDesc>>>();
+        for (DomainServiceDesc domainServiceDesc : domainServiceMap.values()) {
+            if (servicePointName.equals(domainServiceDesc.getServicePointName())) {
+                domainServiceDescsMap.computeIfAbsent(domainServiceDesc.getSubjectClass(), (key) -> new HashMap<List<String>, List<DomainServiceDesc>>()) //
+                        .computeIfAbsent(List.of(TagPatternGroup.getTags(domainServiceDesc)), (key) -> new ArrayList<DomainServiceDesc>()) //
+                        .add(domainServiceDesc);
+            }
+        }
+        Map<Class<?>, List<TagPatternGroup>> servicePointGroupsMap = new HashMap<Class<?>, List<TagPatternGroup>>();
+        for (Map.Entry<Class<?>, Map<List<String>, List<DomainServiceDesc>>> entry : domainServiceDescsMap.entrySet()) {
+            servicePointGroupsMap.put(entry.getKey(), entry.getValue().values().stream().map(TagPatternGroup::new).toList());
+        }
+        return servicePointGroupsMap;
+    }
+
+    private List<TagPatternGroup> getGroups(DomainServiceKey key) {
+        // the patterns are not supported by multiple dispatch
+        if (domainServiceMap.isEmpty() || !key.getAdditionalSubjectKeys().isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Class<?>, List<TagPatternGroup>> servicePointGroupsMap = groupsMap.computeIfAbsent(key.getServicePointName(), this::compile);
+        return servicePointGroupsMap.getOrDefault(key.getSubjectClass(), Collections.emptyList());
+    }
+
+    //
+
+    boolean put(DomainServiceDesc domainServiceDesc) {
+        boolean isAdded = (domainServiceMap.put(createKey(domainServiceDesc), domainServiceDesc) == null);
+        groupsMap.remove(domainServiceDesc.getServicePointName());
+        return isAdded;
+    }
+
+    boolean remove(DomainServiceDesc domainServiceDesc) {
+        boolean isRemoved = (domainServiceMap.remove(createKey(domainServiceDesc)) != null);
+        groupsMap.remove(domainServiceDesc.getServicePointName());
+        return isRemoved;
+    }
+
+    Collection<DomainServiceDesc> values() {
+        return domainServiceMap.values();
+    }
+
+    // the domain service of the highest precedence matching the probe
+    DomainServiceDesc find(DomainServiceKey key) {
+        for (TagPatternGroup group : getGroups(key)) {
+            DomainServiceDesc domainServiceDesc = group.findFirst(key.getSubjectProperties());
+            if (domainServiceDesc != null) {
+                return domainServiceDesc;
+            }
+        }
+        return null;
+    }
+
+    // all domain services matching the probe, in the order of precedence within the group of tags
+    void findAll(DomainServiceKey key, List<DomainServiceDesc> domainServiceDescs) {
+        for (TagPatternGroup group : getGroups(key)) {
+            group.findAll(key.getSubjectProperties(), domainServiceDescs);
+        }
+    }
+}
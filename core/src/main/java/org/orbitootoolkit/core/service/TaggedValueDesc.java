@@ -21,6 +21,8 @@
  */
 package org.orbitootoolkit.core.service;
 
+import org.orbitootoolkit.core.api.TagMatch;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.ToString;
@@ -31,4 +33,11 @@ import lombok.ToString;
 public class TaggedValueDesc {
     private String tag = null;
     private String value = null;
+    private TagMatch match = TagMatch.EXACT;
+
+    //
+
+    public TaggedValueDesc(String tag, String value) {
+        this(tag, value, TagMatch.EXACT);
+    }
 }
@@ -0,0 +1,116 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+
+// the domain services overriding the shared ones for one tenant, the overlay contains only the overrides
+// and the caches of resolutions of its service points
+@Getter
+@ToString
+public class TenantOverlay {
+    private String tenant = null;
+
+    @ToString.Exclude
+    @Getter(AccessLevel.PACKAGE)
+    private Map<DomainServiceKey, DomainServiceDesc> domainServiceMap = new ConcurrentHashMap<DomainServiceKey, DomainServiceDesc>();
+    @ToString.Exclude
+    @Getter(AccessLevel.PACKAGE)
+    private TagPatternIndex tagPatternIndex = new TagPatternIndex();
+    @ToString.Exclude
+    @Getter(AccessLevel.PACKAGE)
+    private SpecificityChainCache multipleDispatchCache = null;
+    @ToString.Exclude
+    @Getter(AccessLevel.PACKAGE)
+    private SpecificityChainCache specificityChainCache = null;
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    private Map<String, Integer> servicePointCountMap = new ConcurrentHashMap<String, Integer>();
+    @Getter(AccessLevel.NONE)
+    private AtomicLong version = new AtomicLong();
+
+    //
+
+    public TenantOverlay(String tenant, int chainCacheMaxSize) {
+        this.tenant = tenant;
+        this.specificityChainCache = new SpecificityChainCache(chainCacheMaxSize);
+        this.multipleDispatchCache = new SpecificityChainCache(chainCacheMaxSize);
+    }
+
+    //
+
+    synchronized void addDomainServiceDesc(DomainServiceDesc domainServiceDesc) {
+        boolean isAdded = false;
+        if (domainServiceDesc.hasTagPatterns()) {
+            isAdded = tagPatternIndex.put(domainServiceDesc);
+        } else {
+            isAdded = (domainServiceMap.put(DomainServiceKey.from(domainServiceDesc), domainServiceDesc) == null);
+        }
+        if (isAdded) {
+            servicePointCountMap.merge(domainServiceDesc.getServicePointName(), 1, Integer::sum);
+        }
+        clearCaches();
+    }
+
+    synchronized void removeDomainServiceDesc(DomainServiceDesc domainServiceDesc) {
+        boolean isRemoved = false;
+        if (domainServiceDesc.hasTagPatterns()) {
+            isRemoved = tagPatternIndex.remove(domainServiceDesc);
+        } else {
+            isRemoved = (domainServiceMap.remove(DomainServiceKey.from(domainServiceDesc)) != null);
+        }
+        if (isRemoved) {
+            servicePointCountMap.computeIfPresent(domainServiceDesc.getServicePointName(), (key, count) -> (count > 1) ? count - 1 : null);
+        }
+        clearCaches();
+    }
+
+    void clearCaches() {
+        version.incrementAndGet();
+        multipleDispatchCache.clear();
+        specificityChainCache.clear();
+    }
+
+    long getVersion() {
+        return version.get();
+    }
+
+    public boolean overrides(String servicePointName) {
+        return servicePointCountMap.containsKey(servicePointName);
+    }
+
+    public List<DomainServiceDesc> getDomainServiceDescs() {
+        return Stream.concat(domainServiceMap.values().stream(), tagPatternIndex.values().stream()).toList();
+    }
+
+    public int size() {
+        return domainServiceMap.size() + tagPatternIndex.values().size();
+    }
+}
@@ -0,0 +1,97 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.servicepoint;
+
+import java.util.List;
+
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// the specificity chain of the current invocation, the domain service at the position is being invoked;
+// the domain service resolved without its chain (e.g. by the compiled workflow) keeps the subject and the chain
+// is resolved by the first next binding
+@Getter
+@ToString
+public class BindingChain {
+    private static final ThreadLocal<BindingChain> currentBindingChain = new ThreadLocal<BindingChain>();
+
+    @ToString.Exclude
+    private ServicePointDispatcher servicePointDispatcher = null;
+    private String servicePointName = null;
+    private List<DomainServiceDesc> domainServiceDescs = null;
+    private int position = 0;
+    @ToString.Exclude
+    private Object subject = null;
+
+    //
+
+    public BindingChain(ServicePointDispatcher servicePointDispatcher, String servicePointName, List<DomainServiceDesc> domainServiceDescs, int position) {
+        this.servicePointDispatcher = servicePointDispatcher;
+        this.servicePointName = servicePointName;
+        this.domainServiceDescs = domainServiceDescs;
+        this.position = position;
+    }
+
+    BindingChain(ServicePointDispatcher servicePointDispatcher, String servicePointName, DomainServiceDesc domainServiceDesc, Object subject) {
+        this(servicePointDispatcher, servicePointName, List.of(domainServiceDesc), 0);
+        this.subject = subject;
+    }
+
+    public DomainServiceDesc getDomainServiceDesc() {
+        return domainServiceDescs.get(position);
+    }
+
+    public BindingChain next() {
+        if (position + 1 < domainServiceDescs.size()) {
+            return new BindingChain(servicePointDispatcher, servicePointName, domainServiceDescs, position + 1);
+        } else if (subject != null) {
+            List<DomainServiceDesc> specificityChain = servicePointDispatcher.findSpecificityChain(servicePointName, subject);
+            int index = specificityChain.indexOf(getDomainServiceDesc());
+            return ((index >= 0) && (index + 1 < specificityChain.size())) ? new BindingChain(servicePointDispatcher, servicePointName, specificityChain, index + 1)
+                    : null;
+        } else {
+            return null;
+        }
+    }
+
+    //
+
+    public static BindingChain getCurrent() {
+        return currentBindingChain.get();
+    }
+
+    static BindingChain enter(BindingChain bindingChain) {
+        BindingChain previousBindingChain = currentBindingChain.get();
+        if (bindingChain != null) {
+            currentBindingChain.set(bindingChain);
+        } else {
+            currentBindingChain.remove();
+        }
+        return previousBindingChain;
+    }
+
+    static void exit(BindingChain previousBindingChain) {
+        enter(previousBindingChain);
+    }
+}
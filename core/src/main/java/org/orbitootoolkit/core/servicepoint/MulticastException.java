@@ -0,0 +1,42 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.servicepoint;
+
+import java.util.List;
+
+public class MulticastException extends RuntimeException {
+    private static final long serialVersionUID = 2286149270713452071L;
+
+    private final transient List<Throwable> failures;
+
+    public MulticastException(String message, List<Throwable> failures) {
+        super(message, failures.get(0));
+        this.failures = List.copyOf(failures);
+        for (Throwable failure : failures.subList(1, failures.size())) {
+            addSuppressed(failure);
+        }
+    }
+
+    public List<Throwable> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,66 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.servicepoint;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// the domain service invokes the next (less specific) domain service of the current invocation:
+// NextBinding.of(AnimalService.class).makeSound(animal)
+public class NextBinding {
+    private static final Map<Class<?>, Object> proxyMap = new ConcurrentHashMap<Class<?>, Object>();
+
+    private NextBinding() {
+    }
+
+    public static boolean exists() {
+        BindingChain bindingChain = BindingChain.getCurrent();
+        return (bindingChain != null) && (bindingChain.next() != null);
+    }
+
+    private static Object invoke(Class<?> domainContractClass, Object proxy, Method method, Object[] args) throws Throwable {
+        if (Object.class.equals(method.getDeclaringClass())) {
+            switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "NextBinding(" + domainContractClass.getSimpleName() + ")";
+            }
+        }
+        BindingChain bindingChain = BindingChain.getCurrent();
+        if (bindingChain == null) {
+            throw new IllegalStateException("Next binding is available only during the invocation of domain service: " + domainContractClass.getSimpleName());
+        }
+        return bindingChain.getServicePointDispatcher().invokeNext(bindingChain, domainContractClass, method, args);
+    }
+
+    public static <DomainContract> DomainContract of(Class<DomainContract> domainContractClass) {
+        return domainContractClass.cast(proxyMap.computeIfAbsent(domainContractClass, (key) -> Proxy.newProxyInstance( //
+                domainContractClass.getClassLoader(), new Class<?>[] { domainContractClass }, //
+                (proxy, method, args) -> invoke(domainContractClass, proxy, method, args) //
+        )));
+    }
+}
@@ -27,4 +27,9 @@ public class NotFoundException extends RuntimeException {
     public NotFoundException(String message) {
         super(message);
     }
+
+    // the exception without the stack trace is cheap, when the missing domain service is expected by the caller
+    public NotFoundException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
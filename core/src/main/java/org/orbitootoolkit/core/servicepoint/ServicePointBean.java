@@ -24,9 +24,38 @@ package org.orbitootoolkit.core.servicepoint;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.orbitootoolkit.core.admission.AdmissionControllerRepository;
+import org.orbitootoolkit.core.api.AdmissionControl;
+import org.orbitootoolkit.core.api.CallbackRoutes;
+import org.orbitootoolkit.core.api.DurableServicePoint;
+import org.orbitootoolkit.core.api.Memoized;
+import org.orbitootoolkit.core.api.Multicast;
+import org.orbitootoolkit.core.api.RemoteServicePoint;
+import org.orbitootoolkit.core.api.ServiceExecutor;
+import org.orbitootoolkit.core.api.SubjectMailbox;
+import org.orbitootoolkit.core.api.Workflow;
+import org.orbitootoolkit.core.executor.ServicePointExecutorRepository;
+import org.orbitootoolkit.core.inline.InlineCache;
+import org.orbitootoolkit.core.inline.InlineCacheRepository;
+import org.orbitootoolkit.core.journal.JournalDispatcher;
+import org.orbitootoolkit.core.journal.JournalDispatcherRepository;
+import org.orbitootoolkit.core.mailbox.MailboxDispatcher;
+import org.orbitootoolkit.core.mailbox.MailboxDispatcherRepository;
+import org.orbitootoolkit.core.memo.MemoizedResultCacheRepository;
 import org.orbitootoolkit.core.method.MethodDelegate;
+import org.orbitootoolkit.core.method.MethodDelegateRepository;
+import org.orbitootoolkit.core.multicast.MulticastDispatcherRepository;
+import org.orbitootoolkit.core.remote.RemoteDispatcherRepository;
+import org.orbitootoolkit.core.route.CallbackRouteTableRepository;
+import org.orbitootoolkit.core.service.AdmissionDesc;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.service.ExecutorDesc;
+import org.orbitootoolkit.core.workflow.WorkflowDispatcher;
+import org.orbitootoolkit.core.workflow.WorkflowDispatcherRepository;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.BeanNameAware;
@@ -38,6 +67,11 @@ public class ServicePointBean<DomainContract> implements FactoryBean<DomainContr
     private String beanName = null;
     private BeanFactory beanFactory = null;
     private ServicePointDispatcher servicePointDispatcher = null;
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+    private WorkflowDispatcher<DomainContract> workflowDispatcher = null;
+    private JournalDispatcher<DomainContract> journalDispatcher = null;
+    private MailboxDispatcher<DomainContract> mailboxDispatcher = null;
+    private Map<Method, InlineCache> inlineCacheMap = new HashMap<Method, InlineCache>();
 
     //
 
@@ -67,11 +101,128 @@ public class ServicePointBean<DomainContract> implements FactoryBean<DomainContr
         }
     }
 
+    private static void checkDurableServicePoint(Class<?> domainContractClass) {
+        // the routes are kept in memory only, the replayed record would be delivered without its route
+        if (domainContractClass.isAnnotationPresent(DurableServicePoint.class) && domainContractClass.isAnnotationPresent(CallbackRoutes.class)) {
+            throw new IllegalStateException("Durable service point cannot contain callback routes: " + domainContractClass.getSimpleName());
+        }
+    }
+
+    private static void checkWorkflow(Class<?> domainContractClass) {
+        // the compiled domain service is invoked directly, the memoized results, the remote nodes and the callback routes
+        // would be skipped by the transitions served by the table
+        if (!domainContractClass.isAnnotationPresent(Workflow.class)) {
+            return;
+        }
+        if (domainContractClass.isAnnotationPresent(RemoteServicePoint.class)) {
+            throw new IllegalStateException("Workflow cannot be remote service point: " + domainContractClass.getSimpleName());
+        }
+        if (domainContractClass.isAnnotationPresent(CallbackRoutes.class)) {
+            throw new IllegalStateException("Workflow cannot contain callback routes: " + domainContractClass.getSimpleName());
+        }
+        for (Method method : ArrayUtils.nullToEmpty(domainContractClass.getMethods(), Method[].class)) {
+            if (method.isAnnotationPresent(Memoized.class)) {
+                throw new IllegalStateException("Workflow cannot contain memoized method: " + domainContractClass.getSimpleName() + "." + method.getName());
+            }
+        }
+    }
+
     @Override
     public void afterPropertiesSet() {
         checkDomainContract(domainContractClass);
+        checkDurableServicePoint(domainContractClass);
+        checkWorkflow(domainContractClass);
         //
         servicePointDispatcher = beanFactory.getBean(ServicePointDispatcher.class);
+        domainServiceDescRepository = beanFactory.getBean(DomainServiceDescRepository.class);
+        //
+        ServiceExecutor serviceExecutor = domainContractClass.getAnnotation(ServiceExecutor.class);
+        if (serviceExecutor != null) {
+            ServicePointExecutorRepository servicePointExecutorRepository = beanFactory.getBean(ServicePointExecutorRepository.class);
+            servicePointExecutorRepository.addServicePointExecutor(beanName, ExecutorDesc.from(serviceExecutor));
+        }
+        //
+        AdmissionControl admissionControl = domainContractClass.getAnnotation(AdmissionControl.class);
+        if (admissionControl != null) {
+            AdmissionControllerRepository admissionControllerRepository = beanFactory.getBean(AdmissionControllerRepository.class);
+            admissionControllerRepository.addAdmissionController(beanName, AdmissionDesc.from(admissionControl));
+        }
+        //
+        Workflow workflow = domainContractClass.getAnnotation(Workflow.class);
+        if (workflow != null) {
+            WorkflowDispatcherRepository workflowDispatcherRepository = beanFactory.getBean(WorkflowDispatcherRepository.class);
+            workflowDispatcher = workflowDispatcherRepository.addWorkflowDispatcher(beanName, domainContractClass, workflow.stateTag());
+        }
+        //
+        DurableServicePoint durableServicePoint = domainContractClass.getAnnotation(DurableServicePoint.class);
+        if (durableServicePoint != null) {
+            JournalDispatcherRepository journalDispatcherRepository = beanFactory.getBean(JournalDispatcherRepository.class);
+            journalDispatcher = journalDispatcherRepository.addJournalDispatcher(beanName, domainContractClass, durableServicePoint);
+        }
+        //
+        CallbackRoutes callbackRoutes = domainContractClass.getAnnotation(CallbackRoutes.class);
+        if (callbackRoutes != null) {
+            CallbackRouteTableRepository callbackRouteTableRepository = beanFactory.getBean(CallbackRouteTableRepository.class);
+            callbackRouteTableRepository.addCallbackRouteTable(beanName, domainContractClass, callbackRoutes);
+        }
+        //
+        Multicast multicast = domainContractClass.getAnnotation(Multicast.class);
+        if (multicast != null) {
+            MulticastDispatcherRepository multicastDispatcherRepository = beanFactory.getBean(MulticastDispatcherRepository.class);
+            multicastDispatcherRepository.addMulticastDispatcher(beanName, domainContractClass, multicast);
+        }
+        //
+        SubjectMailbox subjectMailbox = domainContractClass.getAnnotation(SubjectMailbox.class);
+        if (subjectMailbox != null) {
+            MailboxDispatcherRepository mailboxDispatcherRepository = beanFactory.getBean(MailboxDispatcherRepository.class);
+            mailboxDispatcher = mailboxDispatcherRepository.addMailboxDispatcher(beanName, domainContractClass, subjectMailbox);
+        }
+        //
+        RemoteServicePoint remoteServicePoint = domainContractClass.getAnnotation(RemoteServicePoint.class);
+        if (remoteServicePoint != null) {
+            RemoteDispatcherRepository remoteDispatcherRepository = beanFactory.getBean(RemoteDispatcherRepository.class);
+            remoteDispatcherRepository.addRemoteDispatcher(beanName, domainContractClass, remoteServicePoint);
+        }
+        //
+        MethodDelegateRepository methodDelegateRepository = beanFactory.getBean(MethodDelegateRepository.class);
+        InlineCacheRepository inlineCacheRepository = beanFactory.getBean(InlineCacheRepository.class);
+        for (Method method : ArrayUtils.nullToEmpty(domainContractClass.getMethods(), Method[].class)) {
+            if (MethodDelegate.getMethodSubjectIndex(method) != -1) {
+                MethodDelegate methodDelegate = methodDelegateRepository.get(method);
+                // the inline caches are created in advance, the map is not changed by the dispatch
+                InlineCache inlineCache = inlineCacheRepository.createInlineCache(beanName, method, methodDelegate.getSubjectCount());
+                if (inlineCache != null) {
+                    inlineCacheMap.put(method, inlineCache);
+                }
+            }
+            if (method.isAnnotationPresent(Memoized.class)) {
+                beanFactory.getBean(MemoizedResultCacheRepository.class).getMemoizedResultCache(method);
+            }
+        }
+    }
+
+    private Object invoke(Method method, Object[] args) throws Throwable {
+        // the events of the same subject are processed sequentially (the tags are read inside the mailbox),
+        // the tenant and the pending try dispatch of the caller are captured before the event is moved to the mailbox worker
+        if (mailboxDispatcher != null) {
+            String tenant = domainServiceDescRepository.getCurrentTenant();
+            boolean tryDispatch = TryDispatch.take();
+            return mailboxDispatcher.invoke(method, args, () -> domainServiceDescRepository.invokeWithTenant(tenant, //
+                    () -> TryDispatch.invokePending(tryDispatch, () -> dispatch(method, args))));
+        } else {
+            return dispatch(method, args);
+        }
+    }
+
+    private Object dispatch(Method method, Object[] args) throws Throwable {
+        if ((journalDispatcher != null) && journalDispatcher.isJournaled(method)) {
+            journalDispatcher.append(method, args);
+            return null;
+        } else if (workflowDispatcher != null) {
+            return workflowDispatcher.invoke(method, args);
+        } else {
+            return servicePointDispatcher.invoke(beanName, method, args, inlineCacheMap.get(method));
+        }
     }
 
     //
@@ -90,7 +241,7 @@ public class ServicePointBean<DomainContract> implements FactoryBean<DomainContr
     public DomainContract getObject() throws Exception {
         return domainContractClass.cast(Proxy.newProxyInstance( //
                 Thread.currentThread().getContextClassLoader(), new Class[] { domainContractClass }, //
-                (proxy, method, args) -> servicePointDispatcher.invoke(beanName, method, args) //
+                (proxy, method, args) -> invoke(method, args) //
         ));
     }
 }
@@ -22,19 +22,53 @@
 package org.orbitootoolkit.core.servicepoint;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import org.apache.commons.lang3.ArrayUtils;
+import org.orbitootoolkit.core.admission.AdmissionController;
+import org.orbitootoolkit.core.admission.AdmissionControllerRepository;
+import org.orbitootoolkit.core.admission.AdmissionPermit;
+import org.orbitootoolkit.core.executor.ServicePointExecutor;
+import org.orbitootoolkit.core.executor.ServicePointExecutorRepository;
+import org.orbitootoolkit.core.inline.InlineCache;
+import org.orbitootoolkit.core.inline.InlineCacheRepository;
+import org.orbitootoolkit.core.memo.MemoizedKey;
+import org.orbitootoolkit.core.memo.MemoizedResult;
+import org.orbitootoolkit.core.memo.MemoizedResultCache;
+import org.orbitootoolkit.core.memo.MemoizedResultCacheRepository;
 import org.orbitootoolkit.core.method.MethodDelegate;
 import org.orbitootoolkit.core.method.MethodDelegateRepository;
+import org.orbitootoolkit.core.multicast.MulticastDispatcher;
+import org.orbitootoolkit.core.multicast.MulticastDispatcherRepository;
+import org.orbitootoolkit.core.property.Property;
+import org.orbitootoolkit.core.property.PropertySupplierRepository;
+import org.orbitootoolkit.core.remote.RemoteDispatcher;
+import org.orbitootoolkit.core.remote.RemoteDispatcherRepository;
+import org.orbitootoolkit.core.remote.RemoteNode;
+import org.orbitootoolkit.core.replay.ResolutionRecorder;
+import org.orbitootoolkit.core.route.CallbackRouteTable;
+import org.orbitootoolkit.core.route.CallbackRouteTableRepository;
 import org.orbitootoolkit.core.service.DomainServiceDesc;
 import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.statistics.DispatchStatisticsRepository;
+import org.orbitootoolkit.core.statistics.SlowDispatchDetector;
+import org.orbitootoolkit.core.trace.DispatchTracer;
+import org.orbitootoolkit.core.trace.TraceFile;
 import org.orbitootoolkit.core.util.ReflectionUtility;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -42,35 +76,393 @@ import lombok.extern.slf4j.Slf4j;
 @Scope(BeanDefinition.SCOPE_SINGLETON)
 @Lazy(false)
 public class ServicePointDispatcher {
+    public static final String STACKLESS_NOT_FOUND_PROPERTY = "orbitoo.dispatch.stacklessNotFound";
+
+    private boolean stacklessNotFound = false;
+
     @Autowired
     private BeanFactory beanFactory = null;
 
+    @Autowired
+    private Environment environment = null;
+
     @Autowired
     private MethodDelegateRepository methodDelegateRepository = null;
 
     @Autowired
     private DomainServiceDescRepository domainServiceDescRepository = null;
 
-    public Object invoke(String servicePointName, Method method, Object[] args) throws Throwable {
-        log.debug("invoke started [" + servicePointName + ", " + ReflectionUtility.getSimpleName(method) + "]");
+    @Autowired
+    private CallbackRouteTableRepository callbackRouteTableRepository = null;
+
+    @Autowired
+    private ServicePointExecutorRepository servicePointExecutorRepository = null;
+
+    @Autowired
+    private AdmissionControllerRepository admissionControllerRepository = null;
+
+    @Autowired
+    private MemoizedResultCacheRepository memoizedResultCacheRepository = null;
+
+    @Autowired
+    private RemoteDispatcherRepository remoteDispatcherRepository = null;
+
+    @Autowired
+    private MulticastDispatcherRepository multicastDispatcherRepository = null;
+
+    @Autowired
+    private PropertySupplierRepository propertySupplierRepository = null;
+
+    @Autowired
+    private DispatchStatisticsRepository dispatchStatisticsRepository = null;
+
+    @Autowired
+    private SlowDispatchDetector slowDispatchDetector = null;
+
+    @Autowired
+    private DispatchTracer dispatchTracer = null;
+
+    @Autowired
+    private ResolutionRecorder resolutionRecorder = null;
+
+    @Autowired
+    private InlineCacheRepository inlineCacheRepository = null;
+
+    @PostConstruct
+    public void init() {
+        stacklessNotFound = environment.getProperty(STACKLESS_NOT_FOUND_PROPERTY, Boolean.class, false);
+    }
+
+    // the caller expecting the missing domain service can opt out of the stack trace (or use the try dispatch)
+    private NotFoundException createNotFoundException(String message, boolean tryDispatch) {
+        return tryDispatch ? TryDispatch.miss() : new NotFoundException(message, !stacklessNotFound);
+    }
+
+    private static Object invokeService(MethodDelegate methodDelegate, Object service, Object[] args, AdmissionPermit admissionPermit,
+            BindingChain bindingChain) throws Exception {
+        // the binding chain is available to the domain service (also in the thread of the executor)
+        BindingChain previousBindingChain = BindingChain.enter(bindingChain);
+        try {
+            return methodDelegate.invoke(service, args);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable throwable) {
+            throw new UndeclaredThrowableException(throwable);
+        } finally {
+            BindingChain.exit(previousBindingChain);
+            if (admissionPermit != null) {
+                admissionPermit.close();
+            }
+        }
+    }
+
+    private Object findRoutedService(String servicePointName, MethodDelegate methodDelegate, Object[] args) {
+        // the callback route is matched exactly by the tag value, it bypasses the resolution of domain services
+        CallbackRouteTable<?> callbackRouteTable = callbackRouteTableRepository.findCallbackRouteTable(servicePointName);
+        if ((callbackRouteTable != null) && (methodDelegate.getSubjectCount() == 1)) {
+            Object subject = methodDelegate.getSubject(args);
+            return (subject != null) ? callbackRouteTable.findService(subject) : null;
+        } else {
+            return null;
+        }
+    }
+
+    private BindingChain findBindingChain(String servicePointName, MethodDelegate methodDelegate, Object[] args, Set<Property> subjectProperties,
+            boolean tryDispatch, InlineCache inlineCache) {
+        List<DomainServiceDesc> domainServiceDescs;
+        if (methodDelegate.getSubjectCount() > 1) {
+            Object[] subjects = methodDelegate.getSubjects(args);
+            if (ArrayUtils.contains(subjects, null)) {
+                throw createNotFoundException("Cannot find subject for: " + servicePointName, false);
+            }
+            DomainServiceDesc domainServiceDesc = domainServiceDescRepository.findDomainServiceDesc(servicePointName, Arrays.asList(subjects));
+            domainServiceDescs = (domainServiceDesc != null) ? List.of(domainServiceDesc) : List.of();
+        } else {
+            Object subject = methodDelegate.getSubject(args);
+            if (subject == null) {
+                throw createNotFoundException("Cannot find subject for: " + servicePointName, false);
+            }
+            // the call site remembers the specificity chains of the last subject classes and tags
+            domainServiceDescs = (inlineCache != null) ? inlineCacheRepository.findDomainServiceDescs(inlineCache, subject) : null;
+            if (domainServiceDescs == null) {
+                // the whole specificity chain is resolved at once, the next bindings are invoked without resolution
+                Supplier<List<DomainServiceDesc>> resolution = () -> (subjectProperties != null) //
+                        ? domainServiceDescRepository.findDomainServiceDescs(servicePointName, subject.getClass(), subjectProperties)
+                        : domainServiceDescRepository.findDomainServiceDescs(servicePointName, subject);
+                domainServiceDescs = (inlineCache != null) ? inlineCacheRepository.resolveDomainServiceDescs(inlineCache, subject, resolution)
+                        : resolution.get();
+            }
+        }
+        if (domainServiceDescs.isEmpty()) {
+            throw createNotFoundException("Cannot find service for: " + servicePointName, tryDispatch);
+        }
+        return new BindingChain(this, servicePointName, domainServiceDescs, 0);
+    }
+
+    // the domain service resolved without the specificity chain (e.g. by the compiled workflow) can invoke the next binding
+    private BindingChain createBindingChain(String servicePointName, DomainServiceDesc domainServiceDesc, MethodDelegate methodDelegate, Object[] args) {
+        return (methodDelegate.getSubjectCount() == 1) ? new BindingChain(this, servicePointName, domainServiceDesc, methodDelegate.getSubject(args)) : null;
+    }
+
+    List<DomainServiceDesc> findSpecificityChain(String servicePointName, Object subject) {
+        return domainServiceDescRepository.findDomainServiceDescs(servicePointName, subject);
+    }
+
+    private MemoizedKey createMemoizedKey(String serviceName, MethodDelegate methodDelegate, Object[] args) {
+        Object[] subjects = methodDelegate.getSubjects(args);
+        List<Class<?>> subjectClasses = new ArrayList<Class<?>>(subjects.length);
+        List<Set<Property>> subjectProperties = new ArrayList<Set<Property>>(subjects.length);
+        for (Object subject : subjects) {
+            subjectClasses.add(subject.getClass());
+            subjectProperties.add(propertySupplierRepository.getProperties(subject));
+        }
+        return new MemoizedKey(serviceName, subjectClasses, subjectProperties, methodDelegate.getArguments(args));
+    }
+
+    // the shard key is read before the resolution (the resolution filters the properties)
+    private static String getShardKey(String shardTag, Set<Property> subjectProperties) {
+        for (Property property : subjectProperties) {
+            if (shardTag.equals(property.getName())) {
+                return property.getValue();
+            }
+        }
+        return null;
+    }
+
+    private Object invokeDomainService(String servicePointName, DomainServiceDesc domainServiceDesc, Object service, MethodDelegate methodDelegate,
+            Object[] args, BindingChain bindingChain) throws Throwable {
+        ServicePointExecutor servicePointExecutor = servicePointExecutorRepository.findExecutor(servicePointName, domainServiceDesc);
+        AdmissionController admissionController = admissionControllerRepository.findAdmissionController(servicePointName, domainServiceDesc);
+        AdmissionPermit admissionPermit = (admissionController != null) ? admissionController.acquire(methodDelegate.getSubject(args)) : null;
+        //
+        try {
+            if (servicePointExecutor != null) {
+                // the tenant of the caller is kept for the service points invoked by the domain service
+                String tenant = domainServiceDescRepository.getCurrentTenant();
+                return servicePointExecutor.invoke(() -> domainServiceDescRepository.invokeWithTenant(tenant, //
+                        () -> invokeService(methodDelegate, service, args, admissionPermit, bindingChain)), //
+                        methodDelegate.getMethod().getReturnType());
+            } else {
+                return invokeService(methodDelegate, service, args, admissionPermit, bindingChain);
+            }
+        } catch (Throwable throwable) {
+            if (admissionPermit != null) {
+                admissionPermit.close();
+            }
+            throw throwable;
+        }
+    }
+
+    // the domain service resolved without the binding chain (by the compiled workflow or by the multicast) is traced,
+    // measured and checked for the slow dispatch from the start of its invocation
+    private Object invokeResolvedDomainService(String servicePointName, DomainServiceDesc domainServiceDesc, Object service, MethodDelegate methodDelegate,
+            Object[] args) throws Throwable {
+        boolean detectSlowDispatch = slowDispatchDetector.isEnabled();
+        boolean traceDispatch = dispatchTracer.isEnabled();
+        long startNanos = (detectSlowDispatch || traceDispatch || dispatchStatisticsRepository.isEnabled()) ? System.nanoTime() : 0;
+        Object subject = methodDelegate.getSubject(args);
+        int[] traceTagIds = (traceDispatch && (methodDelegate.getSubjectCount() == 1) && (subject != null)) //
+                ? dispatchTracer.getTagIds(propertySupplierRepository.getProperties(subject)) : null;
+        boolean failed = true;
+        try {
+            Object result = invokeDomainService(servicePointName, domainServiceDesc, service, methodDelegate, args, //
+                    createBindingChain(servicePointName, domainServiceDesc, methodDelegate, args));
+            failed = false;
+            return result;
+        } finally {
+            recordStatistics(servicePointName, domainServiceDesc.getServiceName(), subject, startNanos, failed);
+            if (detectSlowDispatch || traceDispatch) {
+                long endNanos = System.nanoTime();
+                if (detectSlowDispatch) {
+                    slowDispatchDetector.check(servicePointName, domainServiceDesc.getServiceName(), methodDelegate.getMethod(), subject, startNanos, //
+                            startNanos, endNanos, failed);
+                }
+                if (traceDispatch) {
+                    dispatchTracer.trace(servicePointName, domainServiceDesc.getServiceName(), subject, traceTagIds, startNanos, endNanos, //
+                            failed ? TraceFile.OUTCOME_FAILED : 0);
+                }
+            }
+        }
+    }
+
+    // invokes the domain service resolved by the compiled workflow (with the executor and the admission control)
+    public Object invokeDomainService(String servicePointName, DomainServiceDesc domainServiceDesc, Object service, MethodDelegate methodDelegate,
+            Object[] args) throws Throwable {
+        return invokeResolvedDomainService(servicePointName, domainServiceDesc, service, methodDelegate, args);
+    }
+
+    // invokes the domain service resolved by the caller (e.g. by the remote node)
+    public Object invokeDomainService(String servicePointName, String serviceName, Method method, Object[] args) throws Throwable {
+        DomainServiceDesc domainServiceDesc = domainServiceDescRepository.getDomainServiceDesc(servicePointName, serviceName);
+        if (domainServiceDesc == null) {
+            throw createNotFoundException("Cannot find service [" + servicePointName + ", " + serviceName + "]", false);
+        }
         MethodDelegate methodDelegate = methodDelegateRepository.get(method);
+        return invokeDomainService(servicePointName, domainServiceDesc, beanFactory.getBean(serviceName), methodDelegate, args, //
+                createBindingChain(servicePointName, domainServiceDesc, methodDelegate, args));
+    }
+
+    // invokes the next (less specific) domain service of the binding chain, within the current invocation
+    public Object invokeNext(BindingChain bindingChain, Class<?> domainContractClass, Method method, Object[] args) throws Exception {
+        // the next binding belongs to the service point of the current invocation, not to another domain contract
+        Class<?> servicePointContractClass = beanFactory.getType(bindingChain.getServicePointName());
+        if ((servicePointContractClass == null) || !domainContractClass.isAssignableFrom(servicePointContractClass)) {
+            throw new IllegalStateException("Unexpected domain contract of next binding [" + bindingChain.getServicePointName() + ", "
+                    + domainContractClass.getSimpleName() + "]");
+        }
+        BindingChain nextBindingChain = bindingChain.next();
+        if (nextBindingChain == null) {
+            throw createNotFoundException("Cannot find next service for: " + bindingChain.getServicePointName(), false);
+        }
+        MethodDelegate methodDelegate = methodDelegateRepository.get(method);
+        Object service = beanFactory.getBean(nextBindingChain.getDomainServiceDesc().getServiceName());
+        return invokeService(methodDelegate, service, args, null, nextBindingChain);
+    }
+
+    private Object invokeMulticast(MulticastDispatcher<?> multicastDispatcher, String servicePointName, MethodDelegate methodDelegate, Object[] args,
+            boolean tryDispatch) throws Throwable {
         Object subject = methodDelegate.getSubject(args);
         if (subject == null) {
-            throw new NotFoundException("Cannot find subject for: " + servicePointName);
+            throw createNotFoundException("Cannot find subject for: " + servicePointName, false);
         }
-        DomainServiceDesc domainServiceDesc = domainServiceDescRepository.findDomainServiceDesc(servicePointName, subject);
-        if (domainServiceDesc == null) {
-            throw new NotFoundException("Cannot find service for: " + servicePointName);
+        // the matching domain services are resolved once, each of them is invoked without resolution
+        List<DomainServiceDesc> domainServiceDescs = domainServiceDescRepository.findDomainServiceDescs(servicePointName, subject);
+        if (domainServiceDescs.isEmpty()) {
+            throw createNotFoundException("Cannot find service for: " + servicePointName, tryDispatch);
+        }
+        return multicastDispatcher.invoke(domainServiceDescs, methodDelegate.getMethod(), //
+                (domainServiceDesc) -> invokeResolvedDomainService(servicePointName, domainServiceDesc, //
+                        beanFactory.getBean(domainServiceDesc.getServiceName()), methodDelegate, args));
+    }
+
+    private void recordStatistics(String servicePointName, String serviceName, Object subject, long startNanos, boolean failed) {
+        if (dispatchStatisticsRepository.isEnabled()) {
+            dispatchStatisticsRepository.record(servicePointName, serviceName, subject, System.nanoTime() - startNanos, failed);
+        }
+    }
+
+    public Object invoke(String servicePointName, Method method, Object[] args) throws Throwable {
+        return invoke(servicePointName, method, args, null);
+    }
+
+    // invokes the service point from the method of its proxy, with the inline cache of the method
+    public Object invoke(String servicePointName, Method method, Object[] args, InlineCache inlineCache) throws Throwable {
+        log.debug("invoke started [" + servicePointName + ", " + ReflectionUtility.getSimpleName(method) + "]");
+        MethodDelegate methodDelegate = methodDelegateRepository.get(method);
+        // the try dispatch affects only this resolution, not the service points invoked by the domain service
+        boolean tryDispatch = TryDispatch.take();
+        MulticastDispatcher<?> multicastDispatcher = multicastDispatcherRepository.getMulticastDispatcher(servicePointName);
+        if (multicastDispatcher != null) {
+            Object result = invokeMulticast(multicastDispatcher, servicePointName, methodDelegate, args, tryDispatch);
+            log.debug("invoke finished: multicast");
+            return result;
+        }
+        // the slow dispatch is measured from the start of dispatch, the end of resolution and the end of invocation
+        // are measured once for the statistics and for the detection of slow dispatch
+        boolean detectSlowDispatch = slowDispatchDetector.isEnabled();
+        boolean traceDispatch = dispatchTracer.isEnabled();
+        long startNanos = (detectSlowDispatch || traceDispatch) ? System.nanoTime() : 0;
+        // the traced, recorded and shard tags are extracted once, the same properties are used by the resolution
+        RemoteDispatcher<?> remoteDispatcher = remoteDispatcherRepository.getRemoteDispatcher(servicePointName);
+        Set<Property> subjectProperties = null;
+        int[] traceTagIds = null;
+        List<Property> recordedProperties = null;
+        String shardKey = null;
+        if ((methodDelegate.getSubjectCount() == 1) && (methodDelegate.getSubject(args) != null)) {
+            boolean recordResolution = resolutionRecorder.isEnabled() && resolutionRecorder.sample();
+            if (traceDispatch || recordResolution || (remoteDispatcher != null)) {
+                subjectProperties = propertySupplierRepository.getProperties(methodDelegate.getSubject(args));
+            }
+            if (remoteDispatcher != null) {
+                shardKey = getShardKey(remoteDispatcher.getShardTag(), subjectProperties);
+            }
+            if (traceDispatch) {
+                traceTagIds = dispatchTracer.getTagIds(subjectProperties);
+            }
+            if (recordResolution) {
+                // the properties are filtered by the resolution, the copy is recorded
+                recordedProperties = List.copyOf(subjectProperties);
+            }
+        } else if ((remoteDispatcher != null) && (methodDelegate.getSubject(args) != null)) {
+            // the subject of multiple dispatch is sharded by its first subject
+            shardKey = getShardKey(remoteDispatcher.getShardTag(), propertySupplierRepository.getProperties(methodDelegate.getSubject(args)));
+        }
+        long version = methodDelegate.isMemoized() ? domainServiceDescRepository.getVersion() : 0;
+        Object service = findRoutedService(servicePointName, methodDelegate, args);
+        DomainServiceDesc domainServiceDesc = null;
+        BindingChain bindingChain = null;
+        if (service == null) {
+            try {
+                bindingChain = findBindingChain(servicePointName, methodDelegate, args, subjectProperties, tryDispatch, inlineCache);
+            } finally {
+                if (recordedProperties != null) {
+                    resolutionRecorder.record(servicePointName, methodDelegate.getSubject(args).getClass(), recordedProperties, //
+                            (bindingChain != null) ? bindingChain.getDomainServiceDesc().getServiceName() : null);
+                }
+            }
+            domainServiceDesc = bindingChain.getDomainServiceDesc();
+            service = beanFactory.getBean(domainServiceDesc.getServiceName());
+        }
+        String serviceName = (domainServiceDesc != null) ? domainServiceDesc.getServiceName() : null;
+        // the result of the memoized method is cached by the domain service, by the tags of subjects and by other arguments
+        MemoizedResultCache memoizedResultCache = null;
+        MemoizedKey memoizedKey = null;
+        if (methodDelegate.isMemoized() && (serviceName != null)) {
+            memoizedResultCache = memoizedResultCacheRepository.getMemoizedResultCache(method);
+            memoizedKey = createMemoizedKey(serviceName, methodDelegate, args);
+            MemoizedResult memoizedResult = memoizedResultCache.get(memoizedKey, version);
+            if (memoizedResult != null) {
+                if (traceDispatch) {
+                    dispatchTracer.trace(servicePointName, serviceName, methodDelegate.getSubject(args), traceTagIds, startNanos, System.nanoTime(), //
+                            TraceFile.OUTCOME_MEMOIZED);
+                }
+                log.debug("invoke finished: memoized");
+                return memoizedResult.getValue();
+            }
+        }
+        // the domain service of the remote service point is invoked by the node owning the shard of the subject
+        RemoteNode remoteNode = null;
+        if ((remoteDispatcher != null) && (serviceName != null)) {
+            if (shardKey == null) {
+                throw new IllegalArgumentException("Cannot find shard tag [" + servicePointName + ", " + remoteDispatcher.getShardTag() + "]");
+            }
+            remoteNode = remoteDispatcher.findRemoteNode(shardKey);
         }
-        Object service = beanFactory.getBean(domainServiceDesc.getServiceName());
         //
+        boolean measureDispatch = detectSlowDispatch || traceDispatch || dispatchStatisticsRepository.isEnabled();
+        long resolvedNanos = measureDispatch ? System.nanoTime() : 0;
+        boolean failed = true;
         try {
-            Object result = methodDelegate.invoke(service, args);
+            Object result;
+            if (remoteNode != null) {
+                result = remoteDispatcher.invoke(remoteNode, serviceName, method, args);
+            } else {
+                result = invokeDomainService(servicePointName, domainServiceDesc, service, methodDelegate, args, bindingChain);
+            }
+            if (memoizedResultCache != null) {
+                memoizedResultCache.put(memoizedKey, result, version);
+            }
+            failed = false;
             log.debug("invoke finished:");
             return result;
         } catch (Throwable throwable) {
             log.debug("invoked finished with exception: " + throwable.getClass().getSimpleName());
             throw throwable;
+        } finally {
+            if (measureDispatch) {
+                long endNanos = System.nanoTime();
+                Object subject = methodDelegate.getSubject(args);
+                if (dispatchStatisticsRepository.isEnabled()) {
+                    dispatchStatisticsRepository.record(servicePointName, serviceName, subject, endNanos - resolvedNanos, failed);
+                }
+                if (detectSlowDispatch) {
+                    slowDispatchDetector.check(servicePointName, serviceName, method, subject, startNanos, resolvedNanos, endNanos, failed);
+                }
+                if (traceDispatch) {
+                    dispatchTracer.trace(servicePointName, serviceName, subject, traceTagIds, startNanos, endNanos, //
+                            (failed ? TraceFile.OUTCOME_FAILED : 0) | ((remoteNode != null) ? TraceFile.OUTCOME_REMOTE : 0));
+                }
+            }
         }
     }
 }
@@ -0,0 +1,108 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.servicepoint;
+
+import java.util.Optional;
+
+// the service point is invoked without NotFoundException, when no domain service is bound to the subject:
+// Optional<String> result = TryDispatch.call(() -> customsService.clear(shipment));
+// only the resolution of the first dispatch is affected, the service points invoked by the domain service throw as usual
+public class TryDispatch {
+    // the miss of the try dispatch is not visible to the caller, it has no stack trace and it is shared
+    private static final NotFoundException MISS = new NotFoundException("Cannot find service (try dispatch)", false);
+    private static final ThreadLocal<Boolean> PENDING = new ThreadLocal<Boolean>();
+
+    @FunctionalInterface
+    public interface Dispatch<Result, E extends Exception> {
+        public Result dispatch() throws E;
+    }
+
+    @FunctionalInterface
+    public interface VoidDispatch<E extends Exception> {
+        public void dispatch() throws E;
+    }
+
+    @FunctionalInterface
+    interface PendingDispatch {
+        public Object dispatch() throws Throwable;
+    }
+
+    private TryDispatch() {
+    }
+
+    // the optional result is empty also when the domain service returns null
+    public static <Result, E extends Exception> Optional<Result> call(Dispatch<Result, E> dispatch) throws E {
+        PENDING.set(Boolean.TRUE);
+        try {
+            return Optional.ofNullable(dispatch.dispatch());
+        } catch (NotFoundException ex) {
+            if (ex == MISS) {
+                return Optional.empty();
+            }
+            throw ex;
+        } finally {
+            PENDING.remove();
+        }
+    }
+
+    // true when the domain service was invoked
+    public static <E extends Exception> boolean run(VoidDispatch<E> dispatch) throws E {
+        PENDING.set(Boolean.TRUE);
+        try {
+            dispatch.dispatch();
+            return true;
+        } catch (NotFoundException ex) {
+            if (ex == MISS) {
+                return false;
+            }
+            throw ex;
+        } finally {
+            PENDING.remove();
+        }
+    }
+
+    // the dispatch takes the pending try dispatch of the thread, before any domain service is invoked
+    public static boolean take() {
+        if (PENDING.get() == null) {
+            return false;
+        }
+        PENDING.remove();
+        return true;
+    }
+
+    // the try dispatch taken by the caller is pending again for the dispatch in another thread (e.g. by the mailbox worker)
+    static Object invokePending(boolean pending, PendingDispatch dispatch) throws Throwable {
+        if (!pending) {
+            return dispatch.dispatch();
+        }
+        PENDING.set(Boolean.TRUE);
+        try {
+            return dispatch.dispatch();
+        } finally {
+            PENDING.remove();
+        }
+    }
+
+    static NotFoundException miss() {
+        return MISS;
+    }
+}
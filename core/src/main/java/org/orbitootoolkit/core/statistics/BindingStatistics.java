@@ -0,0 +1,78 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.statistics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// the counters are striped (LongAdder), the concurrent invocations of the binding do not contend
+@ToString
+public class BindingStatistics {
+    @Getter
+    private String serviceName = null;
+
+    private LongAdder count = new LongAdder();
+    private LongAdder failureCount = new LongAdder();
+    private LongAdder totalNanos = new LongAdder();
+    private LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    //
+
+    public BindingStatistics(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    //
+
+    void record(long nanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            failureCount.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getAverageNanos() {
+        long currentCount = count.sum();
+        return (currentCount > 0) ? (double) totalNanos.sum() / currentCount : 0;
+    }
+}
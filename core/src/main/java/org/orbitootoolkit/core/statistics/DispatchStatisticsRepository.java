@@ -0,0 +1,78 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.statistics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class DispatchStatisticsRepository {
+    public static final String STATISTICS_ENABLED_PROPERTY = "orbitoo.statistics.enabled";
+    public static final String CALLBACK_ROUTE_SERVICE_NAME = "(callback route)";
+
+    private Map<String, ServicePointStatistics> servicePointStatisticsMap = new ConcurrentHashMap<String, ServicePointStatistics>();
+
+    @Getter
+    private boolean enabled = true;
+
+    @Autowired
+    private Environment environment = null;
+
+    @PostConstruct
+    public void init() {
+        enabled = environment.getProperty(STATISTICS_ENABLED_PROPERTY, Boolean.class, true);
+        log.info("dispatch statistics enabled: " + enabled);
+    }
+
+    public void record(String servicePointName, String serviceName, Object subject, long nanos, boolean failed) {
+        ServicePointStatistics servicePointStatistics = servicePointStatisticsMap.get(servicePointName);
+        if (servicePointStatistics == null) {
+            servicePointStatistics = servicePointStatisticsMap.computeIfAbsent(servicePointName, ServicePointStatistics::new);
+        }
+        servicePointStatistics.record((serviceName != null) ? serviceName : CALLBACK_ROUTE_SERVICE_NAME, //
+                (subject != null) ? subject.getClass() : null, nanos, failed);
+    }
+
+    public ServicePointStatistics getServicePointStatistics(String servicePointName) {
+        return servicePointStatisticsMap.get(servicePointName);
+    }
+
+    public Map<String, ServicePointStatistics> getServicePointStatistics() {
+        return Collections.unmodifiableMap(new TreeMap<String, ServicePointStatistics>(servicePointStatisticsMap));
+    }
+}
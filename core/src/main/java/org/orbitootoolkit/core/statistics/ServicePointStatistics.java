@@ -0,0 +1,84 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.statistics;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import lombok.Getter;
+import lombok.ToString;
+
+@ToString(onlyExplicitlyIncluded = true)
+public class ServicePointStatistics {
+    @Getter
+    @ToString.Include
+    private String servicePointName = null;
+
+    private Map<String, BindingStatistics> bindingStatisticsMap = new ConcurrentHashMap<String, BindingStatistics>();
+    private Map<Class<?>, LongAdder> subjectClassCountMap = new ConcurrentHashMap<Class<?>, LongAdder>();
+
+    //
+
+    public ServicePointStatistics(String servicePointName) {
+        Objects.requireNonNull(servicePointName);
+        this.servicePointName = servicePointName;
+    }
+
+    //
+
+    private static <K, V> V getOrCreate(Map<K, V> map, K key, Function<K, V> factory) {
+        // the lookup without locking on the hot path, the entry is created only once
+        V value = map.get(key);
+        return (value != null) ? value : map.computeIfAbsent(key, factory);
+    }
+
+    void record(String serviceName, Class<?> subjectClass, long nanos, boolean failed) {
+        getOrCreate(bindingStatisticsMap, serviceName, BindingStatistics::new).record(nanos, failed);
+        if (subjectClass != null) {
+            getOrCreate(subjectClassCountMap, subjectClass, (key) -> new LongAdder()).increment();
+        }
+    }
+
+    public BindingStatistics getBindingStatistics(String serviceName) {
+        return bindingStatisticsMap.get(serviceName);
+    }
+
+    public Map<String, BindingStatistics> getBindingStatistics() {
+        return Collections.unmodifiableMap(bindingStatisticsMap);
+    }
+
+    public Map<String, Long> getTopSubjectClasses(int limit) {
+        Map<String, Long> topSubjectClasses = new LinkedHashMap<String, Long>();
+        subjectClassCountMap.entrySet().stream() //
+                .map((entry) -> Map.entry(entry.getKey().getName(), entry.getValue().sum())) //
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey())) //
+                .limit(limit) //
+                .forEach((entry) -> topSubjectClasses.put(entry.getKey(), entry.getValue()));
+        return topSubjectClasses;
+    }
+}
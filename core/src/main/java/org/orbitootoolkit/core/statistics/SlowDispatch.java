@@ -0,0 +1,49 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.statistics;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// the dispatch exceeding the threshold: the resolution covers the routes, the binding chain and the memoization,
+// the invocation covers the executor, the admission control and the domain service (or the remote node)
+@AllArgsConstructor
+@Getter
+@ToString
+public class SlowDispatch {
+    private Instant timestamp = null;
+    private String servicePointName = null;
+    private String serviceName = null;
+    private String methodName = null;
+    private String subjectClass = null;
+    private String threadName = null;
+    private long totalNanos = 0;
+    private long resolutionNanos = 0;
+    private long invocationNanos = 0;
+    private boolean failed = false;
+
+    @ToString.Exclude
+    private StackTraceElement[] stackTrace = null;
+}
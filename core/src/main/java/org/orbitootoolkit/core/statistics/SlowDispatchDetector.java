@@ -0,0 +1,122 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.statistics;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.orbitootoolkit.core.util.ReflectionUtility;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+// the dispatch is measured by the dispatcher, the detector is called for each dispatch (only the comparison
+// with the threshold is done, when the dispatch is not slow); the slow dispatches are kept in the bounded ring
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class SlowDispatchDetector {
+    public static final String SLOW_DISPATCH_ENABLED_PROPERTY = "orbitoo.slowDispatch.enabled";
+    public static final String SLOW_DISPATCH_THRESHOLD_PROPERTY = "orbitoo.slowDispatch.thresholdMillis";
+    public static final String SLOW_DISPATCH_CAPACITY_PROPERTY = "orbitoo.slowDispatch.capacity";
+    public static final String SLOW_DISPATCH_STACK_SAMPLING_PROPERTY = "orbitoo.slowDispatch.stackSampling";
+
+    private Map<String, Long> thresholdNanosMap = new ConcurrentHashMap<String, Long>();
+    private AtomicReferenceArray<SlowDispatch> ring = null;
+    private AtomicLong slowDispatchCount = new AtomicLong();
+    private long defaultThresholdNanos = 0;
+    private int stackSampling = 0;
+
+    @Getter
+    private boolean enabled = false;
+
+    @Autowired
+    private Environment environment = null;
+
+    @PostConstruct
+    public void init() {
+        enabled = environment.getProperty(SLOW_DISPATCH_ENABLED_PROPERTY, Boolean.class, false);
+        defaultThresholdNanos = TimeUnit.MILLISECONDS.toNanos(environment.getProperty(SLOW_DISPATCH_THRESHOLD_PROPERTY, Long.class, 100L));
+        ring = new AtomicReferenceArray<SlowDispatch>(Math.max(1, environment.getProperty(SLOW_DISPATCH_CAPACITY_PROPERTY, Integer.class, 256)));
+        // the stack is captured for each n-th slow dispatch (0 = never)
+        stackSampling = environment.getProperty(SLOW_DISPATCH_STACK_SAMPLING_PROPERTY, Integer.class, 0);
+        log.info("slow dispatch detector [" + enabled + ", " + TimeUnit.NANOSECONDS.toMillis(defaultThresholdNanos) + " ms]");
+    }
+
+    private long getThresholdNanos(String servicePointName) {
+        // the threshold of the service point: orbitoo.slowDispatch.thresholdMillis.<servicePointName>
+        Long thresholdNanos = thresholdNanosMap.get(servicePointName);
+        if (thresholdNanos == null) {
+            Long thresholdMillis = environment.getProperty(SLOW_DISPATCH_THRESHOLD_PROPERTY + "." + servicePointName, Long.class);
+            thresholdNanos = (thresholdMillis != null) ? TimeUnit.MILLISECONDS.toNanos(thresholdMillis) : defaultThresholdNanos;
+            thresholdNanosMap.put(servicePointName, thresholdNanos);
+        }
+        return thresholdNanos;
+    }
+
+    public void check(String servicePointName, String serviceName, Method method, Object subject, long startNanos, long resolvedNanos, long endNanos,
+            boolean failed) {
+        long totalNanos = endNanos - startNanos;
+        if (totalNanos <= getThresholdNanos(servicePointName)) {
+            return;
+        }
+        long sequence = slowDispatchCount.getAndIncrement();
+        StackTraceElement[] stackTrace = ((stackSampling > 0) && (sequence % stackSampling == 0)) ? Thread.currentThread().getStackTrace() : null;
+        SlowDispatch slowDispatch = new SlowDispatch(Instant.now(), servicePointName, serviceName, ReflectionUtility.getSimpleName(method), //
+                (subject != null) ? subject.getClass().getName() : null, Thread.currentThread().getName(), //
+                totalNanos, resolvedNanos - startNanos, endNanos - resolvedNanos, failed, stackTrace);
+        ring.set((int) (sequence % ring.length()), slowDispatch);
+        log.warn("slow dispatch: " + slowDispatch);
+    }
+
+    public long getSlowDispatchCount() {
+        return slowDispatchCount.get();
+    }
+
+    // the slow dispatches kept by the ring, the latest first
+    public List<SlowDispatch> getSlowDispatches() {
+        List<SlowDispatch> slowDispatches = new ArrayList<SlowDispatch>();
+        long count = slowDispatchCount.get();
+        for (long sequence = count - 1; (sequence >= 0) && (sequence >= count - ring.length()); sequence--) {
+            SlowDispatch slowDispatch = ring.get((int) (sequence % ring.length()));
+            if (slowDispatch != null) {
+                slowDispatches.add(slowDispatch);
+            }
+        }
+        return slowDispatches;
+    }
+}
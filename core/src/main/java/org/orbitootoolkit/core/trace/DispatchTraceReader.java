@@ -0,0 +1,211 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.trace;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+// the offline reader of the trace file:
+// java -cp orbitoo-toolkit-core.jar:commons-lang3.jar org.orbitootoolkit.core.trace.DispatchTraceReader <file> [csv|json|summary]
+public class DispatchTraceReader {
+    private static final String OVERFLOW_NAME = "(overflow)";
+
+    private Map<Integer, String> names = new HashMap<Integer, String>();
+
+    //
+
+    private static String unescapeName(String name) {
+        StringBuilder builder = new StringBuilder();
+        for (int index = 0; index < name.length(); index++) {
+            char character = name.charAt(index);
+            if ((character == '\\') && (index + 1 < name.length())) {
+                char escaped = name.charAt(++index);
+                builder.append((escaped == 't') ? '\t' : (escaped == 'n') ? '\n' : (escaped == 'r') ? '\r' : escaped);
+            } else {
+                builder.append(character);
+            }
+        }
+        return builder.toString();
+    }
+
+    private void readNames(Path path) throws IOException {
+        Path namesPath = TraceFile.getNamesPath(path);
+        if (Files.exists(namesPath)) {
+            for (String line : Files.readAllLines(namesPath, StandardCharsets.UTF_8)) {
+                int separator = line.indexOf('\t');
+                if (separator > 0) {
+                    names.put(Integer.parseInt(line.substring(0, separator)), unescapeName(line.substring(separator + 1)));
+                }
+            }
+        }
+    }
+
+    private String getName(int id) {
+        return (id == 0) ? null : (id < 0) ? OVERFLOW_NAME : names.getOrDefault(id, "#" + id);
+    }
+
+    public List<TraceRecord> read(Path path) throws IOException {
+        readNames(path);
+        List<TraceRecord> records = new ArrayList<TraceRecord>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if ((buffer.limit() < TraceFile.HEADER_SIZE) || (buffer.getLong(0) != TraceFile.MAGIC)) {
+                throw new IOException("Unexpected trace file: " + path);
+            } else if (buffer.getInt(8) != TraceFile.VERSION) {
+                throw new IOException("Unexpected trace file version: " + buffer.getInt(8));
+            }
+            int recordSize = buffer.getInt(12);
+            long capacity = buffer.getLong(16);
+            for (long index = 0; index < capacity; index++) {
+                int offset = TraceFile.HEADER_SIZE + (int) index * recordSize;
+                long commit = buffer.getLong(offset + TraceFile.COMMIT_OFFSET);
+                // the record is committed (not being written) and it is not overwritten by the next round of the ring
+                if ((commit > 0) && ((commit - 1) % capacity == index)) {
+                    List<String> tags = new ArrayList<String>();
+                    for (int tagIndex = 0; tagIndex < TraceFile.TAG_COUNT; tagIndex++) {
+                        int tagOffset = offset + TraceFile.TAGS_OFFSET + tagIndex * TraceFile.TAG_SIZE;
+                        String tag = getName(buffer.getInt(tagOffset));
+                        String value = getName(buffer.getInt(tagOffset + Integer.BYTES));
+                        if (tag != null) {
+                            // the value is not interned (e.g. the id), only its hash is known
+                            tags.add(tag + "=" + ((value != null) ? value : "#" + String.format("%08x", buffer.getInt(tagOffset + 2 * Integer.BYTES))));
+                        }
+                    }
+                    records.add(new TraceRecord(commit - 1, buffer.getLong(offset + TraceFile.TIMESTAMP_OFFSET), //
+                            buffer.getLong(offset + TraceFile.DURATION_OFFSET), buffer.getLong(offset + TraceFile.THREAD_ID_OFFSET), //
+                            getName(buffer.getInt(offset + TraceFile.THREAD_NAME_OFFSET)), getName(buffer.getInt(offset + TraceFile.SERVICE_POINT_OFFSET)), //
+                            getName(buffer.getInt(offset + TraceFile.BINDING_OFFSET)), getName(buffer.getInt(offset + TraceFile.SUBJECT_CLASS_OFFSET)), //
+                            tags, buffer.getInt(offset + TraceFile.OUTCOME_OFFSET)));
+                }
+            }
+        }
+        records.sort(Comparator.comparingLong(TraceRecord::getTimestamp).thenComparingLong(TraceRecord::getSlot));
+        return records;
+    }
+
+    //
+
+    private static String formatTimestamp(long timestamp) {
+        return Instant.ofEpochSecond(0, timestamp).toString();
+    }
+
+    private static String toCsvValue(String value) {
+        String text = StringUtils.defaultString(value);
+        return StringUtils.containsAny(text, ',', '"', '\n', '\r') ? "\"" + text.replace("\"", "\"\"") + "\"" : text;
+    }
+
+    private static String toJsonValue(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            if ((character == '"') || (character == '\\')) {
+                builder.append('\\').append(character);
+            } else if (character < 0x20) {
+                builder.append(String.format("\\u%04x", (int) character));
+            } else {
+                builder.append(character);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    public static void writeCsv(List<TraceRecord> records, PrintStream out) {
+        out.println("timestamp,durationNanos,threadId,threadName,servicePointName,serviceName,subjectClass,tags,failed,memoized,remote");
+        for (TraceRecord record : records) {
+            out.println(String.join(",", formatTimestamp(record.getTimestamp()), Long.toString(record.getDuration()), Long.toString(record.getThreadId()), //
+                    toCsvValue(record.getThreadName()), toCsvValue(record.getServicePointName()), toCsvValue(record.getServiceName()), //
+                    toCsvValue(record.getSubjectClass()), toCsvValue(String.join(";", record.getTags())), Boolean.toString(record.isFailed()), //
+                    Boolean.toString(record.isMemoized()), Boolean.toString(record.isRemote())));
+        }
+    }
+
+    public static void writeJson(List<TraceRecord> records, PrintStream out) {
+        out.println("[");
+        for (int index = 0; index < records.size(); index++) {
+            TraceRecord record = records.get(index);
+            List<String> tags = record.getTags().stream().map(DispatchTraceReader::toJsonValue).toList();
+            out.println("  {\"timestamp\": " + toJsonValue(formatTimestamp(record.getTimestamp())) + ", \"durationNanos\": " + record.getDuration() //
+                    + ", \"threadId\": " + record.getThreadId() + ", \"threadName\": " + toJsonValue(record.getThreadName()) //
+                    + ", \"servicePointName\": " + toJsonValue(record.getServicePointName()) + ", \"serviceName\": " + toJsonValue(record.getServiceName()) //
+                    + ", \"subjectClass\": " + toJsonValue(record.getSubjectClass()) + ", \"tags\": [" + String.join(", ", tags) + "]" //
+                    + ", \"failed\": " + record.isFailed() + ", \"memoized\": " + record.isMemoized() + ", \"remote\": " + record.isRemote() + "}" //
+                    + ((index + 1 < records.size()) ? "," : ""));
+        }
+        out.println("]");
+    }
+
+    public static void writeSummary(List<TraceRecord> records, PrintStream out) {
+        Map<String, List<TraceRecord>> recordsByBinding = new TreeMap<String, List<TraceRecord>>();
+        for (TraceRecord record : records) {
+            recordsByBinding.computeIfAbsent(record.getServicePointName() + " / " + record.getServiceName(), (key) -> new ArrayList<TraceRecord>()).add(record);
+        }
+        out.println(String.format("records: %d", records.size()));
+        if (!records.isEmpty()) {
+            out.println(String.format("from: %s, to: %s", formatTimestamp(records.get(0).getTimestamp()), //
+                    formatTimestamp(records.get(records.size() - 1).getTimestamp())));
+        }
+        out.println(String.format("%-60s %10s %8s %8s %10s %10s %10s %10s", "binding", "count", "failed", "memo", "mean[us]", "p50[us]", "p99[us]", "max[us]"));
+        for (Map.Entry<String, List<TraceRecord>> entry : recordsByBinding.entrySet()) {
+            long[] durations = entry.getValue().stream().mapToLong(TraceRecord::getDuration).sorted().toArray();
+            long failed = entry.getValue().stream().filter(TraceRecord::isFailed).count();
+            long memoized = entry.getValue().stream().filter(TraceRecord::isMemoized).count();
+            double mean = Arrays.stream(durations).average().orElse(0);
+            out.println(String.format("%-60s %10d %8d %8d %10.1f %10.1f %10.1f %10.1f", entry.getKey(), durations.length, failed, memoized, mean / 1000, //
+                    durations[(int) Math.ceil(0.50 * durations.length) - 1] / 1000.0, durations[(int) Math.ceil(0.99 * durations.length) - 1] / 1000.0, //
+                    durations[durations.length - 1] / 1000.0));
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: DispatchTraceReader <file> [csv|json|summary]");
+            System.exit(1);
+        }
+        List<TraceRecord> records = new DispatchTraceReader().read(Path.of(args[0]));
+        String format = (args.length > 1) ? args[1] : "summary";
+        if ("csv".equals(format)) {
+            writeCsv(records, System.out);
+        } else if ("json".equals(format)) {
+            writeJson(records, System.out);
+        } else {
+            writeSummary(records, System.out);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.trace;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.property.Property;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+// each dispatch is written into the trace file: the thread claims the chunk of slots by one atomic operation
+// and writes its records into the chunk without synchronization; the names are replaced by their ids, the values
+// of tags are interned until their tag exceeds the budget of values (e.g. the ids), then only their hashes are written
+// (only the bounded vocabulary of names and values is written into the dictionary)
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class DispatchTracer {
+    public static final String TRACE_ENABLED_PROPERTY = "orbitoo.trace.enabled";
+    public static final String TRACE_FILE_PROPERTY = "orbitoo.trace.file";
+    public static final String TRACE_CAPACITY_PROPERTY = "orbitoo.trace.capacity";
+    public static final String TRACE_MAX_NAMES_PROPERTY = "orbitoo.trace.maxNames";
+    public static final String TRACE_MAX_TAG_VALUES_PROPERTY = "orbitoo.trace.maxTagValues";
+
+    private static final int CHUNK_SIZE = 64;
+    private static final int OVERFLOW_NAME_ID = -1;
+
+    private Map<Object, Integer> nameIdMap = new ConcurrentHashMap<Object, Integer>();
+    private Map<String, Map<String, Integer>> tagValueIdMap = new ConcurrentHashMap<String, Map<String, Integer>>();
+    private AtomicInteger nameIdSequence = new AtomicInteger();
+    private AtomicLong slotSequence = new AtomicLong();
+    private LongAdder droppedRecordCount = new LongAdder();
+    private ThreadLocal<TraceBuffer> traceBuffer = ThreadLocal.withInitial(TraceBuffer::new);
+    private volatile TraceFile traceFile = null;
+    private int maxNames = 0;
+    private int maxTagValues = 0;
+    private long baseEpochNanos = 0;
+    private long baseNanoTime = 0;
+
+    @Getter
+    private volatile boolean enabled = false;
+
+    @Autowired
+    private Environment environment = null;
+
+    private class TraceBuffer {
+        private long nextSlot = 0;
+        private long endSlot = 0;
+        private int threadNameId = getNameId(Thread.currentThread().getName());
+
+        private long claimSlot() {
+            if (nextSlot == endSlot) {
+                nextSlot = slotSequence.getAndAdd(CHUNK_SIZE);
+                endSlot = nextSlot + CHUNK_SIZE;
+            }
+            return nextSlot++;
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (environment.getProperty(TRACE_ENABLED_PROPERTY, Boolean.class, false)) {
+            Path path = Path.of(environment.getProperty(TRACE_FILE_PROPERTY, Path.of(System.getProperty("java.io.tmpdir"), "orbitoo-trace.bin").toString()));
+            long capacity = environment.getProperty(TRACE_CAPACITY_PROPERTY, Long.class, 1L << 20);
+            maxNames = environment.getProperty(TRACE_MAX_NAMES_PROPERTY, Integer.class, 1 << 16);
+            maxTagValues = environment.getProperty(TRACE_MAX_TAG_VALUES_PROPERTY, Integer.class, 256);
+            // the trace of the previous run is kept for the post-mortem analysis
+            if (Files.exists(path)) {
+                Files.move(path, path.resolveSibling(path.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+                if (Files.exists(TraceFile.getNamesPath(path))) {
+                    Files.move(TraceFile.getNamesPath(path), TraceFile.getNamesPath(path.resolveSibling(path.getFileName() + ".1")), //
+                            StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            traceFile = new TraceFile(path, capacity, true);
+            resetClock();
+            enabled = true;
+            log.info("opened trace [" + path + ", " + capacity + "]");
+        }
+    }
+
+    private void resetClock() {
+        Instant now = Instant.now();
+        baseNanoTime = System.nanoTime();
+        baseEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+    }
+
+    private int getNameId(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        Integer nameId = nameIdMap.get(key);
+        return (nameId != null) ? nameId : createNameId(key);
+    }
+
+    private synchronized int createNameId(Object key) {
+        Integer nameId = nameIdMap.get(key);
+        if (nameId != null) {
+            return nameId;
+        } else if (nameIdMap.size() >= maxNames) {
+            return OVERFLOW_NAME_ID;
+        }
+        String name = (key instanceof Class<?> clazz) ? clazz.getName() : key.toString();
+        int newNameId = nameIdSequence.incrementAndGet();
+        try {
+            traceFile.writeName(newNameId, name);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        nameIdMap.put(key, newNameId);
+        return newNameId;
+    }
+
+    // the values of the tag are interned up to the budget, the values of the tag beyond the budget are not interned (0)
+    private int getTagValueId(String tag, String value) {
+        if (value == null) {
+            return 0;
+        }
+        Map<String, Integer> valueIdMap = tagValueIdMap.computeIfAbsent(tag, (key) -> new ConcurrentHashMap<String, Integer>());
+        Integer valueId = valueIdMap.get(value);
+        if (valueId != null) {
+            return valueId;
+        } else if (valueIdMap.size() >= maxTagValues) {
+            return 0;
+        }
+        int newValueId = Math.max(getNameId(value), 0);
+        valueIdMap.put(value, newValueId);
+        return newValueId;
+    }
+
+    // the first tags by name (the order of the set is not stable), the triples of the name id, the value id and the value hash
+    public int[] getTagIds(Set<Property> properties) {
+        Property[] tags = new Property[Math.min(TraceFile.TAG_COUNT, properties.size())];
+        int count = 0;
+        for (Property property : properties) {
+            int index = count;
+            while ((index > 0) && (tags[index - 1].getName().compareTo(property.getName()) > 0)) {
+                if (index < tags.length) {
+                    tags[index] = tags[index - 1];
+                }
+                index--;
+            }
+            if (index < tags.length) {
+                tags[index] = property;
+                count = Math.min(count + 1, tags.length);
+            }
+        }
+        int[] tagIds = new int[3 * count];
+        for (int index = 0; index < count; index++) {
+            tagIds[3 * index] = getNameId(tags[index].getName());
+            tagIds[3 * index + 1] = getTagValueId(tags[index].getName(), tags[index].getValue());
+            tagIds[3 * index + 2] = Objects.hashCode(tags[index].getValue());
+        }
+        return tagIds;
+    }
+
+    public void trace(String servicePointName, String serviceName, Object subject, int[] tagIds, long startNanos, long endNanos, int outcome) {
+        if (!enabled) {
+            return;
+        }
+        TraceBuffer buffer = traceBuffer.get();
+        Thread thread = Thread.currentThread();
+        boolean written = traceFile.writeRecord(buffer.claimSlot(), baseEpochNanos + (startNanos - baseNanoTime), endNanos - startNanos, thread.getId(), //
+                buffer.threadNameId, getNameId(servicePointName), getNameId(serviceName), getNameId((subject != null) ? subject.getClass() : null), //
+                tagIds, outcome);
+        if (!written) {
+            droppedRecordCount.increment();
+        }
+    }
+
+    public long getRecordCount() {
+        return slotSequence.get();
+    }
+
+    // the records of threads lapped by the ring
+    public long getDroppedRecordCount() {
+        return droppedRecordCount.sum();
+    }
+
+    public synchronized void suspend() throws IOException {
+        if (enabled) {
+            enabled = false;
+            traceFile.close();
+        }
+    }
+
+    public synchronized void resume() throws IOException {
+        if ((traceFile != null) && !enabled) {
+            // the same file is reopened, the clock of the restored JVM can differ
+            traceFile = new TraceFile(traceFile.getPath(), traceFile.getCapacity(), false);
+            resetClock();
+            enabled = true;
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws IOException {
+        suspend();
+    }
+}
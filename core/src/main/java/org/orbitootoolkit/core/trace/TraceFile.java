@@ -0,0 +1,160 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.trace;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import lombok.Getter;
+
+// the ring of fixed-size records in the memory-mapped file, the names referenced by the records are appended
+// to the text file <file>.names (id <TAB> name):
+//   header: magic (long), version (int), record size (int), capacity (long)
+//   record: commit (long, -(slot + 1) while written, slot + 1 after the record), timestamp (long, epoch nanos),
+//           duration (long, nanos), thread id (long), thread name, service point, binding, subject class (int, ids of names),
+//           outcome (int), 3 tags (int id of the tag name, int id of the value or 0 if it is not interned, int hash of the value)
+public class TraceFile implements Closeable {
+    public static final long MAGIC = 0x4F5242545241434CL;
+    public static final int VERSION = 3;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 96;
+    public static final int TAG_COUNT = 3;
+    public static final String NAMES_SUFFIX = ".names";
+
+    public static final int OUTCOME_FAILED = 1;
+    public static final int OUTCOME_MEMOIZED = 2;
+    public static final int OUTCOME_REMOTE = 4;
+
+    static final int COMMIT_OFFSET = 0;
+    static final int TIMESTAMP_OFFSET = 8;
+    static final int DURATION_OFFSET = 16;
+    static final int THREAD_ID_OFFSET = 24;
+    static final int THREAD_NAME_OFFSET = 32;
+    static final int SERVICE_POINT_OFFSET = 36;
+    static final int BINDING_OFFSET = 40;
+    static final int SUBJECT_CLASS_OFFSET = 44;
+    static final int OUTCOME_OFFSET = 48;
+    static final int TAGS_OFFSET = 52;
+    static final int TAG_SIZE = 3 * Integer.BYTES;
+
+    // the commit word is claimed atomically (the records are aligned to 8 bytes)
+    private static final VarHandle COMMIT = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    @Getter
+    private Path path = null;
+    @Getter
+    private long capacity = 0;
+
+    private FileChannel channel = null;
+    private MappedByteBuffer buffer = null;
+    private BufferedWriter namesWriter = null;
+
+    //
+
+    public TraceFile(Path path, long capacity, boolean truncate) throws IOException {
+        Objects.requireNonNull(path);
+        if ((capacity < 1) || (capacity > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE)) {
+            throw new IllegalArgumentException("Unexpected capacity: " + capacity);
+        }
+        this.path = path;
+        this.capacity = capacity;
+        //
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        if (truncate) {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(getNamesPath(path));
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity * RECORD_SIZE);
+        buffer.putLong(0, MAGIC);
+        buffer.putInt(8, VERSION);
+        buffer.putInt(12, RECORD_SIZE);
+        buffer.putLong(16, capacity);
+        this.namesWriter = Files.newBufferedWriter(getNamesPath(path), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    //
+
+    public static Path getNamesPath(Path path) {
+        return path.resolveSibling(path.getFileName() + NAMES_SUFFIX);
+    }
+
+    public static String escapeName(String name) {
+        return name.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    public synchronized void writeName(int id, String name) throws IOException {
+        namesWriter.write(id + "\t" + escapeName(name));
+        namesWriter.newLine();
+        namesWriter.flush();
+    }
+
+    // the slots are claimed by the threads, but the slow thread can be lapped by the ring (its slot maps to the same record
+    // as the newer slot); the writer claims the record by the commit word, the record written by another thread or
+    // already committed by the newer slot is dropped (false)
+    public boolean writeRecord(long slot, long timestamp, long duration, long threadId, int threadName, int servicePoint, int binding, int subjectClass,
+            int[] tags, int outcome) {
+        int offset = HEADER_SIZE + (int) (slot % capacity) * RECORD_SIZE;
+        long commit = (long) COMMIT.getVolatile(buffer, offset + COMMIT_OFFSET);
+        if ((commit < 0) || (commit > slot) || !COMMIT.compareAndSet(buffer, offset + COMMIT_OFFSET, commit, -(slot + 1))) {
+            return false;
+        }
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+        buffer.putLong(offset + DURATION_OFFSET, duration);
+        buffer.putLong(offset + THREAD_ID_OFFSET, threadId);
+        buffer.putInt(offset + THREAD_NAME_OFFSET, threadName);
+        buffer.putInt(offset + SERVICE_POINT_OFFSET, servicePoint);
+        buffer.putInt(offset + BINDING_OFFSET, binding);
+        buffer.putInt(offset + SUBJECT_CLASS_OFFSET, subjectClass);
+        buffer.putInt(offset + OUTCOME_OFFSET, outcome);
+        // the tags are the triples of the name id, the value id and the value hash
+        for (int index = 0; index < 3 * TAG_COUNT; index++) {
+            buffer.putInt(offset + TAGS_OFFSET + index * Integer.BYTES, (tags != null) && (index < tags.length) ? tags[index] : 0);
+        }
+        COMMIT.setRelease(buffer, offset + COMMIT_OFFSET, slot + 1);
+        return true;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        namesWriter.close();
+        channel.close();
+    }
+}
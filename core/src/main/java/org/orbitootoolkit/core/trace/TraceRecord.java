@@ -0,0 +1,56 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.trace;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class TraceRecord {
+    private long slot = 0;
+    private long timestamp = 0;
+    private long duration = 0;
+    private long threadId = 0;
+    private String threadName = null;
+    private String servicePointName = null;
+    private String serviceName = null;
+    private String subjectClass = null;
+    private List<String> tags = null;
+    private int outcome = 0;
+
+    public boolean isFailed() {
+        return (outcome & TraceFile.OUTCOME_FAILED) != 0;
+    }
+
+    public boolean isMemoized() {
+        return (outcome & TraceFile.OUTCOME_MEMOIZED) != 0;
+    }
+
+    public boolean isRemote() {
+        return (outcome & TraceFile.OUTCOME_REMOTE) != 0;
+    }
+}
@@ -0,0 +1,267 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.workflow;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.orbitootoolkit.core.api.TagMatch;
+import org.orbitootoolkit.core.method.MethodDelegate;
+import org.orbitootoolkit.core.method.MethodDelegateRepository;
+import org.orbitootoolkit.core.property.Property;
+import org.orbitootoolkit.core.property.PropertySupplier;
+import org.orbitootoolkit.core.property.PropertySupplierRepository;
+import org.orbitootoolkit.core.service.CacheStatistics;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.service.TaggedValueDesc;
+import org.orbitootoolkit.core.servicepoint.NotFoundException;
+import org.orbitootoolkit.core.servicepoint.ServicePointDispatcher;
+import org.orbitootoolkit.core.servicepoint.TryDispatch;
+import org.springframework.beans.factory.BeanFactory;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class WorkflowDispatcher<DomainContract> {
+    @Getter
+    private String servicePointName = null;
+    @Getter
+    private Class<DomainContract> domainContractClass = null;
+    @Getter
+    private String stateTag = null;
+
+    private BeanFactory beanFactory = null;
+    private ServicePointDispatcher servicePointDispatcher = null;
+    private MethodDelegateRepository methodDelegateRepository = null;
+    private PropertySupplierRepository propertySupplierRepository = null;
+    private DomainServiceDescRepository domainServiceDescRepository = null;
+
+    private int maxRowCount = 0;
+    private volatile WorkflowTable workflowTable = null;
+    private Map<String, LongAdder> transitionCountMap = new ConcurrentHashMap<String, LongAdder>();
+    private LongAdder rowHitCount = new LongAdder();
+    private LongAdder rowMissCount = new LongAdder();
+    private LongAdder rowEvictionCount = new LongAdder();
+
+    //
+
+    public WorkflowDispatcher(String servicePointName, Class<DomainContract> domainContractClass, String stateTag, int maxRowCount, BeanFactory beanFactory) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(domainContractClass);
+        Objects.requireNonNull(stateTag);
+        //
+        this.servicePointName = servicePointName;
+        this.domainContractClass = domainContractClass;
+        this.stateTag = stateTag;
+        this.maxRowCount = maxRowCount;
+        this.beanFactory = beanFactory;
+        this.servicePointDispatcher = beanFactory.getBean(ServicePointDispatcher.class);
+        this.methodDelegateRepository = beanFactory.getBean(MethodDelegateRepository.class);
+        this.propertySupplierRepository = beanFactory.getBean(PropertySupplierRepository.class);
+        this.domainServiceDescRepository = beanFactory.getBean(DomainServiceDescRepository.class);
+    }
+
+    //
+
+    private WorkflowTable createWorkflowTable(long version) {
+        log.debug("createWorkflowTable started: " + servicePointName);
+        Set<String> states = new HashSet<String>();
+        Set<String> boundTags = new HashSet<String>();
+        for (DomainServiceDesc domainServiceDesc : domainServiceDescRepository.getDomainServiceDescs(servicePointName)) {
+            domainServiceDesc.addBoundTagsTo(boundTags);
+            for (TaggedValueDesc taggedValueDesc : domainServiceDesc.getSubjectTaggedValues()) {
+                // the state matched by a pattern is not enumerated, the other states are dispatched by the generic algorithm
+                if (stateTag.equals(taggedValueDesc.getTag()) && (taggedValueDesc.getMatch() == TagMatch.EXACT)) {
+                    states.add(taggedValueDesc.getValue());
+                }
+            }
+        }
+        List<String> sortedStates = states.stream().sorted().toList();
+        LongAdder[] transitionCounts = sortedStates.stream().map(this::getTransitionCount).toArray(LongAdder[]::new);
+        WorkflowTable newWorkflowTable = new WorkflowTable(version, sortedStates, boundTags, transitionCounts, maxRowCount, rowEvictionCount);
+        log.debug("createWorkflowTable finished: " + newWorkflowTable.getStates());
+        return newWorkflowTable;
+    }
+
+    private WorkflowTable getWorkflowTable() {
+        WorkflowTable currentWorkflowTable = workflowTable;
+        long version = domainServiceDescRepository.getVersion();
+        if ((currentWorkflowTable == null) || (currentWorkflowTable.getVersion() != version)) {
+            currentWorkflowTable = createWorkflowTable(version);
+            workflowTable = currentWorkflowTable;
+        }
+        return currentWorkflowTable;
+    }
+
+    private LongAdder getTransitionCount(String state) {
+        return transitionCountMap.computeIfAbsent(state, (key) -> new LongAdder());
+    }
+
+    private WorkflowSubjectClass createSubjectClass(WorkflowTable currentWorkflowTable, Class<?> subjectClass) {
+        PropertySupplier statePropertySupplier = null;
+        List<PropertySupplier> otherPropertySuppliers = new LinkedList<PropertySupplier>();
+        for (PropertySupplier propertySupplier : propertySupplierRepository.getPropertySuppliers(subjectClass)) {
+            if (!stateTag.equals(propertySupplier.getPropertyName())) {
+                otherPropertySuppliers.add(propertySupplier);
+            } else if (statePropertySupplier == null) {
+                statePropertySupplier = propertySupplier;
+            } else {
+                log.warn("Workflow cannot compile overridden state tag: " + subjectClass.getSimpleName());
+                return new WorkflowSubjectClass(subjectClass, null, List.of(), Set.of());
+            }
+        }
+        return new WorkflowSubjectClass(subjectClass, statePropertySupplier, List.copyOf(otherPropertySuppliers), currentWorkflowTable.getBoundTags());
+    }
+
+    // the subject classes are created by the table, the bound tags are changed with the domain services
+    private WorkflowSubjectClass getSubjectClass(WorkflowTable currentWorkflowTable, Class<?> subjectClass) {
+        WorkflowSubjectClass workflowSubjectClass = currentWorkflowTable.getSubjectClass(subjectClass);
+        if (workflowSubjectClass == null) {
+            workflowSubjectClass = createSubjectClass(currentWorkflowTable, subjectClass);
+            currentWorkflowTable.putSubjectClass(workflowSubjectClass);
+        }
+        return workflowSubjectClass;
+    }
+
+    private WorkflowService getSingletonService(DomainServiceDesc domainServiceDesc) {
+        if ((domainServiceDesc != null) && beanFactory.isSingleton(domainServiceDesc.getServiceName())) {
+            return new WorkflowService(domainServiceDesc, beanFactory.getBean(domainServiceDesc.getServiceName()));
+        } else {
+            return null;
+        }
+    }
+
+    private WorkflowRow createRow(WorkflowTable currentWorkflowTable, Object subject) {
+        log.debug("createRow started: " + subject.getClass().getSimpleName());
+        Set<Property> subjectProperties = propertySupplierRepository.getProperties(subject);
+        Property stateProperty = subjectProperties.stream().filter((property) -> stateTag.equals(property.getName())).findFirst().orElse(null);
+        subjectProperties.remove(stateProperty);
+        //
+        List<String> states = currentWorkflowTable.getStates();
+        WorkflowService[] services = new WorkflowService[states.size()];
+        for (int stateOrdinal = 0; stateOrdinal < services.length; stateOrdinal++) {
+            Set<Property> stateProperties = new HashSet<Property>(subjectProperties);
+            if (stateProperty != null) {
+                stateProperties.add(new Property(stateProperty.getDeclaringClass(), stateTag, states.get(stateOrdinal), stateProperty.getPriority()));
+            }
+            DomainServiceDesc domainServiceDesc = domainServiceDescRepository.findDomainServiceDesc(servicePointName, subject.getClass(), stateProperties);
+            services[stateOrdinal] = getSingletonService(domainServiceDesc);
+        }
+        //
+        log.debug("createRow finished: " + subject.getClass().getSimpleName());
+        return new WorkflowRow(services);
+    }
+
+    private WorkflowService findService(Object subject) {
+        // the workflow table contains the shared domain services, the tenant overriding them is dispatched by the generic algorithm
+        if (domainServiceDescRepository.findTenantOverlay(servicePointName) != null) {
+            return null;
+        }
+        WorkflowTable currentWorkflowTable = getWorkflowTable();
+        WorkflowSubjectClass workflowSubjectClass = getSubjectClass(currentWorkflowTable, subject.getClass());
+        if (workflowSubjectClass.getStatePropertySupplier() == null) {
+            return null;
+        }
+        //
+        // the tag source writes the state and other tags in one pass
+        Object[] tagValues = propertySupplierRepository.getTagValues(subject, workflowSubjectClass.getTagPropertySuppliers());
+        Object stateValue = tagValues[0];
+        int stateOrdinal = currentWorkflowTable.getStateOrdinal(stateValue);
+        if (stateOrdinal == WorkflowTable.STATE_ORDINAL_OTHER) {
+            getTransitionCount(String.valueOf(PropertySupplier.toPropertyValue(stateValue))).increment();
+            return null;
+        }
+        currentWorkflowTable.getTransitionCount(stateOrdinal).increment();
+        //
+        WorkflowRowKey rowKey = workflowSubjectClass.createRowKey(tagValues);
+        WorkflowRow row = currentWorkflowTable.getRow(rowKey);
+        if (row == null) {
+            rowMissCount.increment();
+            row = createRow(currentWorkflowTable, subject);
+            currentWorkflowTable.putRow(rowKey, row);
+        } else {
+            rowHitCount.increment();
+        }
+        return row.getService(stateOrdinal);
+    }
+
+    //
+
+    public Object invoke(Method method, Object[] args) throws Throwable {
+        MethodDelegate methodDelegate = methodDelegateRepository.get(method);
+        if (methodDelegate.getSubjectCount() != 1) {
+            return servicePointDispatcher.invoke(servicePointName, method, args);
+        }
+        Object subject = methodDelegate.getSubject(args);
+        if (subject == null) {
+            throw new NotFoundException("Cannot find subject for: " + servicePointName);
+        }
+        //
+        WorkflowService workflowService = findService(subject);
+        if (workflowService != null) {
+            // the compiled domain service is found, the pending try dispatch does not apply to its invocation;
+            // the executor and the admission control of the domain service are applied
+            TryDispatch.take();
+            return servicePointDispatcher.invokeDomainService(servicePointName, workflowService.getDomainServiceDesc(), workflowService.getService(), //
+                    methodDelegate, args);
+        } else {
+            return servicePointDispatcher.invoke(servicePointName, method, args);
+        }
+    }
+
+    // each event is sent through the service point (its mailbox, journal, executor and admission control are applied),
+    // the service point dispatches the event by the compiled workflow
+    public <SubjectType> void invokeAll(Collection<? extends SubjectType> subjects, BiConsumer<? super DomainContract, ? super SubjectType> event) {
+        Objects.requireNonNull(subjects);
+        Objects.requireNonNull(event);
+        log.debug("invokeAll started [" + servicePointName + ", " + subjects.size() + "]");
+        DomainContract servicePoint = beanFactory.getBean(servicePointName, domainContractClass);
+        for (SubjectType subject : subjects) {
+            event.accept(servicePoint, subject);
+        }
+        log.debug("invokeAll finished:");
+    }
+
+    public CacheStatistics getRowTableStatistics() {
+        WorkflowTable currentWorkflowTable = workflowTable;
+        int rowCount = (currentWorkflowTable != null) ? currentWorkflowTable.getRowCount() : 0;
+        return new CacheStatistics("workflow:" + servicePointName, rowCount, rowHitCount.sum(), rowMissCount.sum(), rowEvictionCount.sum());
+    }
+
+    public Map<String, Long> getTransitionCounts() {
+        Map<String, Long> transitionCounts = new TreeMap<String, Long>();
+        transitionCountMap.forEach((state, transitionCount) -> transitionCounts.put(state, transitionCount.sum()));
+        return transitionCounts;
+    }
+}
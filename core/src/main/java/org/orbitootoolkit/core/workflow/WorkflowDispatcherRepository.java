@@ -0,0 +1,86 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.workflow;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Scope;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@Scope(BeanDefinition.SCOPE_SINGLETON)
+@Lazy(false)
+public class WorkflowDispatcherRepository {
+    public static final String WORKFLOW_MAX_ROW_COUNT_PROPERTY = "orbitoo.workflow.maxRowCount";
+
+    private int maxRowCount = 0;
+    private Map<String, WorkflowDispatcher<?>> workflowDispatcherMap = new ConcurrentHashMap<String, WorkflowDispatcher<?>>();
+
+    @Autowired
+    private BeanFactory beanFactory = null;
+
+    @Autowired
+    private Environment environment = null;
+
+    @PostConstruct
+    public void init() {
+        maxRowCount = environment.getProperty(WORKFLOW_MAX_ROW_COUNT_PROPERTY, Integer.class, 1 << 12);
+    }
+
+    public <DomainContract> WorkflowDispatcher<DomainContract> addWorkflowDispatcher(String servicePointName, Class<DomainContract> domainContractClass, String stateTag) {
+        WorkflowDispatcher<DomainContract> workflowDispatcher = new WorkflowDispatcher<DomainContract>(servicePointName, domainContractClass, stateTag, maxRowCount, //
+                beanFactory);
+        workflowDispatcherMap.put(servicePointName, workflowDispatcher);
+        log.info("added workflowDispatcher [" + servicePointName + ", " + stateTag + "]");
+        return workflowDispatcher;
+    }
+
+    public <DomainContract> WorkflowDispatcher<DomainContract> getWorkflowDispatcher(String servicePointName, Class<DomainContract> domainContractClass) {
+        Objects.requireNonNull(servicePointName);
+        Objects.requireNonNull(domainContractClass);
+        WorkflowDispatcher<?> workflowDispatcher = workflowDispatcherMap.get(servicePointName);
+        if (workflowDispatcher == null) {
+            throw new IllegalStateException("Cannot find workflow: " + servicePointName);
+        } else if (!domainContractClass.equals(workflowDispatcher.getDomainContractClass())) {
+            throw new IllegalStateException("Unexpected domain contract of workflow: " + servicePointName);
+        }
+        @SuppressWarnings("unchecked")
+        WorkflowDispatcher<DomainContract> typedWorkflowDispatcher = (WorkflowDispatcher<DomainContract>) workflowDispatcher;
+        return typedWorkflowDispatcher;
+    }
+
+    public Collection<WorkflowDispatcher<?>> getWorkflowDispatchers() {
+        return workflowDispatcherMap.values();
+    }
+}
@@ -0,0 +1,83 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.workflow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.orbitootoolkit.core.property.PropertySupplier;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+@Getter
+public class WorkflowSubjectClass {
+    static final Object PRESENT = new Object() {
+        @Override
+        public String toString() {
+            return "<present>";
+        }
+    };
+
+    private Class<?> subjectClass = null;
+    private PropertySupplier statePropertySupplier = null;
+    private List<PropertySupplier> otherPropertySuppliers = null;
+    // the state tag followed by other tags, the values of all tags are read at once
+    private List<PropertySupplier> tagPropertySuppliers = null;
+    // the other tags bound by some domain service, the row is keyed only by the presence of the unbound tags (e.g. the ids)
+    @Getter(AccessLevel.NONE)
+    private boolean[] boundSuppliers = null;
+
+    //
+
+    public WorkflowSubjectClass(Class<?> subjectClass, PropertySupplier statePropertySupplier, List<PropertySupplier> otherPropertySuppliers, //
+            Set<String> boundTags) {
+        this.subjectClass = subjectClass;
+        this.statePropertySupplier = statePropertySupplier;
+        this.otherPropertySuppliers = otherPropertySuppliers;
+        List<PropertySupplier> propertySuppliers = new ArrayList<PropertySupplier>();
+        if (statePropertySupplier != null) {
+            propertySuppliers.add(statePropertySupplier);
+        }
+        propertySuppliers.addAll(otherPropertySuppliers);
+        this.tagPropertySuppliers = List.copyOf(propertySuppliers);
+        this.boundSuppliers = new boolean[otherPropertySuppliers.size()];
+        for (int index = 0; index < boundSuppliers.length; index++) {
+            boundSuppliers[index] = boundTags.contains(otherPropertySuppliers.get(index).getPropertyName());
+        }
+    }
+
+    //
+
+    // the values of tags are in the order of tagPropertySuppliers, the state is not the part of the key
+    public WorkflowRowKey createRowKey(Object[] tagValues) {
+        Object[] keyValues = Arrays.copyOfRange(tagValues, 1, tagValues.length);
+        for (int index = 0; index < keyValues.length; index++) {
+            if (!boundSuppliers[index] && (keyValues[index] != null)) {
+                keyValues[index] = PRESENT;
+            }
+        }
+        return new WorkflowRowKey(subjectClass, Arrays.asList(keyValues));
+    }
+}
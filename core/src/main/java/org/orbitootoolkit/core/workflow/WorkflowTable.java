@@ -0,0 +1,118 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.core.workflow;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.property.PropertySupplier;
+
+import lombok.Getter;
+
+public class WorkflowTable {
+    public static final int STATE_ORDINAL_OTHER = -1;
+
+    @Getter
+    private long version = 0;
+    @Getter
+    private List<String> states = null;
+    // the tags bound by the shared domain services of the service point (also the names of maps of the bound tags)
+    @Getter
+    private Set<String> boundTags = null;
+
+    private Map<String, Integer> stateOrdinalMap = new HashMap<String, Integer>();
+    private Map<Enum<?>, Integer> enumStateOrdinalMap = new ConcurrentHashMap<Enum<?>, Integer>();
+    private LongAdder[] transitionCounts = null;
+    private Map<Class<?>, WorkflowSubjectClass> subjectClassMap = new ConcurrentHashMap<Class<?>, WorkflowSubjectClass>();
+    private Map<WorkflowRowKey, WorkflowRow> rowMap = new ConcurrentHashMap<WorkflowRowKey, WorkflowRow>();
+    private int maxRowCount = 0;
+    private LongAdder rowEvictionCount = null;
+
+    //
+
+    public WorkflowTable(long version, List<String> states, Set<String> boundTags, LongAdder[] transitionCounts, int maxRowCount, LongAdder rowEvictionCount) {
+        this.version = version;
+        this.states = List.copyOf(states);
+        this.boundTags = Set.copyOf(boundTags);
+        this.transitionCounts = transitionCounts;
+        this.maxRowCount = maxRowCount;
+        this.rowEvictionCount = rowEvictionCount;
+        for (int stateOrdinal = 0; stateOrdinal < states.size(); stateOrdinal++) {
+            stateOrdinalMap.put(states.get(stateOrdinal), stateOrdinal);
+        }
+    }
+
+    //
+
+    private int getStateOrdinal(String state) {
+        Integer stateOrdinal = (state != null) ? stateOrdinalMap.get(state) : null;
+        return (stateOrdinal != null) ? stateOrdinal : STATE_ORDINAL_OTHER;
+    }
+
+    public int getStateOrdinal(Object stateValue) {
+        if (stateValue instanceof String) {
+            return getStateOrdinal((String) stateValue);
+        } else if (stateValue instanceof Enum) {
+            return enumStateOrdinalMap.computeIfAbsent((Enum<?>) stateValue, (key) -> getStateOrdinal(key.name()));
+        } else {
+            return getStateOrdinal(PropertySupplier.toPropertyValue(stateValue));
+        }
+    }
+
+    public LongAdder getTransitionCount(int stateOrdinal) {
+        return transitionCounts[stateOrdinal];
+    }
+
+    public WorkflowSubjectClass getSubjectClass(Class<?> subjectClass) {
+        return subjectClassMap.get(subjectClass);
+    }
+
+    public void putSubjectClass(WorkflowSubjectClass workflowSubjectClass) {
+        subjectClassMap.put(workflowSubjectClass.getSubjectClass(), workflowSubjectClass);
+    }
+
+    public WorkflowRow getRow(WorkflowRowKey rowKey) {
+        return rowMap.get(rowKey);
+    }
+
+    // when the table is full, the arbitrary rows are evicted (they are created again by the next miss)
+    public void putRow(WorkflowRowKey rowKey, WorkflowRow row) {
+        if ((rowMap.put(rowKey, row) == null) && (rowMap.size() > maxRowCount)) {
+            Iterator<WorkflowRowKey> rowKeyIterator = rowMap.keySet().iterator();
+            while ((rowMap.size() > maxRowCount) && rowKeyIterator.hasNext()) {
+                if (!rowKeyIterator.next().equals(rowKey)) {
+                    rowKeyIterator.remove();
+                    rowEvictionCount.increment();
+                }
+            }
+        }
+    }
+
+    public int getRowCount() {
+        return rowMap.size();
+    }
+}
@@ -22,6 +22,10 @@
 package org.orbitootoolkit.testapplication;
 
 import org.orbitootoolkit.core.api.ServicePointScan;
+import org.orbitootoolkit.testapplication.benchmark.BenchmarkRunner;
+import org.orbitootoolkit.testapplication.benchmark.CheckpointRunner;
+import org.orbitootoolkit.testapplication.benchmark.FootprintRunner;
+import org.orbitootoolkit.testapplication.benchmark.ReplayRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
@@ -33,8 +37,28 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @ComponentScan(basePackages = { "org.orbitootoolkit.core", "org.orbitootoolkit.testapplication" })
 @ServicePointScan(basePackages = "org.orbitootoolkit.testapplication")
 public class TestApplication {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         ApplicationContext applicationContext = SpringApplication.run(TestApplication.class, args);
+        BenchmarkRunner benchmarkRunner = applicationContext.getBean(BenchmarkRunner.class);
+        if (benchmarkRunner.isEnabled()) {
+            benchmarkRunner.run();
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+        FootprintRunner footprintRunner = applicationContext.getBean(FootprintRunner.class);
+        if (footprintRunner.isEnabled()) {
+            footprintRunner.run();
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+        ReplayRunner replayRunner = applicationContext.getBean(ReplayRunner.class);
+        if (replayRunner.isEnabled()) {
+            replayRunner.run();
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+        CheckpointRunner checkpointRunner = applicationContext.getBean(CheckpointRunner.class);
+        if (checkpointRunner.isEnabled()) {
+            checkpointRunner.run();
+            System.exit(SpringApplication.exit(applicationContext));
+        }
         applicationContext.getBean(TestBean.class).test();
     }
 }
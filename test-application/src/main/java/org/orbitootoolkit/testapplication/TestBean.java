@@ -21,9 +21,37 @@
  */
 package org.orbitootoolkit.testapplication;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import org.orbitootoolkit.core.actuator.BindingReport;
+import org.orbitootoolkit.core.actuator.ServicePointEndpoint;
+import org.orbitootoolkit.core.actuator.ServicePointReport;
+import org.orbitootoolkit.core.actuator.ServicePointsReport;
 import org.orbitootoolkit.core.api.ServicePointReference;
 import org.orbitootoolkit.core.api.ServicePointReferenceByName;
+import org.orbitootoolkit.core.inline.InlineCacheStatistics;
+import org.orbitootoolkit.core.memo.MemoizedResultCache;
+import org.orbitootoolkit.core.memo.MemoizedResultCacheRepository;
+import org.orbitootoolkit.core.remote.RemoteDispatcher;
+import org.orbitootoolkit.core.remote.RemoteDispatcherRepository;
+import org.orbitootoolkit.core.service.CacheStatistics;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.core.service.ResolutionExplanation;
+import org.orbitootoolkit.core.service.ResolutionProbe;
+import org.orbitootoolkit.core.service.ResolutionSummary;
+import org.orbitootoolkit.core.servicepoint.TryDispatch;
+import org.orbitootoolkit.core.workflow.WorkflowDispatcher;
+import org.orbitootoolkit.core.workflow.WorkflowDispatcherRepository;
 import org.orbitootoolkit.testapplication.animal.api.AnimalException;
+import org.orbitootoolkit.testapplication.animal.api.AnimalFeedingService;
+import org.orbitootoolkit.testapplication.animal.api.AnimalMeetingService;
+import org.orbitootoolkit.testapplication.animal.api.AnimalGreetingService;
+import org.orbitootoolkit.testapplication.animal.api.AnimalPriceService;
 import org.orbitootoolkit.testapplication.animal.api.AnimalService;
 import org.orbitootoolkit.testapplication.animal.model.Cat;
 import org.orbitootoolkit.testapplication.animal.model.Dog;
@@ -31,17 +59,23 @@ import org.orbitootoolkit.testapplication.animal.model.Fish;
 import org.orbitootoolkit.testapplication.animal.model.Pokemon;
 import org.orbitootoolkit.testapplication.animal.model.PokemonState;
 import org.orbitootoolkit.testapplication.animal.model.PokemonType;
+import org.orbitootoolkit.testapplication.customs.api.CustomsService;
+import org.orbitootoolkit.testapplication.customs.model.Shipment;
 import org.orbitootoolkit.testapplication.doc.api.DocumentService;
 import org.orbitootoolkit.testapplication.doc.model.Document;
 import org.orbitootoolkit.testapplication.doc.model.DocumentState;
 import org.orbitootoolkit.testapplication.doc.model.DocumentType;
 import org.orbitootoolkit.testapplication.file.api.FilePrintService;
 import org.orbitootoolkit.testapplication.file.model.TxtFile;
+import org.orbitootoolkit.testapplication.file.model.ZipFile;
 import org.orbitootoolkit.testapplication.payment.api.LoanService;
 import org.orbitootoolkit.testapplication.payment.api.OrderService;
+import org.orbitootoolkit.testapplication.shipping.api.ShippingService;
+import org.orbitootoolkit.testapplication.shipping.model.Parcel;
 import org.orbitootoolkit.testapplication.task.api.IssueService;
 import org.orbitootoolkit.testapplication.task.model.Issue;
 import org.orbitootoolkit.testapplication.task.model.IssueType;
+import org.orbitootoolkit.testapplication.tenant.TestTenantResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -58,6 +92,27 @@ public class TestBean {
     @ServicePointReferenceByName("animalServicePoint")
     private AnimalService animalServiceByName;
 
+    @Autowired
+    @ServicePointReference
+    private AnimalMeetingService animalMeetingService;
+
+    @Autowired
+    @ServicePointReference
+    private AnimalPriceService animalPriceService;
+
+    @Autowired
+    @ServicePointReference
+    private AnimalGreetingService animalGreetingService;
+
+    @Autowired
+    private MemoizedResultCacheRepository memoizedResultCacheRepository;
+
+    @Autowired
+    private DomainServiceDescRepository domainServiceDescRepository;
+
+    @Autowired
+    private ServicePointEndpoint servicePointEndpoint;
+
     @Autowired
     private LoanService loadService;
 
@@ -72,10 +127,28 @@ public class TestBean {
     @ServicePointReference
     private DocumentService documentService;
 
+    @Autowired
+    private WorkflowDispatcherRepository workflowDispatcherRepository;
+
     @Autowired
     @ServicePointReference
     private FilePrintService filePrinService;
 
+    @Autowired
+    @ServicePointReference
+    private ShippingService shippingService;
+
+    @Autowired
+    @ServicePointReference
+    private AnimalFeedingService animalFeedingService;
+
+    @Autowired
+    private RemoteDispatcherRepository remoteDispatcherRepository;
+
+    @Autowired
+    @ServicePointReference
+    private CustomsService customsService;
+
     @SuppressWarnings("java:S1192")
     private void testInheritance() {
         log.info("----------------------------------------");
@@ -116,6 +189,143 @@ public class TestBean {
         }
     }
 
+    @SuppressWarnings("java:S1192")
+    private void testNextBinding() {
+        log.info("----------------------------------------");
+        log.info("- testNextBinding ----------------------");
+        log.info("----------------------------------------");
+        //
+        Dog dog = new Dog("Buddy");
+        Pokemon charizard = new Pokemon(PokemonType.CHARIZARD, PokemonState.WILD);
+        Pokemon wildPikachu = new Pokemon(PokemonType.PIKACHU, PokemonState.WILD);
+        //
+        log.info(animalGreetingService.greet(dog));
+        log.info(animalGreetingService.greet(charizard));
+        log.info(animalGreetingService.greet(wildPikachu));
+    }
+
+    @SuppressWarnings("java:S1192")
+    private void testTagPatterns() {
+        log.info("----------------------------------------");
+        log.info("- testTagPatterns ----------------------");
+        log.info("----------------------------------------");
+        //
+        List<Shipment> shipments = List.of( //
+                new Shipment("S1", "EU-FR", 500), //
+                new Shipment("S2", "EU-FR", 25000), //
+                new Shipment("S3", "EU-DE", 500), //
+                new Shipment("S4", "CH", 500), //
+                new Shipment("S5", "US", 500));
+        for (Shipment shipment : shipments) {
+            log.info(shipment.getId() + ": " + customsService.clear(shipment));
+        }
+        // the specificity chain contains all matching domain services, the prefix and the range of the same probe included
+        List<String> specificityChain = domainServiceDescRepository.findDomainServiceDescs("customsServicePoint", shipments.get(1)).stream() //
+                .map(DomainServiceDesc::getServiceName).toList();
+        log.info("specificity chain of " + shipments.get(1).getId() + ": " + specificityChain);
+    }
+
+    @SuppressWarnings("java:S1192")
+    private void testTenant() {
+        log.info("----------------------------------------");
+        log.info("- testTenant ---------------------------");
+        log.info("----------------------------------------");
+        //
+        Dog dog = new Dog("Buddy");
+        Cat cat = new Cat("Tigger");
+        // the tenant overrides only the dog, the cat is served by the shared domain service
+        TestTenantResolver.setCurrentTenant("library");
+        try {
+            animalService.makeSound(dog);
+            animalService.makeSound(cat);
+        } catch (AnimalException ex) {
+            log.info(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        } finally {
+            TestTenantResolver.setCurrentTenant(null);
+        }
+        try {
+            animalService.makeSound(dog);
+        } catch (AnimalException ex) {
+            log.info(ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        }
+    }
+
+    @SuppressWarnings("java:S1192")
+    private void testMultipleDispatch() {
+        log.info("----------------------------------------");
+        log.info("- testMultipleDispatch -----------------");
+        log.info("----------------------------------------");
+        //
+        Dog dog = new Dog("Buddy");
+        Cat cat = new Cat("Tigger");
+        Pokemon pikachu = new Pokemon(PokemonType.PIKACHU, PokemonState.WILD);
+        //
+        animalMeetingService.meet(dog, cat);
+        animalMeetingService.meet(cat, dog);
+        animalMeetingService.meet(cat, pikachu);
+        animalMeetingService.meet(dog, pikachu);
+        animalMeetingService.meet(dog, cat);
+    }
+
+    @SuppressWarnings("java:S1192")
+    private void testExplain() {
+        log.info("----------------------------------------");
+        log.info("- testExplain --------------------------");
+        log.info("----------------------------------------");
+        //
+        Pokemon trainedPikachu = new Pokemon(PokemonType.PIKACHU, PokemonState.TRAINED);
+        ResolutionExplanation explanation = domainServiceDescRepository.explainDomainServiceDesc("animalServicePoint", trainedPikachu);
+        log.info("properties: " + explanation.getSubjectProperties().size());
+        for (ResolutionProbe probe : explanation.getProbes()) {
+            String serviceName = probe.isHit() ? probe.getDomainServiceDesc().getServiceName() : "-";
+            log.info(" - probe [" + probe.getKey().getSubjectClass().getSimpleName() + ", " + probe.getKey().getSubjectProperties().size() + "]: " + serviceName);
+        }
+        log.info("chosen: " + explanation.getDomainServiceDesc().getServiceName());
+        //
+        List<Object> subjects = List.of(new Dog("Buddy"), new Cat("Tigger"), trainedPikachu, new Pokemon(PokemonType.CHARIZARD, PokemonState.WILD), new Fish());
+        ResolutionSummary summary = domainServiceDescRepository.explainDomainServiceDescs("animalServicePoint", subjects);
+        log.info("resolved services: " + summary.getServiceNameCounts());
+        log.info("hotspots: " + summary.getHotspots().stream().map(Class::getSimpleName).toList());
+    }
+
+    @SuppressWarnings("java:S1192")
+    private void testMemoization() {
+        log.info("----------------------------------------");
+        log.info("- testMemoization ----------------------");
+        log.info("----------------------------------------");
+        //
+        Dog dog = new Dog("Buddy");
+        Cat cat = new Cat("Tigger");
+        Pokemon wildPikachu = new Pokemon(PokemonType.PIKACHU, PokemonState.WILD);
+        Pokemon trainedPikachu = new Pokemon(PokemonType.PIKACHU, PokemonState.TRAINED);
+        //
+        log.info("price of " + dog.getName() + ": " + animalPriceService.getPrice(dog, "EUR"));
+        log.info("price of " + dog.getName() + ": " + animalPriceService.getPrice(dog, "EUR"));
+        log.info("price of " + dog.getName() + ": " + animalPriceService.getPrice(dog, "USD"));
+        log.info("price of " + cat.getName() + ": " + animalPriceService.getPrice(cat, "EUR"));
+        log.info("price of " + wildPikachu.getName() + ": " + animalPriceService.getPrice(wildPikachu, "EUR"));
+        log.info("price of " + wildPikachu.getName() + ": " + animalPriceService.getPrice(wildPikachu, "EUR"));
+        log.info("price of " + trainedPikachu.getName() + ": " + animalPriceService.getPrice(trainedPikachu, "EUR"));
+        //
+        for (MemoizedResultCache memoizedResultCache : memoizedResultCacheRepository.getMemoizedResultCaches().values()) {
+            log.info("memoized results [" + memoizedResultCache.getSize() + ", " + memoizedResultCache.getHitCount() + ", " + memoizedResultCache.getMissCount() + "]");
+        }
+    }
+
+    private void testMulticast() {
+        log.info("----------------------------------------");
+        log.info("- testMulticast ------------------------");
+        log.info("----------------------------------------");
+        //
+        Dog dog = new Dog("Buddy");
+        Pokemon charizard = new Pokemon(PokemonType.CHARIZARD, PokemonState.WILD);
+        Pokemon trainedPikachu = new Pokemon(PokemonType.PIKACHU, PokemonState.TRAINED);
+        //
+        log.info("food of " + dog.getName() + ": " + animalFeedingService.feed(dog));
+        log.info("food of " + charizard.getName() + ": " + animalFeedingService.feed(charizard));
+        log.info("food of " + trainedPikachu.getName() + ": " + animalFeedingService.feed(trainedPikachu));
+    }
+
     @SuppressWarnings("java:S1192")
     private void testWorkflow() {
         log.info("----------------------------------------");
@@ -131,6 +341,29 @@ public class TestBean {
         issueService.issueImplementationStarted(issue);
         issueService.issueImplementationFinished(issue);
         issueService.issueTested(issue, true);
+        //
+        List<Issue> issues = List.of(new Issue("Issue-2023-01-01-0002", IssueType.TASK), new Issue("Issue-2023-01-01-0003", IssueType.TASK));
+        WorkflowDispatcher<IssueService> issueWorkflow = workflowDispatcherRepository.getWorkflowDispatcher("issueServicePoint", IssueService.class);
+        issueWorkflow.invokeAll(issues, IssueService::issueImplementationStarted);
+        issueWorkflow.invokeAll(issues, IssueService::issueImplementationFinished);
+        log.info("transition counts: " + issueWorkflow.getTransitionCounts());
+        // the concurrent events of the same issue are processed sequentially by its mailbox
+        Issue testedIssue = new Issue("Issue-2023-01-01-0004", IssueType.TASK);
+        issueService.issueImplementationStarted(testedIssue);
+        issueService.issueImplementationFinished(testedIssue);
+        List<CompletableFuture<Boolean>> testResults = IntStream.range(0, 2) //
+                .mapToObj((index) -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        issueService.issueTested(testedIssue, true);
+                        return true;
+                    } catch (IllegalStateException ex) {
+                        return false;
+                    }
+                })).toList();
+        log.info("concurrent issueTested accepted: " + testResults.stream().filter(CompletableFuture::join).count() + " of " + testResults.size());
+        // the bug has no workflow, the try dispatch of the caller is kept by the mailbox worker
+        Issue bug = new Issue("Issue-2023-01-01-0005", IssueType.BUG);
+        log.info("bug dispatched: " + TryDispatch.run(() -> issueService.issueImplementationStarted(bug)));
     }
 
     @SuppressWarnings("java:S1192")
@@ -168,13 +401,83 @@ public class TestBean {
         //
         TxtFile pdfFile = new TxtFile("readme.txt", "Hello, World !!!");
         filePrinService.print(pdfFile);
+        //
+        ZipFile zipFile = new ZipFile("backup.zip", 3);
+        filePrinService.print(zipFile);
+    }
+
+    private void testRemote() {
+        log.info("----------------------------------------");
+        log.info("- testRemote ---------------------------");
+        log.info("----------------------------------------");
+        //
+        Parcel dhlParcel = new Parcel("PARCEL-0001", "DHL", 3);
+        Parcel upsParcel = new Parcel("PARCEL-0002", "UPS", 3);
+        log.info("shipping cost of " + dhlParcel.getId() + ": " + shippingService.getShippingCost(dhlParcel, "EUR"));
+        log.info("shipping cost of " + upsParcel.getId() + ": " + shippingService.getShippingCost(upsParcel, "EUR"));
+        // the concurrent requests to the same node are pipelined through one connection
+        List<CompletableFuture<BigDecimal>> futures = IntStream.range(0, 64) //
+                .mapToObj((index) -> new Parcel(String.format("PARCEL-1%03d", index), (index % 2 == 0) ? "DHL" : "UPS", index % 5)) //
+                .map((parcel) -> CompletableFuture.supplyAsync(() -> shippingService.getShippingCost(parcel, "EUR"))) //
+                .toList();
+        BigDecimal totalCost = futures.stream().map(CompletableFuture::join).reduce(BigDecimal.ZERO, BigDecimal::add);
+        log.info("shipping cost of " + futures.size() + " parcels: " + totalCost);
+        //
+        RemoteDispatcher<?> remoteDispatcher = remoteDispatcherRepository.getRemoteDispatcher("shippingServicePoint");
+        log.info("invocations [local, remote]: [" + remoteDispatcher.getLocalInvocationCount() + ", " + remoteDispatcher.getRemoteInvocationCount() + "]");
+    }
+
+    private void testTryDispatch() {
+        log.info("----------------------------------------");
+        log.info("- testTryDispatch ----------------------");
+        log.info("----------------------------------------");
+        //
+        Parcel dhlParcel = new Parcel("PARCEL-0003", "DHL", 3);
+        Parcel fedexParcel = new Parcel("PARCEL-0004", "FEDEX", 3);
+        // the missing carrier is expected, the miss is cached and no exception is created
+        for (Parcel parcel : List.of(dhlParcel, fedexParcel, fedexParcel)) {
+            Optional<BigDecimal> shippingCost = TryDispatch.call(() -> shippingService.getShippingCost(parcel, "EUR"));
+            log.info("shipping cost of " + parcel.getId() + ": " + shippingCost.map(BigDecimal::toString).orElse("no carrier"));
+        }
+    }
+
+    private void testStatistics() {
+        log.info("----------------------------------------");
+        log.info("- testStatistics -----------------------");
+        log.info("----------------------------------------");
+        //
+        ServicePointReport servicePointReport = servicePointEndpoint.servicePoint("animalServicePoint");
+        for (BindingReport binding : servicePointReport.getBindings()) {
+            log.info("binding " + binding.getServiceName() + " " + binding.getSubjectTaggedValues() + ": " + binding.getCount() + " calls, " //
+                    + binding.getFailureCount() + " failures");
+        }
+        log.info("top subject classes: " + servicePointReport.getTopSubjectClasses());
+        ServicePointsReport servicePointsReport = servicePointEndpoint.servicePoints();
+        for (CacheStatistics cache : servicePointsReport.getCaches()) {
+            String hitRate = (cache.getHitRate() != null) ? String.format("%.2f", cache.getHitRate()) : "n/a";
+            log.info("cache " + cache.getName() + ": size " + cache.getSize() + ", hit rate " + hitRate + ", evictions " + cache.getEvictionCount());
+        }
+        InlineCacheStatistics inlineCaches = servicePointsReport.getInlineCaches();
+        log.info("inline caches [monomorphic, polymorphic, megamorphic]: [" + inlineCaches.getMonomorphicCount() + ", " //
+                + inlineCaches.getPolymorphicCount() + ", " + inlineCaches.getMegamorphicCount() + "], hit rate " //
+                + String.format("%.2f", inlineCaches.getHitRate()));
     }
 
     public void test() {
         testInheritance();
+        testNextBinding();
+        testTenant();
+        testTagPatterns();
+        testMultipleDispatch();
+        testMemoization();
+        testExplain();
+        testMulticast();
         testWorkflow();
         testDocument();
         testFile();
+        testRemote();
+        testTryDispatch();
+        testStatistics();
         testCallback();
     }
 }
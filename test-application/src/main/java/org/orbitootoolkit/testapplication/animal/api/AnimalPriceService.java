@@ -0,0 +1,35 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.animal.api;
+
+import java.math.BigDecimal;
+
+import org.orbitootoolkit.core.api.Memoized;
+import org.orbitootoolkit.core.api.ServicePoint;
+import org.orbitootoolkit.core.api.Subject;
+import org.orbitootoolkit.testapplication.animal.model.Animal;
+
+@ServicePoint("animalPriceServicePoint")
+public interface AnimalPriceService {
+    @Memoized(maxSize = 100, ttlMillis = 60000)
+    public BigDecimal getPrice(@Subject Animal animal, String currency);
+}
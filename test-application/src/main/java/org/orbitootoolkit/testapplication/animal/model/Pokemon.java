@@ -21,7 +21,11 @@
  */
 package org.orbitootoolkit.testapplication.animal.model;
 
+import java.util.List;
+
 import org.orbitootoolkit.core.api.Tag;
+import org.orbitootoolkit.core.api.TagSink;
+import org.orbitootoolkit.core.api.TagSource;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -30,7 +34,9 @@ import lombok.ToString;
 @Getter
 @Setter
 @ToString
-public class Pokemon extends Animal {
+public class Pokemon extends Animal implements TagSource {
+    private static final List<String> TAG_SLOTS = List.of("type", "state");
+
     @Tag(name = "type", priority = 1)
     private PokemonType type = null;
 
@@ -42,4 +48,15 @@ public class Pokemon extends Animal {
         this.type = type;
         this.state = state;
     }
+
+    @Override
+    public List<String> getTagSlots() {
+        return TAG_SLOTS;
+    }
+
+    @Override
+    public void writeTags(TagSink tagSink) {
+        tagSink.put(0, type);
+        tagSink.put(1, state);
+    }
 }
@@ -0,0 +1,61 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.animal.service;
+
+import java.util.List;
+
+import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.TaggedValue;
+import org.orbitootoolkit.testapplication.animal.api.AnimalFeedingService;
+import org.orbitootoolkit.testapplication.animal.model.Animal;
+import org.orbitootoolkit.testapplication.animal.model.Dog;
+import org.orbitootoolkit.testapplication.animal.model.Pokemon;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AnimalFeedingServiceImpl {
+    @Bean
+    @DomainService(servicePointName = "animalFeedingServicePoint", subjectClass = Animal.class)
+    public AnimalFeedingService getAnimalFeedingService() {
+        return (animal) -> List.of("water");
+    }
+
+    @Bean
+    @DomainService(servicePointName = "animalFeedingServicePoint", subjectClass = Dog.class)
+    public AnimalFeedingService getDogFeedingService() {
+        return (animal) -> List.of("bone");
+    }
+
+    @Bean
+    @DomainService(servicePointName = "animalFeedingServicePoint", subjectClass = Pokemon.class)
+    public AnimalFeedingService getPokemonFeedingService() {
+        return (animal) -> List.of("berry");
+    }
+
+    @Bean
+    @DomainService(servicePointName = "animalFeedingServicePoint", subjectClass = Pokemon.class, //
+            subjectTaggedValues = @TaggedValue(tag = "type", value = "PIKACHU"))
+    public AnimalFeedingService getPikachuFeedingService() {
+        return (animal) -> List.of("ketchup", "apple");
+    }
+}
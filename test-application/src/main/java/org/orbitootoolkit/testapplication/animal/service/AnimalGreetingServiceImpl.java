@@ -0,0 +1,54 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.animal.service;
+
+import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.TaggedValue;
+import org.orbitootoolkit.core.servicepoint.NextBinding;
+import org.orbitootoolkit.testapplication.animal.api.AnimalGreetingService;
+import org.orbitootoolkit.testapplication.animal.model.Animal;
+import org.orbitootoolkit.testapplication.animal.model.Pokemon;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+// the more specific greetings extend the less specific ones by the next binding
+@Component
+public class AnimalGreetingServiceImpl {
+    @Bean
+    @DomainService(servicePointName = "animalGreetingServicePoint", subjectClass = Animal.class)
+    public AnimalGreetingService getAnimalGreetingService() {
+        return (animal) -> "hello " + animal.getName();
+    }
+
+    @Bean
+    @DomainService(servicePointName = "animalGreetingServicePoint", subjectClass = Pokemon.class)
+    public AnimalGreetingService getPokemonGreetingService() {
+        return (animal) -> NextBinding.of(AnimalGreetingService.class).greet(animal) + ", gotta catch 'em all";
+    }
+
+    @Bean
+    @DomainService(servicePointName = "animalGreetingServicePoint", subjectClass = Pokemon.class, //
+            subjectTaggedValues = @TaggedValue(tag = "type", value = "PIKACHU"))
+    public AnimalGreetingService getPikachuGreetingService() {
+        return (animal) -> "pika pika, " + NextBinding.of(AnimalGreetingService.class).greet(animal);
+    }
+}
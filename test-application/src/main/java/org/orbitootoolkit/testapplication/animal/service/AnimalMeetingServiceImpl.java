@@ -0,0 +1,60 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.animal.service;
+
+import org.orbitootoolkit.core.api.AdditionalSubject;
+import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.TaggedValue;
+import org.orbitootoolkit.testapplication.animal.api.AnimalMeetingService;
+import org.orbitootoolkit.testapplication.animal.model.Animal;
+import org.orbitootoolkit.testapplication.animal.model.Cat;
+import org.orbitootoolkit.testapplication.animal.model.Dog;
+import org.orbitootoolkit.testapplication.animal.model.Pokemon;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AnimalMeetingServiceImpl {
+    @Bean
+    @DomainService(servicePointName = "animalMeetingServicePoint", subjectClass = Animal.class)
+    public AnimalMeetingService getAnimalMeetingService() {
+        return (animal, otherAnimal) -> log.info(animal.getName() + " ignores " + otherAnimal.getName());
+    }
+
+    @Bean
+    @DomainService(servicePointName = "animalMeetingServicePoint", subjectClass = Dog.class, //
+            additionalSubjects = @AdditionalSubject(subjectClass = Cat.class))
+    public AnimalMeetingService getDogMeetingCatService() {
+        return (animal, otherAnimal) -> log.info(animal.getName() + " chases " + otherAnimal.getName());
+    }
+
+    @Bean
+    @DomainService(servicePointName = "animalMeetingServicePoint", subjectClass = Animal.class, //
+            additionalSubjects = @AdditionalSubject(subjectClass = Pokemon.class, //
+                    subjectTaggedValues = @TaggedValue(tag = "type", value = "PIKACHU")))
+    public AnimalMeetingService getAnimalMeetingPikachuService() {
+        return (animal, otherAnimal) -> log.info(animal.getName() + " is shocked by " + otherAnimal.getName());
+    }
+}
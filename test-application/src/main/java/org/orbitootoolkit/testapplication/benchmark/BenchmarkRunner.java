@@ -0,0 +1,215 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the macro benchmark drives the workflows and callbacks of the test application from N threads for the fixed duration:
+// java -jar orbitoo-toolkit-test-application.jar --spring.profiles.active=benchmark --orbitoo.benchmark.threads=8
+@Slf4j
+@Component
+public class BenchmarkRunner {
+    public static final String BENCHMARK_ENABLED_PROPERTY = "orbitoo.benchmark.enabled";
+    public static final String BENCHMARK_THREADS_PROPERTY = "orbitoo.benchmark.threads";
+    public static final String BENCHMARK_WARMUP_SECONDS_PROPERTY = "orbitoo.benchmark.warmupSeconds";
+    public static final String BENCHMARK_DURATION_SECONDS_PROPERTY = "orbitoo.benchmark.durationSeconds";
+    public static final String BENCHMARK_POPULATION_PROPERTY = "orbitoo.benchmark.population";
+    public static final String BENCHMARK_ROUTES_PROPERTY = "orbitoo.benchmark.routes";
+    public static final String BENCHMARK_ZIPF_EXPONENT_PROPERTY = "orbitoo.benchmark.zipfExponent";
+    public static final String BENCHMARK_MIX_PROPERTY = "orbitoo.benchmark.mix";
+    public static final String BENCHMARK_SEED_PROPERTY = "orbitoo.benchmark.seed";
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private BenchmarkWorkload benchmarkWorkload;
+
+    public boolean isEnabled() {
+        return environment.getProperty(BENCHMARK_ENABLED_PROPERTY, Boolean.class, false);
+    }
+
+    private static BenchmarkOperation[] parseMix(String mix) {
+        // e.g. "issue_workflow=1,pokemon_dispatch=4": the operation is chosen by its weight
+        List<BenchmarkOperation> operations = new ArrayList<BenchmarkOperation>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            BenchmarkOperation operation = BenchmarkOperation.valueOf(parts[0].trim().toUpperCase());
+            int weight = (parts.length > 1) ? Integer.parseInt(parts[1].trim()) : 1;
+            for (int index = 0; index < weight; index++) {
+                operations.add(operation);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Benchmark mix should contain at least one operation: " + mix);
+        }
+        return operations.toArray(new BenchmarkOperation[0]);
+    }
+
+    private static long getAllocatedBytes(ThreadMXBean threadMXBean) {
+        // the allocated bytes are provided by HotSpot (com.sun.management), otherwise they are not reported
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean hotSpotThreadMXBean) {
+            return hotSpotThreadMXBean.getCurrentThreadAllocatedBytes();
+        } else {
+            return 0;
+        }
+    }
+
+    private static long[] getGarbageCollections() {
+        long[] garbageCollections = new long[2];
+        for (GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            garbageCollections[0] += Math.max(0, garbageCollectorMXBean.getCollectionCount());
+            garbageCollections[1] += Math.max(0, garbageCollectorMXBean.getCollectionTime());
+        }
+        return garbageCollections;
+    }
+
+    private static class WorkerResult {
+        private Map<BenchmarkOperation, LatencyHistogram> histograms = new EnumMap<BenchmarkOperation, LatencyHistogram>(BenchmarkOperation.class);
+        private Map<BenchmarkOperation, Long> errors = new EnumMap<BenchmarkOperation, Long>(BenchmarkOperation.class);
+        private long allocatedBytes = 0;
+
+        private void add(WorkerResult other) {
+            other.histograms.forEach((operation, histogram) -> histograms.computeIfAbsent(operation, (key) -> new LatencyHistogram()).add(histogram));
+            other.errors.forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+            allocatedBytes += other.allocatedBytes;
+        }
+    }
+
+    private WorkerResult runWorker(BenchmarkOperation[] mix, long seed, long endNanos) {
+        WorkerResult workerResult = new WorkerResult();
+        Random random = new Random(seed);
+        SplittableRandom mixRandom = new SplittableRandom(seed);
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        long startAllocatedBytes = getAllocatedBytes(threadMXBean);
+        //
+        while (System.nanoTime() - endNanos < 0) {
+            BenchmarkOperation operation = mix[mixRandom.nextInt(mix.length)];
+            long startNanos = System.nanoTime();
+            try {
+                benchmarkWorkload.run(operation, random);
+                workerResult.histograms.computeIfAbsent(operation, (key) -> new LatencyHistogram()).record(System.nanoTime() - startNanos);
+            } catch (RuntimeException ex) {
+                if (workerResult.errors.merge(operation, 1L, Long::sum) == 1) {
+                    log.warn("benchmark operation failed: " + operation, ex);
+                }
+            }
+        }
+        //
+        workerResult.allocatedBytes = getAllocatedBytes(threadMXBean) - startAllocatedBytes;
+        return workerResult;
+    }
+
+    private WorkerResult runPhase(BenchmarkOperation[] mix, int threads, long seed, int seconds) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            long endNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            List<Future<WorkerResult>> futures = new ArrayList<Future<WorkerResult>>();
+            for (int thread = 0; thread < threads; thread++) {
+                long workerSeed = seed + thread;
+                futures.add(workers.submit(() -> runWorker(mix, workerSeed, endNanos)));
+            }
+            WorkerResult result = new WorkerResult();
+            for (Future<WorkerResult> future : futures) {
+                result.add(future.get());
+            }
+            return result;
+        } finally {
+            workers.shutdown();
+        }
+    }
+
+    private static String formatMicros(double nanos) {
+        return String.format("%.1f", nanos / 1000);
+    }
+
+    private static void report(WorkerResult result, int seconds, long[] garbageCollections) {
+        long totalCount = 0;
+        log.info(String.format("%-18s %10s %10s %8s %10s %10s %10s %10s %10s %10s", //
+                "operation", "count", "ops/s", "errors", "mean[us]", "p50[us]", "p90[us]", "p99[us]", "p99.9[us]", "max[us]"));
+        for (BenchmarkOperation operation : BenchmarkOperation.values()) {
+            LatencyHistogram histogram = result.histograms.getOrDefault(operation, new LatencyHistogram());
+            long errors = result.errors.getOrDefault(operation, 0L);
+            if ((histogram.getTotalCount() == 0) && (errors == 0)) {
+                continue;
+            }
+            StringBuilder percentiles = new StringBuilder();
+            for (double percentile : PERCENTILES) {
+                percentiles.append(String.format(" %10s", formatMicros(histogram.getValueAtPercentile(percentile))));
+            }
+            log.info(String.format("%-18s %10d %10.0f %8d %10s%s %10s", operation.name().toLowerCase(), histogram.getTotalCount(), //
+                    (double) histogram.getTotalCount() / seconds, errors, formatMicros(histogram.getMean()), percentiles, formatMicros(histogram.getMaxValue())));
+            totalCount += histogram.getTotalCount();
+        }
+        log.info(String.format("throughput: %.0f ops/s", (double) totalCount / seconds));
+        log.info(String.format("allocation rate: %.1f MB/s, %.0f bytes/op", (double) result.allocatedBytes / seconds / (1024 * 1024), //
+                (totalCount > 0) ? (double) result.allocatedBytes / totalCount : 0));
+        log.info(String.format("gc pauses: %d collections, %d ms (%.2f%% of time)", garbageCollections[0], garbageCollections[1], //
+                100.0 * garbageCollections[1] / (seconds * 1000.0)));
+    }
+
+    public void run() throws Exception {
+        int threads = environment.getProperty(BENCHMARK_THREADS_PROPERTY, Integer.class, Runtime.getRuntime().availableProcessors());
+        int warmupSeconds = environment.getProperty(BENCHMARK_WARMUP_SECONDS_PROPERTY, Integer.class, 5);
+        int durationSeconds = environment.getProperty(BENCHMARK_DURATION_SECONDS_PROPERTY, Integer.class, 30);
+        int population = environment.getProperty(BENCHMARK_POPULATION_PROPERTY, Integer.class, 100000);
+        int routes = environment.getProperty(BENCHMARK_ROUTES_PROPERTY, Integer.class, 1000);
+        double zipfExponent = environment.getProperty(BENCHMARK_ZIPF_EXPONENT_PROPERTY, Double.class, 1.0);
+        long seed = environment.getProperty(BENCHMARK_SEED_PROPERTY, Long.class, 42L);
+        BenchmarkOperation[] mix = parseMix(environment.getProperty(BENCHMARK_MIX_PROPERTY, //
+                "issue_workflow=1,document_workflow=1,pokemon_dispatch=4,payment_callback=2"));
+        //
+        benchmarkWorkload.init(new Random(seed), population, routes, zipfExponent);
+        log.info("benchmark warm up [" + threads + " threads, " + warmupSeconds + " s]");
+        runPhase(mix, threads, seed, warmupSeconds);
+        System.gc();
+        //
+        log.info("benchmark started [" + threads + " threads, " + durationSeconds + " s]");
+        long[] startGarbageCollections = getGarbageCollections();
+        WorkerResult result = runPhase(mix, threads, seed + threads, durationSeconds);
+        long[] endGarbageCollections = getGarbageCollections();
+        log.info("benchmark finished [" + benchmarkWorkload.getDeliveredCallbacks() + " callbacks delivered]");
+        //
+        report(result, durationSeconds, new long[] { endGarbageCollections[0] - startGarbageCollections[0], //
+                endGarbageCollections[1] - startGarbageCollections[1] });
+    }
+}
@@ -0,0 +1,164 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.benchmark;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.orbitootoolkit.core.api.ServicePointReference;
+import org.orbitootoolkit.core.route.CallbackRouteTable;
+import org.orbitootoolkit.core.route.CallbackRouteTableRepository;
+import org.orbitootoolkit.testapplication.animal.api.AnimalException;
+import org.orbitootoolkit.testapplication.animal.api.AnimalService;
+import org.orbitootoolkit.testapplication.animal.model.Pokemon;
+import org.orbitootoolkit.testapplication.animal.model.PokemonState;
+import org.orbitootoolkit.testapplication.animal.model.PokemonType;
+import org.orbitootoolkit.testapplication.doc.api.DocumentService;
+import org.orbitootoolkit.testapplication.doc.model.Document;
+import org.orbitootoolkit.testapplication.doc.model.DocumentState;
+import org.orbitootoolkit.testapplication.doc.model.DocumentType;
+import org.orbitootoolkit.testapplication.payment.api.RoutedPaymentCallback;
+import org.orbitootoolkit.testapplication.payment.model.ServiceRef;
+import org.orbitootoolkit.testapplication.task.api.IssueService;
+import org.orbitootoolkit.testapplication.task.model.Issue;
+import org.orbitootoolkit.testapplication.task.model.IssueType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the subjects of the benchmark: the immutable subjects (pokemons, callback references) are generated in advance
+// and chosen by their popularity, the issues and documents are created by each workflow
+@Slf4j
+@Component
+public class BenchmarkWorkload {
+    private static final String CALLBACK_ROUTE_PREFIX = "Benchmark#PaymentCallback#";
+    private static final int MAX_FAILED_TESTS = 4;
+
+    private AtomicLong subjectSequence = new AtomicLong();
+    private LongAdder deliveredCallbacks = new LongAdder();
+
+    private ZipfDistribution popularity = null;
+    private ZipfDistribution issueFailedTests = null;
+    private ZipfDistribution documentTypes = null;
+    private Pokemon[] pokemons = null;
+    private ServiceRef[] serviceRefs = null;
+
+    @Autowired
+    @ServicePointReference
+    private AnimalService animalService;
+
+    @Autowired
+    @ServicePointReference
+    private IssueService issueService;
+
+    @Autowired
+    @ServicePointReference
+    private DocumentService documentService;
+
+    @Autowired
+    @ServicePointReference
+    private RoutedPaymentCallback routedPaymentCallback;
+
+    @Autowired
+    private CallbackRouteTableRepository callbackRouteTableRepository;
+
+    public void init(Random random, int population, int routes, double zipfExponent) {
+        popularity = new ZipfDistribution(population, zipfExponent);
+        issueFailedTests = new ZipfDistribution(MAX_FAILED_TESTS + 1, zipfExponent);
+        documentTypes = new ZipfDistribution(DocumentType.values().length, zipfExponent);
+        // the types and states of pokemons are ordered by their frequency
+        ZipfDistribution pokemonKinds = new ZipfDistribution(PokemonType.values().length * PokemonState.values().length, zipfExponent);
+        pokemons = new Pokemon[population];
+        for (int index = 0; index < population; index++) {
+            int kind = pokemonKinds.sample(random);
+            pokemons[index] = new Pokemon(PokemonType.values()[kind / PokemonState.values().length], PokemonState.values()[kind % PokemonState.values().length]);
+        }
+        // each callback reference is routed to one of callback routes (e.g. the pending orders)
+        CallbackRouteTable<RoutedPaymentCallback> callbackRoutes = callbackRouteTableRepository.getCallbackRouteTable("routedPaymentCallback",
+                RoutedPaymentCallback.class);
+        for (int route = 0; route < routes; route++) {
+            callbackRoutes.addRoute(CALLBACK_ROUTE_PREFIX + route, (paymentId, serviceRef) -> deliveredCallbacks.increment(), Duration.ofHours(1));
+        }
+        ZipfDistribution callbackTargets = new ZipfDistribution(routes, zipfExponent);
+        serviceRefs = new ServiceRef[population];
+        for (int index = 0; index < population; index++) {
+            serviceRefs[index] = new ServiceRef(CALLBACK_ROUTE_PREFIX + callbackTargets.sample(random));
+        }
+        log.info("benchmark workload [" + population + " subjects, " + routes + " callback routes, zipf exponent " + zipfExponent + "]");
+    }
+
+    public long getDeliveredCallbacks() {
+        return deliveredCallbacks.sum();
+    }
+
+    private void runIssueWorkflow(Random random) {
+        // the bugs have no workflow, all issues are the tasks which fail the test according to the distribution
+        Issue issue = new Issue("BENCHMARK-ISSUE-" + subjectSequence.incrementAndGet(), IssueType.TASK);
+        int failedTests = issueFailedTests.sample(random);
+        for (int test = 0; test <= failedTests; test++) {
+            issueService.issueImplementationStarted(issue);
+            issueService.issueImplementationFinished(issue);
+            issueService.issueTested(issue, test == failedTests);
+        }
+    }
+
+    private void runDocumentWorkflow(Random random) {
+        DocumentType documentType = documentTypes.sample(random, DocumentType.values());
+        Document document = new Document("BENCHMARK-DOCUMENT-" + subjectSequence.incrementAndGet(), documentType, DocumentState.REQUESTED, null);
+        documentService.createDocument(document, "https://github.com/orbitoosoft/orbitootoolkit/");
+        while (!documentService.approveDocument(document)) {
+            documentService.updateDocument(document, "https://www.facebook.com/orbitootoolkit/");
+        }
+    }
+
+    private void runPokemonDispatch(Random random) {
+        try {
+            animalService.makeSound(pokemons[popularity.sample(random)]);
+        } catch (AnimalException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void runPaymentCallback(Random random) {
+        routedPaymentCallback.paymentExecuted("BENCHMARK-PAYMENT-" + subjectSequence.incrementAndGet(), serviceRefs[popularity.sample(random)]);
+    }
+
+    public void run(BenchmarkOperation operation, Random random) {
+        switch (operation) {
+        case ISSUE_WORKFLOW:
+            runIssueWorkflow(random);
+            break;
+        case DOCUMENT_WORKFLOW:
+            runDocumentWorkflow(random);
+            break;
+        case POKEMON_DISPATCH:
+            runPokemonDispatch(random);
+            break;
+        case PAYMENT_CALLBACK:
+            runPaymentCallback(random);
+            break;
+        }
+    }
+}
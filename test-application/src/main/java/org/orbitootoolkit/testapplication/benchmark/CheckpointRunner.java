@@ -0,0 +1,72 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 - 2026 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.benchmark;
+
+import org.orbitootoolkit.core.crac.CheckpointResource;
+import org.orbitootoolkit.core.service.CacheStatistics;
+import org.orbitootoolkit.core.service.DomainServiceDescRepository;
+import org.orbitootoolkit.testapplication.TestBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the checkpoint hooks invoked directly (without the CRaC JVM): the tests are run before the checkpoint and after
+// the restore, the warmed caches are reported: java -jar orbitoo-toolkit-test-application.jar --spring.profiles.active=checkpoint
+@Slf4j
+@Component
+public class CheckpointRunner {
+    public static final String CHECKPOINT_ENABLED_PROPERTY = "orbitoo.checkpoint.enabled";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private CheckpointResource checkpointResource;
+
+    @Autowired
+    private DomainServiceDescRepository domainServiceDescRepository;
+
+    @Autowired
+    private TestBean testBean;
+
+    public boolean isEnabled() {
+        return environment.getProperty(CHECKPOINT_ENABLED_PROPERTY, Boolean.class, false);
+    }
+
+    private void logCacheStatistics(String phase) {
+        for (CacheStatistics cache : domainServiceDescRepository.getCacheStatistics()) {
+            log.info(phase + " cache " + cache.getName() + ": size " + cache.getSize());
+        }
+    }
+
+    public void run() throws Exception {
+        testBean.test();
+        logCacheStatistics("before checkpoint");
+        checkpointResource.beforeCheckpoint(null);
+        logCacheStatistics("after warm-up");
+        checkpointResource.afterRestore(null);
+        testBean.test();
+        logCacheStatistics("after restore");
+    }
+}
@@ -0,0 +1,150 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.orbitootoolkit.core.service.CompactDomainServiceTable;
+import org.orbitootoolkit.core.service.DomainServiceDesc;
+import org.orbitootoolkit.core.service.DomainServiceKey;
+import org.orbitootoolkit.core.service.DomainServiceTable;
+import org.orbitootoolkit.core.service.HashDomainServiceTable;
+import org.orbitootoolkit.core.service.TaggedValueDesc;
+import org.orbitootoolkit.testapplication.animal.model.Dog;
+import org.orbitootoolkit.testapplication.animal.model.Pokemon;
+import org.orbitootoolkit.testapplication.shipping.model.Parcel;
+import org.orbitootoolkit.testapplication.task.model.Issue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the footprint of the hash table and of the compact table of domain services, measured for the generated bindings
+// (e.g. the callback routes and the rules of tenants): java -jar orbitoo-toolkit-test-application.jar --spring.profiles.active=footprint
+@Slf4j
+@Component
+public class FootprintRunner {
+    public static final String FOOTPRINT_ENABLED_PROPERTY = "orbitoo.footprint.enabled";
+    public static final String FOOTPRINT_BINDINGS_PROPERTY = "orbitoo.footprint.bindings";
+    public static final String FOOTPRINT_LOOKUPS_PROPERTY = "orbitoo.footprint.lookups";
+
+    private static final Class<?>[] SUBJECT_CLASSES = { Pokemon.class, Parcel.class, Issue.class, Dog.class };
+
+    @Autowired
+    private Environment environment;
+
+    public boolean isEnabled() {
+        return environment.getProperty(FOOTPRINT_ENABLED_PROPERTY, Boolean.class, false);
+    }
+
+    private static List<DomainServiceDesc> createDomainServiceDescs(int bindings) {
+        List<DomainServiceDesc> domainServiceDescs = new ArrayList<DomainServiceDesc>(bindings);
+        for (int binding = 0; binding < bindings; binding++) {
+            DomainServiceDesc domainServiceDesc = new DomainServiceDesc();
+            domainServiceDesc.setServiceName("generatedService" + (binding % 100));
+            domainServiceDesc.setServicePointName("generatedServicePoint" + (binding % 10));
+            domainServiceDesc.setSubjectClass(SUBJECT_CLASSES[binding % SUBJECT_CLASSES.length]);
+            domainServiceDesc.setSubjectTaggedValues(List.of(new TaggedValueDesc("route", "route-" + binding), //
+                    new TaggedValueDesc("region", "region-" + (binding % 20))));
+            domainServiceDesc.setAdditionalSubjects(List.of());
+            domainServiceDescs.add(domainServiceDesc);
+        }
+        return domainServiceDescs;
+    }
+
+    private static long getUsedHeap() {
+        for (int index = 0; index < 3; index++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static DomainServiceTable createTable(Supplier<DomainServiceTable> tableSupplier, List<DomainServiceDesc> domainServiceDescs) {
+        DomainServiceTable domainServiceTable = tableSupplier.get();
+        for (DomainServiceDesc domainServiceDesc : domainServiceDescs) {
+            domainServiceTable.put(DomainServiceKey.from(domainServiceDesc), domainServiceDesc);
+        }
+        return domainServiceTable;
+    }
+
+    private static DomainServiceTable measureFootprint(String name, Supplier<DomainServiceTable> tableSupplier, List<DomainServiceDesc> domainServiceDescs) {
+        long usedHeap = getUsedHeap();
+        DomainServiceTable domainServiceTable = createTable(tableSupplier, domainServiceDescs);
+        long footprint = getUsedHeap() - usedHeap;
+        log.info(String.format("%-8s table: %8.1f MB, %6.1f bytes/binding", name, footprint / (1024.0 * 1024.0), (double) footprint / domainServiceDescs.size()));
+        return domainServiceTable;
+    }
+
+    // the table is probed by the keys of bindings and by the keys, which miss (as the probes of the resolution)
+    private static long measureLookups(DomainServiceTable domainServiceTable, List<DomainServiceKey> keys, List<DomainServiceDesc> expected, int lookups) {
+        int mismatches = 0;
+        long startNanos = System.nanoTime();
+        for (int lookup = 0; lookup < lookups; lookup++) {
+            int index = lookup % keys.size();
+            if (domainServiceTable.get(keys.get(index)) != expected.get(index)) {
+                mismatches++;
+            }
+        }
+        long nanos = System.nanoTime() - startNanos;
+        if (mismatches > 0) {
+            log.warn("lookups differ from the bindings: " + mismatches);
+        }
+        return nanos;
+    }
+
+    public void run() {
+        int bindings = environment.getProperty(FOOTPRINT_BINDINGS_PROPERTY, Integer.class, 100000);
+        int lookups = environment.getProperty(FOOTPRINT_LOOKUPS_PROPERTY, Integer.class, 10000000);
+        //
+        long usedHeap = getUsedHeap();
+        List<DomainServiceDesc> domainServiceDescs = createDomainServiceDescs(bindings);
+        long descsFootprint = getUsedHeap() - usedHeap;
+        log.info(String.format("footprint of %d bindings, descriptors: %.1f MB, %.1f bytes/binding", bindings, descsFootprint / (1024.0 * 1024.0), //
+                (double) descsFootprint / bindings));
+        // the tables are measured one by one, the hash table is created again for the lookups
+        measureFootprint("hash", HashDomainServiceTable::new, domainServiceDescs);
+        DomainServiceTable compactTable = measureFootprint("compact", CompactDomainServiceTable::new, domainServiceDescs);
+        DomainServiceTable hashTable = createTable(HashDomainServiceTable::new, domainServiceDescs);
+        //
+        List<DomainServiceKey> keys = new ArrayList<DomainServiceKey>();
+        List<DomainServiceDesc> expected = new ArrayList<DomainServiceDesc>();
+        for (DomainServiceDesc domainServiceDesc : domainServiceDescs) {
+            keys.add(DomainServiceKey.from(domainServiceDesc));
+            expected.add(domainServiceDesc);
+            DomainServiceDesc missingDesc = new DomainServiceDesc();
+            missingDesc.setServicePointName(domainServiceDesc.getServicePointName());
+            missingDesc.setSubjectClass(Object.class);
+            missingDesc.setSubjectTaggedValues(domainServiceDesc.getSubjectTaggedValues().subList(0, 1));
+            keys.add(DomainServiceKey.from(missingDesc));
+            expected.add(null);
+        }
+        for (int round = 0; round < 3; round++) {
+            long hashNanos = measureLookups(hashTable, keys, expected, lookups);
+            long compactNanos = measureLookups(compactTable, keys, expected, lookups);
+            log.info(String.format("lookups (round %d): hash %.1f ns, compact %.1f ns", round + 1, (double) hashNanos / lookups, (double) compactNanos / lookups));
+        }
+    }
+}
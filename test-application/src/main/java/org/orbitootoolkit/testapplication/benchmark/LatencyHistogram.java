@@ -0,0 +1,98 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.benchmark;
+
+// the histogram with the logarithmic buckets divided into the linear sub-buckets (similar to HdrHistogram),
+// the recorded values keep the precision of 1 / HALF_SUB_BUCKET_COUNT; it is not thread-safe, each worker records
+// into its own histogram and the histograms are merged at the end
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = 64 - SUB_BUCKET_BITS;
+
+    private long[] counts = new long[SUB_BUCKET_COUNT + BUCKET_COUNT * HALF_SUB_BUCKET_COUNT];
+    private long totalCount = 0;
+    private long totalValue = 0;
+    private long maxValue = 0;
+
+    private static int getIndex(long value) {
+        // the values below SUB_BUCKET_COUNT are stored exactly, the larger values by their highest SUB_BUCKET_BITS bits
+        int bucket = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        if (bucket == 0) {
+            return (int) value;
+        }
+        int subBucket = (int) (value >>> bucket) - HALF_SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT + (bucket - 1) * HALF_SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int bucket = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        // the highest value of the sub-bucket
+        return ((subBucket + 1) << bucket) - 1;
+    }
+
+    public void record(long value) {
+        long positiveValue = Math.max(0, value);
+        counts[getIndex(positiveValue)]++;
+        totalCount++;
+        totalValue += positiveValue;
+        maxValue = Math.max(maxValue, positiveValue);
+    }
+
+    public void add(LatencyHistogram other) {
+        for (int index = 0; index < counts.length; index++) {
+            counts[index] += other.counts[index];
+        }
+        totalCount += other.totalCount;
+        totalValue += other.totalValue;
+        maxValue = Math.max(maxValue, other.maxValue);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        return (totalCount > 0) ? (double) totalValue / totalCount : 0;
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        long countAtPercentile = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long count = 0;
+        for (int index = 0; index < counts.length; index++) {
+            count += counts[index];
+            if (count >= countAtPercentile) {
+                return Math.min(getValue(index), maxValue);
+            }
+        }
+        return maxValue;
+    }
+}
@@ -0,0 +1,123 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.orbitootoolkit.core.replay.ReplayResult;
+import org.orbitootoolkit.core.replay.ResolutionRecordFile;
+import org.orbitootoolkit.core.replay.ResolutionReplayer;
+import org.orbitootoolkit.core.replay.ResolutionSample;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+// the recorded resolutions are replayed against the domain services of this build, the resolved bindings
+// are written into the results file, which can be compared with the results of another build:
+// java -jar orbitoo-toolkit-test-application.jar --spring.profiles.active=replay --orbitoo.replay.baseline=results-0.4.5.txt
+@Slf4j
+@Component
+public class ReplayRunner {
+    public static final String REPLAY_ENABLED_PROPERTY = "orbitoo.replay.enabled";
+    public static final String REPLAY_FILE_PROPERTY = "orbitoo.replay.file";
+    public static final String REPLAY_ITERATIONS_PROPERTY = "orbitoo.replay.iterations";
+    public static final String REPLAY_RESULTS_PROPERTY = "orbitoo.replay.results";
+    public static final String REPLAY_BASELINE_PROPERTY = "orbitoo.replay.baseline";
+
+    private static final int MAX_REPORTED_DIFFERENCES = 10;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ResolutionReplayer resolutionReplayer;
+
+    public boolean isEnabled() {
+        return environment.getProperty(REPLAY_ENABLED_PROPERTY, Boolean.class, false);
+    }
+
+    private static List<String> toResultLines(List<ResolutionSample> samples, ReplayResult replayResult) {
+        // e.g. "12 <TAB> animalServicePoint <TAB> org.example.Pikachu <TAB> trainedPikachuService,pikachuService"
+        List<String> lines = new ArrayList<String>(samples.size());
+        for (int index = 0; index < samples.size(); index++) {
+            ResolutionSample sample = samples.get(index);
+            lines.add(index + "\t" + sample.getServicePointName() + "\t" + sample.getSubjectClass().getName() + "\t" //
+                    + String.join(",", replayResult.getBindings().get(index)));
+        }
+        return lines;
+    }
+
+    private static void reportBaselineDifferences(List<String> lines, Path baselinePath) throws IOException {
+        List<String> baselineLines = Files.readAllLines(baselinePath, StandardCharsets.UTF_8);
+        if (baselineLines.size() != lines.size()) {
+            log.warn("baseline contains another recording [" + baselineLines.size() + " != " + lines.size() + "]: " + baselinePath);
+            return;
+        }
+        int differences = 0;
+        for (int index = 0; index < lines.size(); index++) {
+            if (!lines.get(index).equals(baselineLines.get(index))) {
+                if (++differences <= MAX_REPORTED_DIFFERENCES) {
+                    log.warn("different binding: " + baselineLines.get(index) + " -> " + lines.get(index).substring(lines.get(index).lastIndexOf('\t') + 1));
+                }
+            }
+        }
+        log.info("differences from baseline: " + differences + " of " + lines.size());
+    }
+
+    public void run() throws Exception {
+        Path path = Path.of(environment.getProperty(REPLAY_FILE_PROPERTY, Path.of(System.getProperty("java.io.tmpdir"), "orbitoo-resolutions.bin").toString()));
+        int iterations = environment.getProperty(REPLAY_ITERATIONS_PROPERTY, Integer.class, 100);
+        String resultsPath = environment.getProperty(REPLAY_RESULTS_PROPERTY);
+        String baselinePath = environment.getProperty(REPLAY_BASELINE_PROPERTY);
+        //
+        List<ResolutionSample> samples = ResolutionRecordFile.read(path, getClass().getClassLoader());
+        log.info("replay started [" + samples.size() + " samples, " + iterations + " iterations]: " + path);
+        ReplayResult replayResult = resolutionReplayer.replay(samples, iterations);
+        log.info(String.format("first iteration: %.0f resolutions/s, other iterations: %.0f resolutions/s", //
+                replayResult.getFirstIterationThroughput(), replayResult.getOtherIterationsThroughput()));
+        //
+        for (int index : replayResult.getRecordedDifferences().subList(0, Math.min(MAX_REPORTED_DIFFERENCES, replayResult.getRecordedDifferences().size()))) {
+            log.warn("different binding: " + samples.get(index) + " -> " + replayResult.getBindings().get(index));
+        }
+        log.info("differences from recording: " + replayResult.getRecordedDifferences().size() + " of " + samples.size());
+        //
+        List<String> lines = toResultLines(samples, replayResult);
+        if (resultsPath != null) {
+            Path resultsFile = Path.of(resultsPath);
+            if (resultsFile.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(resultsFile.toAbsolutePath().getParent());
+            }
+            Files.write(resultsFile, lines, StandardCharsets.UTF_8);
+            log.info("results written: " + resultsFile);
+        }
+        if (baselinePath != null) {
+            reportBaselineDifferences(lines, Path.of(baselinePath));
+        }
+    }
+}
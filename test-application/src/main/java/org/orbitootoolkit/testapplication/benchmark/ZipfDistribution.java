@@ -0,0 +1,73 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// the rank k (0 based) is chosen with the probability proportional to 1 / (k + 1) ^ exponent,
+// the exponent 0 gives the uniform distribution
+@ToString(onlyExplicitlyIncluded = true)
+public class ZipfDistribution {
+    @Getter
+    @ToString.Include
+    private int size = 0;
+
+    @Getter
+    @ToString.Include
+    private double exponent = 0;
+
+    private double[] cumulativeProbabilities = null;
+
+    //
+
+    public ZipfDistribution(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size of Zipf distribution should be positive: " + size);
+        }
+        this.size = size;
+        this.exponent = exponent;
+        this.cumulativeProbabilities = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulativeProbabilities[rank] /= sum;
+        }
+    }
+
+    //
+
+    public int sample(Random random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        return Math.min((index >= 0) ? index : -index - 1, size - 1);
+    }
+
+    public <T> T sample(Random random, T[] values) {
+        return values[sample(random) % values.length];
+    }
+}
@@ -0,0 +1,79 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.customs.service;
+
+import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.TagMatch;
+import org.orbitootoolkit.core.api.TaggedValue;
+import org.orbitootoolkit.testapplication.customs.api.CustomsService;
+import org.orbitootoolkit.testapplication.customs.model.Shipment;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class CustomsServiceImpl {
+    private static CustomsService createCustomsService(String customs) {
+        return (shipment) -> {
+            log.info("clearing shipment [" + customs + ", " + shipment.getId() + ", " + shipment.getCountry() + ", " + shipment.getAmount() + "]");
+            return customs;
+        };
+    }
+
+    @Bean
+    @DomainService(servicePointName = "customsServicePoint", subjectClass = Shipment.class)
+    public CustomsService getCustomsService() {
+        return createCustomsService("customs declaration");
+    }
+
+    @Bean
+    @DomainService(servicePointName = "customsServicePoint", subjectClass = Shipment.class, //
+            subjectTaggedValues = @TaggedValue(tag = "country", value = "EU-", match = TagMatch.PREFIX))
+    public CustomsService getEuCustomsService() {
+        return createCustomsService("single market");
+    }
+
+    @Bean
+    @DomainService(servicePointName = "customsServicePoint", subjectClass = Shipment.class, //
+            subjectTaggedValues = @TaggedValue(tag = "country", value = "EU-DE"))
+    public CustomsService getGermanCustomsService() {
+        return createCustomsService("single market (excise duty)");
+    }
+
+    @Bean
+    @DomainService(servicePointName = "customsServicePoint", subjectClass = Shipment.class, //
+            subjectTaggedValues = { @TaggedValue(tag = "country", value = "EU-", match = TagMatch.PREFIX), //
+                    @TaggedValue(tag = "amount", value = "[10000,)", match = TagMatch.RANGE) })
+    public CustomsService getEuCashControlService() {
+        return createCustomsService("single market (cash control)");
+    }
+
+    @Bean
+    @DomainService(servicePointName = "customsServicePoint", subjectClass = Shipment.class, //
+            subjectTaggedValues = { @TaggedValue(tag = "country", value = "CH"), //
+                    @TaggedValue(tag = "amount", match = TagMatch.ANY) })
+    public CustomsService getSwissCustomsService() {
+        return createCustomsService("bilateral agreement");
+    }
+}
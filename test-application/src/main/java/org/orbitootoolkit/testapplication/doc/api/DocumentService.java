@@ -23,9 +23,11 @@ package org.orbitootoolkit.testapplication.doc.api;
 
 import org.orbitootoolkit.core.api.ServicePoint;
 import org.orbitootoolkit.core.api.Subject;
+import org.orbitootoolkit.core.api.Workflow;
 import org.orbitootoolkit.testapplication.doc.model.Document;
 
 @ServicePoint("documentServicePoint")
+@Workflow(stateTag = "state")
 public interface DocumentService {
     public default void createDocument(@Subject Document document, String documentUri) {
         throw new IllegalStateException();
@@ -21,11 +21,13 @@
  */
 package org.orbitootoolkit.testapplication.file.api;
 
+import org.orbitootoolkit.core.api.AdmissionControl;
 import org.orbitootoolkit.core.api.ServicePoint;
 import org.orbitootoolkit.core.api.Subject;
 import org.orbitootoolkit.testapplication.file.model.File;
 
 @ServicePoint("filePrintServicePoint")
+@AdmissionControl(maxConcurrency = 4, ratePerSecond = 1000, burst = 100)
 public interface FilePrintService {
     public void print(@Subject File file);
 }
@@ -21,11 +21,13 @@
  */
 package org.orbitootoolkit.testapplication.payment.api;
 
+import org.orbitootoolkit.core.api.DurableServicePoint;
 import org.orbitootoolkit.core.api.ServicePoint;
 import org.orbitootoolkit.core.api.Subject;
 import org.orbitootoolkit.testapplication.payment.model.ServiceRef;
 
 @ServicePoint("paymentCallback")
+@DurableServicePoint
 public interface PaymentCallback {
     public void paymentExecuted(String paymentId, @Subject ServiceRef serviceRef);
 }
@@ -21,6 +21,8 @@
  */
 package org.orbitootoolkit.testapplication.payment.model;
 
+import java.io.Serializable;
+
 import org.orbitootoolkit.core.api.Tag;
 
 import lombok.AllArgsConstructor;
@@ -32,7 +34,9 @@ import lombok.ToString;
 @Getter
 @Setter
 @ToString
-public class ServiceRef {
+public class ServiceRef implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     @Tag(name = "value")
     private String value = null;
 }
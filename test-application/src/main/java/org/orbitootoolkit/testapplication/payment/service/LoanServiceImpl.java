@@ -24,6 +24,7 @@ package org.orbitootoolkit.testapplication.payment.service;
 import java.math.BigDecimal;
 
 import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.ServiceExecutor;
 import org.orbitootoolkit.core.api.TaggedValue;
 import org.orbitootoolkit.testapplication.payment.api.LoanService;
 import org.orbitootoolkit.testapplication.payment.api.PaymentCallback;
@@ -52,6 +53,7 @@ public class LoanServiceImpl implements LoanService {
     @Bean
     @DomainService(servicePointName = "paymentCallback", subjectClass = ServiceRef.class, //
             subjectTaggedValues = @TaggedValue(tag = "value", value = LOAN_PAYMENT_CALLBACK))
+    @ServiceExecutor(threads = 1)
     public PaymentCallback getLoanPaymentCallback() {
         return (paymentId, serviceRef) -> log.info("loanPayment finished: " + paymentId);
     }
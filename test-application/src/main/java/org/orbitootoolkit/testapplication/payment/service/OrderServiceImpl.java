@@ -22,12 +22,18 @@
 package org.orbitootoolkit.testapplication.payment.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.ServicePointReference;
+import org.orbitootoolkit.core.api.TagMatch;
 import org.orbitootoolkit.core.api.TaggedValue;
+import org.orbitootoolkit.core.route.CallbackRouteTable;
+import org.orbitootoolkit.core.route.CallbackRouteTableRepository;
 import org.orbitootoolkit.testapplication.payment.api.OrderService;
 import org.orbitootoolkit.testapplication.payment.api.PaymentCallback;
 import org.orbitootoolkit.testapplication.payment.api.PaymentService;
+import org.orbitootoolkit.testapplication.payment.api.RoutedPaymentCallback;
 import org.orbitootoolkit.testapplication.payment.model.ServiceRef;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -38,21 +44,39 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Service
 public class OrderServiceImpl implements OrderService {
-    private static final String ORDER_PAYMENT_CALLBACK = "OrderServiceImpl#PaymentCallback";
+    private static final String ORDER_PAYMENT_CALLBACK = "OrderServiceImpl#PaymentCallback#";
+    private static final Duration ORDER_PAYMENT_TIMEOUT = Duration.ofMinutes(5);
 
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private CallbackRouteTableRepository callbackRouteTableRepository;
+
+    @Autowired
+    @ServicePointReference
+    private RoutedPaymentCallback routedPaymentCallback;
+
     @Override
     public void orderPayment(String orderId) {
         log.info("orderPayment started: " + orderId);
-        paymentService.executePayment(orderId, new BigDecimal("4999.00"), new ServiceRef(ORDER_PAYMENT_CALLBACK));
+        // each order registers its own callback route, which expires when the payment doesn't finish in time
+        CallbackRouteTable<RoutedPaymentCallback> callbackRoutes = callbackRouteTableRepository.getCallbackRouteTable("routedPaymentCallback",
+                RoutedPaymentCallback.class);
+        ServiceRef callbackRef = new ServiceRef(ORDER_PAYMENT_CALLBACK + orderId);
+        callbackRoutes.addRoute(callbackRef.getValue(), (paymentId, serviceRef) -> {
+            callbackRoutes.removeRoute(serviceRef.getValue());
+            log.info("orderPayment finished: " + paymentId);
+        }, ORDER_PAYMENT_TIMEOUT);
+        paymentService.executePayment(orderId, new BigDecimal("4999.00"), callbackRef);
     }
 
+    // the durable callback cannot contain the routes (they are kept in memory only), the journal delivers the callbacks
+    // of all orders to this service and it forwards them to the routes
     @Bean
     @DomainService(servicePointName = "paymentCallback", subjectClass = ServiceRef.class, //
-            subjectTaggedValues = @TaggedValue(tag = "value", value = ORDER_PAYMENT_CALLBACK))
+            subjectTaggedValues = @TaggedValue(tag = "value", value = ORDER_PAYMENT_CALLBACK, match = TagMatch.PREFIX))
     public PaymentCallback getOrderPaymentCallback() {
-        return (paymentId, serviceRef) -> log.info("orderPayment finished: " + paymentId);
+        return (paymentId, serviceRef) -> routedPaymentCallback.paymentExecuted(paymentId, serviceRef);
     }
 }
@@ -0,0 +1,57 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-core
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.shipping.service;
+
+import java.math.BigDecimal;
+
+import org.orbitootoolkit.core.api.DomainService;
+import org.orbitootoolkit.core.api.TaggedValue;
+import org.orbitootoolkit.testapplication.shipping.api.ShippingService;
+import org.orbitootoolkit.testapplication.shipping.model.Parcel;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ShippingServiceImpl {
+    @Bean
+    @DomainService(servicePointName = "shippingServicePoint", subjectClass = Parcel.class, //
+            subjectTaggedValues = @TaggedValue(tag = "carrier", value = "DHL"))
+    public ShippingService getDhlShippingService() {
+        return (parcel, currency) -> {
+            log.debug("calculating shipping cost [DHL, " + parcel.getId() + ", " + currency + "]");
+            return new BigDecimal("5.00").add(BigDecimal.valueOf(parcel.getWeight()));
+        };
+    }
+
+    @Bean
+    @DomainService(servicePointName = "shippingServicePoint", subjectClass = Parcel.class, //
+            subjectTaggedValues = @TaggedValue(tag = "carrier", value = "UPS"))
+    public ShippingService getUpsShippingService() {
+        return (parcel, currency) -> {
+            log.debug("calculating shipping cost [UPS, " + parcel.getId() + ", " + currency + "]");
+            return new BigDecimal("7.50").add(BigDecimal.valueOf(parcel.getWeight() * 2L));
+        };
+    }
+}
@@ -23,21 +23,25 @@ package org.orbitootoolkit.testapplication.task.api;
 
 import org.orbitootoolkit.core.api.ServicePoint;
 import org.orbitootoolkit.core.api.Subject;
+import org.orbitootoolkit.core.api.SubjectMailbox;
+import org.orbitootoolkit.core.api.Workflow;
 import org.orbitootoolkit.testapplication.task.model.Issue;
 
 @ServicePoint("issueServicePoint")
+@Workflow(stateTag = "state")
+@SubjectMailbox(threads = 2)
 public interface IssueService {
-    public void entryState(@Subject Issue issue);
+    public void entryState(@Subject(key = "id") Issue issue);
 
-    public default void issueImplementationStarted(@Subject Issue issue) {
+    public default void issueImplementationStarted(@Subject(key = "id") Issue issue) {
         throw new IllegalStateException();
     }
 
-    public default void issueImplementationFinished(@Subject Issue issue) {
+    public default void issueImplementationFinished(@Subject(key = "id") Issue issue) {
         throw new IllegalStateException();
     }
 
-    public default void issueTested(@Subject Issue issue, boolean testPassed) {
+    public default void issueTested(@Subject(key = "id") Issue issue, boolean testPassed) {
         throw new IllegalStateException();
     }
 }
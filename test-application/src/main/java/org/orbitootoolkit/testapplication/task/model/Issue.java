@@ -22,6 +22,8 @@
 package org.orbitootoolkit.testapplication.task.model;
 
 import org.orbitootoolkit.core.api.Tag;
+import org.orbitootoolkit.core.api.TagSink;
+import org.orbitootoolkit.core.api.TagSource;
 
 import lombok.Getter;
 import lombok.ToString;
@@ -30,7 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 @Getter
 @ToString
-public class Issue {
+public class Issue implements TagSource {
     private String id = null;
 
     @Tag(name = "type", priority = 2)
@@ -54,4 +56,12 @@ public class Issue {
         log.info("Issue [" + id + "] " + this.state + " -> " + newState);
         this.state = newState;
     }
+
+    //
+
+    @Override
+    public void writeTags(TagSink tagSink) {
+        tagSink.put("type", type);
+        tagSink.put("state", state);
+    }
 }
@@ -0,0 +1,44 @@
+/*-
+ * ========================LICENSE_START=================================
+ * orbitoo-toolkit-test-application
+ * %%
+ * Copyright (C) 2023 orbitoo-soft
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ * 
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * =========================LICENSE_END==================================
+ */
+package org.orbitootoolkit.testapplication.tenant;
+
+import org.orbitootoolkit.core.api.TenantResolver;
+import org.springframework.stereotype.Component;
+
+// the tenant of the current thread (the real application takes it e.g. from the request or from the security context)
+@Component
+public class TestTenantResolver implements TenantResolver {
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<String>();
+
+    @Override
+    public String getCurrentTenant() {
+        return CURRENT_TENANT.get();
+    }
+
+    public static void setCurrentTenant(String tenant) {
+        if (tenant != null) {
+            CURRENT_TENANT.set(tenant);
+        } else {
+            CURRENT_TENANT.remove();
+        }
+    }
+}